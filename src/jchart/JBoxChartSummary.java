@@ -0,0 +1,424 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * A mergeable summary of the values of a data set in a box chart.
+ * A summary keeps the count, minimum, maximum, a quantile sketch and optionally
+ * a histogram of the values. Summaries of different partitions of the same data
+ * can be created independently (for example on different machines or threads)
+ * and merged afterwards, so a box chart does not need the raw values.
+ * The quantiles are estimated with a relative accuracy that is specified when
+ * the summary is created.
+ * @author Mees Mosseveld
+ *
+ */
+public class JBoxChartSummary implements Serializable {
+	private static final long serialVersionUID = -4720394465312848917L;
+
+	/**
+	 * The default relative accuracy of the quantiles.
+	 */
+	public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+	// Absolute values below this value are counted as zero.
+	private static final double MINIMUM_INDEXABLE_VALUE = 1.0E-300;
+
+	private final double relativeAccuracy;
+	private final double gamma;
+	private final double logGamma;
+
+	private long count = 0;
+	private double minimum = Double.NaN;
+	private double maximum = Double.NaN;
+	private double sum = 0.0;
+
+	private long zeroCount = 0;
+	private Bins positiveBins = new Bins();
+	private Bins negativeBins = new Bins();
+
+	private double histogramMinimum = Double.NaN;
+	private double histogramMaximum = Double.NaN;
+	private long[] histogram = null;
+
+
+	/**
+	 * Creates an empty summary with the default relative accuracy and without histogram.
+	 */
+	public JBoxChartSummary() {
+		this(DEFAULT_RELATIVE_ACCURACY);
+	}
+
+
+	/**
+	 * Creates an empty summary without histogram.
+	 * @param relativeAccuracy The relative accuracy of the quantiles, for example 0.01 for 1%.
+	 */
+	public JBoxChartSummary(double relativeAccuracy) {
+		if ((!(relativeAccuracy > 0.0)) || (!(relativeAccuracy < 1.0))) {
+			relativeAccuracy = DEFAULT_RELATIVE_ACCURACY;
+		}
+		this.relativeAccuracy = relativeAccuracy;
+		gamma = (1.0 + relativeAccuracy) / (1.0 - relativeAccuracy);
+		logGamma = Math.log(gamma);
+	}
+
+
+	/**
+	 * Creates an empty summary with a histogram of equal width bins.
+	 * Values below the minimum are counted in the first bin, values above the maximum in the last bin.
+	 * @param relativeAccuracy The relative accuracy of the quantiles, for example 0.01 for 1%.
+	 * @param histogramMinimum The lower bound of the histogram.
+	 * @param histogramMaximum The upper bound of the histogram.
+	 * @param histogramBins The number of bins of the histogram.
+	 */
+	public JBoxChartSummary(double relativeAccuracy, double histogramMinimum, double histogramMaximum, int histogramBins) {
+		this(relativeAccuracy);
+		if ((histogramBins > 0) && (histogramMaximum > histogramMinimum)) {
+			this.histogramMinimum = histogramMinimum;
+			this.histogramMaximum = histogramMaximum;
+			histogram = new long[histogramBins];
+		}
+	}
+
+
+	/**
+	 * Add a value to the summary.
+	 * @param value The value. NaN and infinite values are ignored.
+	 */
+	public void add(double value) {
+		// Infinite values have no bin in the quantile sketch
+		if ((!Double.isNaN(value)) && (!Double.isInfinite(value))) {
+			if (count == 0) {
+				minimum = value;
+				maximum = value;
+			}
+			else {
+				minimum = Math.min(minimum, value);
+				maximum = Math.max(maximum, value);
+			}
+			count++;
+			sum += value;
+
+			if (value > MINIMUM_INDEXABLE_VALUE) {
+				positiveBins.increment(index(value), 1);
+			}
+			else if (value < -MINIMUM_INDEXABLE_VALUE) {
+				negativeBins.increment(index(-value), 1);
+			}
+			else {
+				zeroCount++;
+			}
+
+			if (histogram != null) {
+				int bin = (int) Math.floor(((value - histogramMinimum) / (histogramMaximum - histogramMinimum)) * histogram.length);
+				histogram[Math.max(0, Math.min(histogram.length - 1, bin))]++;
+			}
+		}
+	}
+
+
+	/**
+	 * Add all values of an array to the summary.
+	 * @param values The values.
+	 */
+	public void addAll(double[] values) {
+		for (double value : values) {
+			add(value);
+		}
+	}
+
+
+	/**
+	 * Merge another summary into this summary.
+	 * The other summary is not changed. Merging a summary into itself doubles its counts.
+	 * @param other The other summary.
+	 * @return False if the summaries have a different relative accuracy or histogram layout, otherwise true.
+	 */
+	public boolean merge(JBoxChartSummary other) {
+		boolean ok = isCompatible(other);
+
+		if (ok && (other == this)) {
+			// Merge a copy, as the counts of this summary change while they are added
+			other = emptyCopy();
+			other.merge(this);
+		}
+		if (ok && (other.count > 0)) {
+			if (count == 0) {
+				minimum = other.minimum;
+				maximum = other.maximum;
+			}
+			else {
+				minimum = Math.min(minimum, other.minimum);
+				maximum = Math.max(maximum, other.maximum);
+			}
+			count += other.count;
+			sum += other.sum;
+			zeroCount += other.zeroCount;
+			positiveBins.add(other.positiveBins);
+			negativeBins.add(other.negativeBins);
+			if (histogram != null) {
+				for (int bin = 0; bin < histogram.length; bin++) {
+					histogram[bin] += other.histogram[bin];
+				}
+			}
+		}
+
+		return ok;
+	}
+
+
+	/**
+	 * Merge a list of summaries into one new summary.
+	 * The summaries are merged in parallel and are not changed.
+	 * @param summaries The summaries. They should all have the same relative accuracy and histogram layout.
+	 * @return The merged summary, or null if the list is empty or contains incompatible summaries.
+	 */
+	public static JBoxChartSummary mergeAll(List<JBoxChartSummary> summaries) {
+		JBoxChartSummary merged = null;
+
+		if ((summaries != null) && (!summaries.isEmpty())) {
+			JBoxChartSummary first = summaries.get(0);
+			boolean compatible = true;
+			for (JBoxChartSummary summary : summaries) {
+				compatible = compatible && first.isCompatible(summary);
+			}
+			if (compatible) {
+				merged = summaries.parallelStream().collect(
+						() -> first.emptyCopy(),
+						(result, summary) -> result.merge(summary),
+						(result, partialResult) -> result.merge(partialResult)
+						);
+			}
+		}
+
+		return merged;
+	}
+
+
+	/**
+	 * Get the relative accuracy of the quantiles.
+	 * @return The relative accuracy.
+	 */
+	public double getRelativeAccuracy() {
+		return relativeAccuracy;
+	}
+
+
+	/**
+	 * Get the number of values in the summary.
+	 * @return The number of values.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+
+	/**
+	 * Get the minimum value.
+	 * @return The minimum value, or NaN when the summary is empty.
+	 */
+	public double getMinimum() {
+		return minimum;
+	}
+
+
+	/**
+	 * Get the maximum value.
+	 * @return The maximum value, or NaN when the summary is empty.
+	 */
+	public double getMaximum() {
+		return maximum;
+	}
+
+
+	/**
+	 * Get the mean of the values.
+	 * @return The mean, or NaN when the summary is empty.
+	 */
+	public double getMean() {
+		return count == 0 ? Double.NaN : sum / count;
+	}
+
+
+	/**
+	 * Get an estimate of a quantile of the values.
+	 * @param quantile The quantile between 0.0 and 1.0, for example 0.5 for the median.
+	 * @return The estimated value, or NaN when the summary is empty.
+	 */
+	public double getQuantile(double quantile) {
+		double value = Double.NaN;
+
+		if (count > 0) {
+			if (quantile <= 0.0) {
+				value = minimum;
+			}
+			else if (quantile >= 1.0) {
+				value = maximum;
+			}
+			else {
+				long rank = (long) Math.floor(quantile * (count - 1));
+				if (rank < negativeBins.total) {
+					// Walk the negative values from the most negative upwards
+					value = -binValue(negativeBins.indexOfRank(negativeBins.total - 1 - rank));
+				}
+				else if (rank < (negativeBins.total + zeroCount)) {
+					value = 0.0;
+				}
+				else {
+					value = binValue(positiveBins.indexOfRank(rank - negativeBins.total - zeroCount));
+				}
+				value = Math.max(minimum, Math.min(maximum, value));
+			}
+		}
+
+		return value;
+	}
+
+
+	/**
+	 * Get the histogram of the values.
+	 * @return A copy of the bin counts, or null if the summary was created without histogram.
+	 */
+	public long[] getHistogram() {
+		return histogram == null ? null : Arrays.copyOf(histogram, histogram.length);
+	}
+
+
+	/**
+	 * Get the lower bound of the histogram.
+	 * @return The lower bound, or NaN if the summary was created without histogram.
+	 */
+	public double getHistogramMinimum() {
+		return histogramMinimum;
+	}
+
+
+	/**
+	 * Get the upper bound of the histogram.
+	 * @return The upper bound, or NaN if the summary was created without histogram.
+	 */
+	public double getHistogramMaximum() {
+		return histogramMaximum;
+	}
+
+
+	long getMemoryEstimate() {
+		return (3 * JChartMemory.OBJECT) + JChartMemory.estimate(positiveBins.counts) + JChartMemory.estimate(negativeBins.counts) + JChartMemory.estimate(histogram);
+	}
+
+
+	JBoxChartSummary emptyCopy() {
+		JBoxChartSummary copy = new JBoxChartSummary(relativeAccuracy);
+		if (histogram != null) {
+			copy.histogramMinimum = histogramMinimum;
+			copy.histogramMaximum = histogramMaximum;
+			copy.histogram = new long[histogram.length];
+		}
+		return copy;
+	}
+
+
+	private boolean isCompatible(JBoxChartSummary other) {
+		boolean compatible = (other != null) && (other.relativeAccuracy == relativeAccuracy);
+		if (compatible) {
+			if (histogram == null) {
+				compatible = (other.histogram == null);
+			}
+			else {
+				compatible = (other.histogram != null) &&
+						     (other.histogram.length == histogram.length) &&
+						     (other.histogramMinimum == histogramMinimum) &&
+						     (other.histogramMaximum == histogramMaximum);
+			}
+		}
+		return compatible;
+	}
+
+
+	private int index(double value) {
+		return (int) Math.ceil(Math.log(value) / logGamma);
+	}
+
+
+	private double binValue(int index) {
+		// The value in the middle of the bin with the same relative error to both bounds.
+		return (2.0 * Math.pow(gamma, index)) / (gamma + 1.0);
+	}
+
+
+	private static class Bins implements Serializable {
+		private static final long serialVersionUID = 3176224185462130947L;
+
+		private static final int INITIAL_CAPACITY = 64;
+
+		private long[] counts = null;
+		private int offset = 0;
+		private long total = 0;
+
+
+		void increment(int index, long count) {
+			if (counts == null) {
+				counts = new long[INITIAL_CAPACITY];
+				offset = index - (INITIAL_CAPACITY / 2);
+			}
+			else if ((index < offset) || (index >= (offset + counts.length))) {
+				int newOffset = Math.min(offset, index);
+				int newEnd = Math.max(offset + counts.length, index + 1);
+				// Grow with some slack to avoid resizing for every new bin
+				int slack = Math.max(INITIAL_CAPACITY / 2, (newEnd - newOffset) / 2);
+				if (index < offset) {
+					newOffset -= slack;
+				}
+				else {
+					newEnd += slack;
+				}
+				long[] newCounts = new long[newEnd - newOffset];
+				System.arraycopy(counts, 0, newCounts, offset - newOffset, counts.length);
+				counts = newCounts;
+				offset = newOffset;
+			}
+			counts[index - offset] += count;
+			total += count;
+		}
+
+
+		void add(Bins other) {
+			if (other.counts != null) {
+				for (int binNr = 0; binNr < other.counts.length; binNr++) {
+					if (other.counts[binNr] != 0) {
+						increment(other.offset + binNr, other.counts[binNr]);
+					}
+				}
+			}
+		}
+
+
+		int indexOfRank(long rank) {
+			long cumulative = 0;
+			int binNr = 0;
+			while ((binNr < (counts.length - 1)) && ((cumulative + counts[binNr]) <= rank)) {
+				cumulative += counts[binNr];
+				binNr++;
+			}
+			return offset + binNr;
+		}
+	}
+
+}
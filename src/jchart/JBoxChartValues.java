@@ -0,0 +1,103 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The raw values of a data set of a box chart, stored as doubles or, with float precision, as floats.
+ * The values are sorted in place when the box is computed.
+ */
+class JBoxChartValues implements Serializable {
+	private static final long serialVersionUID = 2873415964126904317L;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private double[] doubleValues = new double[INITIAL_CAPACITY];
+	private float[] floatValues = null;
+	private int size = 0;
+	private boolean sorted = true;
+
+
+	public JBoxChartValues(boolean floatPrecision) {
+		setFloatPrecision(floatPrecision);
+	}
+
+
+	public int size() {
+		return size;
+	}
+
+
+	public void add(double value) {
+		if (floatValues != null) {
+			if (size == floatValues.length) {
+				floatValues = Arrays.copyOf(floatValues, size + (size >> 1) + 1);
+			}
+			floatValues[size] = (float) value;
+		}
+		else {
+			if (size == doubleValues.length) {
+				doubleValues = Arrays.copyOf(doubleValues, size + (size >> 1) + 1);
+			}
+			doubleValues[size] = value;
+		}
+		sorted = sorted && ((size == 0) || (get(size - 1) <= get(size)));
+		size++;
+	}
+
+
+	public double get(int index) {
+		return floatValues != null ? floatValues[index] : doubleValues[index];
+	}
+
+
+	public void sort() {
+		if (!sorted) {
+			if (floatValues != null) {
+				Arrays.sort(floatValues, 0, size);
+			}
+			else {
+				Arrays.sort(doubleValues, 0, size);
+			}
+			sorted = true;
+		}
+	}
+
+
+	public void setFloatPrecision(boolean floatPrecision) {
+		// The values are copied into an array of the precision, which loses the precision of doubles
+		if (floatPrecision && (floatValues == null)) {
+			floatValues = new float[Math.max(INITIAL_CAPACITY, size)];
+			for (int index = 0; index < size; index++) {
+				floatValues[index] = (float) doubleValues[index];
+			}
+			doubleValues = null;
+		}
+		else if ((!floatPrecision) && (doubleValues == null)) {
+			doubleValues = new double[Math.max(INITIAL_CAPACITY, size)];
+			for (int index = 0; index < size; index++) {
+				doubleValues[index] = floatValues[index];
+			}
+			floatValues = null;
+		}
+	}
+
+
+	public long getMemoryEstimate() {
+		return JChartMemory.OBJECT + JChartMemory.estimate(doubleValues) + JChartMemory.estimate(floatValues);
+	}
+
+}
@@ -1,267 +1,462 @@
-/*********************************************************************************
- *                                                                               *
- * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
- *                                                                               *
- * The JChart library is free software.                                          *
- * The JChart library is distributed in the hope that it will be useful, but     *
- * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
- * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
- *                                                                               *
- * This file is part of the JChart library.                                      *
- *                                                                               *
- *********************************************************************************/
-
-/*********************************************************************************
- * JChart library                                                                *
- *                                                                               *
- * Author : Mees Mosseveld                                                       *
- * Version: 1.2.0                                                                *
- *                                                                               *
- * The library consists of four classes:                                         *
- *                                                                               *
- * JChart extends JPanel and is the abstract main class of the library.          *
- * JLineChart extends JChart is the class for creating line charts.              *
- * JBarChart extends JChart is the class for creating bar charts.                *
- * JPieChart extends JChart is the class for creating pie charts.                *
- * JScatterChart extends JChart is the class for creating scatter charts.        *
- * JBoxChart extends JChart is the class for creating box charts.                *
- *                                                                               *
- *********************************************************************************/
-package jchart;
-
-import java.awt.BorderLayout;
-import java.awt.Color;
-import java.awt.Font;
-import java.util.ArrayList;
-import java.util.List;
-
-import javax.swing.JPanel;
-
-
-/**
- * This the main abstract class of the JChart library and is an extension
- * of the JPanel class.
- * @author Mees Mosseveld
- *
- */
-public abstract class JChart extends JPanel {
-	private static final long serialVersionUID = -3612624162463792308L;
-	
-	
-	private static final String VERSION = "1.1.1";
-
-	
-	/**
-	 * Left alignment of the title.
-	 */
-	public static final int TITLE_ALIGNMENT_LEFT   = 0;
-	
-	/**
-	 * Center alignment of the title.
-	 */
-	public static final int TITLE_ALIGNMENT_CENTER = 1;
-	
-	/**
-	 * Right alignment of the title.
-	 */
-	public static final int TITLE_ALIGNMENT_RIGHT  = 2;
-
-	
-	/**
-	 * Set the title at the top of the chart.
-	 */
-	public static final int TITLE_POSITION_TOP     = 0;
-	
-	/**
-	 * Set the title at the bottom of the chart.
-	 */
-	public static final int TITLE_POSITION_BOTTOM  = 1;
-
-	
-	/**
-	 * The name of the chart.
-	 */
-	protected String name = null;
-	
-	/**
-	 * The plot of the chart.
-	 */
-	protected JChartPlot chartPlot = null;
-	
-	
-	JChart(String name) {
-		super();
-		
-		setLayout(new BorderLayout());
-		
-		this.name = (name == null ? "<NO NAME>" : name);
-	}
-	
-	
-	/**
-	 * Get the version of the JChart library.
-	 * @return The version string.
-	 */
-	public String chartGetVersion() {
-		return "JChart-v" + VERSION;
-	}
-	
-	
-	/**
-	 * Get the license of the JChart library.
-	 * @return The license text.
-	 */
-	public String chartGetLicense() {
-		String license = "Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands.\n\n";
-		license       += "The JChart library is free software.\n";
-		license       += "The JChart library is distributed in the hope that it will be useful, but\n";
-		license       += "WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY\n";
-		license       += "or FITNESS FOR A PARTICULAR PURPOSE.";
-		return license;
-	}
-	
-	
-	/**
-	 * Get the name of the chart.
-	 * @return The name of the chart.
-	 */
-	public String chartGetName() {
-		return name;
-	}
-	
-	
-	/**
-	 * Set the title of the chart.
-	 * @param title The title of the chart. When null no title is shown.
-	 * @param alignment The alignment of the title: JChart.TITLE_ALIGNMENT_LEFT, JChart.TITLE_ALIGNMENT_CENTER or JChart.TITLE_ALIGNMENT_RIGHT
-	 * @param position The position of the title: JChart.TITLE_POSITION_TOP or JChart.TITLE_POSITION_BOTTOM 
-	 */
-	public void chartSetTitle(String title, int alignment, int position) {
-		chartPlot.setTitle(title, alignment, position);
-	}
-	
-	
-	/**
-	 * Get the title of the chart.
-	 * @return The title of the chart.
-	 */
-	public String chartGetTitle() {
-		return chartPlot.getTitle();
-	}
-	
-	
-	/**
-	 * Set the font of the title.
-	 * @param font The font.
-	 */
-	public void chartSetTitleFont(Font font) {
-		chartPlot.setTitleFont(font);
-	}
-	
-	
-	/**
-	 * Set the color of the title.
-	 * @param color The color.
-	 */
-	public void chartSetTitleColor(Color color) {
-		chartPlot.setTitleColor(color);
-	}
-	
-	
-	/**
-	 * Enable or disable the legend of the chart.
-	 * @param enabled When true, the legend will be shown. When false, the legend will not be shown.
-	 */
-	public void chartSetLegendEnabled(boolean enabled) {
-		chartPlot.setLegendEnabled(enabled);
-	}
-	
-	
-	/**
-	 * Set the font of the legend.
-	 * @param font The font.
-	 */
-	public void chartSetLegendFont(Font font) {
-		chartPlot.setLegendFont(font);
-	}
-	
-	
-	/**
-	 * Set the text color of the legend.
-	 * @param color The color.
-	 */
-	public void chartSetlegendFontColor(Color color) {
-		chartPlot.setLegendFontColor(color);
-	}
-	
-	
-	/**
-	 * Set the background color of the legend.
-	 * @param color The color.
-	 */
-	public void chartSetlegendBackgroundColor(Color color) {
-		chartPlot.setLegendBackgroundColor(color);
-	}
-	
-	
-	/**
-	 * Set the border color of the legend.
-	 * @param color The color.
-	 */
-	public void chartSetlegendBorderColor(Color  color) {
-		chartPlot.setLegendBorderColor(color);
-	}
-	
-	
-	/**
-	 * Set the background color of the chart.
-	 * @param color The color.
-	 */
-	public void chartSetBackgroundColor(Color color) {
-		chartPlot.setBackground(color);
-	}
-	
-	
-	/**
-	 * Add a data set to the chart. A data set is a set of points or values that represent the same entity.
-	 * @param dataSetName The name of the data set
-	 * @param color The color used in the chart for the data set.
-	 * @return False if there is already a data set with the specified name, false otherwise.
-	 */
-	public boolean chartAddDataSet(String dataSetName, Color color) {
-		return chartPlot.addDataSet(dataSetName, color);
-	}
-	
-	
-	/**
-	 * Specifies if the data sets should be ordered by name.
-	 * Default is the order by which they are added to the chart.
-	 * @param ordered True or False.
-	 */
-	public void chartSetOrderedDataSets(Boolean ordered) {
-		chartPlot.setOrderedDataSets(ordered);
-	}
-	
-	
-	/**
-	 * Clears the data of the chart.
-	 */
-	public void chartClear() {
-		chartPlot.clear();
-	}
-	
-	
-	protected List<Double> createAxis(double minimum, double maximum, double step) {
-		List<Double> axis = new ArrayList<Double>();
-		
-		double value = minimum;
-		while (value < maximum) {
-			axis.add(value);
-			value += step;
-		}
-		axis.add(maximum);
-		
-		return axis;
-	}
-	
-}
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+/*********************************************************************************
+ * JChart library                                                                *
+ *                                                                               *
+ * Author : Mees Mosseveld                                                       *
+ * Version: 1.2.0                                                                *
+ *                                                                               *
+ * The library consists of four classes:                                         *
+ *                                                                               *
+ * JChart extends JPanel and is the abstract main class of the library.          *
+ * JLineChart extends JChart is the class for creating line charts.              *
+ * JBarChart extends JChart is the class for creating bar charts.                *
+ * JPieChart extends JChart is the class for creating pie charts.                *
+ * JScatterChart extends JChart is the class for creating scatter charts.        *
+ * JBoxChart extends JChart is the class for creating box charts.                *
+ *                                                                               *
+ *********************************************************************************/
+package jchart;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Font;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+
+
+/**
+ * This the main abstract class of the JChart library and is an extension
+ * of the JPanel class.
+ * @author Mees Mosseveld
+ *
+ */
+public abstract class JChart extends JPanel {
+	private static final long serialVersionUID = -3612624162463792308L;
+	
+	
+	private static final String VERSION = "1.1.1";
+
+	
+	/**
+	 * Left alignment of the title.
+	 */
+	public static final int TITLE_ALIGNMENT_LEFT   = 0;
+	
+	/**
+	 * Center alignment of the title.
+	 */
+	public static final int TITLE_ALIGNMENT_CENTER = 1;
+	
+	/**
+	 * Right alignment of the title.
+	 */
+	public static final int TITLE_ALIGNMENT_RIGHT  = 2;
+
+	
+	/**
+	 * Set the title at the top of the chart.
+	 */
+	public static final int TITLE_POSITION_TOP     = 0;
+	
+	/**
+	 * Set the title at the bottom of the chart.
+	 */
+	public static final int TITLE_POSITION_BOTTOM  = 1;
+
+	
+	/**
+	 * No time axis, the x values are plain numbers.
+	 */
+	public static final int TIME_UNIT_NONE         = 0;
+	
+	/**
+	 * Time axis with times in milliseconds since 1970-01-01 00:00:00 UTC.
+	 */
+	public static final int TIME_UNIT_MILLISECONDS = 1;
+	
+	/**
+	 * Time axis with times in nanoseconds since 1970-01-01 00:00:00 UTC.
+	 */
+	public static final int TIME_UNIT_NANOSECONDS  = 2;
+
+	
+	/**
+	 * Linear axis.
+	 */
+	public static final int AXIS_SCALE_LINEAR      = 0;
+	
+	/**
+	 * Logarithmic axis with base 10, with ticks at the powers of 10.
+	 */
+	public static final int AXIS_SCALE_LOG10       = 10;
+	
+	/**
+	 * Logarithmic axis with base 2, with ticks at the powers of 2.
+	 */
+	public static final int AXIS_SCALE_LOG2        = 2;
+	
+	/**
+	 * Render quality fast: no antialiasing and lines on whole pixels. The default.
+	 */
+	public static final int RENDER_QUALITY_FAST     = 0;
+	
+	/**
+	 * Render quality balanced: antialiased lines and text, with lines kept on whole pixels so axes stay sharp.
+	 */
+	public static final int RENDER_QUALITY_BALANCED = 1;
+	
+	/**
+	 * Render quality quality: antialiased lines and text, drawn at their exact positions.
+	 */
+	public static final int RENDER_QUALITY_QUALITY  = 2;
+	
+	/**
+	 * Render quality adaptive: fast while the chart changes, like while data is added or the user zooms or pans,
+	 * and drawn once more with RENDER_QUALITY_QUALITY when the chart did not change for a moment.
+	 */
+	public static final int RENDER_QUALITY_ADAPTIVE = 3;
+
+	/**
+	 * Data precision double: the values of a data set are stored as doubles. The default.
+	 */
+	public static final int DATA_PRECISION_DOUBLE   = 0;
+
+	/**
+	 * Data precision float: the values of a data set are stored as floats, which takes half the memory.
+	 * The x values of line and scatter charts keep their precision, like times in milliseconds.
+	 */
+	public static final int DATA_PRECISION_FLOAT    = 1;
+
+	
+	/**
+	 * The name of the chart.
+	 */
+	protected String name = null;
+	
+	/**
+	 * The plot of the chart.
+	 */
+	protected JChartPlot chartPlot = null;
+	
+	
+	JChart(String name) {
+		super();
+		
+		setLayout(new BorderLayout());
+		
+		this.name = (name == null ? "<NO NAME>" : name);
+	}
+	
+	
+	/**
+	 * Get the version of the JChart library.
+	 * @return The version string.
+	 */
+	public String chartGetVersion() {
+		return "JChart-v" + VERSION;
+	}
+	
+	
+	/**
+	 * Get the license of the JChart library.
+	 * @return The license text.
+	 */
+	public String chartGetLicense() {
+		String license = "Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands.\n\n";
+		license       += "The JChart library is free software.\n";
+		license       += "The JChart library is distributed in the hope that it will be useful, but\n";
+		license       += "WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY\n";
+		license       += "or FITNESS FOR A PARTICULAR PURPOSE.";
+		return license;
+	}
+	
+	
+	/**
+	 * Get the name of the chart.
+	 * @return The name of the chart.
+	 */
+	public String chartGetName() {
+		return name;
+	}
+	
+	
+	/**
+	 * Set the title of the chart.
+	 * @param title The title of the chart. When null no title is shown.
+	 * @param alignment The alignment of the title: JChart.TITLE_ALIGNMENT_LEFT, JChart.TITLE_ALIGNMENT_CENTER or JChart.TITLE_ALIGNMENT_RIGHT
+	 * @param position The position of the title: JChart.TITLE_POSITION_TOP or JChart.TITLE_POSITION_BOTTOM 
+	 */
+	public void chartSetTitle(String title, int alignment, int position) {
+		chartPlot.setTitle(title, alignment, position);
+	}
+	
+	
+	/**
+	 * Get the title of the chart.
+	 * @return The title of the chart.
+	 */
+	public String chartGetTitle() {
+		return chartPlot.getTitle();
+	}
+	
+	
+	/**
+	 * Set the style of the chart: its fonts and colors. A style can be shared by any number of charts.
+	 * Setting a font or color of the chart afterwards gives the chart its own changed copy of the style.
+	 * @param style The style, for example JChartStyle.DEFAULT.withTitleFont(font).
+	 * @return False if the style is null, true otherwise.
+	 */
+	public boolean chartSetStyle(JChartStyle style) {
+		return chartPlot.setStyle(style);
+	}
+	
+	
+	/**
+	 * Get the style of the chart.
+	 * @return The style with the current fonts and colors of the chart.
+	 */
+	public JChartStyle chartGetStyle() {
+		return chartPlot.getStyle();
+	}
+	
+	
+	/**
+	 * Set the font of the title.
+	 * @param font The font.
+	 */
+	public void chartSetTitleFont(Font font) {
+		chartPlot.setTitleFont(font);
+	}
+	
+	
+	/**
+	 * Set the color of the title.
+	 * @param color The color.
+	 */
+	public void chartSetTitleColor(Color color) {
+		chartPlot.setTitleColor(color);
+	}
+	
+	
+	/**
+	 * Enable or disable the legend of the chart.
+	 * @param enabled When true, the legend will be shown. When false, the legend will not be shown.
+	 */
+	public void chartSetLegendEnabled(boolean enabled) {
+		chartPlot.setLegendEnabled(enabled);
+	}
+	
+	
+	/**
+	 * Enable or disable the tool tips showing the data point under the mouse in line and scatter charts.
+	 * The tool tips are enabled by default.
+	 * @param enabled When true, hovering over a data point shows its data set and values.
+	 */
+	public void chartSetDataToolTipsEnabled(boolean enabled) {
+		chartPlot.setDataToolTipsEnabled(enabled);
+	}
+	
+	
+	/**
+	 * Enable or disable zooming with the mouse wheel and panning by dragging in line and scatter charts.
+	 * Double clicking resets the zoom. Zooming is disabled by default, because the chart then
+	 * takes the mouse wheel events of an enclosing scroll pane.
+	 * @param enabled When true, the mouse zooms and pans the chart.
+	 */
+	public void chartSetZoomEnabled(boolean enabled) {
+		chartPlot.setZoomEnabled(enabled);
+	}
+	
+	
+	/**
+	 * Reset the zoom, so the chart shows all data again.
+	 */
+	public void chartResetZoom() {
+		chartPlot.resetZoom();
+	}
+	
+	
+	/**
+	 * Set the horizontal axis of line and scatter charts to a time axis or back to plain numbers.
+	 * On a time axis the points are added with chartAddTimePoint and the ticks are aligned to
+	 * seconds, minutes, hours, days, months or years in the default time zone.
+	 * The times are kept relative to the first time added, so set the time axis before adding points.
+	 * @param timeUnit The unit of the times: JChart.TIME_UNIT_NONE, JChart.TIME_UNIT_MILLISECONDS or JChart.TIME_UNIT_NANOSECONDS.
+	 * @return False if the time unit is unknown, true otherwise.
+	 */
+	public boolean chartSetTimeAxis(int timeUnit) {
+		return chartPlot.setTimeAxis(timeUnit);
+	}
+	
+	
+	/**
+	 * Set the render quality of the chart. Saving the chart as image always uses RENDER_QUALITY_QUALITY
+	 * when the render quality is RENDER_QUALITY_ADAPTIVE.
+	 * @param quality The render quality: JChart.RENDER_QUALITY_FAST, JChart.RENDER_QUALITY_BALANCED, JChart.RENDER_QUALITY_QUALITY or JChart.RENDER_QUALITY_ADAPTIVE.
+	 * @return False if the render quality is unknown, true otherwise.
+	 */
+	public boolean chartSetRenderQuality(int quality) {
+		return chartPlot.setRenderQuality(quality);
+	}
+	
+	
+	/**
+	 * Enable or disable progressive drawing of line and scatter charts with at least a million points in view.
+	 * The chart then first shows every so many points, and draws all points from left to right on a
+	 * background thread, showing the part drawn so far. Changing the data or the size of the chart
+	 * stops the drawing of the previous version. Series drawn at a level of detail are not drawn progressively.
+	 * Progressive drawing is disabled by default.
+	 * @param enabled When true, charts with many points are drawn progressively.
+	 */
+	public void chartSetProgressiveRendering(boolean enabled) {
+		chartPlot.setProgressiveRendering(enabled);
+	}
+	
+	
+	/**
+	 * Set the font of the legend.
+	 * @param font The font.
+	 */
+	public void chartSetLegendFont(Font font) {
+		chartPlot.setLegendFont(font);
+	}
+	
+	
+	/**
+	 * Set the text color of the legend.
+	 * @param color The color.
+	 */
+	public void chartSetlegendFontColor(Color color) {
+		chartPlot.setLegendFontColor(color);
+	}
+	
+	
+	/**
+	 * Set the background color of the legend.
+	 * @param color The color.
+	 */
+	public void chartSetlegendBackgroundColor(Color color) {
+		chartPlot.setLegendBackgroundColor(color);
+	}
+	
+	
+	/**
+	 * Set the border color of the legend.
+	 * @param color The color.
+	 */
+	public void chartSetlegendBorderColor(Color  color) {
+		chartPlot.setLegendBorderColor(color);
+	}
+	
+	
+	/**
+	 * Set the background color of the chart.
+	 * @param color The color.
+	 */
+	public void chartSetBackgroundColor(Color color) {
+		chartPlot.setBackground(color);
+	}
+	
+	
+	/**
+	 * Add a data set to the chart. A data set is a set of points or values that represent the same entity.
+	 * @param dataSetName The name of the data set
+	 * @param color The color used in the chart for the data set.
+	 * @return False if there is already a data set with the specified name, false otherwise.
+	 */
+	public boolean chartAddDataSet(String dataSetName, Color color) {
+		return chartPlot.addDataSet(dataSetName, color);
+	}
+	
+	
+	/**
+	 * Specifies if the data sets should be ordered by name.
+	 * Default is the order by which they are added to the chart.
+	 * @param ordered True or False.
+	 */
+	public void chartSetOrderedDataSets(Boolean ordered) {
+		chartPlot.setOrderedDataSets(ordered);
+	}
+	
+	
+	/**
+	 * Clears the data of the chart.
+	 */
+	public void chartClear() {
+		chartPlot.clear();
+	}
+	
+	
+	/**
+	 * Get an estimate of the memory taken by the chart: its components, its data, and the images
+	 * and caches of its last paint. Styles, fonts and colors shared with other charts are not counted.
+	 * An empty chart takes about 1.5 kB.
+	 * @return The estimated number of bytes.
+	 */
+	public long chartGetMemoryEstimate() {
+		return chartPlot.getMemoryEstimate();
+	}
+	
+	
+	/**
+	 * Set the frame rate at which all charts are repainted.
+	 * The repaints of all charts are collected and done together in frames, using at most half of each frame,
+	 * so bursts of updates of many charts do not keep the event dispatch thread busy.
+	 * Charts that are not showing, like in a hidden tab or scrolled out of view, are not repainted.
+	 * @param framesPerSecond The number of frames per second, or 0 to repaint each chart on its own. The default is 60.
+	 * @return False if the frame rate is negative, true otherwise.
+	 */
+	public static boolean chartSetRepaintFrameRate(int framesPerSecond) {
+		boolean ok = framesPerSecond >= 0;
+		if (ok) {
+			JChartRepaintScheduler.setFrameRate(framesPerSecond);
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "Negative frame rate.", "Chart Repaint Error", JOptionPane.ERROR_MESSAGE);
+		}
+		return ok;
+	}
+	
+	
+	@Override
+	public void repaint(long time, int x, int y, int width, int height) {
+		// Repaints are done in the frames of the repaint scheduler shared by all charts,
+		// and are remembered by a suspended plot until it is visible again
+		if ((chartPlot != null) && chartPlot.isSuspended()) {
+			chartPlot.repaint();
+		}
+		else if (!JChartRepaintScheduler.repaint(this)) {
+			super.repaint(time, x, y, width, height);
+		}
+	}
+	
+	
+	protected List<Double> createAxis(double minimum, double maximum, double step) {
+		List<Double> axis = new ArrayList<Double>();
+		
+		double value = minimum;
+		while (value < maximum) {
+			axis.add(value);
+			value += step;
+		}
+		axis.add(maximum);
+		
+		return axis;
+	}
+	
+}
@@ -0,0 +1,483 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The geometry of the axes of a plot: the area within the axes, the positions of the axes
+ * and the values on the axes, shared by the line, scatter, bar and box plots.
+ * A plot sets the area left by the title and the legend, the axis labels, the widths of the
+ * values and the ranges of its value axes, after which update() lays out the axes.
+ * The layout is only computed again when one of these, the font, the scales or the time axis
+ * changed, so appending data within the ranges of the axes keeps the layout.
+ * Values are mapped to pixels with toX and toY, which multiply with a scale computed with the
+ * layout. The versions for arrays map a whole series in one loop into a reused array.
+ */
+class JChartAxisLayout {
+
+	// Both axes have values, like in line and scatter charts
+	static final int STYLE_VALUES      = 0;
+
+	// Categories on the horizontal axis and values on the vertical axis
+	static final int STYLE_VERTICAL    = 1;
+
+	// Values on the horizontal axis and categories on the vertical axis
+	static final int STYLE_HORIZONTAL  = 2;
+
+	// The position of values without a position on an axis, like NaN
+	static final int NO_POSITION = Integer.MIN_VALUE;
+
+	// The number of points of a series that are mapped to positions at once, so the positions and the values
+	// copied from a mapped or compressed series do not grow with the number of points in view
+	static final int POSITION_CHUNK = 65536;
+
+	private final JChartPlot plot;
+
+	// The input of the layout
+	private int style;
+	private Rectangle area;
+	private boolean horizontalLabel;
+	private boolean verticalLabel;
+	private int maxXWidth;
+	private int maxYWidth;
+	private List<Double> predefinedHorizontalAxis;
+	private double minX;
+	private double maxX;
+	private int xPrecision;
+	private boolean horizontalZeroAxis;
+	private List<Double> predefinedVerticalAxis;
+	private double minY;
+	private double maxY;
+	private int yPrecision;
+	private boolean verticalZeroAxis;
+	private int depthX;
+	private int depthY;
+
+	// The input the current layout was computed for
+	private double[] layoutKey = null;
+	private Font layoutFont = null;
+	private List<Double> layoutHorizontalAxis = null;
+	private List<Double> layoutVerticalAxis = null;
+	private JChartTimeAxis layoutTimeAxis = null;
+	private int timeAxisStep;
+	private int timeAxisFormat;
+
+	// The layout
+	private int leftBottomX;
+	private int leftBottomY;
+	private int width;
+	private int height;
+	private int verticalAxisX;
+	private int horizontalAxisY;
+	private List<Double> hAxis = null;
+	private List<Double> vAxis = null;
+
+	// The mapping of values to pixels: position = base position + (value - base value) * scale
+	private double xBaseValue;
+	private double xScale;
+	private double yBaseValue;
+	private double yScale;
+
+	// The positions of the last series mapped with toX and toY
+	private int[] xPositions = new int[0];
+	private int[] yPositions = new int[0];
+
+	// The values of the last chunk of a mapped or compressed series mapped with toX and toXY
+	private double[] chunkX = new double[0];
+	private double[] chunkY = new double[0];
+
+
+	public JChartAxisLayout(JChartPlot plot) {
+		this.plot = plot;
+	}
+
+
+	public long getMemoryEstimate() {
+		// The positions grow to the largest series or chunk mapped to pixels
+		return JChartMemory.OBJECT + JChartMemory.estimateNumbers(hAxis) + JChartMemory.estimateNumbers(vAxis) + JChartMemory.estimate(xPositions) + JChartMemory.estimate(yPositions) + JChartMemory.estimate(chunkX) + JChartMemory.estimate(chunkY);
+	}
+
+
+	public JChartAxisLayout copy() {
+		// A copy of the layout with its own arrays for toX and toY, to map values on another thread
+		JChartAxisLayout copy = new JChartAxisLayout(plot);
+		copy.leftBottomX = leftBottomX;
+		copy.leftBottomY = leftBottomY;
+		copy.width = width;
+		copy.height = height;
+		copy.verticalAxisX = verticalAxisX;
+		copy.horizontalAxisY = horizontalAxisY;
+		copy.hAxis = hAxis;
+		copy.vAxis = vAxis;
+		copy.xBaseValue = xBaseValue;
+		copy.xScale = xScale;
+		copy.yBaseValue = yBaseValue;
+		copy.yScale = yScale;
+		return copy;
+	}
+
+
+	public void begin(int style, Rectangle area) {
+		// Starts the input of a new layout
+		this.style = style;
+		this.area = area;
+		horizontalLabel = false;
+		verticalLabel = false;
+		maxXWidth = 0;
+		maxYWidth = 0;
+		predefinedHorizontalAxis = null;
+		minX = 0.0;
+		maxX = 0.0;
+		xPrecision = 0;
+		horizontalZeroAxis = false;
+		predefinedVerticalAxis = null;
+		minY = 0.0;
+		maxY = 0.0;
+		yPrecision = 0;
+		verticalZeroAxis = false;
+		depthX = 0;
+		depthY = 0;
+	}
+
+
+	public void setLabels(boolean horizontalLabel, boolean verticalLabel) {
+		this.horizontalLabel = horizontalLabel;
+		this.verticalLabel = verticalLabel;
+	}
+
+
+	public void setValueWidths(int maxXWidth, int maxYWidth) {
+		// The widths of the widest values or categories on the axes
+		this.maxXWidth = maxXWidth;
+		this.maxYWidth = maxYWidth;
+	}
+
+
+	public void setHorizontalValues(List<Double> predefinedAxis, double minX, double maxX, int precision, boolean zeroAxis) {
+		// With zeroAxis the vertical axis is drawn at zero when the values are negative and positive
+		predefinedHorizontalAxis = predefinedAxis;
+		this.minX = minX;
+		this.maxX = maxX;
+		xPrecision = precision;
+		horizontalZeroAxis = zeroAxis && (minX < 0.0) && (maxX > 0.0);
+	}
+
+
+	public void setVerticalValues(List<Double> predefinedAxis, double minY, double maxY, int precision, boolean zeroAxis) {
+		// With zeroAxis the horizontal axis is drawn at zero when the values are negative and positive
+		predefinedVerticalAxis = predefinedAxis;
+		this.minY = minY;
+		this.maxY = maxY;
+		yPrecision = precision;
+		verticalZeroAxis = zeroAxis && (minY < 0.0) && (maxY > 0.0);
+	}
+
+
+	public void setDepth(int depthX, int depthY) {
+		// The space taken by the depth of 3D bars at the right and top of the area
+		this.depthX = depthX;
+		this.depthY = depthY;
+	}
+
+
+	public void update(FontMetrics fontMetrics) {
+		// Not the version of the plot, which also changes with every point added to a series
+		double[] key = new double[] {
+				style, area.x, area.y, area.width, area.height, fontMetrics.getHeight(),
+				horizontalLabel ? 1 : 0, verticalLabel ? 1 : 0, maxXWidth, maxYWidth,
+				minX, maxX, xPrecision, horizontalZeroAxis ? 1 : 0,
+				minY, maxY, yPrecision, verticalZeroAxis ? 1 : 0,
+				depthX, depthY, plot.horizontalScale, plot.verticalScale,
+				(plot.timeAxis != null) && plot.timeAxis.hasOrigin() ? 1 : 0, (plot.timeAxis != null) && plot.timeAxis.hasOrigin() ? plot.timeAxis.getOrigin() : 0
+		};
+		if ((!Arrays.equals(key, layoutKey)) ||
+				(!fontMetrics.getFont().equals(layoutFont)) ||
+				(!Objects.equals(predefinedHorizontalAxis, layoutHorizontalAxis)) ||
+				(!Objects.equals(predefinedVerticalAxis, layoutVerticalAxis)) ||
+				(plot.timeAxis != layoutTimeAxis)) {
+			layout(fontMetrics);
+			layoutKey = key;
+			layoutFont = fontMetrics.getFont();
+			// Copies, as a plot may change the values of its predefined axes in place
+			layoutHorizontalAxis = predefinedHorizontalAxis == null ? null : new ArrayList<Double>(predefinedHorizontalAxis);
+			layoutVerticalAxis = predefinedVerticalAxis == null ? null : new ArrayList<Double>(predefinedVerticalAxis);
+			layoutTimeAxis = plot.timeAxis;
+			if (plot.timeAxis != null) {
+				timeAxisStep = plot.timeAxis.getStep();
+				timeAxisFormat = plot.timeAxis.getFormat();
+			}
+		}
+		else if (plot.timeAxis != null) {
+			// The labels of the time axis are formatted for the step chosen with the axis
+			plot.timeAxis.setStep(timeAxisStep, timeAxisFormat);
+		}
+	}
+
+
+	private void layout(FontMetrics fontMetrics) {
+		int rowHeight = fontMetrics.getHeight() + JChartPlot.AXIS_VALUE_GAP;
+		int halfXWidth = (maxXWidth + 1) / 2;
+
+		leftBottomX = area.x;
+		leftBottomY = area.y + area.height;
+		width = area.width;
+		height = area.height;
+
+		// The label of the horizontal axis is below the values of the axis, unless the axis is drawn at zero
+		if (horizontalLabel && (!verticalZeroAxis)) {
+			leftBottomY = leftBottomY - rowHeight;
+			height = height - rowHeight;
+		}
+
+		// The label of the vertical axis is above the axis
+		if (verticalLabel) {
+			height = height - rowHeight;
+		}
+
+		// Room for half of the last value on the horizontal value axis
+		if (style != STYLE_VERTICAL) {
+			width = width - halfXWidth;
+		}
+
+		int xShift = Math.max(maxYWidth + JChartPlot.AXIS_VALUE_GAP, halfXWidth);
+		if (horizontalZeroAxis && (depthX == 0)) {
+			leftBottomX = leftBottomX + halfXWidth;
+			width = width - halfXWidth;
+			verticalAxisX = plot.valueToPosition(0.0, leftBottomX, leftBottomX + width, minX, maxX);
+			if ((verticalAxisX - (maxYWidth + JChartPlot.AXIS_VALUE_GAP)) < leftBottomX) {
+				leftBottomX = leftBottomX - verticalAxisX + maxYWidth + JChartPlot.AXIS_VALUE_GAP;
+				width = width - ((maxYWidth + JChartPlot.AXIS_VALUE_GAP) - verticalAxisX);
+				verticalAxisX = plot.valueToPosition(0.0, leftBottomX, leftBottomX + width, minX, maxX);
+			}
+		}
+		else if (horizontalZeroAxis) {
+			verticalAxisX = plot.valueToPosition(0.0, leftBottomX + xShift, leftBottomX + width - xShift - depthX, minX, maxX);
+			if ((verticalAxisX - xShift) < leftBottomX) {
+				leftBottomX = leftBottomX + xShift + (leftBottomX - (verticalAxisX - xShift));
+				width = width - xShift - (leftBottomX - (verticalAxisX - xShift));
+			}
+			else {
+				leftBottomX = leftBottomX + xShift;
+				width = width - xShift;
+			}
+			verticalAxisX = plot.valueToPosition(0.0, leftBottomX, leftBottomX + width - depthX, minX, maxX);
+		}
+		else {
+			leftBottomX = leftBottomX + xShift;
+			width = width - xShift;
+			verticalAxisX = leftBottomX;
+		}
+
+		if (verticalZeroAxis) {
+			leftBottomY = leftBottomY - ((fontMetrics.getHeight() + 1) / 2);
+			height = height - ((fontMetrics.getHeight() + 1) / 2);
+			horizontalAxisY = plot.valueToPosition(0.0, leftBottomY, leftBottomY - height + depthY, minY, maxY);
+		}
+		else {
+			leftBottomY = leftBottomY - rowHeight;
+			height = height - rowHeight;
+			horizontalAxisY = leftBottomY;
+		}
+
+		hAxis = style == STYLE_VERTICAL ? null : plot.horizontalAxis(predefinedHorizontalAxis, minX, maxX, leftBottomX, leftBottomX + width - depthX, fontMetrics, xPrecision);
+		vAxis = style == STYLE_HORIZONTAL ? null : plot.verticalAxis(predefinedVerticalAxis, minY, maxY, leftBottomY, leftBottomY - height + depthY, fontMetrics, yPrecision);
+		if (hAxis != null) {
+			xBaseValue = hAxis.get(0);
+			xScale = getScale(leftBottomX, leftBottomX + width - depthX, xBaseValue, hAxis.get(hAxis.size() - 1));
+		}
+		if (vAxis != null) {
+			yBaseValue = vAxis.get(0);
+			yScale = getScale(leftBottomY, leftBottomY - height + depthY, yBaseValue, vAxis.get(vAxis.size() - 1));
+		}
+
+		if (JChartPlot.DEBUG) {
+			System.out.println();
+			System.out.println(plot.name + " layout");
+			System.out.println("area             = " + area);
+			System.out.println("maxXWidth        = " + Integer.toString(maxXWidth));
+			System.out.println("maxYWidth        = " + Integer.toString(maxYWidth));
+			System.out.println("leftBottomX      = " + Integer.toString(leftBottomX));
+			System.out.println("leftBottomY      = " + Integer.toString(leftBottomY));
+			System.out.println("width            = " + Integer.toString(width));
+			System.out.println("height           = " + Integer.toString(height));
+			System.out.println("verticalAxisX    = " + Integer.toString(verticalAxisX));
+			System.out.println("horizontalAxisY  = " + Integer.toString(horizontalAxisY));
+			System.out.println();
+		}
+	}
+
+
+	public int getLeftBottomX() {
+		return leftBottomX;
+	}
+
+
+	public int getLeftBottomY() {
+		return leftBottomY;
+	}
+
+
+	public int getWidth() {
+		return width;
+	}
+
+
+	public int getHeight() {
+		return height;
+	}
+
+
+	public int getVerticalAxisX() {
+		return verticalAxisX;
+	}
+
+
+	public int getHorizontalAxisY() {
+		return horizontalAxisY;
+	}
+
+
+	public List<Double> getHorizontalAxis() {
+		return hAxis;
+	}
+
+
+	public List<Double> getVerticalAxis() {
+		return vAxis;
+	}
+
+
+	public int toX(double x) {
+		// The position of a value on the horizontal axis, which ends before the depth of 3D bars
+		return leftBottomX + (int) Math.round((x - xBaseValue) * xScale);
+	}
+
+
+	public int toY(double y) {
+		// The position of a value on the vertical axis, which ends below the depth of 3D bars
+		return leftBottomY + (int) Math.round((y - yBaseValue) * yScale);
+	}
+
+
+	public double fromX(int x) {
+		// The value on the horizontal axis at a position
+		return xBaseValue + ((x - leftBottomX) / xScale);
+	}
+
+
+	public boolean hasSameMapping(JChartAxisLayout other) {
+		// Whether toX and toY of the other layout map values to the same positions
+		return (leftBottomX == other.leftBottomX) && (leftBottomY == other.leftBottomY) &&
+				(xBaseValue == other.xBaseValue) && (xScale == other.xScale) &&
+				(yBaseValue == other.yBaseValue) && (yScale == other.yScale);
+	}
+
+
+	public int[] toX(double[] values, int from, int to) {
+		// The positions of values from up to to, at index value index - from in an array that is reused by the next call
+		if (xPositions.length < (to - from)) {
+			xPositions = new int[Math.max(to - from, xPositions.length * 2)];
+		}
+		toPositions(values, from, to, leftBottomX, xBaseValue, xScale, xPositions, 0);
+		return xPositions;
+	}
+
+
+	public int[] toY(double[] values, int from, int to) {
+		// The positions of values from up to to, at index value index - from in an array that is reused by the next call
+		if (yPositions.length < (to - from)) {
+			yPositions = new int[Math.max(to - from, yPositions.length * 2)];
+		}
+		toPositions(values, from, to, leftBottomY, yBaseValue, yScale, yPositions, 0);
+		return yPositions;
+	}
+
+
+	public int[] toX(JChartSeries series, int from, int to) {
+		// The positions of the plot x values of the points from up to to, like toX of an array. The values of a
+		// mapped or compressed series are copied from the file or decoded into an array that is reused, so a
+		// series with very many points is mapped in chunks of POSITION_CHUNK points.
+		double[] values = series.getPlotXValues();
+		int offset = from;
+		if (values == null) {
+			if (chunkX.length < (to - from)) {
+				chunkX = new double[to - from];
+			}
+			series.getPlotValues(from, to, chunkX, null);
+			values = chunkX;
+			offset = 0;
+		}
+		return toX(values, offset, offset + (to - from));
+	}
+
+
+	public void toXY(JChartSeries series, int from, int to) {
+		// The positions of the plot x and y values of the points from up to to, like toX and toY of arrays,
+		// in the arrays of getXPositions and getYPositions. The values of a mapped or compressed series are
+		// copied from the file or decoded together into arrays that are reused, so a series with very many
+		// points is mapped in chunks of POSITION_CHUNK points.
+		double[] xValues = series.getPlotXValues();
+		double[] yValues = series.getPlotYValues();
+		int offset = from;
+		if ((xValues == null) || (yValues == null)) {
+			if (chunkX.length < (to - from)) {
+				chunkX = new double[to - from];
+			}
+			if (chunkY.length < (to - from)) {
+				chunkY = new double[to - from];
+			}
+			series.getPlotValues(from, to, chunkX, chunkY);
+			xValues = chunkX;
+			yValues = chunkY;
+			offset = 0;
+		}
+		toX(xValues, offset, offset + (to - from));
+		toY(yValues, offset, offset + (to - from));
+	}
+
+
+	public int[] getXPositions() {
+		return xPositions;
+	}
+
+
+	public int[] getYPositions() {
+		return yPositions;
+	}
+
+
+	static double getScale(int basePosition, int endPosition, double baseValue, double endValue) {
+		// The number of pixels per unit of value
+		return ((double) endPosition - (double) basePosition) / (endValue - baseValue);
+	}
+
+
+	static void toPositions(double[] values, int from, int to, int basePosition, double baseValue, double scale, int[] positions, int offset) {
+		// The positions of values from up to to at positions offset and further. One loop without calls
+		// but Math.round, which the JIT compiler can unroll and vectorize. NaN values get NO_POSITION.
+		int shift = offset - from;
+		for (int index = from; index < to; index++) {
+			double value = values[index];
+			positions[index + shift] = value == value ? basePosition + (int) Math.round((value - baseValue) * scale) : NO_POSITION;
+		}
+	}
+
+}
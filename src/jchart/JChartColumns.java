@@ -0,0 +1,82 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.io.Serializable;
+
+/**
+ * The points of a series stored in less memory than the arrays of doubles of the series.
+ * Like the points of a sorted series, the points are appended in order of x and a point
+ * with the x value of the last point replaces it. Points that were added can be read while
+ * points are appended, the same as the arrays of a series.
+ */
+abstract class JChartColumns implements Serializable {
+	private static final long serialVersionUID = -7163402253837245013L;
+
+
+	public abstract int size();
+
+
+	// Whether a point with this third value can be added, a NaN value is no third value
+	public abstract boolean canAdd(double value);
+
+
+	public abstract void add(double x, double y, double value);
+
+
+	// Replaces the y value and the third value of the last point
+	public abstract void setLast(double y, double value);
+
+
+	public abstract double getX(int index);
+
+
+	public abstract double getY(int index);
+
+
+	public abstract double getValue(int index);
+
+
+	public abstract boolean hasValues();
+
+
+	public abstract void get(int from, int to, double[] xTarget, double[] yTarget, double[] valueTarget, int offset);
+
+
+	public abstract long getMemoryEstimate();
+
+
+	// Columns with the points added so far, which points added later do not change, for reading on another thread
+	public abstract JChartColumns getView();
+
+
+	public double getLastX() {
+		return getX(size() - 1);
+	}
+
+
+	public void getRangeY(int from, int to, double[] range) {
+		// Sets range to the minimum and maximum y value of the points from up to to, ignoring NaN values
+		double minimum = Double.NaN;
+		double maximum = Double.NaN;
+		for (int index = from; index < to; index++) {
+			double y = getY(index);
+			minimum = JChartSeriesPyramid.minimum(minimum, y);
+			maximum = JChartSeriesPyramid.maximum(maximum, y);
+		}
+		range[0] = minimum;
+		range[1] = maximum;
+	}
+
+}
@@ -0,0 +1,530 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The x and y values of the points of a series, compressed in blocks of 256 points like a time series database.
+ * When the x values of a block are whole numbers, like times in milliseconds, they are encoded as the change of
+ * the distance between points, so regularly sampled points take 1 bit. Other x values and the y values are
+ * encoded as the bits that differ from the previous value, so a value equal to the previous value takes 1 bit.
+ * Each block keeps its first and last point and the minimum and maximum of its y values, so ranges and the first
+ * level of a pyramid are found without decoding. The points are appended in order of x to an open block, which
+ * is encoded when the next point does not fit. The encoded blocks do not change. The points have no third values.
+ */
+class JChartCompressedColumns extends JChartColumns {
+	private static final long serialVersionUID = -406814436173897129L;
+
+	// Points per block, a power of 2 so the block of an index is a shift
+	static final int BLOCK_SHIFT = 8;
+	static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+	private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	// The encoding of a block takes at most 4 + 64 bits for an x value and 2 + 5 + 6 + 64 bits for a y value per point
+	private static final int MAX_BLOCK_BYTES = ((BLOCK_SIZE * (68 + 77)) / 8) + 8;
+
+	// Whole numbers up to this size are exact doubles, so their distances are exact longs
+	private static final double MAX_WHOLE_NUMBER = 1L << 53;
+
+	private Block[] blocks;
+	private int blockCount;
+	private double[] openXValues;
+	private double[] openYValues;
+	private int openSize;
+
+	// Whether a view shares the open block, which is then copied before its last point is replaced
+	private transient boolean shared = false;
+
+	// The last decoded block, for reading single points
+	private transient Decoded decoded = null;
+	private transient byte[] encodeBuffer = null;
+
+
+	public JChartCompressedColumns() {
+		blocks = new Block[INITIAL_CAPACITY];
+		blockCount = 0;
+		openXValues = new double[BLOCK_SIZE];
+		openYValues = new double[BLOCK_SIZE];
+		openSize = 0;
+	}
+
+
+	private JChartCompressedColumns(JChartCompressedColumns columns) {
+		// The encoded blocks do not change and a full open block is replaced, so the view shares them
+		blocks = columns.blocks;
+		blockCount = columns.blockCount;
+		openXValues = columns.openXValues;
+		openYValues = columns.openYValues;
+		openSize = columns.openSize;
+	}
+
+
+	@Override
+	public int size() {
+		return (blockCount * BLOCK_SIZE) + openSize;
+	}
+
+
+	@Override
+	public boolean canAdd(double value) {
+		return Double.isNaN(value);
+	}
+
+
+	@Override
+	public void add(double x, double y, double value) {
+		// Appends a point with an x value greater than that of the last point
+		if (openSize == BLOCK_SIZE) {
+			if (blockCount == blocks.length) {
+				blocks = Arrays.copyOf(blocks, blocks.length + (blocks.length >> 1));
+			}
+			blocks[blockCount] = encode();
+			blockCount++;
+			// A new open block, so the points of the encoded block stay readable while it is replaced
+			openXValues = new double[BLOCK_SIZE];
+			openYValues = new double[BLOCK_SIZE];
+			openSize = 0;
+		}
+		openXValues[openSize] = x;
+		openYValues[openSize] = y;
+		openSize++;
+	}
+
+
+	@Override
+	public double getLastX() {
+		// The last point is always in the open block
+		return openXValues[openSize - 1];
+	}
+
+
+	@Override
+	public void setLast(double y, double value) {
+		if (shared) {
+			openYValues = openYValues.clone();
+			shared = false;
+		}
+		openYValues[openSize - 1] = y;
+	}
+
+
+	@Override
+	public double getX(int index) {
+		int blockNr = index >>> BLOCK_SHIFT;
+		int offset = index & BLOCK_MASK;
+		return blockNr == blockCount ? openXValues[offset] : (offset == 0 ? blocks[blockNr].firstX : (offset == BLOCK_MASK ? blocks[blockNr].lastX : getDecoded(blockNr).xValues[offset]));
+	}
+
+
+	@Override
+	public double getY(int index) {
+		int blockNr = index >>> BLOCK_SHIFT;
+		int offset = index & BLOCK_MASK;
+		return blockNr == blockCount ? openYValues[offset] : (offset == 0 ? blocks[blockNr].firstY : (offset == BLOCK_MASK ? blocks[blockNr].lastY : getDecoded(blockNr).yValues[offset]));
+	}
+
+
+	@Override
+	public double getValue(int index) {
+		return Double.NaN;
+	}
+
+
+	@Override
+	public boolean hasValues() {
+		return false;
+	}
+
+
+	@Override
+	public void get(int from, int to, double[] xTarget, double[] yTarget, double[] valueTarget, int offset) {
+		// Copies the points from up to to to the targets that are not null from offset. Whole blocks are decoded
+		// straight into the targets.
+		if (valueTarget != null) {
+			Arrays.fill(valueTarget, offset, offset + (to - from), Double.NaN);
+		}
+		int index = from;
+		while (index < to) {
+			int blockNr = index >>> BLOCK_SHIFT;
+			int blockFrom = index & BLOCK_MASK;
+			int length = Math.min(to - index, BLOCK_SIZE - blockFrom);
+			int targetOffset = offset + (index - from);
+			if (blockNr == blockCount) {
+				if (xTarget != null) {
+					System.arraycopy(openXValues, blockFrom, xTarget, targetOffset, length);
+				}
+				if (yTarget != null) {
+					System.arraycopy(openYValues, blockFrom, yTarget, targetOffset, length);
+				}
+			}
+			else {
+				decode(blocks[blockNr], blockFrom, blockFrom + length, xTarget, yTarget, targetOffset);
+			}
+			index += length;
+		}
+	}
+
+
+	@Override
+	public void getRangeY(int from, int to, double[] range) {
+		// Only the blocks that are partly in the range are decoded
+		double minimum = Double.NaN;
+		double maximum = Double.NaN;
+		int index = from;
+		while (index < to) {
+			int blockNr = index >>> BLOCK_SHIFT;
+			int length = Math.min(to - index, BLOCK_SIZE - (index & BLOCK_MASK));
+			if ((blockNr < blockCount) && (length == BLOCK_SIZE)) {
+				minimum = JChartSeriesPyramid.minimum(minimum, blocks[blockNr].minimumY);
+				maximum = JChartSeriesPyramid.maximum(maximum, blocks[blockNr].maximumY);
+			}
+			else {
+				for (int pointNr = index; pointNr < (index + length); pointNr++) {
+					double y = getY(pointNr);
+					minimum = JChartSeriesPyramid.minimum(minimum, y);
+					maximum = JChartSeriesPyramid.maximum(maximum, y);
+				}
+			}
+			index += length;
+		}
+		range[0] = minimum;
+		range[1] = maximum;
+	}
+
+
+	@Override
+	public JChartColumns getView() {
+		shared = true;
+		return new JChartCompressedColumns(this);
+	}
+
+
+	@Override
+	public long getMemoryEstimate() {
+		// A block is an object with 6 doubles and its encoded points
+		long bytes = JChartMemory.OBJECT + JChartMemory.ARRAY + (blocks.length * JChartMemory.REFERENCE);
+		bytes += JChartMemory.estimate(openXValues) + JChartMemory.estimate(openYValues) + JChartMemory.estimate(encodeBuffer);
+		for (int blockNr = 0; blockNr < blockCount; blockNr++) {
+			bytes += JChartMemory.OBJECT + 56 + JChartMemory.estimate(blocks[blockNr].data);
+		}
+		Decoded currentDecoded = decoded;
+		if (currentDecoded != null) {
+			bytes += JChartMemory.OBJECT + JChartMemory.estimate(currentDecoded.xValues) + JChartMemory.estimate(currentDecoded.yValues);
+		}
+		return bytes;
+	}
+
+
+	private Block encode() {
+		// Encodes the points of the full open block
+		boolean wholeX = true;
+		double minimumY = Double.NaN;
+		double maximumY = Double.NaN;
+		for (int index = 0; index < BLOCK_SIZE; index++) {
+			wholeX = wholeX && isWholeNumber(openXValues[index]);
+			minimumY = JChartSeriesPyramid.minimum(minimumY, openYValues[index]);
+			maximumY = JChartSeriesPyramid.maximum(maximumY, openYValues[index]);
+		}
+
+		if (encodeBuffer == null) {
+			encodeBuffer = new byte[MAX_BLOCK_BYTES];
+		}
+		BitWriter writer = new BitWriter(encodeBuffer);
+		XorCoder xCoder = new XorCoder(openXValues[0]);
+		XorCoder yCoder = new XorCoder(openYValues[0]);
+		long previousX = (long) openXValues[0];
+		long previousDistance = 0;
+		for (int index = 1; index < BLOCK_SIZE; index++) {
+			if (wholeX) {
+				long x = (long) openXValues[index];
+				writer.writeChange((x - previousX) - previousDistance);
+				previousDistance = x - previousX;
+				previousX = x;
+			}
+			else {
+				xCoder.write(writer, openXValues[index]);
+			}
+			yCoder.write(writer, openYValues[index]);
+		}
+		return new Block(writer.toArray(), wholeX, openXValues[0], openYValues[0], openXValues[BLOCK_SIZE - 1], openYValues[BLOCK_SIZE - 1], minimumY, maximumY);
+	}
+
+
+	private static void decode(Block block, int from, int to, double[] xTarget, double[] yTarget, int offset) {
+		// Decodes the points of a block from up to to, indexes in the block, to the targets that are not null from offset
+		BitReader reader = new BitReader(block.data);
+		XorCoder xCoder = new XorCoder(block.firstX);
+		XorCoder yCoder = new XorCoder(block.firstY);
+		long wholeX = (long) block.firstX;
+		long distance = 0;
+		double x = block.firstX;
+		double y = block.firstY;
+		for (int index = 0; index < to; index++) {
+			if (index > 0) {
+				if (block.wholeX) {
+					distance += reader.readChange();
+					wholeX += distance;
+					x = wholeX;
+				}
+				else {
+					x = xCoder.read(reader);
+				}
+				y = yCoder.read(reader);
+			}
+			if (index >= from) {
+				if (xTarget != null) {
+					xTarget[offset + (index - from)] = x;
+				}
+				if (yTarget != null) {
+					yTarget[offset + (index - from)] = y;
+				}
+			}
+		}
+	}
+
+
+	private Decoded getDecoded(int blockNr) {
+		// The decoded block is replaced as a whole, so it can be read by several threads at once
+		Decoded currentDecoded = decoded;
+		if ((currentDecoded == null) || (currentDecoded.blockNr != blockNr)) {
+			double[] xValues = new double[BLOCK_SIZE];
+			double[] yValues = new double[BLOCK_SIZE];
+			decode(blocks[blockNr], 0, BLOCK_SIZE, xValues, yValues, 0);
+			currentDecoded = new Decoded(blockNr, xValues, yValues);
+			decoded = currentDecoded;
+		}
+		return currentDecoded;
+	}
+
+
+	private static boolean isWholeNumber(double value) {
+		// Negative zero is not a whole number, it would be decoded as zero
+		return (value == Math.rint(value)) && (Math.abs(value) <= MAX_WHOLE_NUMBER) && (Double.doubleToRawLongBits(value) != Long.MIN_VALUE);
+	}
+
+
+	private static class Block implements Serializable {
+		private static final long serialVersionUID = 322792293935496017L;
+
+		final byte[] data;
+		final boolean wholeX;
+		final double firstX;
+		final double firstY;
+		final double lastX;
+		final double lastY;
+		final double minimumY;
+		final double maximumY;
+
+
+		Block(byte[] data, boolean wholeX, double firstX, double firstY, double lastX, double lastY, double minimumY, double maximumY) {
+			this.data = data;
+			this.wholeX = wholeX;
+			this.firstX = firstX;
+			this.firstY = firstY;
+			this.lastX = lastX;
+			this.lastY = lastY;
+			this.minimumY = minimumY;
+			this.maximumY = maximumY;
+		}
+	}
+
+
+	private static class Decoded {
+		final int blockNr;
+		final double[] xValues;
+		final double[] yValues;
+
+
+		Decoded(int blockNr, double[] xValues, double[] yValues) {
+			this.blockNr = blockNr;
+			this.xValues = xValues;
+			this.yValues = yValues;
+		}
+	}
+
+
+	private static class XorCoder {
+		// Encodes a value as the exclusive or with the previous value. When the bits that differ fit in the window
+		// of the previous value, only those bits are written, otherwise the new window is written first.
+		private long previous;
+		private int leadingZeros = Integer.MAX_VALUE;
+		private int trailingZeros = 0;
+
+
+		XorCoder(double first) {
+			previous = Double.doubleToRawLongBits(first);
+		}
+
+
+		void write(BitWriter writer, double value) {
+			long bits = Double.doubleToRawLongBits(value);
+			long xor = bits ^ previous;
+			if (xor == 0) {
+				writer.write(0, 1);
+			}
+			else {
+				// The window starts at most 31 bits from the top, so its start fits in 5 bits
+				int newLeadingZeros = Math.min(31, Long.numberOfLeadingZeros(xor));
+				int newTrailingZeros = Long.numberOfTrailingZeros(xor);
+				if ((newLeadingZeros >= leadingZeros) && (newTrailingZeros >= trailingZeros)) {
+					writer.write(2, 2);
+				}
+				else {
+					leadingZeros = newLeadingZeros;
+					trailingZeros = newTrailingZeros;
+					writer.write(3, 2);
+					writer.write(leadingZeros, 5);
+					// A window of 64 bits is written as 0
+					writer.write((64 - leadingZeros - trailingZeros) & 63, 6);
+				}
+				writer.write(xor >>> trailingZeros, 64 - leadingZeros - trailingZeros);
+			}
+			previous = bits;
+		}
+
+
+		double read(BitReader reader) {
+			if (reader.read(1) != 0) {
+				if (reader.read(1) != 0) {
+					leadingZeros = (int) reader.read(5);
+					int windowSize = (int) reader.read(6);
+					trailingZeros = 64 - leadingZeros - (windowSize == 0 ? 64 : windowSize);
+				}
+				previous ^= reader.read(64 - leadingZeros - trailingZeros) << trailingZeros;
+			}
+			return Double.longBitsToDouble(previous);
+		}
+	}
+
+
+	private static class BitWriter {
+		private final byte[] buffer;
+		private int position = 0;
+		private long bits = 0;
+		private int bitCount = 0;
+
+
+		BitWriter(byte[] buffer) {
+			this.buffer = buffer;
+		}
+
+
+		void write(long value, int count) {
+			// Writes the lowest count bits of value, the highest first
+			if (count > 32) {
+				write(value >>> 32, count - 32);
+				write(value, 32);
+			}
+			else {
+				bits = (bits << count) | (value & ((1L << count) - 1));
+				bitCount += count;
+				while (bitCount >= 8) {
+					bitCount -= 8;
+					buffer[position++] = (byte) (bits >>> bitCount);
+				}
+			}
+		}
+
+
+		void writeChange(long change) {
+			// Small changes of the distance between points take a few bits, a change of 0 takes 1 bit
+			if (change == 0) {
+				write(0, 1);
+			}
+			else if ((change >= -63) && (change <= 64)) {
+				write(2, 2);
+				write(change + 63, 7);
+			}
+			else if ((change >= -255) && (change <= 256)) {
+				write(6, 3);
+				write(change + 255, 9);
+			}
+			else if ((change >= -2047) && (change <= 2048)) {
+				write(14, 4);
+				write(change + 2047, 12);
+			}
+			else {
+				write(15, 4);
+				write(change, 64);
+			}
+		}
+
+
+		byte[] toArray() {
+			if (bitCount > 0) {
+				buffer[position++] = (byte) (bits << (8 - bitCount));
+				bitCount = 0;
+			}
+			return Arrays.copyOf(buffer, position);
+		}
+	}
+
+
+	private static class BitReader {
+		private final byte[] data;
+		private int position = 0;
+		private long bits = 0;
+		private int bitCount = 0;
+
+
+		BitReader(byte[] data) {
+			this.data = data;
+		}
+
+
+		long read(int count) {
+			long value;
+			if (count > 32) {
+				value = read(count - 32) << 32;
+				value |= read(32);
+			}
+			else {
+				while (bitCount < count) {
+					bits = (bits << 8) | (position < data.length ? data[position] & 0xFF : 0);
+					position++;
+					bitCount += 8;
+				}
+				bitCount -= count;
+				value = (bits >>> bitCount) & ((1L << count) - 1);
+			}
+			return value;
+		}
+
+
+		long readChange() {
+			long change;
+			if (read(1) == 0) {
+				change = 0;
+			}
+			else if (read(1) == 0) {
+				change = read(7) - 63;
+			}
+			else if (read(1) == 0) {
+				change = read(9) - 255;
+			}
+			else if (read(1) == 0) {
+				change = read(12) - 2047;
+			}
+			else {
+				change = read(64);
+			}
+			return change;
+		}
+	}
+
+}
@@ -0,0 +1,489 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Reads the points of data sets from a delimited text file, like a CSV or TSV file, into a plot of which the data sets are series.
+ * The file is mapped into memory in blocks of lines. The numbers are parsed from the bytes of the fields without
+ * creating a String, into primitive columns per data set. The blocks can be parsed by several threads at once,
+ * but are added to the plot in the order of the file. Only a few blocks are in memory at once, so the memory used
+ * besides the series does not depend on the size of the file.
+ * A line belongs to the block in which it starts. Quoted fields are unquoted, but a quoted delimiter is not supported.
+ */
+class JChartDelimitedImporter {
+
+	// The bytes per block and the longest line
+	private static final int BLOCK_SIZE = 8 << 20;
+	private static final int MAX_LINE = 1 << 20;
+
+	// The blocks parsed ahead of the block that is added to the plot, per thread
+	private static final int BLOCKS_AHEAD = 2;
+
+	// The points per data set for which a block makes room at once
+	private static final int INITIAL_CAPACITY = 1024;
+
+	// Powers of ten that are exact doubles. A significand below 2^53 times or divided by one of them is correctly rounded.
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+	private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+
+
+	static void read(JChartPlot plot, File file, char delimiter, int headerLines, int xColumn, int[] yColumns, String[] dataSetNames, boolean parallel) throws IOException {
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		ExecutorService executor = null;
+		try {
+			long size = channel.size();
+			long dataStart = skipLines(channel, headerLines);
+			int blockCount = (int) ((size - dataStart + BLOCK_SIZE - 1) / BLOCK_SIZE);
+			boolean timeValues = plot.timeAxis != null;
+
+			List<Future<Block>> blocks = new ArrayList<Future<Block>>();
+			int threadCount = parallel ? Math.min(Runtime.getRuntime().availableProcessors(), blockCount) : 1;
+			if (threadCount > 1) {
+				executor = Executors.newFixedThreadPool(threadCount, new ThreadFactory() {
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, "JChart import");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+			}
+
+			double[] xValues = new double[0];
+			int nextBlock = 0;
+			for (int blockNr = 0; blockNr < blockCount; blockNr++) {
+				// Keep the threads busy with the next blocks while this block is added
+				while ((nextBlock < blockCount) && (nextBlock < (blockNr + (executor == null ? 1 : threadCount * BLOCKS_AHEAD)))) {
+					long start = dataStart + ((long) nextBlock * BLOCK_SIZE);
+					Parser parser = new Parser(channel, dataStart, start, Math.min(size, start + BLOCK_SIZE), size, delimiter, xColumn, yColumns, timeValues);
+					if (executor == null) {
+						FutureTask<Block> task = new FutureTask<Block>(parser);
+						task.run();
+						blocks.add(task);
+					}
+					else {
+						blocks.add(executor.submit(parser));
+					}
+					nextBlock++;
+				}
+
+				Block block = getBlock(blocks.get(blockNr));
+				blocks.set(blockNr, null);
+				for (int dataSetNr = 0; dataSetNr < dataSetNames.length; dataSetNr++) {
+					int count = block.counts[dataSetNr];
+					if (count > 0) {
+						if (timeValues) {
+							// The times are converted in the order of the file, because the first time is the origin of the axis
+							if (xValues.length < count) {
+								xValues = new double[count];
+							}
+							for (int pointNr = 0; pointNr < count; pointNr++) {
+								xValues[pointNr] = plot.timeAxis.toValue(block.times[dataSetNr][pointNr]);
+							}
+							plot.addDataPoints(dataSetNames[dataSetNr], xValues, block.yValues[dataSetNr], count);
+						}
+						else {
+							plot.addDataPoints(dataSetNames[dataSetNr], block.xValues[dataSetNr], block.yValues[dataSetNr], count);
+						}
+					}
+				}
+			}
+		}
+		finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+			channel.close();
+		}
+	}
+
+
+	private static long skipLines(FileChannel channel, int lineCount) throws IOException {
+		// Returns the position after the first lineCount lines
+		long position = 0;
+		if (lineCount > 0) {
+			long length = Math.min(channel.size(), Math.min(Integer.MAX_VALUE, (long) lineCount * MAX_LINE));
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+			int linesSkipped = 0;
+			int index = 0;
+			while ((linesSkipped < lineCount) && (index < length)) {
+				if (buffer.get(index) == '\n') {
+					linesSkipped++;
+				}
+				index++;
+			}
+			if ((linesSkipped < lineCount) && (length < channel.size())) {
+				throw new IOException("A line is longer than " + (MAX_LINE >> 20) + " MB.");
+			}
+			position = index;
+		}
+		return position;
+	}
+
+
+	private static Block getBlock(Future<Block> future) throws IOException {
+		Block block = null;
+		try {
+			block = future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("The import was interrupted.");
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+		return block;
+	}
+
+
+	/**
+	 * The points of the data sets in a block of lines.
+	 */
+	private static class Block {
+		final double[][] xValues;
+		final long[][] times;
+		final double[][] yValues;
+		final int[] counts;
+
+
+		Block(int dataSetCount, boolean timeValues) {
+			xValues = timeValues ? null : new double[dataSetCount][INITIAL_CAPACITY];
+			times = timeValues ? new long[dataSetCount][INITIAL_CAPACITY] : null;
+			yValues = new double[dataSetCount][INITIAL_CAPACITY];
+			counts = new int[dataSetCount];
+		}
+
+
+		void add(int dataSetNr, double x, long time, double y) {
+			int count = counts[dataSetNr];
+			if (count == yValues[dataSetNr].length) {
+				int capacity = count + (count >> 1);
+				yValues[dataSetNr] = Arrays.copyOf(yValues[dataSetNr], capacity);
+				if (times == null) {
+					xValues[dataSetNr] = Arrays.copyOf(xValues[dataSetNr], capacity);
+				}
+				else {
+					times[dataSetNr] = Arrays.copyOf(times[dataSetNr], capacity);
+				}
+			}
+			if (times == null) {
+				xValues[dataSetNr][count] = x;
+			}
+			else {
+				times[dataSetNr][count] = time;
+			}
+			yValues[dataSetNr][count] = y;
+			counts[dataSetNr] = count + 1;
+		}
+	}
+
+
+	/**
+	 * Parses the lines that start in a block of the file.
+	 */
+	private static class Parser implements Callable<Block> {
+		private final FileChannel channel;
+		private final long start;
+		private final long mapStart;
+		private final long end;
+		private final long fileSize;
+		private final byte delimiter;
+		private final int xColumn;
+		private final int[] yColumns;
+		private final boolean timeValues;
+
+		// The fields of the current line
+		private final double[] rowYValues;
+		private final boolean[] rowHasY;
+		private double rowX;
+		private long rowTime;
+		private boolean rowHasX;
+
+		// The result of the last parse of a number
+		private boolean parsed;
+
+
+		Parser(FileChannel channel, long dataStart, long start, long end, long fileSize, char delimiter, int xColumn, int[] yColumns, boolean timeValues) {
+			this.channel = channel;
+			this.start = start;
+			// The byte before the block tells whether the block starts with a new line
+			mapStart = start > dataStart ? start - 1 : start;
+			this.end = end;
+			this.fileSize = fileSize;
+			this.delimiter = (byte) delimiter;
+			this.xColumn = xColumn;
+			this.yColumns = yColumns;
+			this.timeValues = timeValues;
+			rowYValues = new double[yColumns.length];
+			rowHasY = new boolean[yColumns.length];
+		}
+
+
+		@Override
+		public Block call() throws IOException {
+			Block block = new Block(yColumns.length, timeValues);
+
+			int limit = (int) (Math.min(fileSize, end + MAX_LINE) - mapStart);
+			int blockEnd = (int) (end - mapStart);
+			// Copied out of the mapping in bulk, because parsing from an array is much faster than a get per byte
+			byte[] bytes = new byte[limit];
+			channel.map(FileChannel.MapMode.READ_ONLY, mapStart, limit).get(bytes);
+
+			int position = 0;
+			if (mapStart < start) {
+				while ((position < limit) && (bytes[position] != '\n')) {
+					position++;
+				}
+				position++;
+			}
+
+			while (position < blockEnd) {
+				position = parseLine(bytes, position, limit, block);
+			}
+			return block;
+		}
+
+
+		private int parseLine(byte[] bytes, int lineStart, int limit, Block block) throws IOException {
+			// Parses the line from lineStart and returns the start of the next line
+			rowHasX = false;
+			Arrays.fill(rowHasY, false);
+			int column = 0;
+			int fieldStart = lineStart;
+			int position = lineStart;
+			boolean endOfLine = false;
+			while (!endOfLine) {
+				byte character = position < limit ? bytes[position] : (byte) '\n';
+				if ((character == delimiter) || (character == '\n')) {
+					parseField(bytes, column, fieldStart, position);
+					column++;
+					fieldStart = position + 1;
+					endOfLine = character == '\n';
+				}
+				position++;
+			}
+			if ((position > limit) && ((mapStart + limit) < fileSize)) {
+				throw new IOException("A line is longer than " + (MAX_LINE >> 20) + " MB.");
+			}
+
+			if (rowHasX) {
+				for (int dataSetNr = 0; dataSetNr < yColumns.length; dataSetNr++) {
+					if (rowHasY[dataSetNr]) {
+						block.add(dataSetNr, rowX, rowTime, rowYValues[dataSetNr]);
+					}
+				}
+			}
+			return position;
+		}
+
+
+		private void parseField(byte[] bytes, int column, int from, int to) {
+			if (column == xColumn) {
+				if (timeValues) {
+					rowTime = parseLong(bytes, from, to);
+				}
+				else {
+					rowX = parseDouble(bytes, from, to);
+				}
+				rowHasX = parsed;
+			}
+			for (int dataSetNr = 0; dataSetNr < yColumns.length; dataSetNr++) {
+				if (column == yColumns[dataSetNr]) {
+					rowYValues[dataSetNr] = parseDouble(bytes, from, to);
+					rowHasY[dataSetNr] = parsed;
+				}
+			}
+		}
+
+
+		private double parseDouble(byte[] bytes, int from, int to) {
+			// Parses a decimal number without creating objects. Numbers of which the significand or the exponent is too
+			// large to be exact, and text like NaN, are parsed by Double.parseDouble, so the result is always the same.
+			int first = trimStart(bytes, from, to);
+			int last = trimEnd(bytes, first, to);
+			double value = Double.NaN;
+			parsed = false;
+			if (first < last) {
+				int index = first;
+				boolean negative = bytes[index] == '-';
+				if (negative || (bytes[index] == '+')) {
+					index++;
+				}
+				long significand = 0;
+				int digits = 0;
+				int exponent = 0;
+				boolean exact = true;
+				boolean point = false;
+				int digitCount = 0;
+				boolean done = false;
+				while ((index < last) && (!done)) {
+					byte character = bytes[index];
+					if ((character >= '0') && (character <= '9')) {
+						digitCount++;
+						if ((significand != 0) || (character != '0')) {
+							digits++;
+						}
+						if (digits <= 18) {
+							significand = (significand * 10) + (character - '0');
+							if (point) {
+								exponent--;
+							}
+						}
+						else if (!point) {
+							// Digits beyond the precision of the significand
+							exponent++;
+							exact = exact && (character == '0');
+						}
+						else {
+							exact = exact && (character == '0');
+						}
+						index++;
+					}
+					else if ((character == '.') && (!point)) {
+						point = true;
+						index++;
+					}
+					else {
+						done = true;
+					}
+				}
+				if ((index < last) && ((bytes[index] == 'e') || (bytes[index] == 'E')) && (digitCount > 0)) {
+					index++;
+					boolean negativeExponent = (index < last) && (bytes[index] == '-');
+					if ((index < last) && ((bytes[index] == '-') || (bytes[index] == '+'))) {
+						index++;
+					}
+					int exponentValue = 0;
+					int exponentDigits = 0;
+					while ((index < last) && (bytes[index] >= '0') && (bytes[index] <= '9')) {
+						exponentValue = Math.min(100000, (exponentValue * 10) + (bytes[index] - '0'));
+						exponentDigits++;
+						index++;
+					}
+					exponent += negativeExponent ? -exponentValue : exponentValue;
+					exact = exact && (exponentDigits > 0);
+				}
+
+				if ((index == last) && (digitCount > 0) && exact && (significand < MAX_EXACT_SIGNIFICAND) && (Math.abs(exponent) < POWERS_OF_TEN.length)) {
+					value = exponent < 0 ? significand / POWERS_OF_TEN[-exponent] : significand * POWERS_OF_TEN[exponent];
+					value = negative ? -value : value;
+					parsed = true;
+				}
+				else {
+					value = parseText(bytes, first, last);
+				}
+			}
+			return value;
+		}
+
+
+		private long parseLong(byte[] bytes, int from, int to) {
+			// Parses an integer time. A time with decimals or an exponent is rounded.
+			int first = trimStart(bytes, from, to);
+			int last = trimEnd(bytes, first, to);
+			long value = 0;
+			parsed = false;
+			if (first < last) {
+				int index = first;
+				boolean negative = bytes[index] == '-';
+				if (negative || (bytes[index] == '+')) {
+					index++;
+				}
+				boolean overflow = false;
+				int digitCount = 0;
+				while ((index < last) && (bytes[index] >= '0') && (bytes[index] <= '9')) {
+					long digit = bytes[index] - '0';
+					overflow = overflow || (value > ((Long.MAX_VALUE - digit) / 10));
+					value = (value * 10) + digit;
+					digitCount++;
+					index++;
+				}
+				if ((index == last) && (digitCount > 0) && (!overflow)) {
+					value = negative ? -value : value;
+					parsed = true;
+				}
+				else {
+					double doubleValue = parseDouble(bytes, first, last);
+					value = Math.round(doubleValue);
+					parsed = parsed && (!Double.isNaN(doubleValue)) && (Math.abs(doubleValue) < Long.MAX_VALUE);
+				}
+			}
+			return value;
+		}
+
+
+		private double parseText(byte[] bytes, int first, int last) {
+			// The slow path for the rare numbers that cannot be parsed exactly from the digits
+			double value = Double.NaN;
+			try {
+				value = Double.parseDouble(new String(bytes, first, last - first, StandardCharsets.US_ASCII));
+				parsed = true;
+			}
+			catch (NumberFormatException e) {
+				parsed = false;
+			}
+			return value;
+		}
+
+
+		private static int trimStart(byte[] bytes, int from, int to) {
+			// Skips spaces, a carriage return and an opening quote
+			int first = from;
+			while ((first < to) && isTrimmed(bytes[first])) {
+				first++;
+			}
+			return first;
+		}
+
+
+		private static int trimEnd(byte[] bytes, int first, int to) {
+			int last = to;
+			while ((last > first) && isTrimmed(bytes[last - 1])) {
+				last--;
+			}
+			return last;
+		}
+
+
+		private static boolean isTrimmed(byte character) {
+			return (character == ' ') || (character == '\t') || (character == '\r') || (character == '"');
+		}
+	}
+
+}
@@ -0,0 +1,221 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.util.Arrays;
+
+/**
+ * The points of a series with the y values and third values stored as floats, which are precise enough for the pixels
+ * of a screen. The x values keep their precision: they are stored as float offsets from the first x value of blocks of
+ * 1024 points, as long as every offset gives back the exact x value. Times in milliseconds take 4 bytes that way.
+ * The first x value that is not exact changes the x column back to doubles.
+ */
+class JChartFloatColumns extends JChartColumns {
+	private static final long serialVersionUID = 4417906260251375522L;
+
+	// Points per base of the x offsets, a power of 2 so the base of an index is a shift
+	private static final int BASE_SHIFT = 10;
+	private static final int BASE_MASK = (1 << BASE_SHIFT) - 1;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private double[] xBases;
+	private float[] xOffsets;
+	private double[] xValues;
+	private float[] yValues;
+	private float[] values;
+	private int size;
+
+	// Whether a view shares the arrays, which are then copied before the last point is replaced
+	private transient boolean shared = false;
+
+
+	public JChartFloatColumns() {
+		xBases = new double[1];
+		xOffsets = new float[INITIAL_CAPACITY];
+		xValues = null;
+		yValues = new float[INITIAL_CAPACITY];
+		values = null;
+		size = 0;
+	}
+
+
+	private JChartFloatColumns(JChartFloatColumns columns) {
+		// Points are added after size and the arrays are replaced when they grow, so the view shares them
+		xBases = columns.xBases;
+		xOffsets = columns.xOffsets;
+		xValues = columns.xValues;
+		yValues = columns.yValues;
+		values = columns.values;
+		size = columns.size;
+	}
+
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+
+	@Override
+	public boolean canAdd(double value) {
+		return true;
+	}
+
+
+	@Override
+	public void add(double x, double y, double value) {
+		if (size == yValues.length) {
+			grow(size + 1);
+		}
+		if ((values == null) && (!Double.isNaN(value))) {
+			values = new float[yValues.length];
+			Arrays.fill(values, Float.NaN);
+		}
+		setX(size, x);
+		yValues[size] = (float) y;
+		if (values != null) {
+			values[size] = (float) value;
+		}
+		size++;
+	}
+
+
+	@Override
+	public void setLast(double y, double value) {
+		if (shared) {
+			yValues = yValues.clone();
+			values = values == null ? null : values.clone();
+			shared = false;
+		}
+		if ((values == null) && (!Double.isNaN(value))) {
+			values = new float[yValues.length];
+			Arrays.fill(values, Float.NaN);
+		}
+		yValues[size - 1] = (float) y;
+		if (values != null) {
+			values[size - 1] = (float) value;
+		}
+	}
+
+
+	@Override
+	public double getX(int index) {
+		float[] offsets = xOffsets;
+		return offsets != null ? xBases[index >>> BASE_SHIFT] + offsets[index] : xValues[index];
+	}
+
+
+	@Override
+	public double getY(int index) {
+		return yValues[index];
+	}
+
+
+	@Override
+	public double getValue(int index) {
+		return values == null ? Double.NaN : values[index];
+	}
+
+
+	@Override
+	public boolean hasValues() {
+		return values != null;
+	}
+
+
+	@Override
+	public void get(int from, int to, double[] xTarget, double[] yTarget, double[] valueTarget, int offset) {
+		float[] offsets = xOffsets;
+		if (xTarget != null) {
+			if (offsets != null) {
+				for (int index = from; index < to; index++) {
+					xTarget[offset + (index - from)] = xBases[index >>> BASE_SHIFT] + offsets[index];
+				}
+			}
+			else {
+				System.arraycopy(xValues, from, xTarget, offset, to - from);
+			}
+		}
+		if (yTarget != null) {
+			for (int index = from; index < to; index++) {
+				yTarget[offset + (index - from)] = yValues[index];
+			}
+		}
+		if (valueTarget != null) {
+			for (int index = from; index < to; index++) {
+				valueTarget[offset + (index - from)] = values == null ? Double.NaN : values[index];
+			}
+		}
+	}
+
+
+	@Override
+	public JChartColumns getView() {
+		shared = true;
+		return new JChartFloatColumns(this);
+	}
+
+
+	@Override
+	public long getMemoryEstimate() {
+		return JChartMemory.OBJECT + JChartMemory.estimate(xBases) + JChartMemory.estimate(xOffsets) + JChartMemory.estimate(xValues) + JChartMemory.estimate(yValues) + JChartMemory.estimate(values);
+	}
+
+
+	private void setX(int index, double x) {
+		// The first point of a block is its base. An x value of which the offset is not exact, or loses the sign of zero,
+		// changes the column to doubles. The bases are kept, so the offsets can be read while the column changes.
+		if (xOffsets != null) {
+			int baseNr = index >>> BASE_SHIFT;
+			if ((index & BASE_MASK) == 0) {
+				if (baseNr == xBases.length) {
+					xBases = Arrays.copyOf(xBases, Math.max(baseNr + 1, xBases.length + (xBases.length >> 1)));
+				}
+				xBases[baseNr] = x;
+			}
+			float offset = (float) (x - xBases[baseNr]);
+			if (Double.doubleToLongBits(xBases[baseNr] + offset) == Double.doubleToLongBits(x)) {
+				xOffsets[index] = offset;
+			}
+			else {
+				double[] newXValues = new double[xOffsets.length];
+				for (int pointNr = 0; pointNr < index; pointNr++) {
+					newXValues[pointNr] = getX(pointNr);
+				}
+				xValues = newXValues;
+				xOffsets = null;
+			}
+		}
+		if (xValues != null) {
+			xValues[index] = x;
+		}
+	}
+
+
+	private void grow(int minimumCapacity) {
+		int capacity = Math.max(minimumCapacity, yValues.length + (yValues.length >> 1));
+		if (xOffsets != null) {
+			xOffsets = Arrays.copyOf(xOffsets, capacity);
+		}
+		else {
+			xValues = Arrays.copyOf(xValues, capacity);
+		}
+		yValues = Arrays.copyOf(yValues, capacity);
+		if (values != null) {
+			values = Arrays.copyOf(values, capacity);
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A column of little endian doubles in a file, mapped into memory instead of read onto the heap.
+ * A mapping is at most 2 GB, so a longer column is mapped in chunks. The operating system reads the
+ * pages of the file when they are used and keeps them in its page cache as long as there is memory.
+ * The column only reads with absolute positions, so it can be read by several threads at once.
+ * The mappings stay valid after the file channel is closed, until the column is garbage collected.
+ */
+class JChartMappedColumn {
+
+	// Doubles per mapping, a power of 2 so the chunk of an index is a shift
+	static final int CHUNK_SHIFT = 27;
+	static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private final DoubleBuffer[] chunks;
+	private final int size;
+
+
+	public JChartMappedColumn(FileChannel channel, long position, int size) throws IOException {
+		if ((position + (8L * size)) > channel.size()) {
+			throw new IOException("The snapshot is incomplete.");
+		}
+		this.size = size;
+		chunks = new DoubleBuffer[(int) ((size + (long) CHUNK_MASK) >>> CHUNK_SHIFT)];
+		for (int chunkNr = 0; chunkNr < chunks.length; chunkNr++) {
+			int length = Math.min(CHUNK_SIZE, size - (chunkNr * CHUNK_SIZE));
+			chunks[chunkNr] = channel.map(FileChannel.MapMode.READ_ONLY, position + (8L * chunkNr * CHUNK_SIZE), 8L * length).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+		}
+	}
+
+
+	public int size() {
+		return size;
+	}
+
+
+	public double get(int index) {
+		return chunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+	}
+
+
+	public void get(int from, int to, double[] target, int offset) {
+		// Copies the values from up to to to target from offset, in bulk per chunk
+		int index = from;
+		while (index < to) {
+			int chunkIndex = index & CHUNK_MASK;
+			int length = Math.min(to - index, CHUNK_SIZE - chunkIndex);
+			DoubleBuffer chunk = chunks[index >>> CHUNK_SHIFT].duplicate();
+			chunk.position(chunkIndex);
+			chunk.get(target, offset + (index - from), length);
+			index += length;
+		}
+	}
+
+}
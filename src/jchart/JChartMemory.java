@@ -0,0 +1,109 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Estimates in bytes of the memory taken by the parts of a chart, with the sizes of a 64-bit Java virtual machine.
+ * The estimates count what a chart holds on its own: its data, caches and images. Shared things like styles,
+ * marker sprites and fonts are not counted. They are meant to compare charts and to follow their growth, not to be exact.
+ */
+class JChartMemory {
+
+	// The sizes of an object header, an array header, a reference and a boxed number
+	static final long OBJECT    = 16;
+	static final long ARRAY     = 16;
+	static final long REFERENCE = 8;
+	static final long NUMBER    = 24;
+
+	// A hash map entry, with its share of the table of the map
+	static final long MAP_ENTRY = 48;
+
+	// The Swing components of a chart and its plot without data, as measured with 5000 empty charts on Java 17
+	static final long COMPONENTS = 1500;
+
+
+	static long estimate(double[] array) {
+		return array == null ? 0 : ARRAY + (8L * array.length);
+	}
+
+
+	static long estimate(float[] array) {
+		return array == null ? 0 : ARRAY + (4L * array.length);
+	}
+
+
+	static long estimate(long[] array) {
+		return array == null ? 0 : ARRAY + (8L * array.length);
+	}
+
+
+	static long estimate(int[] array) {
+		return array == null ? 0 : ARRAY + (4L * array.length);
+	}
+
+
+	static long estimate(short[] array) {
+		return array == null ? 0 : ARRAY + (2L * array.length);
+	}
+
+
+	static long estimate(byte[] array) {
+		return array == null ? 0 : ARRAY + array.length;
+	}
+
+
+	static long estimate(String string) {
+		return string == null ? 0 : OBJECT + ARRAY + string.length();
+	}
+
+
+	static long estimate(BufferedImage image) {
+		long bytes = 0;
+		if (image != null) {
+			DataBuffer buffer = image.getRaster().getDataBuffer();
+			bytes = OBJECT + ARRAY + (((long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType())) / 8);
+		}
+		return bytes;
+	}
+
+
+	static long estimateNumbers(Collection<? extends Number> numbers) {
+		// A list or set of boxed numbers
+		return numbers == null ? 0 : OBJECT + ARRAY + (numbers.size() * (REFERENCE + NUMBER));
+	}
+
+
+	static long estimateNames(Collection<String> names) {
+		long bytes = 0;
+		if (names != null) {
+			bytes = OBJECT + ARRAY + (names.size() * REFERENCE);
+			for (String name : names) {
+				bytes += estimate(name);
+			}
+		}
+		return bytes;
+	}
+
+
+	static long estimateMap(Map<?, ?> map, long valueBytes) {
+		// A map with values of about the same size. The keys are not counted, they are mostly the names of the data sets.
+		return map == null ? 0 : OBJECT + (map.size() * (MAP_ENTRY + valueBytes));
+	}
+
+}
@@ -1,561 +1,1568 @@
-/*********************************************************************************
- *                                                                               *
- * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
- *                                                                               *
- * The JChart library is free software.                                          *
- * The JChart library is distributed in the hope that it will be useful, but     *
- * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
- * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
- *                                                                               *
- * This file is part of the JChart library.                                      *
- *                                                                               *
- *********************************************************************************/
-
-package jchart;
-
-import java.awt.BorderLayout;
-import java.awt.Color;
-import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.FontMetrics;
-import java.awt.Graphics;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-
-import javax.imageio.ImageIO;
-import javax.swing.BorderFactory;
-import javax.swing.JFileChooser;
-import javax.swing.JMenuItem;
-import javax.swing.JOptionPane;
-import javax.swing.JPanel;
-import javax.swing.JPopupMenu;
-import javax.swing.SwingUtilities;
-import javax.swing.filechooser.FileFilter;
-
-abstract class JChartPlot extends JPanel {
-	private static final long serialVersionUID = -1438448602003395056L;
-	
-	protected static final boolean DEBUG = false;
-	
-	protected static final int MARGIN             = 5;
-	protected static final int LABEL_AXIS_GAP     = 4;
-	protected static final int STANDARD_PRECISION = 1;
-	protected static final int AXIS_VALUE_GAP     = 4;
-	
-	protected static final int FLOODFILL_STYLE_4_WAY = 4;
-	protected static final int FLOODFILL_STYLE_8_WAY = 8;
-
-	protected String name = null;
-	protected String title = null;
-	protected Color titleColor = Color.BLACK;
-	protected Font titleFont = new Font("Arial", Font.BOLD, 15);
-	protected int titleAlignment = JChart.TITLE_ALIGNMENT_CENTER;
-	protected int titlePosition  = JChart.TITLE_POSITION_TOP;
-	protected Color chartBackgroundColor = Color.WHITE;
-	protected boolean legendEnabled = true;
-	protected Font legendFont = new Font("Arial", Font.PLAIN, 10);
-	protected Color legendFontColor = titleColor;
-	protected Color legendBackGroundColor = chartBackgroundColor;
-	protected Color legendBorderColor = titleColor;
-	protected Boolean orderDataSets = false;
-
-	protected Map<String, Color> dataSets = null;
-	protected List<String> dataSetList = new ArrayList<String>();
-	protected Map<String, Integer> pointStyles = null;
-	
-	private JPopupMenu popUpMenu;
-	
-	
-	public JChartPlot(String name) {
-		super();
-		
-		this.name = name;
-		JPanel panel = this;
-		setLayout(new BorderLayout());
-		setBorder(BorderFactory.createEmptyBorder());
-		popUpMenu = createPopUpMenu();
-		addMouseListener(new MouseAdapter() {
-			
-			public void mouseClicked(MouseEvent e) {
-				//right mouse click event
-				if (SwingUtilities.isRightMouseButton(e) && e.getClickCount() == 1){
-					popUpMenu.show(panel , e.getX(), e.getY());
-				}
-				
-			}
-		});
-		clear();
-	}
-	
-	public void setTitle(String title, int alignment, int position) {
-		this.title = title;
-		titleAlignment = alignment;
-		titlePosition= position;
-	}
-	
-	
-	public String getTitle() {
-		return title;
-	}
-	
-	
-	public void setTitleFont(Font font) {
-		titleFont = font;
-	}
-	
-	
-	public void setTitleColor(Color color) {
-		titleColor = color;
-	}
-	
-	
-	public void setBackgroundColor(Color color) {
-		if (color != null) {
-			chartBackgroundColor = color;
-		}
-	}
-	
-	
-	public void setLegendEnabled(boolean enabled) {
-		legendEnabled = enabled;
-	}
-	
-	
-	public void setLegendFont(Font font) {
-		legendFont = font;
-	}
-	
-	
-	public void setLegendFontColor(Color color) {
-		legendFontColor = color;
-	}
-	
-	
-	public void setLegendBackgroundColor(Color color) {
-		legendBackGroundColor = color;
-	}
-	
-	
-	public void setLegendBorderColor(Color  color) {
-		legendBorderColor = color;
-	}
-	
-	
-	public void setOrderedDataSets(Boolean ordered) {
-		orderDataSets = ordered;
-	}
-	
-	
-	public void clear() {
-		dataSets = null;
-		pointStyles = null;
-	}
-	
-	
-	public boolean addDataSet(String dataSetName, Color color) {
-		boolean ok = false;
-		
-		if (dataSets == null) {
-			dataSets = new HashMap<String, Color>();
-		}
-		if (!dataSets.containsKey(dataSetName)) {
-			dataSets.put(dataSetName, color);
-			dataSetList.add(dataSetName);
-			ok = true;
-		}
-		else {
-			JOptionPane.showMessageDialog(null, "Data set '" + dataSetName + " already exists.", "Chart '" + name + "' Data Set Error", JOptionPane.ERROR_MESSAGE);
-		}
-		
-		return ok;
-	}
-	
-	
-	protected String formatValue(double value, int precision) {
-		String formattedValue = Double.toString(round(value, precision));
-		if ((precision == 0) && formattedValue.contains(".")) {
-			formattedValue = formattedValue.substring(0, formattedValue.indexOf("."));
-		}
-		return formattedValue;
-	}
-	
-	
-	protected double round(double value, int precision) {
-		double factor = Math.pow(10, precision);
-		return (((double) Math.round(value * factor)) / factor);
-	}
-	
-	
-	protected Integer valueToPosition(double value, int basePosition, int endPosition, double baseValue, double endValue) {
-		return basePosition +
-			   (int) Math.round(
-					   //(((double) endPosition - (double) basePosition) / Math.abs((double) endPosition - (double) basePosition)) *
-					   //(((double) endValue - (double) baseValue) / Math.abs((double) endValue - (double) baseValue)) *
-					   ((value - baseValue) / (endValue - baseValue)) * ((double) endPosition - (double) basePosition)
-					   );
-				
-	}
-	
-	
-	protected List<Double> horizontalAxis(List<Double> predefinedAxis, double minValue, double maxValue, int minPosition, int maxPosition, FontMetrics fontMetrics, int precision) {
-		List<Double> axis = new ArrayList<Double>();
-		if (predefinedAxis != null) {
-			int maxWidth = 0;
-			for (double value : predefinedAxis) {
-				maxWidth = Math.max(maxWidth, fontMetrics.stringWidth(formatValue(value, precision)));
-			}
-			
-			Set<String> xValues = new HashSet<String>();
-			int nextPossibleX = minPosition;
-			for (int valueNr = 0; valueNr < (predefinedAxis.size() - 1); valueNr++) {
-				int valueX = valueNr == 0 ? minPosition : valueToPosition(predefinedAxis.get(valueNr), minPosition, maxPosition, predefinedAxis.get(0), predefinedAxis.get(predefinedAxis.size() - 1));
-				if ((valueX >= nextPossibleX) && (valueX <= (Math.max(minPosition, maxPosition) - maxWidth - AXIS_VALUE_GAP)) && xValues.add(formatValue(predefinedAxis.get(valueNr), precision))) {
-					axis.add(predefinedAxis.get(valueNr));
-					nextPossibleX = valueX + maxWidth + AXIS_VALUE_GAP;
-				}	
-			}
-			if (xValues.add(formatValue(predefinedAxis.get(predefinedAxis.size() - 1), precision))) {
-				axis.add(predefinedAxis.get(predefinedAxis.size() - 1));
-			}
-			else {
-				axis.set(axis.size() - 1, predefinedAxis.get(predefinedAxis.size() - 1));
-			}
-		}
-		else {
-			int maxWidth = Math.max(fontMetrics.stringWidth(formatValue(minValue, precision)), fontMetrics.stringWidth(formatValue(maxValue, precision)));
-			double step = ((double) (maxValue - minValue) / ((double) Math.abs(maxPosition - minPosition) / (double) (maxWidth + AXIS_VALUE_GAP)));
-			axis = horizontalAxis(createAxis(minValue, maxValue, step), minValue, maxValue, minPosition, maxPosition, fontMetrics, precision);
-		}
-		return axis;
-	}
-	
-	
-	protected List<Double> verticalAxis(List<Double> predefinedAxis, double minValue, double maxValue, int minPosition, int maxPosition, FontMetrics fontMetrics, int precision) {
-		List<Double> axis = new ArrayList<Double>();
-		if (predefinedAxis != null) {
-			Set<String> yValues = new HashSet<String>();
-			int nextPossibleY = minPosition;
-			for (int valueNr = 0; valueNr < (predefinedAxis.size() - 1); valueNr++) {
-				int valueY = valueNr == 0 ? minPosition : valueToPosition(predefinedAxis.get(valueNr), minPosition, maxPosition, predefinedAxis.get(0), predefinedAxis.get(predefinedAxis.size() - 1));
-				if ((valueY <= nextPossibleY) && (valueY >= (maxPosition + fontMetrics.getHeight() + AXIS_VALUE_GAP)) && yValues.add(formatValue(predefinedAxis.get(valueNr), precision))) {
-					axis.add(predefinedAxis.get(valueNr));
-					nextPossibleY = valueY - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-				}	
-			}
-			if (yValues.add(formatValue(predefinedAxis.get(predefinedAxis.size() - 1), precision))) {
-				axis.add(predefinedAxis.get(predefinedAxis.size() - 1));
-			}
-			else {
-				axis.set(axis.size() - 1, predefinedAxis.get(predefinedAxis.size() - 1));
-			}
-		}
-		else {
-			double step = ((double) (maxValue - minValue) / ((double) Math.abs(maxPosition - minPosition) / (double) (fontMetrics.getHeight() + AXIS_VALUE_GAP)));
-			axis = verticalAxis(createAxis(minValue, maxValue, step), minValue, maxValue, minPosition, maxPosition, fontMetrics, precision);
-		}
-		return axis;
-	}
-	
-	
-	protected List<Double> createAxis(double min, double max, double step) {
-		List<Double> axis = new ArrayList<Double>();
-		Double point = min;
-		while (point <= max) {
-			axis.add(point);
-			point += step;
-		}
-		if (!axis.contains(max)) {
-			axis.add(max);
-		}
-		return axis;
-	}
-	
-	
-	protected Dimension showTitle(Graphics graphics, int leftBottomX, int leftBottomY, int width, int height) {
-		// Returns a dimension with the new leftBottomX and the new height.
-		//   width  = the new leftBottomY
-		//   height = the new height
-		final int EXTRA_VERTICAL_SPACE = 4;
-		
-		if (title != null) {
-			FontMetrics fontMetrics = graphics.getFontMetrics(titleFont);
-
-			int x = leftBottomX; // Left alignment
-			if (titleAlignment == JChart.TITLE_ALIGNMENT_RIGHT) {
-				x += width - fontMetrics.stringWidth(title);
-			}
-			else if (titleAlignment == JChart.TITLE_ALIGNMENT_CENTER) {
-				x += (width / 2) - (fontMetrics.stringWidth(title) / 2);
-			}
-			int y = leftBottomY;
-			if (titlePosition == JChart.TITLE_POSITION_TOP) {
-				y = y - height + fontMetrics.getHeight();
-			}
-			else { // titlePosition == JChart.TITLE_POSITION_BOTTOM
-				leftBottomY = leftBottomY - fontMetrics.getHeight() - EXTRA_VERTICAL_SPACE;
-			}
-			graphics.setFont(titleFont);
-			graphics.setColor(titleColor);
-			graphics.drawString(title, x, y);
-			height = height - fontMetrics.getHeight() - MARGIN - EXTRA_VERTICAL_SPACE;
-		}
-		
-		return new Dimension(leftBottomY, height);
-	}
-	
-	
-	protected int showLegendRightTop(Graphics graphics, int rightTopX, int rightTopY) {
-		final int LEGEND_MARGIN =  2;
-		final int ROW_GAP       =  4;
-		
-		// Returns the width taken by the legend.
-		int width = 0;
-		
-		if (legendEnabled) {
-			FontMetrics fontMetrics = graphics.getFontMetrics(legendFont);
-			int maxLegendWidth = fontMetrics.stringWidth("Legend:");
-			List<String> orderedDataSets = new ArrayList<String>();
-			orderedDataSets.addAll(dataSetList);
-			if (orderDataSets) {
-				Collections.sort(orderedDataSets);
-			}
-			for (String dataSetName : orderedDataSets) {
-				maxLegendWidth = Math.max(maxLegendWidth, fontMetrics.getHeight() + fontMetrics.stringWidth(" = " + dataSetName));
-			}
-			width = fontMetrics.getHeight() + maxLegendWidth + (2 * LEGEND_MARGIN);
-			int height = (orderedDataSets.size() * (fontMetrics.getHeight() + ROW_GAP)) + fontMetrics.getHeight() + (2 * LEGEND_MARGIN);
-			
-			// Fill background
-			graphics.setColor(legendBackGroundColor);
-			graphics.fillRect(rightTopX - width, rightTopY, width, height);
-			
-			// Draw border
-			graphics.setColor(legendBorderColor);
-			graphics.drawLine(rightTopX - width, rightTopY, rightTopX, rightTopY);
-			graphics.drawLine(rightTopX, rightTopY, rightTopX, rightTopY + height);
-			graphics.drawLine(rightTopX, rightTopY + height, rightTopX - width, rightTopY + height);
-			graphics.drawLine(rightTopX - width, rightTopY + height, rightTopX - width, rightTopY);
-			
-			graphics.setFont(legendFont);
-			graphics.setColor(legendFontColor);
-			int legendX = rightTopX - width + LEGEND_MARGIN;
-			int legendY = rightTopY + LEGEND_MARGIN + fontMetrics.getHeight();
-			graphics.drawString("Legend:", legendX, legendY);
-			legendY += ROW_GAP + fontMetrics.getHeight();
-			for (String dataSetName : orderedDataSets) {
-				graphics.setColor(dataSets.get(dataSetName));
-				graphics.fillRect(legendX, legendY - fontMetrics.getHeight() + 2, fontMetrics.getHeight(), fontMetrics.getHeight());
-				graphics.setColor(Color.BLACK);
-				graphics.drawRect(legendX, legendY - fontMetrics.getHeight() + 2, fontMetrics.getHeight(), fontMetrics.getHeight());
-				graphics.setColor(legendFontColor);
-				graphics.drawString(" = " + dataSetName, legendX + fontMetrics.getHeight(), legendY);
-				legendY += ROW_GAP + fontMetrics.getHeight();
-			}
-			// Add margin between the legend and the plot
-			width = width + MARGIN;
-		}
-		
-		return width;
-	}
-	
-	
-	protected int showLegendBottom(Graphics graphics, int leftBottomX, int leftBottomY, int width, boolean showBlock) {
-		// Returns the height taken by the legend.
-		final int LEGEND_MARGIN =  2;
-		final int COLUMN_GAP    =  8;
-		final int ROW_GAP       =  4;
-		final int LINE_LENGTH   = 11; // Should be odd
-		
-		int height = 0;
-		if (legendEnabled) {
-			FontMetrics fontMetrics = graphics.getFontMetrics(legendFont);
-			int maxLegendWidth = 0;
-			List<String> orderedDataSets = new ArrayList<String>();
-			orderedDataSets.addAll(dataSetList);
-			if (orderDataSets) {
-				Collections.sort(orderedDataSets);
-			}
-			for (String dataSetName : orderedDataSets) {
-				maxLegendWidth = Math.max(maxLegendWidth, fontMetrics.stringWidth(" = " + dataSetName));
-			}
-			// Add line length
-			maxLegendWidth += LINE_LENGTH;
-			String legendLabel = "Legend:";
-			int legendLabelWidth = fontMetrics.stringWidth(legendLabel);
-			int legendWidth = width - 6 - (2 * LEGEND_MARGIN) - legendLabelWidth - COLUMN_GAP;
-			int columns = legendWidth / (maxLegendWidth + COLUMN_GAP);
-			int rows = (int) Math.ceil((double) orderedDataSets.size() / (double) columns);
-			height = 2 + (2 * LEGEND_MARGIN) + (rows * (ROW_GAP + fontMetrics.getHeight()));
-			
-			// Fill background
-			graphics.setColor(legendBackGroundColor);
-			graphics.fillRect(leftBottomX, leftBottomY - (height - ROW_GAP), width, (height - ROW_GAP));
-			
-			// Draw border
-			graphics.setColor(legendBorderColor);
-			graphics.drawLine(leftBottomX + 2, leftBottomY - 2, leftBottomX + 2, leftBottomY - height + ROW_GAP);
-			graphics.drawLine(leftBottomX + 2, leftBottomY - height + ROW_GAP, leftBottomX + width - 2, leftBottomY - height + ROW_GAP);
-			graphics.drawLine(leftBottomX + width - 2, leftBottomY - height + ROW_GAP, leftBottomX + width - 2, leftBottomY - 2);
-			graphics.drawLine(leftBottomX + width - 2, leftBottomY - 2, leftBottomX + 2, leftBottomY - 2);
-			
-			// Write legend
-			int x = leftBottomX + 3 + LEGEND_MARGIN;
-			int y = leftBottomY - 4 - LEGEND_MARGIN - ((rows - 1) * (ROW_GAP + fontMetrics.getHeight()));
-			graphics.setFont(legendFont);
-			graphics.setColor(legendFontColor);
-			graphics.drawString(legendLabel, x, y);
-			x = x + legendLabelWidth + COLUMN_GAP;
-			int columnNr = 0;
-			for (String dataSetName : orderedDataSets) {
-				graphics.setColor(dataSets.get(dataSetName));
-				if (showBlock) {
-					graphics.fillRect(x, y - fontMetrics.getHeight() + 2, LINE_LENGTH, fontMetrics.getHeight());
-					graphics.setColor(Color.BLACK);
-					graphics.drawRect(x, y - fontMetrics.getHeight() + 2, LINE_LENGTH, fontMetrics.getHeight());
-				}
-				else {
-					graphics.drawLine(x, y - (fontMetrics.getHeight() / 2) + 2, x + LINE_LENGTH, y - (fontMetrics.getHeight() / 2) + 2);
-					drawPoint(graphics, x + ((LINE_LENGTH - 1) / 2) + 1, y - (fontMetrics.getHeight() / 2) + 2, getLineStyle(dataSetName));
-				}
-				graphics.setColor(legendFontColor);
-				graphics.drawString(" = " + dataSetName, x + LINE_LENGTH, y);
-				columnNr++;
-				if (columnNr == columns) {
-					x = leftBottomX + 3 + LEGEND_MARGIN + legendLabelWidth + COLUMN_GAP;
-					y = y + ROW_GAP + fontMetrics.getHeight();
-					columnNr = 0;
-				}
-				else {
-					x = x + maxLegendWidth + COLUMN_GAP;
-				}
-			}
-		}
-		
-		return height;
-	}
-	
-	
-	protected void drawPoint(Graphics graphics, int x, int y, int style) {
-		if (style != JLineChart.POINT_STYLE_NONE) {
-			if (style == JLineChart.POINT_STYLE_DOT) {
-				graphics.drawLine(x - 1, y - 2, x + 1, y - 2);
-				graphics.drawLine(x - 2, y - 1, x + 2, y - 1);
-				graphics.drawLine(x - 2, y, x + 2, y);
-				graphics.drawLine(x - 2, y + 1, x + 2, y + 1);
-				graphics.drawLine(x - 1, y + 2, x + 1, y + 2);
-			}
-			else if (style == JLineChart.POINT_STYLE_SQUARE) {
-				graphics.fillRect(x - 2, y - 2, 5, 5);
-			}
-			else if (style == JLineChart.POINT_STYLE_DIAMOND) {
-				graphics.drawLine(x, y - 2, x, y - 2);
-				graphics.drawLine(x - 1, y - 1, x + 1, y - 1);
-				graphics.drawLine(x - 2, y, x + 1, y);
-				graphics.drawLine(x - 1, y + 1, x + 1, y + 1);
-				graphics.drawLine(x, y + 2, x, y + 2);
-			}
-		}
-	}
-	
-	
-	protected int getLineStyle(String dataSetName) {
-		Integer lineStyle = pointStyles == null ? null : pointStyles.get(dataSetName);
-		return lineStyle == null ? JLineChart.POINT_STYLE_NONE : lineStyle;
-	}
-	
-	
-	protected void showError(Graphics graphics, String error) {
-		graphics.setColor(Color.WHITE);
-		graphics.fillRect(0, 0, getWidth(), getHeight());
-		graphics.setColor(Color.RED);
-		int fontSize = 20;
-		Font errorFont = new Font("Arial", Font.PLAIN, fontSize);
-		FontMetrics fontMetrics = graphics.getFontMetrics(errorFont);
-		while ((fontSize > 6) && ((fontMetrics.stringWidth("ERROR") > (getWidth() - (2 * MARGIN))) || (fontMetrics.getHeight() > (getHeight() - (2 * MARGIN))))) {
-			fontSize--;
-			errorFont = new Font("Arial", Font.PLAIN, fontSize);
-			fontMetrics = graphics.getFontMetrics(errorFont);
-		}
-		graphics.setFont(errorFont);
-		graphics.drawString("ERROR", (getWidth() / 2) - (fontMetrics.stringWidth("ERROR") / 2), (getHeight()/ 2) - (fontMetrics.getHeight() / 2));
-		setToolTipText(error);
-	}
-	
-	
-	abstract void draw(Graphics graphics);
-	
-	
-	public void paint(Graphics graphics) {
-		super.paint(graphics);
-		setToolTipText(null);
-		if ((getWidth() > 20) && (getHeight() > 20)) {
-			draw(graphics);
-		}
-	}
-	
-	
-	private JPopupMenu createPopUpMenu() {
-		JPopupMenu popUpMenu = new JPopupMenu();
-		
-		JMenuItem saveAsMenuItem = new JMenuItem("Save As...");
-		saveAsMenuItem.addActionListener(new ActionListener() {
-			
-			@Override
-			public void actionPerformed(ActionEvent e) {
-				saveAsImage();
-			}
-		});
-		popUpMenu.add(saveAsMenuItem);
-		
-		return popUpMenu;
-	}
-	
-	
-	private void saveAsImage() {
-		JFileChooser pngChooser = new JFileChooser();
-		pngChooser.setDialogTitle("Save " + name);
-		pngChooser.addChoosableFileFilter(new PNGFileFilter());
-		pngChooser.setAcceptAllFileFilterUsed(false);
-		int result = pngChooser.showSaveDialog(null);
-		if (result == JFileChooser.APPROVE_OPTION) {
-			String pngFileName = pngChooser.getSelectedFile().getAbsolutePath();
-			if (!pngFileName.substring(pngFileName.length() - 4).toLowerCase().equals(".png")) {
-				pngFileName += ".png";
-			}
-			BufferedImage image = new BufferedImage(this.getWidth()	, this.getHeight(), BufferedImage.TYPE_INT_ARGB);
-			paint(image.getGraphics());
-			try {
-				ImageIO.write(image, "PNG", new File(pngFileName));
-			} catch (IOException e) {
-				JOptionPane.showMessageDialog(null, "Error writing imagefile.", "Chart '" + name + "' Save Error", JOptionPane.ERROR_MESSAGE);
-			}
-		}
-	}
-	
-	
-	public class PNGFileFilter extends FileFilter {
-
-		@Override
-		public boolean accept(File file) {
-			return (file.isDirectory() || file.getAbsolutePath().toLowerCase().endsWith(".png"));
-		}
-
-		@Override
-		public String getDescription() {
-			return "Portable Network Graphics (.png)";
-		}
-		
-	}
-}
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Window;
+import java.awt.geom.AffineTransform;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.imageio.ImageIO;
+import javax.swing.BorderFactory;
+import javax.swing.JFileChooser;
+import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JPopupMenu;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.ToolTipManager;
+import javax.swing.filechooser.FileFilter;
+
+abstract class JChartPlot extends JPanel {
+	private static final long serialVersionUID = -1438448602003395056L;
+	
+	protected static final boolean DEBUG = false;
+	
+	protected static final int MARGIN             = 5;
+	protected static final int LABEL_AXIS_GAP     = 4;
+	protected static final int STANDARD_PRECISION = 1;
+	protected static final int AXIS_VALUE_GAP     = 4;
+	
+	protected static final int FLOODFILL_STYLE_4_WAY = 4;
+	protected static final int FLOODFILL_STYLE_8_WAY = 8;
+	
+	// Size of the square sprites of the point styles. drawPoint draws within 2 pixels of the point.
+	private static final int MARKER_SPRITE_SIZE = 7;
+	
+	// Marker sprites per point style and color, shared by all plots. The least recently used sprites are
+	// removed when there are more than MARKER_SPRITE_COUNT.
+	private static final int MARKER_SPRITE_COUNT = 64;
+	private static final Map<Long, int[]> markerSprites = new LinkedHashMap<Long, int[]>(16, 0.75f, true);
+	
+	// Maximum distance in pixels between the mouse and a data point to show the point as tool tip.
+	private static final int TOOL_TIP_DISTANCE = 5;
+	
+	// Number of points of a mapped or compressed series that are copied at once to index them for the tool tips.
+	private static final int TOOL_TIP_CHUNK = 65536;
+	
+	// Zoom factor per mouse wheel notch.
+	private static final double ZOOM_FACTOR = 1.25;
+	
+	// Milliseconds without changes after which a plot with adaptive render quality is drawn in quality mode.
+	private static final int ADAPTIVE_IDLE_DELAY = 300;
+
+	protected String name = null;
+	protected String title = null;
+	protected int titleAlignment = JChart.TITLE_ALIGNMENT_CENTER;
+	protected int titlePosition  = JChart.TITLE_POSITION_TOP;
+	protected boolean legendEnabled = true;
+	protected boolean dataToolTipsEnabled = true;
+	protected boolean zoomEnabled = false;
+	
+	// The fonts and colors, shared with other plots until one of them is set for this plot.
+	protected JChartStyle chartStyle = JChartStyle.DEFAULT;
+	
+	// The visible range minX, maxX, minY, maxY after zooming or panning, null when the plot shows all data.
+	protected double[] viewport = null;
+	
+	// The horizontal axis of points in time, null when the x values are plain numbers.
+	protected JChartTimeAxis timeAxis = null;
+	
+	// The scale of the horizontal and vertical axis. On a logarithmic axis the plot works with the logarithms of the values.
+	protected int horizontalScale = JChart.AXIS_SCALE_LINEAR;
+	protected int verticalScale = JChart.AXIS_SCALE_LINEAR;
+	protected int renderQuality = JChart.RENDER_QUALITY_FAST;
+	protected boolean progressiveRendering = false;
+	protected Boolean orderDataSets = false;
+
+	protected Map<String, Color> dataSets = null;
+	protected List<String> dataSetList = new ArrayList<String>();
+	protected Map<String, Integer> pointStyles = null;
+	protected Set<String> floatDataSets = null;
+	
+	// Incremented on every change of the data or the settings of the plot, so
+	// derived state like geometry and layout can be cached until it changes.
+	protected long plotVersion = 0;
+	
+	// Incremented on every change but points added to series, for state that follows the
+	// added points itself, like the progressive drawing.
+	protected long settingsVersion = 0;
+	
+	// Image in which the point markers are stamped as pixels instead of drawn, only while a data set has a point style.
+	private transient JChartRaster dataLayer = null;
+	private transient boolean dataLayerActive = false;
+	
+	// The render quality of the current paint, and the time of the last change for the adaptive render quality.
+	private transient int paintQuality = JChart.RENDER_QUALITY_FAST;
+	private transient long lastChangeTime = 0;
+	private transient Timer idleTimer = null;
+	
+	// Draws the data of plots with very many points progressively on a background thread.
+	private transient JChartProgressiveRenderer progressiveRenderer = null;
+	
+	// A plot that is not showing or in a minimized window is suspended: its derived state is released
+	// and repaints are only remembered, to be done once when the plot is visible again.
+	// Set on the event dispatch thread and read by repaints from the progressive rendering thread.
+	private transient volatile boolean suspended = false;
+	private transient volatile boolean repaintPending = false;
+	private transient Window window = null;
+	private transient WindowAdapter windowListener = null;
+	
+	private String errorToolTip = null;
+	
+	// The layout of the axes, kept between paints until the plot or its size changes.
+	private transient JChartAxisLayout axisLayout = null;
+	
+	// The series drawn in the last paint and their layout, to find the data point under the mouse and to zoom.
+	private transient Map<String, JChartSeries> layoutSeries = null;
+	private transient double[] seriesLayout = null;
+	private transient int toolTipXPrecision;
+	private transient int toolTipYPrecision;
+	private transient JChartSpatialIndex toolTipIndex = null;
+	private transient double[] toolTipIndexLayout = null;
+	private transient String[] toolTipIndexNames = null;
+	private transient int[] toolTipIndexOffsets = null;
+	private transient int[] toolTipIndexFirstPoints = null;
+	
+	private transient MouseAdapter zoomListener = null;
+	private transient Point dragStart = null;
+	private transient double[] dragViewport = null;
+	
+	private JPopupMenu popUpMenu = null;
+	
+	
+	public JChartPlot(String name) {
+		super();
+		
+		this.name = name;
+		JPanel panel = this;
+		setLayout(new BorderLayout());
+		setBorder(BorderFactory.createEmptyBorder());
+		ToolTipManager.sharedInstance().registerComponent(this);
+		addMouseListener(new MouseAdapter() {
+			
+			public void mouseClicked(MouseEvent e) {
+				//right mouse click event
+				if (SwingUtilities.isRightMouseButton(e) && e.getClickCount() == 1){
+					// The menu is only created when it is used, as most charts never show it
+					if (popUpMenu == null) {
+						popUpMenu = createPopUpMenu();
+					}
+					popUpMenu.show(panel , e.getX(), e.getY());
+				}
+				
+			}
+		});
+		addHierarchyListener(new HierarchyListener() {
+			
+			@Override
+			public void hierarchyChanged(HierarchyEvent e) {
+				if ((e.getChangeFlags() & (HierarchyEvent.SHOWING_CHANGED | HierarchyEvent.PARENT_CHANGED)) != 0) {
+					updateSuspended();
+				}
+			}
+		});
+		clear();
+	}
+	
+	public void setTitle(String title, int alignment, int position) {
+		this.title = title;
+		titleAlignment = alignment;
+		titlePosition= position;
+		plotChanged();
+	}
+	
+	
+	public String getTitle() {
+		return title;
+	}
+	
+	
+	public boolean setStyle(JChartStyle style) {
+		boolean ok = style != null;
+		if (ok) {
+			chartStyle = style;
+			plotChanged();
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "No style.", "Chart '" + name + "' Style Error", JOptionPane.ERROR_MESSAGE);
+		}
+		return ok;
+	}
+	
+	
+	public JChartStyle getStyle() {
+		return chartStyle;
+	}
+	
+	
+	public void setTitleFont(Font font) {
+		chartStyle = chartStyle.withTitleFont(font);
+		plotChanged();
+	}
+	
+	
+	public void setTitleColor(Color color) {
+		chartStyle = chartStyle.withTitleColor(color);
+		plotChanged();
+	}
+	
+	
+	public void setBackgroundColor(Color color) {
+		if (color != null) {
+			chartStyle = chartStyle.withBackgroundColor(color);
+		}
+		plotChanged();
+	}
+	
+	
+	public void setLegendEnabled(boolean enabled) {
+		legendEnabled = enabled;
+		plotChanged();
+	}
+	
+	
+	public void setDataToolTipsEnabled(boolean enabled) {
+		dataToolTipsEnabled = enabled;
+	}
+	
+	
+	public void setZoomEnabled(boolean enabled) {
+		// The listeners are only added when zooming is enabled, because a mouse wheel listener
+		// keeps the wheel events from reaching an enclosing scroll pane.
+		if (enabled && (!zoomEnabled)) {
+			zoomListener = createZoomListener();
+			addMouseListener(zoomListener);
+			addMouseMotionListener(zoomListener);
+			addMouseWheelListener(zoomListener);
+		}
+		else if ((!enabled) && zoomEnabled) {
+			removeMouseListener(zoomListener);
+			removeMouseMotionListener(zoomListener);
+			removeMouseWheelListener(zoomListener);
+			zoomListener = null;
+			viewport = null;
+			plotChanged();
+			repaint();
+		}
+		zoomEnabled = enabled;
+	}
+	
+	
+	public boolean setTimeAxis(int timeUnit) {
+		boolean ok = false;
+		
+		if (timeUnit == JChart.TIME_UNIT_NONE) {
+			timeAxis = null;
+			plotChanged();
+			ok = true;
+		}
+		else if ((timeUnit == JChart.TIME_UNIT_MILLISECONDS) || (timeUnit == JChart.TIME_UNIT_NANOSECONDS)) {
+			timeAxis = new JChartTimeAxis(timeUnit);
+			plotChanged();
+			ok = true;
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "Unknown time unit.", "Chart '" + name + "' Time Axis Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public boolean setRenderQuality(int quality) {
+		boolean ok = false;
+		
+		if ((quality == JChart.RENDER_QUALITY_FAST) || (quality == JChart.RENDER_QUALITY_BALANCED) || (quality == JChart.RENDER_QUALITY_QUALITY) || (quality == JChart.RENDER_QUALITY_ADAPTIVE)) {
+			renderQuality = quality;
+			ok = true;
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "Unknown render quality.", "Chart '" + name + "' Render Quality Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public void setProgressiveRendering(boolean enabled) {
+		progressiveRendering = enabled;
+		if ((!enabled) && (progressiveRenderer != null)) {
+			progressiveRenderer.cancel();
+		}
+		plotChanged();
+	}
+	
+	
+	protected boolean isValidScale(int scale) {
+		boolean ok = JChartScale.isValid(scale);
+		if (!ok) {
+			JOptionPane.showMessageDialog(null, "Unknown axis scale.", "Chart '" + name + "' Axis Scale Error", JOptionPane.ERROR_MESSAGE);
+		}
+		return ok;
+	}
+	
+	
+	protected Double timeToValue(long time) {
+		// Returns the x value of the time, or null when the chart has no time axis.
+		Double value = null;
+		if (timeAxis != null) {
+			value = timeAxis.toValue(time);
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "The chart has no time axis.", "Chart '" + name + "' Time Axis Error", JOptionPane.ERROR_MESSAGE);
+		}
+		return value;
+	}
+	
+	
+	public void resetZoom() {
+		viewport = null;
+		plotChanged();
+		repaint();
+	}
+	
+	
+	public void setLegendFont(Font font) {
+		chartStyle = chartStyle.withLegendFont(font);
+		plotChanged();
+	}
+	
+	
+	public void setLegendFontColor(Color color) {
+		chartStyle = chartStyle.withLegendFontColor(color);
+		plotChanged();
+	}
+	
+	
+	public void setLegendBackgroundColor(Color color) {
+		chartStyle = chartStyle.withLegendBackgroundColor(color);
+		plotChanged();
+	}
+	
+	
+	public void setLegendBorderColor(Color  color) {
+		chartStyle = chartStyle.withLegendBorderColor(color);
+		plotChanged();
+	}
+	
+	
+	public void setOrderedDataSets(Boolean ordered) {
+		orderDataSets = ordered;
+		plotChanged();
+	}
+	
+	
+	public void clear() {
+		dataSets = null;
+		dataSetList.clear();
+		pointStyles = null;
+		floatDataSets = null;
+		viewport = null;
+		if (timeAxis != null) {
+			timeAxis.clear();
+		}
+		plotChanged();
+	}
+	
+	
+	public boolean addDataSet(String dataSetName, Color color) {
+		boolean ok = false;
+		
+		if (dataSets == null) {
+			dataSets = new HashMap<String, Color>();
+		}
+		if (!dataSets.containsKey(dataSetName)) {
+			dataSets.put(dataSetName, color);
+			dataSetList.add(dataSetName);
+			plotChanged();
+			ok = true;
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "Data set '" + dataSetName + " already exists.", "Chart '" + name + "' Data Set Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public boolean setDataSetPrecision(String dataSetName, int precision) {
+		boolean ok = false;
+		
+		if ((dataSets == null) || (!dataSets.containsKey(dataSetName))) {
+			JOptionPane.showMessageDialog(null, "Unknown data set '" + dataSetName + "'.", "Chart '" + name + "' Data Precision Error", JOptionPane.ERROR_MESSAGE);
+		}
+		else if ((precision != JChart.DATA_PRECISION_DOUBLE) && (precision != JChart.DATA_PRECISION_FLOAT)) {
+			JOptionPane.showMessageDialog(null, "Unknown data precision.", "Chart '" + name + "' Data Precision Error", JOptionPane.ERROR_MESSAGE);
+		}
+		else {
+			if (precision == JChart.DATA_PRECISION_FLOAT) {
+				if (floatDataSets == null) {
+					floatDataSets = new HashSet<String>();
+				}
+				floatDataSets.add(dataSetName);
+			}
+			else if (floatDataSets != null) {
+				floatDataSets.remove(dataSetName);
+			}
+			applyPrecision(dataSetName, precision == JChart.DATA_PRECISION_FLOAT);
+			plotChanged();
+			ok = true;
+		}
+		
+		return ok;
+	}
+	
+	
+	protected boolean isFloatPrecision(String dataSetName) {
+		return (floatDataSets != null) && floatDataSets.contains(dataSetName);
+	}
+	
+	
+	protected void applyPrecision(String dataSetName, boolean floatPrecision) {
+		// Stores the data of the data set with the precision. Plots of which the data sets are series set it on the series,
+		// other plots keep their data in their own way.
+		Map<String, JChartSeries> seriesMap = getSeriesMap();
+		JChartSeries series = seriesMap == null ? null : seriesMap.get(dataSetName);
+		if (series != null) {
+			series.setFloatPrecision(floatPrecision);
+		}
+	}
+	
+	
+	protected void plotChanged() {
+		plotVersion++;
+		settingsVersion++;
+		lastChangeTime = System.nanoTime();
+		JChartProgressiveRenderer renderer = progressiveRenderer;
+		if (renderer != null) {
+			// The data may have changed, so the points of the previous version are not drawn any further
+			renderer.stop();
+		}
+	}
+	
+	
+	protected void pointsAdded() {
+		// A change of the plot by points added to series, which does not stop the progressive drawing:
+		// when the series only grew, the added points are drawn after the points that are being drawn.
+		plotVersion++;
+		lastChangeTime = System.nanoTime();
+	}
+	
+	
+	protected String formatValue(double value, int precision) {
+		String formattedValue = Double.toString(round(value, precision));
+		if ((precision == 0) && formattedValue.contains(".")) {
+			formattedValue = formattedValue.substring(0, formattedValue.indexOf("."));
+		}
+		return formattedValue;
+	}
+	
+	
+	protected String formatX(double x, int precision) {
+		return timeAxis == null ? formatValue(x, precision, horizontalScale) : timeAxis.format(x);
+	}
+	
+	
+	protected String formatY(double y, int precision) {
+		return formatValue(y, precision, verticalScale);
+	}
+	
+	
+	protected String formatValue(double scaledValue, int precision, int scale) {
+		// Formats a value on the scale of an axis. Values below 1 on a logarithmic axis get decimals for two significant digits.
+		String formattedValue;
+		if (scale == JChart.AXIS_SCALE_LINEAR) {
+			formattedValue = formatValue(scaledValue, precision);
+		}
+		else {
+			double value = JChartScale.fromScale(scaledValue, scale);
+			int digits = value < 1.0 ? Math.min(15, 1 + (int) Math.ceil(-Math.log10(value))) : 0;
+			formattedValue = formatValue(value, Math.max(precision, digits));
+		}
+		return formattedValue;
+	}
+	
+	
+	protected int measureTimeAxis(double minX, double maxX, FontMetrics fontMetrics) {
+		// Returns the width of the widest time label. The labels depend on the step between the
+		// ticks, so the step is chosen for the whole width first and again for the width of the axis.
+		timeAxis.chooseStep(minX, maxX, getWidth() - (2 * MARGIN), fontMetrics, AXIS_VALUE_GAP);
+		return Math.max(fontMetrics.stringWidth(timeAxis.format(minX)), fontMetrics.stringWidth(timeAxis.format(maxX)));
+	}
+	
+	
+	protected double round(double value, int precision) {
+		double factor = Math.pow(10, precision);
+		return (((double) Math.round(value * factor)) / factor);
+	}
+	
+	
+	protected int valueToPosition(double value, int basePosition, int endPosition, double baseValue, double endValue) {
+		// The same arithmetic as JChartAxisLayout.toX and toY, so axis ticks and points get the same pixels
+		return basePosition + (int) Math.round((value - baseValue) * JChartAxisLayout.getScale(basePosition, endPosition, baseValue, endValue));
+	}
+	
+	
+	protected List<Double> horizontalAxis(List<Double> predefinedAxis, double minValue, double maxValue, int minPosition, int maxPosition, FontMetrics fontMetrics, int precision) {
+		List<Double> axis = new ArrayList<Double>();
+		if (predefinedAxis != null) {
+			int maxWidth = 0;
+			for (double value : predefinedAxis) {
+				maxWidth = Math.max(maxWidth, fontMetrics.stringWidth(formatX(value, precision)));
+			}
+			
+			Set<String> xValues = new HashSet<String>();
+			int nextPossibleX = minPosition;
+			for (int valueNr = 0; valueNr < (predefinedAxis.size() - 1); valueNr++) {
+				int valueX = valueNr == 0 ? minPosition : valueToPosition(predefinedAxis.get(valueNr), minPosition, maxPosition, predefinedAxis.get(0), predefinedAxis.get(predefinedAxis.size() - 1));
+				if ((valueX >= nextPossibleX) && (valueX <= (Math.max(minPosition, maxPosition) - maxWidth - AXIS_VALUE_GAP)) && xValues.add(formatX(predefinedAxis.get(valueNr), precision))) {
+					axis.add(predefinedAxis.get(valueNr));
+					nextPossibleX = valueX + maxWidth + AXIS_VALUE_GAP;
+				}	
+			}
+			if (xValues.add(formatX(predefinedAxis.get(predefinedAxis.size() - 1), precision))) {
+				axis.add(predefinedAxis.get(predefinedAxis.size() - 1));
+			}
+			else {
+				axis.set(axis.size() - 1, predefinedAxis.get(predefinedAxis.size() - 1));
+			}
+		}
+		else if (timeAxis != null) {
+			timeAxis.chooseStep(minValue, maxValue, Math.abs(maxPosition - minPosition), fontMetrics, AXIS_VALUE_GAP);
+			axis = horizontalAxis(timeAxis.createAxis(minValue, maxValue), minValue, maxValue, minPosition, maxPosition, fontMetrics, precision);
+		}
+		else if (horizontalScale != JChart.AXIS_SCALE_LINEAR) {
+			int maxWidth = Math.max(fontMetrics.stringWidth(formatX(minValue, precision)), fontMetrics.stringWidth(formatX(maxValue, precision)));
+			int maxTicks = Math.abs(maxPosition - minPosition) / (maxWidth + AXIS_VALUE_GAP);
+			axis = horizontalAxis(JChartScale.createLogAxis(minValue, maxValue, horizontalScale, maxTicks), minValue, maxValue, minPosition, maxPosition, fontMetrics, precision);
+		}
+		else {
+			int maxWidth = Math.max(fontMetrics.stringWidth(formatX(minValue, precision)), fontMetrics.stringWidth(formatX(maxValue, precision)));
+			double step = ((double) (maxValue - minValue) / ((double) Math.abs(maxPosition - minPosition) / (double) (maxWidth + AXIS_VALUE_GAP)));
+			axis = horizontalAxis(createAxis(minValue, maxValue, step), minValue, maxValue, minPosition, maxPosition, fontMetrics, precision);
+		}
+		return axis;
+	}
+	
+	
+	protected List<Double> verticalAxis(List<Double> predefinedAxis, double minValue, double maxValue, int minPosition, int maxPosition, FontMetrics fontMetrics, int precision) {
+		List<Double> axis = new ArrayList<Double>();
+		if (predefinedAxis != null) {
+			Set<String> yValues = new HashSet<String>();
+			int nextPossibleY = minPosition;
+			for (int valueNr = 0; valueNr < (predefinedAxis.size() - 1); valueNr++) {
+				int valueY = valueNr == 0 ? minPosition : valueToPosition(predefinedAxis.get(valueNr), minPosition, maxPosition, predefinedAxis.get(0), predefinedAxis.get(predefinedAxis.size() - 1));
+				if ((valueY <= nextPossibleY) && (valueY >= (maxPosition + fontMetrics.getHeight() + AXIS_VALUE_GAP)) && yValues.add(formatY(predefinedAxis.get(valueNr), precision))) {
+					axis.add(predefinedAxis.get(valueNr));
+					nextPossibleY = valueY - fontMetrics.getHeight() - AXIS_VALUE_GAP;
+				}	
+			}
+			if (yValues.add(formatY(predefinedAxis.get(predefinedAxis.size() - 1), precision))) {
+				axis.add(predefinedAxis.get(predefinedAxis.size() - 1));
+			}
+			else {
+				axis.set(axis.size() - 1, predefinedAxis.get(predefinedAxis.size() - 1));
+			}
+		}
+		else if (verticalScale != JChart.AXIS_SCALE_LINEAR) {
+			int maxTicks = Math.abs(maxPosition - minPosition) / (fontMetrics.getHeight() + AXIS_VALUE_GAP);
+			axis = verticalAxis(JChartScale.createLogAxis(minValue, maxValue, verticalScale, maxTicks), minValue, maxValue, minPosition, maxPosition, fontMetrics, precision);
+		}
+		else {
+			double step = ((double) (maxValue - minValue) / ((double) Math.abs(maxPosition - minPosition) / (double) (fontMetrics.getHeight() + AXIS_VALUE_GAP)));
+			axis = verticalAxis(createAxis(minValue, maxValue, step), minValue, maxValue, minPosition, maxPosition, fontMetrics, precision);
+		}
+		return axis;
+	}
+	
+	
+	protected List<Double> createAxis(double min, double max, double step) {
+		List<Double> axis = new ArrayList<Double>();
+		Double point = min;
+		while (point <= max) {
+			axis.add(point);
+			point += step;
+		}
+		if (!axis.contains(max)) {
+			axis.add(max);
+		}
+		return axis;
+	}
+	
+	
+	protected Dimension showTitle(Graphics graphics, int leftBottomX, int leftBottomY, int width, int height) {
+		// Returns a dimension with the new leftBottomX and the new height.
+		//   width  = the new leftBottomY
+		//   height = the new height
+		final int EXTRA_VERTICAL_SPACE = 4;
+		
+		if (title != null) {
+			FontMetrics fontMetrics = graphics.getFontMetrics(chartStyle.getTitleFont());
+
+			int x = leftBottomX; // Left alignment
+			if (titleAlignment == JChart.TITLE_ALIGNMENT_RIGHT) {
+				x += width - fontMetrics.stringWidth(title);
+			}
+			else if (titleAlignment == JChart.TITLE_ALIGNMENT_CENTER) {
+				x += (width / 2) - (fontMetrics.stringWidth(title) / 2);
+			}
+			int y = leftBottomY;
+			if (titlePosition == JChart.TITLE_POSITION_TOP) {
+				y = y - height + fontMetrics.getHeight();
+			}
+			else { // titlePosition == JChart.TITLE_POSITION_BOTTOM
+				leftBottomY = leftBottomY - fontMetrics.getHeight() - EXTRA_VERTICAL_SPACE;
+			}
+			graphics.setFont(chartStyle.getTitleFont());
+			graphics.setColor(chartStyle.getTitleColor());
+			graphics.drawString(title, x, y);
+			height = height - fontMetrics.getHeight() - MARGIN - EXTRA_VERTICAL_SPACE;
+		}
+		
+		return new Dimension(leftBottomY, height);
+	}
+	
+	
+	protected Rectangle showTitleAndLegend(Graphics graphics, boolean showLegend, boolean showBlock) {
+		// Returns the area left for the axes and the data.
+		int leftBottomX = MARGIN;
+		int leftBottomY = getHeight() - MARGIN;
+		int width = getWidth() - (2 * MARGIN);
+		int height = getHeight() - (2 * MARGIN);
+		
+		Dimension changesYAndHeihght = showTitle(graphics, leftBottomX, leftBottomY, width, height);
+		leftBottomY = changesYAndHeihght.width;
+		height = changesYAndHeihght.height;
+		
+		if (showLegend) {
+			int legendHeight = showLegendBottom(graphics, leftBottomX, leftBottomY, width, showBlock);
+			leftBottomY = leftBottomY - legendHeight;
+			height = height - legendHeight;
+		}
+		
+		return new Rectangle(leftBottomX, leftBottomY - height, width, height);
+	}
+	
+	
+	protected JChartAxisLayout getAxisLayout() {
+		if (axisLayout == null) {
+			axisLayout = new JChartAxisLayout(this);
+		}
+		return axisLayout;
+	}
+	
+	
+	protected int showLegendRightTop(Graphics graphics, int rightTopX, int rightTopY) {
+		final int LEGEND_MARGIN =  2;
+		final int ROW_GAP       =  4;
+		
+		// Returns the width taken by the legend.
+		int width = 0;
+		
+		if (legendEnabled) {
+			FontMetrics fontMetrics = graphics.getFontMetrics(chartStyle.getLegendFont());
+			int maxLegendWidth = fontMetrics.stringWidth("Legend:");
+			List<String> orderedDataSets = new ArrayList<String>();
+			orderedDataSets.addAll(dataSetList);
+			if (orderDataSets) {
+				Collections.sort(orderedDataSets);
+			}
+			for (String dataSetName : orderedDataSets) {
+				maxLegendWidth = Math.max(maxLegendWidth, fontMetrics.getHeight() + fontMetrics.stringWidth(" = " + dataSetName));
+			}
+			width = fontMetrics.getHeight() + maxLegendWidth + (2 * LEGEND_MARGIN);
+			int height = (orderedDataSets.size() * (fontMetrics.getHeight() + ROW_GAP)) + fontMetrics.getHeight() + (2 * LEGEND_MARGIN);
+			
+			// Fill background
+			graphics.setColor(chartStyle.getLegendBackgroundColor());
+			graphics.fillRect(rightTopX - width, rightTopY, width, height);
+			
+			// Draw border
+			graphics.setColor(chartStyle.getLegendBorderColor());
+			graphics.drawLine(rightTopX - width, rightTopY, rightTopX, rightTopY);
+			graphics.drawLine(rightTopX, rightTopY, rightTopX, rightTopY + height);
+			graphics.drawLine(rightTopX, rightTopY + height, rightTopX - width, rightTopY + height);
+			graphics.drawLine(rightTopX - width, rightTopY + height, rightTopX - width, rightTopY);
+			
+			graphics.setFont(chartStyle.getLegendFont());
+			graphics.setColor(chartStyle.getLegendFontColor());
+			int legendX = rightTopX - width + LEGEND_MARGIN;
+			int legendY = rightTopY + LEGEND_MARGIN + fontMetrics.getHeight();
+			graphics.drawString("Legend:", legendX, legendY);
+			legendY += ROW_GAP + fontMetrics.getHeight();
+			for (String dataSetName : orderedDataSets) {
+				graphics.setColor(dataSets.get(dataSetName));
+				graphics.fillRect(legendX, legendY - fontMetrics.getHeight() + 2, fontMetrics.getHeight(), fontMetrics.getHeight());
+				graphics.setColor(Color.BLACK);
+				graphics.drawRect(legendX, legendY - fontMetrics.getHeight() + 2, fontMetrics.getHeight(), fontMetrics.getHeight());
+				graphics.setColor(chartStyle.getLegendFontColor());
+				graphics.drawString(" = " + dataSetName, legendX + fontMetrics.getHeight(), legendY);
+				legendY += ROW_GAP + fontMetrics.getHeight();
+			}
+			// Add margin between the legend and the plot
+			width = width + MARGIN;
+		}
+		
+		return width;
+	}
+	
+	
+	protected int showLegendBottom(Graphics graphics, int leftBottomX, int leftBottomY, int width, boolean showBlock) {
+		// Returns the height taken by the legend.
+		final int LEGEND_MARGIN =  2;
+		final int COLUMN_GAP    =  8;
+		final int ROW_GAP       =  4;
+		final int LINE_LENGTH   = 11; // Should be odd
+		
+		int height = 0;
+		if (legendEnabled) {
+			FontMetrics fontMetrics = graphics.getFontMetrics(chartStyle.getLegendFont());
+			int maxLegendWidth = 0;
+			List<String> orderedDataSets = new ArrayList<String>();
+			orderedDataSets.addAll(dataSetList);
+			if (orderDataSets) {
+				Collections.sort(orderedDataSets);
+			}
+			for (String dataSetName : orderedDataSets) {
+				maxLegendWidth = Math.max(maxLegendWidth, fontMetrics.stringWidth(" = " + dataSetName));
+			}
+			// Add line length
+			maxLegendWidth += LINE_LENGTH;
+			String legendLabel = "Legend:";
+			int legendLabelWidth = fontMetrics.stringWidth(legendLabel);
+			int legendWidth = width - 6 - (2 * LEGEND_MARGIN) - legendLabelWidth - COLUMN_GAP;
+			int columns = legendWidth / (maxLegendWidth + COLUMN_GAP);
+			int rows = (int) Math.ceil((double) orderedDataSets.size() / (double) columns);
+			height = 2 + (2 * LEGEND_MARGIN) + (rows * (ROW_GAP + fontMetrics.getHeight()));
+			
+			// Fill background
+			graphics.setColor(chartStyle.getLegendBackgroundColor());
+			graphics.fillRect(leftBottomX, leftBottomY - (height - ROW_GAP), width, (height - ROW_GAP));
+			
+			// Draw border
+			graphics.setColor(chartStyle.getLegendBorderColor());
+			graphics.drawLine(leftBottomX + 2, leftBottomY - 2, leftBottomX + 2, leftBottomY - height + ROW_GAP);
+			graphics.drawLine(leftBottomX + 2, leftBottomY - height + ROW_GAP, leftBottomX + width - 2, leftBottomY - height + ROW_GAP);
+			graphics.drawLine(leftBottomX + width - 2, leftBottomY - height + ROW_GAP, leftBottomX + width - 2, leftBottomY - 2);
+			graphics.drawLine(leftBottomX + width - 2, leftBottomY - 2, leftBottomX + 2, leftBottomY - 2);
+			
+			// Write legend
+			int x = leftBottomX + 3 + LEGEND_MARGIN;
+			int y = leftBottomY - 4 - LEGEND_MARGIN - ((rows - 1) * (ROW_GAP + fontMetrics.getHeight()));
+			graphics.setFont(chartStyle.getLegendFont());
+			graphics.setColor(chartStyle.getLegendFontColor());
+			graphics.drawString(legendLabel, x, y);
+			x = x + legendLabelWidth + COLUMN_GAP;
+			int columnNr = 0;
+			for (String dataSetName : orderedDataSets) {
+				graphics.setColor(dataSets.get(dataSetName));
+				if (showBlock) {
+					graphics.fillRect(x, y - fontMetrics.getHeight() + 2, LINE_LENGTH, fontMetrics.getHeight());
+					graphics.setColor(Color.BLACK);
+					graphics.drawRect(x, y - fontMetrics.getHeight() + 2, LINE_LENGTH, fontMetrics.getHeight());
+				}
+				else {
+					graphics.drawLine(x, y - (fontMetrics.getHeight() / 2) + 2, x + LINE_LENGTH, y - (fontMetrics.getHeight() / 2) + 2);
+					drawPoint(graphics, x + ((LINE_LENGTH - 1) / 2) + 1, y - (fontMetrics.getHeight() / 2) + 2, getLineStyle(dataSetName));
+				}
+				graphics.setColor(chartStyle.getLegendFontColor());
+				graphics.drawString(" = " + dataSetName, x + LINE_LENGTH, y);
+				columnNr++;
+				if (columnNr == columns) {
+					x = leftBottomX + 3 + LEGEND_MARGIN + legendLabelWidth + COLUMN_GAP;
+					y = y + ROW_GAP + fontMetrics.getHeight();
+					columnNr = 0;
+				}
+				else {
+					x = x + maxLegendWidth + COLUMN_GAP;
+				}
+			}
+		}
+		
+		return height;
+	}
+	
+	
+	protected void drawPoint(Graphics graphics, int x, int y, int style) {
+		if (style != JLineChart.POINT_STYLE_NONE) {
+			if (style == JLineChart.POINT_STYLE_DOT) {
+				graphics.drawLine(x - 1, y - 2, x + 1, y - 2);
+				graphics.drawLine(x - 2, y - 1, x + 2, y - 1);
+				graphics.drawLine(x - 2, y, x + 2, y);
+				graphics.drawLine(x - 2, y + 1, x + 2, y + 1);
+				graphics.drawLine(x - 1, y + 2, x + 1, y + 2);
+			}
+			else if (style == JLineChart.POINT_STYLE_SQUARE) {
+				graphics.fillRect(x - 2, y - 2, 5, 5);
+			}
+			else if (style == JLineChart.POINT_STYLE_DIAMOND) {
+				graphics.drawLine(x, y - 2, x, y - 2);
+				graphics.drawLine(x - 1, y - 1, x + 1, y - 1);
+				graphics.drawLine(x - 2, y, x + 1, y);
+				graphics.drawLine(x - 1, y + 1, x + 1, y + 1);
+				graphics.drawLine(x, y + 2, x, y + 2);
+			}
+		}
+	}
+	
+	
+	protected Graphics beginDataLayer(Graphics graphics) {
+		// Returns the graphics to draw the data with. When a data set has a point style and the plot is drawn
+		// without scaling, drawPoint stamps the opaque point markers as sprites in a layer of markers only.
+		// The lines are drawn on the graphics, after flushDataLayer has drawn the markers stamped before them.
+		Graphics dataGraphics = graphics.create();
+		
+		dataLayerActive = false;
+		if (!hasPointStyles()) {
+			dataLayer = null;
+		}
+		else if (graphics instanceof Graphics2D) {
+			int transformType = ((Graphics2D) graphics).getTransform().getType();
+			if ((transformType & ~AffineTransform.TYPE_TRANSLATION) == 0) {
+				if (dataLayer == null) {
+					dataLayer = new JChartRaster();
+				}
+				dataLayer.setSize(getWidth(), getHeight());
+				dataLayerActive = true;
+			}
+		}
+		
+		return dataGraphics;
+	}
+	
+	
+	protected void clipDataLayer(Graphics dataGraphics, int x, int y, int width, int height) {
+		dataGraphics.clipRect(x, y, width, height);
+		if (dataLayerActive) {
+			dataLayer.setClip(x, y, width, height);
+		}
+	}
+	
+	
+	protected void flushDataLayer(Graphics dataGraphics) {
+		// Draws the markers stamped so far, before something is drawn over them
+		if (dataLayerActive) {
+			dataLayer.flush(dataGraphics);
+		}
+	}
+	
+	
+	protected void endDataLayer(Graphics graphics, Graphics dataGraphics) {
+		flushDataLayer(dataGraphics);
+		dataLayerActive = false;
+		dataGraphics.dispose();
+	}
+	
+	
+	protected void drawPoint(Graphics dataGraphics, int x, int y, int style, Color color) {
+		// Draws a point in a data layer started with beginDataLayer. Opaque markers are stamped as sprites.
+		if (style != JLineChart.POINT_STYLE_NONE) {
+			if (dataLayerActive && (color.getAlpha() == 255)) {
+				dataLayer.stamp(x, y, getMarkerSprite(style, color), MARKER_SPRITE_SIZE);
+			}
+			else {
+				flushDataLayer(dataGraphics);
+				drawPoint(dataGraphics, x, y, style);
+			}
+		}
+	}
+	
+	
+	private boolean hasPointStyles() {
+		// Whether a data set is drawn with point markers
+		boolean found = false;
+		
+		if (pointStyles != null) {
+			for (int dataSetNr = 0; (dataSetNr < dataSetList.size()) && (!found); dataSetNr++) {
+				found = getLineStyle(dataSetList.get(dataSetNr)) != JLineChart.POINT_STYLE_NONE;
+			}
+		}
+		
+		return found;
+	}
+	
+	
+	private int[] getMarkerSprite(int style, Color color) {
+		// The sprite is created by drawing the point style once in a small image, so it is identical to drawPoint.
+		Long key = (((long) style) << 32) | (color.getRGB() & 0xFFFFFFFFL);
+		int[] sprite;
+		synchronized (markerSprites) {
+			sprite = markerSprites.get(key);
+			if (sprite == null) {
+				JChartRaster spriteRaster = new JChartRaster();
+				sprite = spriteRaster.getPixels(MARKER_SPRITE_SIZE, MARKER_SPRITE_SIZE);
+				Graphics spriteGraphics = spriteRaster.createGraphics();
+				spriteGraphics.setColor(color);
+				drawPoint(spriteGraphics, MARKER_SPRITE_SIZE / 2, MARKER_SPRITE_SIZE / 2, style);
+				spriteGraphics.dispose();
+				markerSprites.put(key, sprite);
+				if (markerSprites.size() > MARKER_SPRITE_COUNT) {
+					Iterator<Long> iterator = markerSprites.keySet().iterator();
+					iterator.next();
+					iterator.remove();
+				}
+			}
+		}
+		return sprite;
+	}
+	
+	
+	protected boolean drawProgressive(Graphics graphics, JChartAxisLayout layout, List<JChartProgressiveRenderer.Series> seriesList, Rectangle clip, boolean connected) {
+		// Draws the series progressively when it is enabled and there are enough points in view.
+		// Returns false when the plot should draw the series itself.
+		boolean progressive = progressiveRendering && JChartProgressiveRenderer.isProgressive(seriesList);
+		if (progressive) {
+			if (progressiveRenderer == null) {
+				progressiveRenderer = new JChartProgressiveRenderer(this, connected);
+			}
+			progressiveRenderer.draw(graphics, new double[] { settingsVersion, getWidth(), getHeight(), paintQuality }, layout, seriesList, clip, paintQuality);
+		}
+		else if (progressiveRenderer != null) {
+			progressiveRenderer.cancel();
+		}
+		return progressive;
+	}
+	
+	
+	protected void drawProgressiveData(Graphics graphics, JChartAxisLayout layout, double[] plotX, double[] plotY, int from, int to, Color color, int pointStyle) {
+		// Draws the points from up to to for drawProgressive, mostly on the thread of JChartProgressiveRenderer.
+		// Plots that draw progressively implement this without using the state of the paint.
+	}
+	
+	
+	protected int getLineStyle(String dataSetName) {
+		Integer lineStyle = pointStyles == null ? null : pointStyles.get(dataSetName);
+		return lineStyle == null ? JLineChart.POINT_STYLE_NONE : lineStyle;
+	}
+	
+	
+	protected void showError(Graphics graphics, String error) {
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, getWidth(), getHeight());
+		graphics.setColor(Color.RED);
+		int fontSize = 20;
+		Font errorFont = new Font("Arial", Font.PLAIN, fontSize);
+		FontMetrics fontMetrics = graphics.getFontMetrics(errorFont);
+		while ((fontSize > 6) && ((fontMetrics.stringWidth("ERROR") > (getWidth() - (2 * MARGIN))) || (fontMetrics.getHeight() > (getHeight() - (2 * MARGIN))))) {
+			fontSize--;
+			errorFont = new Font("Arial", Font.PLAIN, fontSize);
+			fontMetrics = graphics.getFontMetrics(errorFont);
+		}
+		graphics.setFont(errorFont);
+		graphics.drawString("ERROR", (getWidth() / 2) - (fontMetrics.stringWidth("ERROR") / 2), (getHeight()/ 2) - (fontMetrics.getHeight() / 2));
+		errorToolTip = error;
+	}
+	
+	
+	abstract void draw(Graphics graphics);
+	
+	
+	@Override
+	public void repaint(long time, int x, int y, int width, int height) {
+		// Repaints are done in the frames of the repaint scheduler shared by all charts
+		if (suspended) {
+			repaintPending = true;
+		}
+		else if (!JChartRepaintScheduler.repaint(this)) {
+			super.repaint(time, x, y, width, height);
+		}
+	}
+	
+	
+	public boolean isSuspended() {
+		return suspended;
+	}
+	
+	
+	private void updateSuspended() {
+		// The window listener moves with the plot to the window it is in
+		Window ancestor = SwingUtilities.getWindowAncestor(this);
+		if (ancestor != window) {
+			if (window != null) {
+				window.removeWindowListener(windowListener);
+			}
+			window = ancestor;
+			if (window != null) {
+				if (windowListener == null) {
+					windowListener = new WindowAdapter() {
+						
+						@Override
+						public void windowIconified(WindowEvent e) {
+							updateSuspended();
+						}
+						
+						
+						@Override
+						public void windowDeiconified(WindowEvent e) {
+							updateSuspended();
+						}
+					};
+				}
+				window.addWindowListener(windowListener);
+			}
+		}
+		
+		boolean hidden = JChartRepaintScheduler.isHidden(this);
+		if (hidden && (!suspended)) {
+			suspended = true;
+			releaseDerivedState();
+		}
+		else if ((!hidden) && suspended) {
+			// All changes while suspended are caught up in one paint
+			suspended = false;
+			if (repaintPending) {
+				repaintPending = false;
+				repaint();
+			}
+		}
+	}
+	
+	
+	protected Map<String, JChartSeries> getSeriesMap() {
+		// The series by data set name of plots of which the data sets are series, null for other plots.
+		return null;
+	}
+	
+	
+	protected void putSeries(String dataSetName, JChartSeries series) {
+		// Plots of which the data sets are series add the series, set up like the series they create themselves.
+	}
+	
+	
+	protected void addDataPoints(String dataSetName, double[] xValues, double[] yValues, int count) {
+		// Adds the first count points of the columns to the series of an existing data set, as one change of the plot.
+		Map<String, JChartSeries> seriesMap = getSeriesMap();
+		JChartSeries series = seriesMap == null ? null : seriesMap.get(dataSetName);
+		if (series == null) {
+			series = new JChartSeries();
+			putSeries(dataSetName, series);
+		}
+		for (int pointNr = 0; pointNr < count; pointNr++) {
+			series.add(xValues[pointNr], yValues[pointNr]);
+		}
+		pointsAdded();
+	}
+	
+	
+	public boolean saveSnapshot(File file) {
+		boolean ok = false;
+		
+		try {
+			JChartSnapshot.write(this, file);
+			ok = true;
+		} catch (IOException e) {
+			JOptionPane.showMessageDialog(null, "Error writing snapshot file.", "Chart '" + name + "' Snapshot Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public boolean loadSnapshot(File file) {
+		boolean ok = false;
+		
+		try {
+			JChartSnapshot.read(this, file, false);
+			ok = true;
+		} catch (IOException e) {
+			JOptionPane.showMessageDialog(null, "Error reading snapshot file. " + (e.getMessage() == null ? "" : e.getMessage()), "Chart '" + name + "' Snapshot Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public boolean openSnapshot(File file) {
+		boolean ok = false;
+		
+		try {
+			JChartSnapshot.read(this, file, true);
+			ok = true;
+		} catch (IOException e) {
+			JOptionPane.showMessageDialog(null, "Error opening snapshot file. " + (e.getMessage() == null ? "" : e.getMessage()), "Chart '" + name + "' Snapshot Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public boolean importDelimited(File file, char delimiter, int headerLines, int xColumn, int[] yColumns, String[] dataSetNames, boolean parallel) {
+		boolean ok = true;
+		
+		if ((yColumns == null) || (dataSetNames == null) || (yColumns.length != dataSetNames.length)) {
+			JOptionPane.showMessageDialog(null, "There should be one y column per data set.", "Chart '" + name + "' Import Error", JOptionPane.ERROR_MESSAGE);
+			ok = false;
+		}
+		else if ((delimiter == '\n') || (delimiter == '\r') || (delimiter > 127) || (headerLines < 0) || (xColumn < 0)) {
+			JOptionPane.showMessageDialog(null, "Invalid delimiter, number of header lines or x column.", "Chart '" + name + "' Import Error", JOptionPane.ERROR_MESSAGE);
+			ok = false;
+		}
+		for (int dataSetNr = 0; ok && (dataSetNr < dataSetNames.length); dataSetNr++) {
+			if ((dataSets == null) || (!dataSets.containsKey(dataSetNames[dataSetNr]))) {
+				JOptionPane.showMessageDialog(null, "Unknown data set '" + dataSetNames[dataSetNr] + "'.", "Chart '" + name + "' Import Error", JOptionPane.ERROR_MESSAGE);
+				ok = false;
+			}
+			else if (yColumns[dataSetNr] < 0) {
+				JOptionPane.showMessageDialog(null, "Invalid y column for data set '" + dataSetNames[dataSetNr] + "'.", "Chart '" + name + "' Import Error", JOptionPane.ERROR_MESSAGE);
+				ok = false;
+			}
+		}
+		
+		if (ok) {
+			try {
+				JChartDelimitedImporter.read(this, file, delimiter, headerLines, xColumn, yColumns, dataSetNames, parallel);
+			} catch (IOException e) {
+				JOptionPane.showMessageDialog(null, "Error reading file. " + (e.getMessage() == null ? "" : e.getMessage()), "Chart '" + name + "' Import Error", JOptionPane.ERROR_MESSAGE);
+				ok = false;
+			}
+		}
+		
+		return ok;
+	}
+	
+	
+	public long getMemoryEstimate() {
+		// The components, data set names and settings, and the caches of the last paint.
+		// Subclasses add their data and their own caches.
+		long bytes = JChartMemory.COMPONENTS + JChartMemory.estimateNames(dataSetList);
+		bytes += JChartMemory.estimateMap(dataSets, 0) + JChartMemory.estimateMap(pointStyles, JChartMemory.NUMBER) + JChartMemory.estimateNames(floatDataSets);
+		if (chartStyle != JChartStyle.DEFAULT) {
+			// A style of its own, of which the fonts and colors are mostly shared
+			bytes += JChartMemory.OBJECT + (12 * JChartMemory.REFERENCE);
+		}
+		if (axisLayout != null) {
+			bytes += axisLayout.getMemoryEstimate();
+		}
+		if (dataLayer != null) {
+			bytes += dataLayer.getMemoryEstimate();
+		}
+		if (progressiveRenderer != null) {
+			bytes += progressiveRenderer.getMemoryEstimate();
+		}
+		if (toolTipIndex != null) {
+			bytes += toolTipIndex.getMemoryEstimate() + JChartMemory.estimate(toolTipIndexOffsets) + JChartMemory.estimate(toolTipIndexFirstPoints) + JChartMemory.ARRAY + (toolTipIndexNames.length * JChartMemory.REFERENCE);
+		}
+		return bytes;
+	}
+	
+	
+	protected void releaseDerivedState() {
+		// Releases everything that is rebuilt by the next paint, so a hidden plot holds no images and does no work.
+		// Subclasses release their own caches and call this method.
+		if (progressiveRenderer != null) {
+			progressiveRenderer.cancel();
+		}
+		if (idleTimer != null) {
+			idleTimer.stop();
+		}
+		dataLayer = null;
+		axisLayout = null;
+		toolTipIndex = null;
+		toolTipIndexLayout = null;
+		toolTipIndexNames = null;
+		toolTipIndexOffsets = null;
+		toolTipIndexFirstPoints = null;
+	}
+	
+	
+	public void paint(Graphics graphics) {
+		super.paint(graphics);
+		errorToolTip = null;
+		layoutSeries = null;
+		paintQuality = getPaintQuality();
+		setRenderingHints(graphics, paintQuality);
+		if ((getWidth() > 20) && (getHeight() > 20)) {
+			draw(graphics);
+		}
+	}
+	
+	
+	private int getPaintQuality() {
+		// An adaptive plot is drawn fast until it did not change for ADAPTIVE_IDLE_DELAY milliseconds.
+		// Then it is drawn once more in quality mode.
+		int quality = renderQuality;
+		if (quality == JChart.RENDER_QUALITY_ADAPTIVE) {
+			long idleTime = (System.nanoTime() - lastChangeTime) / 1000000L;
+			if (idleTime < ADAPTIVE_IDLE_DELAY) {
+				quality = JChart.RENDER_QUALITY_FAST;
+				repaintWhenIdle((int) (ADAPTIVE_IDLE_DELAY - idleTime));
+			}
+			else {
+				quality = JChart.RENDER_QUALITY_QUALITY;
+			}
+		}
+		return quality;
+	}
+	
+	
+	private void repaintWhenIdle(int delay) {
+		if (idleTimer == null) {
+			idleTimer = new Timer(delay, new ActionListener() {
+				
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					repaint();
+				}
+			});
+			idleTimer.setRepeats(false);
+		}
+		idleTimer.setInitialDelay(delay);
+		idleTimer.restart();
+	}
+	
+	
+	protected void setRenderingHints(Graphics graphics, int quality) {
+		if (graphics instanceof Graphics2D) {
+			Graphics2D graphics2D = (Graphics2D) graphics;
+			if (quality == JChart.RENDER_QUALITY_FAST) {
+				graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+				graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+				graphics2D.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
+				graphics2D.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+			}
+			else if (quality == JChart.RENDER_QUALITY_BALANCED) {
+				graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+				graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+				graphics2D.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
+				graphics2D.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_DEFAULT);
+			}
+			else {
+				graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+				graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+				graphics2D.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+				graphics2D.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			}
+		}
+	}
+	
+	
+	@Override
+	public String getToolTipText(MouseEvent event) {
+		return errorToolTip != null ? errorToolTip : getDataToolTip(event.getX(), event.getY());
+	}
+	
+	
+	protected void setSeriesLayout(Map<String, JChartSeries> series, int leftBottomX, int leftBottomY, int width, int height, double minX, double maxX, double minY, double maxY, int xPrecision, int yPrecision) {
+		// Called when drawing the series, so the tool tips can find the data point under the mouse and the mouse can zoom.
+		layoutSeries = series;
+		seriesLayout = new double[] { plotVersion, leftBottomX, leftBottomY, width, height, minX, maxX, minY, maxY };
+		toolTipXPrecision = xPrecision;
+		toolTipYPrecision = yPrecision;
+	}
+	
+	
+	protected String getDataToolTip(int x, int y) {
+		String toolTip = null;
+		
+		if (dataToolTipsEnabled && (layoutSeries != null)) {
+			if ((toolTipIndex == null) || (!Arrays.equals(seriesLayout, toolTipIndexLayout))) {
+				createToolTipIndex();
+			}
+			int pointId = toolTipIndex.nearest(x, y, TOOL_TIP_DISTANCE);
+			if (pointId >= 0) {
+				int seriesNr = 0;
+				while ((seriesNr < (toolTipIndexOffsets.length - 1)) && (toolTipIndexOffsets[seriesNr + 1] <= pointId)) {
+					seriesNr++;
+				}
+				JChartSeries series = layoutSeries.get(toolTipIndexNames[seriesNr]);
+				int pointNr = toolTipIndexFirstPoints[seriesNr] + (pointId - toolTipIndexOffsets[seriesNr]);
+				toolTip = toolTipIndexNames[seriesNr] + ": " + (timeAxis == null ? formatValue(series.getX(pointNr), toolTipXPrecision) : timeAxis.formatFull(series.getX(pointNr))) + ", " + formatValue(series.getY(pointNr), toolTipYPrecision);
+			}
+		}
+		
+		return toolTip;
+	}
+	
+	
+	private MouseAdapter createZoomListener() {
+		return new MouseAdapter() {
+			
+			public void mouseWheelMoved(MouseWheelEvent e) {
+				zoom(e.getX(), e.getY(), Math.pow(ZOOM_FACTOR, e.getPreciseWheelRotation()));
+			}
+			
+			public void mousePressed(MouseEvent e) {
+				if (SwingUtilities.isLeftMouseButton(e) && (seriesLayout != null)) {
+					dragStart = e.getPoint();
+					dragViewport = Arrays.copyOfRange(seriesLayout, 5, 9);
+				}
+			}
+			
+			public void mouseDragged(MouseEvent e) {
+				if ((dragStart != null) && (seriesLayout != null)) {
+					double xShift = ((e.getX() - dragStart.x) * (dragViewport[1] - dragViewport[0])) / seriesLayout[3];
+					double yShift = ((e.getY() - dragStart.y) * (dragViewport[3] - dragViewport[2])) / seriesLayout[4];
+					setViewport(dragViewport[0] - xShift, dragViewport[1] - xShift, dragViewport[2] + yShift, dragViewport[3] + yShift);
+				}
+			}
+			
+			public void mouseReleased(MouseEvent e) {
+				dragStart = null;
+			}
+			
+			public void mouseClicked(MouseEvent e) {
+				if (SwingUtilities.isLeftMouseButton(e) && (e.getClickCount() == 2)) {
+					resetZoom();
+				}
+			}
+		};
+	}
+	
+	
+	private void zoom(int x, int y, double factor) {
+		// Zooms around the value under the mouse, so that value stays under the mouse.
+		if (seriesLayout != null) {
+			double minX = seriesLayout[5];
+			double maxX = seriesLayout[6];
+			double minY = seriesLayout[7];
+			double maxY = seriesLayout[8];
+			double xValue = minX + (((x - seriesLayout[1]) / seriesLayout[3]) * (maxX - minX));
+			double yValue = minY + (((seriesLayout[2] - y) / seriesLayout[4]) * (maxY - minY));
+			setViewport(xValue - ((xValue - minX) * factor), xValue + ((maxX - xValue) * factor), yValue - ((yValue - minY) * factor), yValue + ((maxY - yValue) * factor));
+		}
+	}
+	
+	
+	protected int getZoomPrecision(int precision, double minValue, double maxValue) {
+		// Zoomed in, the axis needs more digits to keep about 20 steps on the axis distinct.
+		int zoomPrecision = (int) Math.ceil(-Math.log10((maxValue - minValue) / 20.0));
+		return Math.max(precision, Math.min(zoomPrecision, 15));
+	}
+	
+	
+	private void setViewport(double minX, double maxX, double minY, double maxY) {
+		// The range should stay well above the resolution of a double, otherwise the axes cannot be drawn
+		double minimumXRange = Math.ulp(Math.max(Math.abs(minX), Math.abs(maxX))) * 1000.0;
+		double minimumYRange = Math.ulp(Math.max(Math.abs(minY), Math.abs(maxY))) * 1000.0;
+		if (((maxX - minX) > minimumXRange) && ((maxY - minY) > minimumYRange) && (!Double.isInfinite(maxX - minX)) && (!Double.isInfinite(maxY - minY))) {
+			viewport = new double[] { minX, maxX, minY, maxY };
+			plotChanged();
+			repaint();
+		}
+	}
+	
+	
+	private void createToolTipIndex() {
+		// The index is built on the first hover after a new layout and reused until the layout changes.
+		// Only the points in the visible x range are indexed, with as id their number among those points.
+		// When there are more of them than pixels in the plot area, only the point drawn last at each pixel
+		// is indexed. Of the points at a pixel the tool tip shows that point anyway, and the index takes no
+		// more memory than a few arrays of the size of the plot area.
+		int leftBottomX = (int) seriesLayout[1];
+		int leftBottomY = (int) seriesLayout[2];
+		int width = (int) seriesLayout[3];
+		int height = (int) seriesLayout[4];
+		double minX = seriesLayout[5];
+		double maxX = seriesLayout[6];
+		double minY = seriesLayout[7];
+		double maxY = seriesLayout[8];
+		
+		// Points up to a pixel outside the range can be rounded to the edge of the plot area
+		double pixelWidth = (maxX - minX) / Math.max(1, width);
+		toolTipIndexNames = new String[layoutSeries.size()];
+		toolTipIndexOffsets = new int[layoutSeries.size()];
+		toolTipIndexFirstPoints = new int[layoutSeries.size()];
+		long pointCount = 0;
+		int seriesNr = 0;
+		for (String dataSetName : layoutSeries.keySet()) {
+			JChartSeries series = layoutSeries.get(dataSetName);
+			toolTipIndexNames[seriesNr] = dataSetName;
+			toolTipIndexOffsets[seriesNr] = (int) pointCount;
+			toolTipIndexFirstPoints[seriesNr] = series.lowerBoundPlot(minX - pixelWidth);
+			pointCount += Math.max(0, series.upperBoundPlot(maxX + pixelWidth) - toolTipIndexFirstPoints[seriesNr]);
+			seriesNr++;
+		}
+		
+		int areaWidth = Math.max(0, width) + 1;
+		int areaHeight = Math.max(0, height) + 1;
+		int top = leftBottomY - height;
+		boolean perPixel = pointCount > ((long) areaWidth * areaHeight);
+		int[] pixelPoints = null;
+		int[] xPositions;
+		int[] yPositions;
+		if (perPixel) {
+			pixelPoints = new int[areaWidth * areaHeight];
+			Arrays.fill(pixelPoints, -1);
+			xPositions = new int[TOOL_TIP_CHUNK];
+			yPositions = new int[TOOL_TIP_CHUNK];
+		}
+		else {
+			xPositions = new int[(int) pointCount];
+			yPositions = new int[(int) pointCount];
+		}
+		
+		double xScale = JChartAxisLayout.getScale(leftBottomX, leftBottomX + width, minX, maxX);
+		double yScale = JChartAxisLayout.getScale(leftBottomY, leftBottomY - height, minY, maxY);
+		double[] plotX = null;
+		double[] plotY = null;
+		for (seriesNr = 0; seriesNr < toolTipIndexNames.length; seriesNr++) {
+			JChartSeries series = layoutSeries.get(toolTipIndexNames[seriesNr]);
+			int firstPointNr = toolTipIndexFirstPoints[seriesNr];
+			int lastPointNr = Math.max(firstPointNr, series.upperBoundPlot(maxX + pixelWidth));
+			// The points are mapped in chunks, a mapped or compressed series copies each chunk of its points first.
+			// Points without a position on the axes get a position outside the plot area and are not indexed.
+			for (int start = firstPointNr; start < lastPointNr; start += TOOL_TIP_CHUNK) {
+				int end = Math.min(lastPointNr, start + TOOL_TIP_CHUNK);
+				int pointId = toolTipIndexOffsets[seriesNr] + (start - firstPointNr);
+				double[] chunkX = series.getPlotXValues();
+				double[] chunkY = series.getPlotYValues();
+				int chunkStart = start;
+				if (!series.hasArrays()) {
+					if (plotX == null) {
+						plotX = new double[TOOL_TIP_CHUNK];
+						plotY = new double[TOOL_TIP_CHUNK];
+					}
+					series.getPlotValues(start, end, plotX, plotY);
+					chunkX = plotX;
+					chunkY = plotY;
+					chunkStart = 0;
+				}
+				int positionOffset = perPixel ? 0 : pointId;
+				JChartAxisLayout.toPositions(chunkX, chunkStart, chunkStart + (end - start), leftBottomX, minX, xScale, xPositions, positionOffset);
+				JChartAxisLayout.toPositions(chunkY, chunkStart, chunkStart + (end - start), leftBottomY, minY, yScale, yPositions, positionOffset);
+				if (perPixel) {
+					for (int pointNr = 0; pointNr < (end - start); pointNr++) {
+						int x = xPositions[pointNr] - leftBottomX;
+						int y = yPositions[pointNr] - top;
+						if ((x >= 0) && (x < areaWidth) && (y >= 0) && (y < areaHeight)) {
+							pixelPoints[(y * areaWidth) + x] = pointId + pointNr;
+						}
+					}
+				}
+			}
+		}
+		
+		if (perPixel) {
+			int pixelCount = 0;
+			for (int pixel = 0; pixel < pixelPoints.length; pixel++) {
+				if (pixelPoints[pixel] >= 0) {
+					pixelCount++;
+				}
+			}
+			xPositions = new int[pixelCount];
+			yPositions = new int[pixelCount];
+			int[] pointIds = new int[pixelCount];
+			int pixelNr = 0;
+			for (int pixel = 0; pixel < pixelPoints.length; pixel++) {
+				if (pixelPoints[pixel] >= 0) {
+					xPositions[pixelNr] = leftBottomX + (pixel % areaWidth);
+					yPositions[pixelNr] = top + (pixel / areaWidth);
+					pointIds[pixelNr] = pixelPoints[pixel];
+					pixelNr++;
+				}
+			}
+			toolTipIndex = new JChartSpatialIndex(leftBottomX, top, width, height, xPositions, yPositions, pointIds, pixelCount);
+		}
+		else {
+			toolTipIndex = new JChartSpatialIndex(leftBottomX, top, width, height, xPositions, yPositions, null, (int) pointCount);
+		}
+		toolTipIndexLayout = seriesLayout;
+	}
+	
+	
+	private JPopupMenu createPopUpMenu() {
+		JPopupMenu popUpMenu = new JPopupMenu();
+		
+		JMenuItem saveAsMenuItem = new JMenuItem("Save As...");
+		saveAsMenuItem.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				saveAsImage();
+			}
+		});
+		popUpMenu.add(saveAsMenuItem);
+		
+		return popUpMenu;
+	}
+	
+	
+	private void saveAsImage() {
+		JFileChooser pngChooser = new JFileChooser();
+		pngChooser.setDialogTitle("Save " + name);
+		pngChooser.addChoosableFileFilter(new PNGFileFilter());
+		pngChooser.setAcceptAllFileFilterUsed(false);
+		int result = pngChooser.showSaveDialog(null);
+		if (result == JFileChooser.APPROVE_OPTION) {
+			String pngFileName = pngChooser.getSelectedFile().getAbsolutePath();
+			if (!pngFileName.substring(pngFileName.length() - 4).toLowerCase().equals(".png")) {
+				pngFileName += ".png";
+			}
+			BufferedImage image = new BufferedImage(this.getWidth()	, this.getHeight(), BufferedImage.TYPE_INT_ARGB);
+			// An adaptive plot is saved as drawn in quality mode, also while it is changing
+			// and with all data instead of progressively
+			int quality = renderQuality;
+			boolean progressive = progressiveRendering;
+			if (quality == JChart.RENDER_QUALITY_ADAPTIVE) {
+				renderQuality = JChart.RENDER_QUALITY_QUALITY;
+			}
+			progressiveRendering = false;
+			paint(image.getGraphics());
+			renderQuality = quality;
+			progressiveRendering = progressive;
+			try {
+				ImageIO.write(image, "PNG", new File(pngFileName));
+			} catch (IOException e) {
+				JOptionPane.showMessageDialog(null, "Error writing imagefile.", "Chart '" + name + "' Save Error", JOptionPane.ERROR_MESSAGE);
+			}
+		}
+	}
+	
+	
+	public class PNGFileFilter extends FileFilter {
+
+		@Override
+		public boolean accept(File file) {
+			return (file.isDirectory() || file.getAbsolutePath().toLowerCase().endsWith(".png"));
+		}
+
+		@Override
+		public String getDescription() {
+			return "Portable Network Graphics (.png)";
+		}
+		
+	}
+}
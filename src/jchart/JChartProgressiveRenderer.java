@@ -0,0 +1,426 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Draws the data of a plot with very many points progressively.
+ * When the plot changed, a preview of every so many points is drawn within a small time budget.
+ * Then a thread shared by all plots draws all points in bands of pixel columns from left to right.
+ * Each paint shows the bands drawn so far and the preview right of them.
+ * Points appended to the series are drawn after the drawing of the other points, as an extra band.
+ * Any other change of the plot, its layout or its size cancels the drawing of the previous version,
+ * also when it did not start yet.
+ * The points are drawn by the plot with drawProgressiveData, on the thread for all but the preview.
+ */
+class JChartProgressiveRenderer {
+
+	// The number of points in view from which a plot is drawn progressively
+	static final int PROGRESSIVE_POINTS = 1000000;
+
+	// The number of points in the preview, the time it may take in nanoseconds and the number of points drawn between checks of the time
+	private static final int PREVIEW_POINTS = 50000;
+	private static final long PREVIEW_TIME = 8000000L;
+	private static final int PREVIEW_CHUNK = 2048;
+
+	// The number of points of a mapped or compressed series copied at once
+	private static final int MAPPED_CHUNK = 65536;
+
+	// The time a band of columns should take in nanoseconds
+	private static final long BAND_TIME = 30000000L;
+
+	private static ExecutorService executor = null;
+
+	private final JChartPlot plot;
+
+	// Plots with lines draw each band from the last point of the previous band
+	private final boolean connected;
+
+	// The version of the plot that is drawn
+	private double[] renderKey = null;
+	private BufferedImage previewImage = null;
+	private volatile Job job = null;
+
+	// The series of which the points are drawn or queued to be drawn, only used on the event dispatch thread
+	private List<Series> drawnSeriesList = null;
+
+
+	/**
+	 * The points of a data set to draw, from up to to, read from a view of the series when the plot was
+	 * painted. Points added later are drawn from a later view, and a change of the plot stops the drawing.
+	 * A mapped or compressed series has no arrays, its points are copied in chunks when they are drawn.
+	 */
+	static class Series {
+		final Color color;
+		final int pointStyle;
+		final JChartSeries source;
+		final JChartSeries series;
+		final double[] plotX;
+		final double[] plotY;
+		final int from;
+		final int to;
+
+		// The chunk of the points of a mapped or compressed series
+		private double[] chunkX = null;
+		private double[] chunkY = null;
+
+
+		Series(Color color, int pointStyle, JChartSeries series, int from, int to) {
+			this.color = color;
+			this.pointStyle = pointStyle;
+			this.source = series;
+			this.series = series.getView();
+			this.plotX = this.series.getPlotXValues();
+			this.plotY = this.series.getPlotYValues();
+			this.from = from;
+			this.to = to;
+		}
+
+
+		double getPlotX(int index) {
+			return plotX == null ? series.getPlotX(index) : plotX[index];
+		}
+
+
+		double getPlotY(int index) {
+			return plotY == null ? series.getPlotY(index) : plotY[index];
+		}
+
+
+		void draw(JChartPlot plot, Graphics graphics, JChartAxisLayout layout, int start, int end, boolean connected) {
+			// Draws the points from start up to end with drawProgressiveData. The chunks of a series
+			// without arrays overlap by one point when the points are connected.
+			if (plotX == null) {
+				if (chunkX == null) {
+					chunkX = new double[MAPPED_CHUNK];
+					chunkY = new double[MAPPED_CHUNK];
+				}
+				int chunkStart = start;
+				while (chunkStart < end) {
+					int chunkEnd = Math.min(end, chunkStart + MAPPED_CHUNK);
+					series.getPlotValues(chunkStart, chunkEnd, chunkX, chunkY);
+					plot.drawProgressiveData(graphics, layout, chunkX, chunkY, 0, chunkEnd - chunkStart, color, pointStyle);
+					chunkStart = (connected && (chunkEnd < end)) ? chunkEnd - 1 : chunkEnd;
+				}
+			}
+			else {
+				plot.drawProgressiveData(graphics, layout, plotX, plotY, start, end, color, pointStyle);
+			}
+		}
+	}
+
+
+	public JChartProgressiveRenderer(JChartPlot plot, boolean connected) {
+		this.plot = plot;
+		this.connected = connected;
+	}
+
+
+	public static boolean isProgressive(List<Series> seriesList) {
+		long pointCount = 0;
+		for (Series series : seriesList) {
+			pointCount += series.to - series.from;
+		}
+		return pointCount >= PROGRESSIVE_POINTS;
+	}
+
+
+	public void draw(Graphics graphics, double[] key, JChartAxisLayout layout, List<Series> seriesList, Rectangle clip, int quality) {
+		int[] drawnTo = Arrays.equals(key, renderKey) ? getDrawnTo(layout, seriesList, clip) : null;
+		if (drawnTo == null) {
+			cancel();
+			renderKey = key;
+			JChartAxisLayout jobLayout = layout.copy();
+			previewImage = createImage();
+			drawPreview(jobLayout, seriesList, clip, quality);
+			job = new Job(createImage(), jobLayout, seriesList, clip, quality);
+			drawnSeriesList = seriesList;
+			getExecutor().execute(job);
+		}
+		else {
+			boolean appended = false;
+			for (int seriesNr = 0; seriesNr < seriesList.size(); seriesNr++) {
+				appended = appended || (seriesList.get(seriesNr).to > drawnTo[seriesNr]);
+			}
+			if (appended) {
+				// The running drawing is finished first, the band is drawn after it on the same thread
+				getExecutor().execute(new Band(job, seriesList, drawnTo));
+				drawnSeriesList = seriesList;
+			}
+		}
+
+		Job currentJob = job;
+		int refinedColumn = currentJob.refinedColumn;
+		if (refinedColumn >= currentJob.image.getWidth()) {
+			graphics.drawImage(currentJob.image, 0, 0, null);
+		}
+		else {
+			Graphics refinedGraphics = graphics.create();
+			refinedGraphics.clipRect(0, 0, refinedColumn, currentJob.image.getHeight());
+			refinedGraphics.drawImage(currentJob.image, 0, 0, null);
+			refinedGraphics.dispose();
+			Graphics previewGraphics = graphics.create();
+			previewGraphics.clipRect(refinedColumn, 0, previewImage.getWidth() - refinedColumn, previewImage.getHeight());
+			previewGraphics.drawImage(previewImage, 0, 0, null);
+			previewGraphics.dispose();
+		}
+	}
+
+
+	public void cancel() {
+		// Stops the drawing of the current version and releases its images
+		if (job != null) {
+			job.cancelled = true;
+			job = null;
+		}
+		renderKey = null;
+		previewImage = null;
+		drawnSeriesList = null;
+	}
+
+
+	public void stop() {
+		// Stops the drawing of the current version, which is still shown until the next version is drawn.
+		// Called when the plot changes, also on other threads than the event dispatch thread.
+		Job currentJob = job;
+		if (currentJob != null) {
+			currentJob.cancelled = true;
+		}
+	}
+
+
+	public long getMemoryEstimate() {
+		// The points are those of the series, only the images are counted
+		long bytes = JChartMemory.OBJECT + JChartMemory.estimate(previewImage);
+		Job currentJob = job;
+		if (currentJob != null) {
+			bytes += JChartMemory.estimate(currentJob.image);
+		}
+		return bytes;
+	}
+
+
+	private void drawPreview(JChartAxisLayout layout, List<Series> seriesList, Rectangle clip, int quality) {
+		// Draws every so many points of each series, until the time is up
+		long pointCount = 0;
+		for (Series series : seriesList) {
+			pointCount += series.to - series.from;
+		}
+		int step = (int) Math.max(1L, pointCount / PREVIEW_POINTS);
+
+		Graphics2D graphics = previewImage.createGraphics();
+		plot.setRenderingHints(graphics, quality);
+		if (clip != null) {
+			graphics.clipRect(clip.x, clip.y, clip.width, clip.height);
+		}
+		long startTime = System.nanoTime();
+		for (int seriesNr = 0; (seriesNr < seriesList.size()) && ((System.nanoTime() - startTime) < PREVIEW_TIME); seriesNr++) {
+			Series series = seriesList.get(seriesNr);
+			int sampleCount = ((series.to - series.from) + step - 1) / step;
+			double[] sampleX = new double[sampleCount];
+			double[] sampleY = new double[sampleCount];
+			for (int sampleNr = 0; sampleNr < sampleCount; sampleNr++) {
+				sampleX[sampleNr] = series.getPlotX(series.from + (sampleNr * step));
+				sampleY[sampleNr] = series.getPlotY(series.from + (sampleNr * step));
+			}
+			for (int chunkStart = 0; (chunkStart < sampleCount) && ((System.nanoTime() - startTime) < PREVIEW_TIME); chunkStart += PREVIEW_CHUNK) {
+				int start = (connected && (chunkStart > 0)) ? chunkStart - 1 : chunkStart;
+				plot.drawProgressiveData(graphics, layout, sampleX, sampleY, start, Math.min(sampleCount, chunkStart + PREVIEW_CHUNK), series.color, series.pointStyle);
+			}
+		}
+		graphics.dispose();
+	}
+
+
+	private int[] getDrawnTo(JChartAxisLayout layout, List<Series> seriesList, Rectangle clip) {
+		// The end of the points drawn or queued of each series, when the same series in the same layout only got
+		// points appended since, otherwise null
+		int[] drawnTo = null;
+		Job currentJob = job;
+		if ((currentJob != null) && layout.hasSameMapping(currentJob.layout) && Objects.equals(clip, currentJob.clip) && (seriesList.size() == drawnSeriesList.size())) {
+			drawnTo = new int[seriesList.size()];
+			for (int seriesNr = 0; (seriesNr < seriesList.size()) && (drawnTo != null); seriesNr++) {
+				Series series = seriesList.get(seriesNr);
+				Series drawnSeries = drawnSeriesList.get(seriesNr);
+				if ((series.source == drawnSeries.source) && series.color.equals(drawnSeries.color) && (series.pointStyle == drawnSeries.pointStyle) &&
+						(series.from == drawnSeries.from) && (series.to >= drawnSeries.to) && series.series.startsWith(drawnSeries.series)) {
+					drawnTo[seriesNr] = drawnSeries.to;
+				}
+				else {
+					drawnTo = null;
+				}
+			}
+		}
+		return drawnTo;
+	}
+
+
+	private BufferedImage createImage() {
+		return new BufferedImage(Math.max(1, plot.getWidth()), Math.max(1, plot.getHeight()), BufferedImage.TYPE_INT_ARGB);
+	}
+
+
+	private static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "JChart progressive rendering");
+					thread.setDaemon(true);
+					thread.setPriority(Thread.MIN_PRIORITY);
+					return thread;
+				}
+			});
+		}
+		return executor;
+	}
+
+
+	private static int lowerBound(Series series, int from, int to, double x) {
+		// The index of the first point from from with an x value greater than or equal to x, like JChartSeries.lowerBoundPlot
+		int low = from;
+		int high = to;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (!(series.getPlotX(middle) >= x)) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+
+	private class Job implements Runnable {
+		private final BufferedImage image;
+		private final JChartAxisLayout layout;
+		private final List<Series> seriesList;
+		private final Rectangle clip;
+		private final int quality;
+
+		// Set on the event dispatch thread when a newer version of the plot is drawn
+		private volatile boolean cancelled = false;
+
+		// The columns left of this column are drawn in the image
+		private volatile int refinedColumn = 0;
+
+
+		Job(BufferedImage image, JChartAxisLayout layout, List<Series> seriesList, Rectangle clip, int quality) {
+			this.image = image;
+			this.layout = layout;
+			this.seriesList = seriesList;
+			this.clip = clip;
+			this.quality = quality;
+		}
+
+
+		@Override
+		public void run() {
+			if (!cancelled) {
+				Graphics2D graphics = image.createGraphics();
+				plot.setRenderingHints(graphics, quality);
+				if (clip != null) {
+					graphics.clipRect(clip.x, clip.y, clip.width, clip.height);
+				}
+
+				// The next point to draw of each series
+				int[] next = new int[seriesList.size()];
+				for (int seriesNr = 0; seriesNr < seriesList.size(); seriesNr++) {
+					next[seriesNr] = seriesList.get(seriesNr).from;
+				}
+
+				int column = 0;
+				int bandWidth = 8;
+				while ((column < image.getWidth()) && (!cancelled)) {
+					long startTime = System.nanoTime();
+					int endColumn = Math.min(image.getWidth(), column + bandWidth);
+					double endX = layout.fromX(endColumn);
+					for (int seriesNr = 0; seriesNr < seriesList.size(); seriesNr++) {
+						Series series = seriesList.get(seriesNr);
+						int end = endColumn == image.getWidth() ? series.to : Math.max(next[seriesNr], lowerBound(series, next[seriesNr], series.to, endX));
+						int start = (connected && (next[seriesNr] > series.from)) ? next[seriesNr] - 1 : next[seriesNr];
+						if (end > next[seriesNr]) {
+							series.draw(plot, graphics, layout, start, end, connected);
+						}
+						next[seriesNr] = end;
+					}
+					refinedColumn = endColumn;
+					column = endColumn;
+					plot.repaint();
+
+					// The bands are made wider or smaller to take about BAND_TIME
+					long bandTime = System.nanoTime() - startTime;
+					if (bandTime < (BAND_TIME / 2)) {
+						bandWidth = bandWidth * 2;
+					}
+					else if ((bandTime > (BAND_TIME * 2)) && (bandWidth > 1)) {
+						bandWidth = bandWidth / 2;
+					}
+				}
+				graphics.dispose();
+			}
+		}
+	}
+
+
+	private class Band implements Runnable {
+		// Points appended to the series after the points drawn by a job, drawn in its image after it
+		private final Job job;
+		private final List<Series> seriesList;
+		private final int[] from;
+
+
+		Band(Job job, List<Series> seriesList, int[] from) {
+			this.job = job;
+			this.seriesList = seriesList;
+			this.from = from;
+		}
+
+
+		@Override
+		public void run() {
+			if (!job.cancelled) {
+				Graphics2D graphics = job.image.createGraphics();
+				plot.setRenderingHints(graphics, job.quality);
+				if (job.clip != null) {
+					graphics.clipRect(job.clip.x, job.clip.y, job.clip.width, job.clip.height);
+				}
+				for (int seriesNr = 0; (seriesNr < seriesList.size()) && (!job.cancelled); seriesNr++) {
+					Series series = seriesList.get(seriesNr);
+					int start = (connected && (from[seriesNr] > series.from)) ? from[seriesNr] - 1 : from[seriesNr];
+					if (series.to > from[seriesNr]) {
+						series.draw(plot, graphics, job.layout, start, series.to, connected);
+					}
+				}
+				graphics.dispose();
+				plot.repaint();
+			}
+		}
+	}
+
+}
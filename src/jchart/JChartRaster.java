@@ -0,0 +1,195 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable ARGB image of which the pixels are written directly as an int[].
+ * The image is only reallocated when the requested size changes.
+ * Sprites stamped in the image can be drawn on a graphics with flush, which only draws and clears the area they changed.
+ */
+class JChartRaster {
+	private BufferedImage image = null;
+	private int[] pixels = null;
+	private int clipLeft;
+	private int clipTop;
+	private int clipRight;
+	private int clipBottom;
+
+	// The area changed by stamp since the last flush, empty when dirtyRight is not greater than dirtyLeft
+	private int dirtyLeft = 0;
+	private int dirtyTop = 0;
+	private int dirtyRight = 0;
+	private int dirtyBottom = 0;
+
+
+	public int[] getPixels(int width, int height) {
+		// Returns the pixels of an image of the specified size cleared to transparent.
+		if ((image == null) || (image.getWidth() != width) || (image.getHeight() != height)) {
+			image = new BufferedImage(Math.max(1, width), Math.max(1, height), BufferedImage.TYPE_INT_ARGB);
+			pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		}
+		else {
+			Arrays.fill(pixels, 0);
+		}
+		setClip(0, 0, width, height);
+		dirtyRight = dirtyLeft;
+		return pixels;
+	}
+
+
+	public void setSize(int width, int height) {
+		// Makes the image the specified size. The pixels are not cleared, the image is transparent after a flush.
+		if ((image == null) || (image.getWidth() != width) || (image.getHeight() != height)) {
+			image = new BufferedImage(Math.max(1, width), Math.max(1, height), BufferedImage.TYPE_INT_ARGB);
+			pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+			dirtyRight = dirtyLeft;
+		}
+		setClip(0, 0, width, height);
+	}
+
+
+	public boolean isDirty() {
+		return dirtyRight > dirtyLeft;
+	}
+
+
+	public void flush(Graphics graphics) {
+		// Draws the area changed by stamp on the graphics and clears it to transparent again
+		if (dirtyRight > dirtyLeft) {
+			graphics.drawImage(image, dirtyLeft, dirtyTop, dirtyRight, dirtyBottom, dirtyLeft, dirtyTop, dirtyRight, dirtyBottom, null);
+			int width = image.getWidth();
+			for (int row = dirtyTop; row < dirtyBottom; row++) {
+				Arrays.fill(pixels, (row * width) + dirtyLeft, (row * width) + dirtyRight, 0);
+			}
+			dirtyRight = dirtyLeft;
+		}
+	}
+
+
+	public BufferedImage getImage() {
+		return image;
+	}
+
+
+	public long getMemoryEstimate() {
+		return JChartMemory.OBJECT + JChartMemory.estimate(image);
+	}
+
+
+	public int getWidth() {
+		return image == null ? 0 : image.getWidth();
+	}
+
+
+	public int getHeight() {
+		return image == null ? 0 : image.getHeight();
+	}
+
+
+	public Graphics2D createGraphics() {
+		return image.createGraphics();
+	}
+
+
+	public void setClip(int x, int y, int width, int height) {
+		// Limits stamp to a rectangle within the image.
+		clipLeft = Math.max(0, x);
+		clipTop = Math.max(0, y);
+		clipRight = Math.min(image.getWidth(), x + width);
+		clipBottom = Math.min(image.getHeight(), y + height);
+	}
+
+
+	public void stamp(int x, int y, int[] sprite, int spriteSize) {
+		// Copies the non transparent pixels of a square sprite centered at x, y into the image.
+		int width = image.getWidth();
+		int half = spriteSize / 2;
+		int left = x - half;
+		int top = y - half;
+		int changedLeft = Math.max(clipLeft, left);
+		int changedTop = Math.max(clipTop, top);
+		int changedRight = Math.min(clipRight, left + spriteSize);
+		int changedBottom = Math.min(clipBottom, top + spriteSize);
+		if ((changedRight > changedLeft) && (changedBottom > changedTop)) {
+			if (dirtyRight > dirtyLeft) {
+				dirtyLeft = Math.min(dirtyLeft, changedLeft);
+				dirtyTop = Math.min(dirtyTop, changedTop);
+				dirtyRight = Math.max(dirtyRight, changedRight);
+				dirtyBottom = Math.max(dirtyBottom, changedBottom);
+			}
+			else {
+				dirtyLeft = changedLeft;
+				dirtyTop = changedTop;
+				dirtyRight = changedRight;
+				dirtyBottom = changedBottom;
+			}
+		}
+		if ((left >= clipLeft) && (top >= clipTop) && ((left + spriteSize) <= clipRight) && ((top + spriteSize) <= clipBottom)) {
+			int spriteIndex = 0;
+			for (int row = top; row < (top + spriteSize); row++) {
+				int pixelIndex = (row * width) + left;
+				for (int column = 0; column < spriteSize; column++) {
+					int argb = sprite[spriteIndex++];
+					if (argb != 0) {
+						pixels[pixelIndex] = argb;
+					}
+					pixelIndex++;
+				}
+			}
+		}
+		else {
+			for (int row = 0; row < spriteSize; row++) {
+				int pixelY = top + row;
+				if ((pixelY >= clipTop) && (pixelY < clipBottom)) {
+					for (int column = 0; column < spriteSize; column++) {
+						int pixelX = left + column;
+						int argb = sprite[(row * spriteSize) + column];
+						if ((argb != 0) && (pixelX >= clipLeft) && (pixelX < clipRight)) {
+							pixels[(pixelY * width) + pixelX] = argb;
+						}
+					}
+				}
+			}
+		}
+	}
+
+
+	public static int[] createColorLookup(List<Color> colorRamp, int size) {
+		// Interpolates the colors of the ramp linearly into size ARGB values.
+		int[] lookup = new int[size];
+		int lastColorNr = colorRamp.size() - 1;
+		for (int index = 0; index < size; index++) {
+			double position = size == 1 ? 0.0 : (((double) index) * lastColorNr) / (size - 1);
+			int colorNr = Math.min((int) position, Math.max(0, lastColorNr - 1));
+			double fraction = lastColorNr == 0 ? 0.0 : position - colorNr;
+			Color from = colorRamp.get(colorNr);
+			Color to = colorRamp.get(Math.min(colorNr + 1, lastColorNr));
+			int alpha = (int) Math.round(from.getAlpha() + (fraction * (to.getAlpha() - from.getAlpha())));
+			int red   = (int) Math.round(from.getRed()   + (fraction * (to.getRed()   - from.getRed())));
+			int green = (int) Math.round(from.getGreen() + (fraction * (to.getGreen() - from.getGreen())));
+			int blue  = (int) Math.round(from.getBlue()  + (fraction * (to.getBlue()  - from.getBlue())));
+			lookup[index] = (alpha << 24) | (red << 16) | (green << 8) | blue;
+		}
+		return lookup;
+	}
+
+}
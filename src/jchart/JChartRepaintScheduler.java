@@ -0,0 +1,142 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.Frame;
+import java.awt.Rectangle;
+import java.awt.Window;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Repaints all charts in frames, at most at a frame rate.
+ * The repaints requested between two frames are collected. In a frame the charts are painted in the order
+ * of their requests, until half of the frame time is used. The other charts are painted first in the next frame.
+ * Charts that are not showing, like in a hidden tab, in a minimized window or scrolled out of view, are not painted,
+ * because Swing paints them when they are shown again.
+ * Repaints can be requested on any thread. The frames are painted on the event dispatch thread.
+ */
+class JChartRepaintScheduler {
+
+	static final int DEFAULT_FRAME_RATE = 60;
+
+	private static int frameRate = DEFAULT_FRAME_RATE;
+	private static Timer timer = null;
+
+	// The components to repaint in the order of their requests
+	private static Set<JComponent> dirtyComponents = new LinkedHashSet<JComponent>();
+
+
+	static synchronized void setFrameRate(int framesPerSecond) {
+		frameRate = framesPerSecond;
+		if (timer != null) {
+			if (frameRate > 0) {
+				timer.setDelay(1000 / frameRate);
+			}
+			else {
+				timer.stop();
+				timer = null;
+				// The collected repaints are not lost
+				for (JComponent component : dirtyComponents) {
+					component.repaint();
+				}
+				dirtyComponents.clear();
+			}
+		}
+	}
+
+
+	static synchronized boolean repaint(JComponent component) {
+		// Returns false when the component should repaint itself, because there are no frames
+		boolean scheduled = frameRate > 0;
+		if (scheduled) {
+			dirtyComponents.add(component);
+			if (timer == null) {
+				timer = new Timer(1000 / frameRate, new ActionListener() {
+
+					@Override
+					public void actionPerformed(ActionEvent e) {
+						paintFrame();
+					}
+				});
+				timer.setCoalesce(true);
+			}
+			if (!timer.isRunning()) {
+				timer.start();
+			}
+		}
+		return scheduled;
+	}
+
+
+	private static void paintFrame() {
+		List<JComponent> components;
+		long frameBudget;
+		synchronized (JChartRepaintScheduler.class) {
+			components = new ArrayList<JComponent>(dirtyComponents);
+			dirtyComponents.clear();
+			frameBudget = frameRate > 0 ? 500000000L / frameRate : 0L;
+		}
+
+		long startTime = System.nanoTime();
+		int paintCount = 0;
+		List<JComponent> waitingComponents = new ArrayList<JComponent>();
+		for (JComponent component : components) {
+			if (!isHidden(component)) {
+				Rectangle visibleRectangle = component.getVisibleRect();
+				if (!visibleRectangle.isEmpty()) {
+					// At least one chart is painted in each frame
+					if ((paintCount == 0) || ((System.nanoTime() - startTime) < frameBudget)) {
+						component.paintImmediately(visibleRectangle);
+						paintCount++;
+					}
+					else {
+						waitingComponents.add(component);
+					}
+				}
+			}
+		}
+
+		synchronized (JChartRepaintScheduler.class) {
+			if (!waitingComponents.isEmpty()) {
+				Set<JComponent> newDirtyComponents = new LinkedHashSet<JComponent>(waitingComponents);
+				newDirtyComponents.addAll(dirtyComponents);
+				dirtyComponents = newDirtyComponents;
+			}
+			if (dirtyComponents.isEmpty() && (timer != null)) {
+				timer.stop();
+			}
+		}
+	}
+
+
+	static boolean isHidden(JComponent component) {
+		// A component in a minimized window is still showing, but nobody can see it
+		boolean hidden = !component.isShowing();
+		if (!hidden) {
+			Window window = SwingUtilities.getWindowAncestor(component);
+			hidden = (window instanceof Frame) && ((((Frame) window).getExtendedState() & Frame.ICONIFIED) != 0);
+		}
+		return hidden;
+	}
+
+}
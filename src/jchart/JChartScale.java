@@ -0,0 +1,104 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The transformation of values to the scale of an axis: JChart.AXIS_SCALE_LINEAR,
+ * JChart.AXIS_SCALE_LOG10 or JChart.AXIS_SCALE_LOG2.
+ * On a logarithmic axis the plots position the logarithms of the values linearly,
+ * so the logarithm of a value is its position on the scale. Values less than or
+ * equal to zero have no position on a logarithmic scale and become NaN.
+ */
+class JChartScale {
+
+	private static final double LN_2 = Math.log(2.0);
+
+
+	static boolean isValid(int scale) {
+		return (scale == JChart.AXIS_SCALE_LINEAR) || (scale == JChart.AXIS_SCALE_LOG10) || (scale == JChart.AXIS_SCALE_LOG2);
+	}
+
+
+	static double toScale(double value, int scale) {
+		double scaledValue = value;
+		if (scale == JChart.AXIS_SCALE_LOG10) {
+			scaledValue = value > 0.0 ? Math.log10(value) : Double.NaN;
+		}
+		else if (scale == JChart.AXIS_SCALE_LOG2) {
+			scaledValue = value > 0.0 ? Math.log(value) / LN_2 : Double.NaN;
+		}
+		return scaledValue;
+	}
+
+
+	static double fromScale(double scaledValue, int scale) {
+		double value = scaledValue;
+		if (scale != JChart.AXIS_SCALE_LINEAR) {
+			value = Math.pow(scale, scaledValue);
+		}
+		return value;
+	}
+
+
+	static List<Double> toScale(List<Double> values, int scale) {
+		// Returns the values on the scale, or the same list for a linear scale.
+		List<Double> scaledValues = values;
+		if ((values != null) && (scale != JChart.AXIS_SCALE_LINEAR)) {
+			scaledValues = new ArrayList<Double>();
+			for (double value : values) {
+				scaledValues.add(toScale(value, scale));
+			}
+		}
+		return scaledValues;
+	}
+
+
+	static List<Double> createLogAxis(double minScaled, double maxScaled, int scale, int maxTicks) {
+		// The ends of the axis with ticks at the powers of the base in between, every so many powers
+		// that at most maxTicks ticks remain. With less than three powers of ten the ticks at 2 and 5
+		// times the powers are added.
+		List<Double> axis = new ArrayList<Double>();
+		axis.add(minScaled);
+
+		int firstPower = (int) Math.ceil(minScaled);
+		int lastPower = (int) Math.floor(maxScaled);
+		int powerStep = Math.max(1, (int) Math.ceil((maxScaled - minScaled) / Math.max(1, maxTicks)));
+		boolean subTicks = (scale == JChart.AXIS_SCALE_LOG10) && ((lastPower - firstPower) < 2);
+		for (int power = (int) Math.floor(minScaled); power <= lastPower; power++) {
+			if ((power >= firstPower) && (power > minScaled) && (power < maxScaled) && ((power % powerStep) == 0)) {
+				axis.add((double) power);
+			}
+			if (subTicks) {
+				addSubTick(axis, power + Math.log10(2.0), minScaled, maxScaled);
+				addSubTick(axis, power + Math.log10(5.0), minScaled, maxScaled);
+			}
+		}
+
+		if (maxScaled > minScaled) {
+			axis.add(maxScaled);
+		}
+		return axis;
+	}
+
+
+	private static void addSubTick(List<Double> axis, double tick, double minScaled, double maxScaled) {
+		if ((tick > minScaled) && (tick < maxScaled)) {
+			axis.add(tick);
+		}
+	}
+
+}
@@ -0,0 +1,842 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The x and y values of a data set stored in primitive columns.
+ * Like a map from x to y, a series holds one y value per x value: adding a
+ * point with an existing x value replaces its y value. Points can be added in
+ * any order. After size() is called the points are sorted by x.
+ * Optionally a point has a third value, for example to color a bin of points.
+ * Optionally a series keeps a pyramid of minimum and maximum y values of blocks
+ * of points, to draw a long series with a constant number of blocks per pixel.
+ * On logarithmic axes the series keeps columns with the values on the scale of
+ * the axes, the plot values, which are transformed once after the points are added.
+ * A series opened from a snapshot reads its points from the mapped columns of the
+ * file instead of the heap. Its plot values are transformed when they are read.
+ * Adding a point copies the points onto the heap first.
+ * A compressed series, or a series with float precision, keeps its points in columns that
+ * take less memory than the arrays. Points appended in order of x are added to the columns.
+ * A point before the last point, or a third value that the columns cannot keep, copies the
+ * points onto the heap, where they are stored in columns again after they are sorted.
+ */
+class JChartSeries implements Serializable {
+	private static final long serialVersionUID = 6028470281695237794L;
+
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	// The first level of the pyramid of a series without arrays, with blocks of 256 points, so the pyramid takes 1/128 of
+	// the size of the points. These are the blocks of compressed points, so the level is built from their ranges.
+	private static final int COLUMNS_PYRAMID_LEVEL = 7;
+
+	private double[] xValues;
+	private double[] yValues;
+	private double[] values = null;
+	private int size = 0;
+	private boolean sorted = true;
+
+	// Whether a view shares the arrays, which are then copied before points in them are sorted or replaced
+	private transient boolean shared = false;
+
+	// Incremented when points are replaced or inserted, not when they are appended, so a view can tell whether
+	// the series still starts with its points
+	private transient long changeCount = 0;
+
+	// The columns of a series opened from a snapshot, instead of the arrays
+	private transient JChartMappedColumn mappedXValues = null;
+	private transient JChartMappedColumn mappedYValues = null;
+	private transient JChartMappedColumn mappedValues = null;
+
+	// The columns of a compressed series or a series with float precision, instead of the arrays
+	private boolean compressed = false;
+	private boolean floatPrecision = false;
+	private JChartColumns columns = null;
+
+	private int xScale = JChart.AXIS_SCALE_LINEAR;
+	private int yScale = JChart.AXIS_SCALE_LINEAR;
+	private double[] plotXValues = null;
+	private double[] plotYValues = null;
+	private int plotSize = 0;
+
+	private JChartSeriesPyramid pyramid = null;
+	private boolean pyramidValid = false;
+
+	private boolean rangeValid = false;
+	private double minimumX;
+	private double maximumX;
+	private double minimumY;
+	private double maximumY;
+	private double minimumPlotX;
+	private double maximumPlotX;
+	private double minimumPlotY;
+	private double maximumPlotY;
+
+
+	public JChartSeries() {
+		xValues = new double[INITIAL_CAPACITY];
+		yValues = new double[INITIAL_CAPACITY];
+	}
+
+
+	private JChartSeries(JChartSeries series) {
+		// A view shares the arrays, which are replaced when they grow or before points in them change, the mapped columns, which do not change,
+		// and a view of the columns of the series
+		xValues = series.xValues;
+		yValues = series.yValues;
+		values = series.values;
+		size = series.size;
+		changeCount = series.changeCount;
+		mappedXValues = series.mappedXValues;
+		mappedYValues = series.mappedYValues;
+		mappedValues = series.mappedValues;
+		columns = series.columns == null ? null : series.columns.getView();
+		xScale = series.xScale;
+		yScale = series.yScale;
+		plotXValues = series.plotXValues;
+		plotYValues = series.plotYValues;
+		plotSize = series.plotSize;
+	}
+
+
+	public void add(double x, double y) {
+		add(x, y, Double.NaN);
+	}
+
+
+	public void add(double x, double y, double value) {
+		loadMappedPoints();
+		if ((columns != null) && ((!columns.canAdd(value)) || ((size > 0) && (x < columns.getLastX())))) {
+			loadColumns();
+		}
+		if (columns != null) {
+			if ((size > 0) && (x == columns.getLastX())) {
+				columns.setLast(toPrecision(y), value);
+				pyramidValid = false;
+				changeCount++;
+			}
+			else {
+				columns.add(x, toPrecision(y), value);
+				size++;
+			}
+		}
+		else {
+			if ((values == null) && (!Double.isNaN(value))) {
+				values = new double[xValues.length];
+				Arrays.fill(values, Double.NaN);
+			}
+			if ((size > 0) && (x == xValues[size - 1])) {
+				unshare();
+				size--;
+				changeCount++;
+				// The replaced value may be the minimum or maximum of its blocks
+				pyramidValid = false;
+				plotSize = Math.min(plotSize, size);
+			}
+			else {
+				if (size == xValues.length) {
+					grow(size + 1);
+				}
+				if ((size > 0) && (x < xValues[size - 1])) {
+					sorted = false;
+				}
+			}
+			xValues[size] = x;
+			yValues[size] = y;
+			if (values != null) {
+				values[size] = value;
+			}
+			size++;
+		}
+		rangeValid = false;
+	}
+
+
+	public long getMemoryEstimate() {
+		// The arrays are counted with their spare capacity. The mapped columns are in the page cache, not on the heap.
+		long bytes = JChartMemory.OBJECT + JChartMemory.estimate(xValues) + JChartMemory.estimate(yValues) + JChartMemory.estimate(values);
+		bytes += JChartMemory.estimate(plotXValues) + JChartMemory.estimate(plotYValues);
+		if (columns != null) {
+			bytes += columns.getMemoryEstimate();
+		}
+		if (pyramid != null) {
+			bytes += pyramid.getMemoryEstimate();
+		}
+		return bytes;
+	}
+	
+	
+	public int size() {
+		if (!sorted) {
+			sort();
+			storeColumns();
+		}
+		if (plotSize < size) {
+			updatePlotValues();
+		}
+		return size;
+	}
+
+
+	public double getX(int index) {
+		return xValues != null ? xValues[index] : (columns != null ? columns.getX(index) : mappedXValues.get(index));
+	}
+
+
+	public double getY(int index) {
+		return yValues != null ? yValues[index] : (columns != null ? columns.getY(index) : mappedYValues.get(index));
+	}
+
+
+	public double getPlotX(int index) {
+		return plotXValues != null ? plotXValues[index] : (xValues != null ? xValues[index] : JChartScale.toScale(getX(index), xScale));
+	}
+
+
+	public double getPlotY(int index) {
+		return plotYValues != null ? plotYValues[index] : (yValues != null ? yValues[index] : JChartScale.toScale(getY(index), yScale));
+	}
+
+
+	public double[] getPlotXValues() {
+		// The x values on the scale of the axis of which the first size() are the points, after a call to size(),
+		// or null when the series has no arrays
+		return plotXValues == null ? xValues : plotXValues;
+	}
+
+
+	public double[] getPlotYValues() {
+		// The y values on the scale of the axis of which the first size() are the points, after a call to size(),
+		// or null when the series has no arrays
+		return plotYValues == null ? yValues : plotYValues;
+	}
+
+
+	public void getPlotValues(int from, int to, double[] plotX, double[] plotY) {
+		// Copies the plot values of the points from up to to to the beginning of the arrays that are not null, after a call to size().
+		// The points of a series without arrays are copied or decoded together and transformed afterwards.
+		double[] plotXColumn = plotX == null ? null : getPlotXValues();
+		double[] plotYColumn = plotY == null ? null : getPlotYValues();
+		if (plotXColumn != null) {
+			System.arraycopy(plotXColumn, from, plotX, 0, to - from);
+		}
+		if (plotYColumn != null) {
+			System.arraycopy(plotYColumn, from, plotY, 0, to - from);
+		}
+		getPoints(from, to, plotXColumn == null ? plotX : null, plotYColumn == null ? plotY : null, null);
+		if ((plotX != null) && (plotXColumn == null)) {
+			toScale(plotX, to - from, xScale);
+		}
+		if ((plotY != null) && (plotYColumn == null)) {
+			toScale(plotY, to - from, yScale);
+		}
+	}
+
+
+	public void getPoints(int from, int to, double[] xTarget, double[] yTarget, double[] valueTarget) {
+		// Copies the points from up to to to the beginning of the arrays that are not null, after a call to size().
+		// Without third values the values are NaN.
+		if (columns != null) {
+			columns.get(from, to, xTarget, yTarget, valueTarget, 0);
+		}
+		else {
+			if (xTarget != null) {
+				copy(xValues, mappedXValues, from, to, xTarget);
+			}
+			if (yTarget != null) {
+				copy(yValues, mappedYValues, from, to, yTarget);
+			}
+			if (valueTarget != null) {
+				copy(values, mappedValues, from, to, valueTarget);
+			}
+		}
+	}
+
+
+	public void getRangeY(int from, int to, double[] range) {
+		// Sets range to the minimum and maximum y value of the points from up to to, ignoring NaN values, after a call to size().
+		// The blocks of a compressed series keep their range, so whole blocks are not decoded.
+		if (columns != null) {
+			columns.getRangeY(from, to, range);
+		}
+		else {
+			double minimum = Double.NaN;
+			double maximum = Double.NaN;
+			for (int index = from; index < to; index++) {
+				double y = getY(index);
+				minimum = JChartSeriesPyramid.minimum(minimum, y);
+				maximum = JChartSeriesPyramid.maximum(maximum, y);
+			}
+			range[0] = minimum;
+			range[1] = maximum;
+		}
+	}
+
+
+	public double[] getXValues() {
+		// The x values of which the first size() are the points, after a call to size(), or null when the series has no arrays
+		return xValues;
+	}
+	
+	
+	public double[] getYValues() {
+		// The y values of which the first size() are the points, after a call to size(), or null when the series has no arrays
+		return yValues;
+	}
+	
+	
+	public double[] getValues() {
+		// The third values of which the first size() are the points after a call to size(), or null when there are none
+		// or the series has no arrays
+		return values;
+	}
+	
+	
+	public void setPoints(double[] xValues, double[] yValues, double[] values, int count) {
+		// Replaces the points by the first count points of the columns, which the series keeps unless it stores its own columns.
+		// The values may be null.
+		this.xValues = xValues;
+		this.yValues = yValues;
+		this.values = values;
+		mappedXValues = null;
+		mappedYValues = null;
+		mappedValues = null;
+		columns = null;
+		size = count;
+		sorted = true;
+		for (int index = 1; (index < count) && sorted; index++) {
+			sorted = xValues[index] > xValues[index - 1];
+		}
+		plotXValues = null;
+		plotYValues = null;
+		plotSize = 0;
+		pyramidValid = false;
+		rangeValid = false;
+		changeCount++;
+		storeColumns();
+	}
+	
+	
+	public void setMappedPoints(JChartMappedColumn xValues, JChartMappedColumn yValues, JChartMappedColumn values, int count) {
+		// Replaces the points by the first count points of columns in a file. The points are sorted on x without
+		// duplicate x values, like those of a saved series, so nothing is read until the points are used.
+		// The values may be null.
+		this.xValues = null;
+		this.yValues = null;
+		this.values = null;
+		mappedXValues = xValues;
+		mappedYValues = yValues;
+		mappedValues = values;
+		columns = null;
+		size = count;
+		sorted = true;
+		plotXValues = null;
+		plotYValues = null;
+		plotSize = 0;
+		pyramidValid = false;
+		rangeValid = false;
+		changeCount++;
+	}
+	
+	
+	public JChartSeries getView() {
+		// The points as they are after a call to size(), for reading on another thread while points are added.
+		// Points added later are not in the view. Sorting the points or replacing the last point copies the arrays first.
+		shared = true;
+		return new JChartSeries(this);
+	}
+
+
+	public boolean startsWith(JChartSeries view) {
+		// Whether the points of a view of this series are still the first points of the series, so points were only appended
+		return (view.changeCount == changeCount) && (view.size <= size);
+	}
+
+
+	public boolean hasArrays() {
+		// Whether the points are in arrays, not in mapped columns or in columns of the series
+		return xValues != null;
+	}
+
+
+	public void setCompressed(boolean enabled) {
+		// A mapped series stays mapped, its points are stored in columns when they are copied onto the heap
+		if (enabled != compressed) {
+			compressed = enabled;
+			updateColumns();
+		}
+	}
+
+
+	public void setFloatPrecision(boolean enabled) {
+		// Points that were added with double precision lose it when the series stores them in columns
+		if (enabled != floatPrecision) {
+			floatPrecision = enabled;
+			updateColumns();
+		}
+	}
+	
+	
+	public void setScales(int xScale, int yScale) {
+		if ((xScale != this.xScale) || (yScale != this.yScale)) {
+			this.xScale = xScale;
+			this.yScale = yScale;
+			plotXValues = null;
+			plotYValues = null;
+			plotSize = 0;
+			rangeValid = false;
+			changeCount++;
+		}
+	}
+
+
+	public void setPyramidEnabled(boolean enabled) {
+		if (enabled && (pyramid == null)) {
+			pyramid = new JChartSeriesPyramid();
+			pyramidValid = false;
+		}
+		else if (!enabled) {
+			pyramid = null;
+		}
+	}
+
+
+	public JChartSeriesPyramid getPyramid() {
+		// Returns the pyramid brought up to date with the points, or null when it is not enabled.
+		// Points appended in order are added incrementally, otherwise the pyramid is rebuilt.
+		if (pyramid != null) {
+			int count = size();
+			if (pyramidValid) {
+				pyramid.append(this, count);
+			}
+			else {
+				pyramid.rebuild(this, count, hasArrays() ? 0 : COLUMNS_PYRAMID_LEVEL);
+				pyramidValid = true;
+			}
+		}
+		return pyramid;
+	}
+
+
+	public boolean hasValues() {
+		return (values != null) || (mappedValues != null) || ((columns != null) && columns.hasValues());
+	}
+
+
+	public double getValue(int index) {
+		return values != null ? values[index] : (columns != null ? columns.getValue(index) : (mappedValues == null ? Double.NaN : mappedValues.get(index)));
+	}
+
+
+	public Double getY(double x) {
+		int index = indexOf(x);
+		return index < 0 ? null : getY(index);
+	}
+
+
+	public int indexOf(double x) {
+		// Returns the index of x, or -1 when the series has no point with this x value.
+		int index = lowerBound(x);
+		return ((index < size) && (getX(index) == x)) ? index : -1;
+	}
+
+
+	public int lowerBound(double x) {
+		// Returns the index of the first point with an x value greater than or equal to x.
+		int low = 0;
+		int high = size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (getX(middle) < x) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+
+	public int upperBound(double x) {
+		// Returns the index of the first point with an x value greater than x.
+		int low = 0;
+		int high = size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (getX(middle) <= x) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+
+	public int lowerBoundPlot(double plotX) {
+		// Returns the index of the first point with a plot x value greater than or equal to plotX.
+		// Points without position on a logarithmic scale have the smallest x values and come first.
+		int low = 0;
+		int high = size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (!(getPlotX(middle) >= plotX)) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+
+	public int upperBoundPlot(double plotX) {
+		// Returns the index of the first point with a plot x value greater than plotX.
+		int low = 0;
+		int high = size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (!(getPlotX(middle) > plotX)) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+
+	public double getMinimumX() {
+		updateRange();
+		return minimumX;
+	}
+
+
+	public double getMaximumX() {
+		updateRange();
+		return maximumX;
+	}
+
+
+	public double getMinimumY() {
+		updateRange();
+		return minimumY;
+	}
+
+
+	public double getMaximumY() {
+		updateRange();
+		return maximumY;
+	}
+
+
+	public double getMinimumPlotX() {
+		updateRange();
+		return minimumPlotX;
+	}
+
+
+	public double getMaximumPlotX() {
+		updateRange();
+		return maximumPlotX;
+	}
+
+
+	public double getMinimumPlotY() {
+		updateRange();
+		return minimumPlotY;
+	}
+
+
+	public double getMaximumPlotY() {
+		updateRange();
+		return maximumPlotY;
+	}
+
+
+	private void updateRange() {
+		if (!rangeValid) {
+			int count = size();
+			minimumX = Double.NaN;
+			maximumX = Double.NaN;
+			minimumY = Double.NaN;
+			maximumY = Double.NaN;
+			if (count > 0) {
+				minimumX = getX(0);
+				maximumX = getX(count - 1);
+				double[] range = new double[2];
+				getRangeY(0, count, range);
+				minimumY = range[0];
+				maximumY = range[1];
+			}
+			
+			// The scales keep the order of the values, but values less than or equal to zero have no position on a logarithmic scale
+			minimumPlotX = minimumX;
+			maximumPlotX = maximumX;
+			minimumPlotY = minimumY;
+			maximumPlotY = maximumY;
+			if (xScale != JChart.AXIS_SCALE_LINEAR) {
+				int firstPositive = upperBound(0.0);
+				minimumPlotX = firstPositive < count ? getPlotX(firstPositive) : Double.NaN;
+				maximumPlotX = JChartScale.toScale(maximumX, xScale);
+			}
+			if (yScale != JChart.AXIS_SCALE_LINEAR) {
+				minimumPlotY = Double.NaN;
+				for (int index = 0; index < count; index++) {
+					minimumPlotY = JChartSeriesPyramid.minimum(minimumPlotY, getPlotY(index));
+				}
+				maximumPlotY = JChartScale.toScale(maximumY, yScale);
+			}
+			rangeValid = true;
+		}
+	}
+
+
+	private void loadMappedPoints() {
+		// Copies the points of a mapped series onto the heap, so they can be changed
+		if (mappedXValues != null) {
+			int capacity = Math.max(INITIAL_CAPACITY, size);
+			double[] newXValues = new double[capacity];
+			double[] newYValues = new double[capacity];
+			double[] newValues = mappedValues == null ? null : new double[capacity];
+			getPoints(0, size, newXValues, newYValues, newValues);
+			setPoints(newXValues, newYValues, newValues, size);
+		}
+	}
+
+
+	private void storeColumns() {
+		// Moves sorted points from the arrays into the columns of a compressed series or a series with float precision.
+		// Compressed columns have no third values, so points with third values stay in the arrays.
+		if ((compressed || floatPrecision) && (xValues != null) && sorted && ((values == null) || (!compressed))) {
+			JChartColumns newColumns = compressed ? new JChartCompressedColumns() : new JChartFloatColumns();
+			for (int index = 0; index < size; index++) {
+				newColumns.add(xValues[index], toPrecision(yValues[index]), values == null ? Double.NaN : values[index]);
+			}
+			columns = newColumns;
+			xValues = null;
+			yValues = null;
+			values = null;
+			plotXValues = null;
+			plotYValues = null;
+			plotSize = 0;
+			// The pyramid of columns starts at another level, and with float precision the y values are rounded
+			pyramidValid = false;
+		}
+	}
+
+
+	private void loadColumns() {
+		// Copies the points in columns onto the heap, so a point can be inserted or get a third value
+		if (columns != null) {
+			int capacity = Math.max(INITIAL_CAPACITY, size);
+			double[] newXValues = new double[capacity];
+			double[] newYValues = new double[capacity];
+			double[] newValues = columns.hasValues() ? new double[capacity] : null;
+			columns.get(0, size, newXValues, newYValues, newValues, 0);
+			columns = null;
+			xValues = newXValues;
+			yValues = newYValues;
+			values = newValues;
+			plotSize = 0;
+			pyramidValid = false;
+		}
+	}
+
+
+	private void updateColumns() {
+		// Stores the points in the columns that fit the settings, or in the arrays. With float precision the y values change.
+		changeCount++;
+		loadColumns();
+		size();
+		storeColumns();
+	}
+
+
+	private double toPrecision(double y) {
+		// Compressed columns keep doubles, so with float precision the y values are rounded before they are compressed
+		return floatPrecision ? (double) (float) y : y;
+	}
+
+
+	private static void copy(double[] column, JChartMappedColumn mappedColumn, int from, int to, double[] target) {
+		if (mappedColumn != null) {
+			mappedColumn.get(from, to, target, 0);
+		}
+		else if (column != null) {
+			System.arraycopy(column, from, target, 0, to - from);
+		}
+		else {
+			Arrays.fill(target, 0, to - from, Double.NaN);
+		}
+	}
+
+
+	private static void toScale(double[] values, int count, int scale) {
+		if (scale != JChart.AXIS_SCALE_LINEAR) {
+			for (int index = 0; index < count; index++) {
+				values[index] = JChartScale.toScale(values[index], scale);
+			}
+		}
+	}
+
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		// The mapped columns are not serialized, so the points are copied onto the heap first
+		loadMappedPoints();
+		out.defaultWriteObject();
+	}
+
+
+	private void grow(int minimumCapacity) {
+		int capacity = Math.max(minimumCapacity, xValues.length + (xValues.length >> 1));
+		double[] newXValues = new double[capacity];
+		double[] newYValues = new double[capacity];
+		System.arraycopy(xValues, 0, newXValues, 0, size);
+		System.arraycopy(yValues, 0, newYValues, 0, size);
+		xValues = newXValues;
+		yValues = newYValues;
+		if (values != null) {
+			double[] newValues = new double[capacity];
+			System.arraycopy(values, 0, newValues, 0, size);
+			values = newValues;
+		}
+	}
+
+
+	private void updatePlotValues() {
+		// Transforms the points added since the last update to the scales of the axes.
+		// The points of a mapped or compressed series are transformed when they are read.
+		if ((xScale != JChart.AXIS_SCALE_LINEAR) && (xValues != null)) {
+			plotXValues = ensurePlotCapacity(plotXValues);
+			for (int index = plotSize; index < size; index++) {
+				plotXValues[index] = JChartScale.toScale(xValues[index], xScale);
+			}
+		}
+		if ((yScale != JChart.AXIS_SCALE_LINEAR) && (yValues != null)) {
+			plotYValues = ensurePlotCapacity(plotYValues);
+			for (int index = plotSize; index < size; index++) {
+				plotYValues[index] = JChartScale.toScale(yValues[index], yScale);
+			}
+		}
+		plotSize = size;
+	}
+
+
+	private double[] ensurePlotCapacity(double[] plotValues) {
+		double[] newPlotValues = plotValues;
+		if ((plotValues == null) || (plotValues.length < size)) {
+			newPlotValues = new double[xValues.length];
+			if (plotValues != null) {
+				System.arraycopy(plotValues, 0, newPlotValues, 0, plotSize);
+			}
+		}
+		return newPlotValues;
+	}
+
+
+	private void unshare() {
+		// Copies the arrays a view reads, so changing the points in them does not change the view
+		if (shared) {
+			xValues = xValues == null ? null : xValues.clone();
+			yValues = yValues == null ? null : yValues.clone();
+			values = values == null ? null : values.clone();
+			plotXValues = plotXValues == null ? null : plotXValues.clone();
+			plotYValues = plotYValues == null ? null : plotYValues.clone();
+			shared = false;
+		}
+	}
+
+
+	private void sort() {
+		// Stable sort on x, so for equal x values the last added point comes last and wins.
+		unshare();
+		mergeSort(new double[size], new double[size], values == null ? null : new double[size], 0, size);
+
+		int newSize = 0;
+		for (int index = 0; index < size; index++) {
+			if ((newSize > 0) && (xValues[newSize - 1] == xValues[index])) {
+				newSize--;
+			}
+			xValues[newSize] = xValues[index];
+			yValues[newSize] = yValues[index];
+			if (values != null) {
+				values[newSize] = values[index];
+			}
+			newSize++;
+		}
+		size = newSize;
+		sorted = true;
+		pyramidValid = false;
+		plotSize = 0;
+		changeCount++;
+	}
+
+
+	private void mergeSort(double[] xBuffer, double[] yBuffer, double[] valueBuffer, int from, int to) {
+		if ((to - from) <= INSERTION_SORT_THRESHOLD) {
+			for (int index = from + 1; index < to; index++) {
+				double x = xValues[index];
+				double y = yValues[index];
+				double value = values == null ? Double.NaN : values[index];
+				int position = index;
+				while ((position > from) && (xValues[position - 1] > x)) {
+					xValues[position] = xValues[position - 1];
+					yValues[position] = yValues[position - 1];
+					if (values != null) {
+						values[position] = values[position - 1];
+					}
+					position--;
+				}
+				xValues[position] = x;
+				yValues[position] = y;
+				if (values != null) {
+					values[position] = value;
+				}
+			}
+		}
+		else {
+			int middle = (from + to) >>> 1;
+			mergeSort(xBuffer, yBuffer, valueBuffer, from, middle);
+			mergeSort(xBuffer, yBuffer, valueBuffer, middle, to);
+			if (xValues[middle - 1] > xValues[middle]) {
+				System.arraycopy(xValues, from, xBuffer, from, to - from);
+				System.arraycopy(yValues, from, yBuffer, from, to - from);
+				if (values != null) {
+					System.arraycopy(values, from, valueBuffer, from, to - from);
+				}
+				int left = from;
+				int right = middle;
+				for (int index = from; index < to; index++) {
+					int source = ((right >= to) || ((left < middle) && (xBuffer[left] <= xBuffer[right]))) ? left++ : right++;
+					xValues[index] = xBuffer[source];
+					yValues[index] = yBuffer[source];
+					if (values != null) {
+						values[index] = valueBuffer[source];
+					}
+				}
+			}
+		}
+	}
+
+}
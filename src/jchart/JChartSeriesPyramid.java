@@ -0,0 +1,173 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.io.Serializable;
+
+/**
+ * The minimum and maximum y values of blocks of consecutive points of a series.
+ * Level 0 has blocks of 2 points, every next level blocks of twice as many points.
+ * The first and last value of a block are not kept, they are the points at the
+ * bounds of the block in the series. NaN values are ignored, so a block with only
+ * NaN values has a NaN minimum and maximum.
+ * The levels below a first level can be left empty, so the pyramid of a long series that
+ * is mapped or compressed stays small. Views with fewer points per pixel draw the points.
+ */
+class JChartSeriesPyramid implements Serializable {
+	private static final long serialVersionUID = -3105793458226480462L;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private double[][] minimum = new double[0][];
+	private double[][] maximum = new double[0][];
+	private int[] blockCount = new int[0];
+	private int size = 0;
+	private int firstLevel = 0;
+
+
+	public int getLevelCount() {
+		return blockCount.length;
+	}
+
+
+	public long getMemoryEstimate() {
+		long bytes = JChartMemory.OBJECT + JChartMemory.estimate(blockCount) + (2 * (JChartMemory.ARRAY + (minimum.length * JChartMemory.REFERENCE)));
+		for (int level = 0; level < minimum.length; level++) {
+			bytes += JChartMemory.estimate(minimum[level]) + JChartMemory.estimate(maximum[level]);
+		}
+		return bytes;
+	}
+
+
+	public static int getBlockSize(int level) {
+		return 2 << level;
+	}
+
+
+	public double getMinimum(int level, int block) {
+		return minimum[level][block];
+	}
+
+
+	public double getMaximum(int level, int block) {
+		return maximum[level][block];
+	}
+
+
+	public int getLevel(int pointCount, int pixels) {
+		// Returns the coarsest level that still has at least one block per pixel, or -1 when the points should be drawn.
+		int level = -1;
+		while (((level + 1) < blockCount.length) && ((pointCount / getBlockSize(level + 1)) >= pixels)) {
+			level++;
+		}
+		return level < firstLevel ? -1 : level;
+	}
+
+
+	public void append(JChartSeries series, int newSize) {
+		// Adds the points from the current size until newSize, which were appended to the series.
+		for (int index = size; index < newSize; index++) {
+			double y = series.getY(index);
+			for (int level = firstLevel; level < blockCount.length; level++) {
+				int block = index / getBlockSize(level);
+				if (block == blockCount[level]) {
+					ensureCapacity(level, block + 1);
+					minimum[level][block] = y;
+					maximum[level][block] = y;
+					blockCount[level]++;
+				}
+				else {
+					minimum[level][block] = minimum(minimum[level][block], y);
+					maximum[level][block] = maximum(maximum[level][block], y);
+				}
+			}
+		}
+		size = newSize;
+		while (size > getBlockSize(blockCount.length)) {
+			addLevel(series);
+		}
+	}
+
+
+	public void rebuild(JChartSeries series, int newSize, int firstLevel) {
+		this.firstLevel = firstLevel;
+		minimum = new double[0][];
+		maximum = new double[0][];
+		blockCount = new int[0];
+		size = newSize;
+		while (size > getBlockSize(blockCount.length)) {
+			addLevel(series);
+		}
+	}
+
+
+	private void addLevel(JChartSeries series) {
+		// Builds the next level from the level below, or from the points for the first level. Levels below the first level are empty.
+		int level = blockCount.length;
+		int blocks = level < firstLevel ? 0 : (size + getBlockSize(level) - 1) / getBlockSize(level);
+
+		double[][] newMinimum = new double[level + 1][];
+		double[][] newMaximum = new double[level + 1][];
+		int[] newBlockCount = new int[level + 1];
+		System.arraycopy(minimum, 0, newMinimum, 0, level);
+		System.arraycopy(maximum, 0, newMaximum, 0, level);
+		System.arraycopy(blockCount, 0, newBlockCount, 0, level);
+		newMinimum[level] = new double[Math.max(INITIAL_CAPACITY, blocks)];
+		newMaximum[level] = new double[Math.max(INITIAL_CAPACITY, blocks)];
+		newBlockCount[level] = blocks;
+
+		double[] range = new double[2];
+		for (int block = 0; block < blocks; block++) {
+			if (level == firstLevel) {
+				series.getRangeY(block * getBlockSize(level), Math.min(size, (block + 1) * getBlockSize(level)), range);
+				newMinimum[level][block] = range[0];
+				newMaximum[level][block] = range[1];
+			}
+			else {
+				int lowerBlock = block * 2;
+				boolean hasSecond = (lowerBlock + 1) < blockCount[level - 1];
+				newMinimum[level][block] = minimum(minimum[level - 1][lowerBlock], hasSecond ? minimum[level - 1][lowerBlock + 1] : Double.NaN);
+				newMaximum[level][block] = maximum(maximum[level - 1][lowerBlock], hasSecond ? maximum[level - 1][lowerBlock + 1] : Double.NaN);
+			}
+		}
+
+		minimum = newMinimum;
+		maximum = newMaximum;
+		blockCount = newBlockCount;
+	}
+
+
+	private void ensureCapacity(int level, int capacity) {
+		if (capacity > minimum[level].length) {
+			int newCapacity = Math.max(capacity, minimum[level].length + (minimum[level].length >> 1));
+			double[] newMinimum = new double[newCapacity];
+			double[] newMaximum = new double[newCapacity];
+			System.arraycopy(minimum[level], 0, newMinimum, 0, blockCount[level]);
+			System.arraycopy(maximum[level], 0, newMaximum, 0, blockCount[level]);
+			minimum[level] = newMinimum;
+			maximum[level] = newMaximum;
+		}
+	}
+
+
+	static double minimum(double value1, double value2) {
+		return Double.isNaN(value1) ? value2 : (Double.isNaN(value2) ? value1 : Math.min(value1, value2));
+	}
+
+
+	static double maximum(double value1, double value2) {
+		return Double.isNaN(value1) ? value2 : (Double.isNaN(value2) ? value1 : Math.max(value1, value2));
+	}
+
+}
@@ -0,0 +1,277 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.Color;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A binary snapshot of the data of a plot of which the data sets are series, like line and scatter plots.
+ * The file is little endian and consists of a header followed by the points as columns of doubles:
+ *
+ *   int     magic number
+ *   int     format version
+ *   string  type of the plot
+ *   int     time unit, byte 1 when the time axis has an origin, long origin
+ *   int     number of data sets
+ *   per data set:
+ *     string  name
+ *     int     color as ARGB
+ *     int     point style, -1 when not set
+ *     int     number of points
+ *     byte    1 when the points have a third value
+ *   padding up to a multiple of 8 bytes
+ *   per data set: the x column, the y column and the third value column when there is one
+ *
+ * A string is an int with its length in bytes followed by its UTF-8 bytes.
+ * The columns are written through a file channel and read with memory mapping, without boxing a value.
+ * A snapshot can also be opened instead of read: then the series keep the columns mapped and read the
+ * points from the file when they are used. A snapshot is written to a temporary file that then replaces
+ * the file, so the snapshot a plot has opened can be saved over without changing the mapped columns.
+ */
+class JChartSnapshot {
+
+	private static final int MAGIC = 0x4A435331; // "JCS1"
+	private static final int VERSION = 1;
+
+	// Doubles per buffer when writing
+	private static final int WRITE_CHUNK = 1 << 17;
+
+
+	static void write(JChartPlot plot, File file) throws IOException {
+		Map<String, JChartSeries> seriesMap = plot.getSeriesMap();
+		List<String> dataSetNames = new ArrayList<String>(plot.dataSetList);
+		List<JChartSeries> seriesList = new ArrayList<JChartSeries>();
+		for (String dataSetName : dataSetNames) {
+			seriesList.add(seriesMap == null ? null : seriesMap.get(dataSetName));
+		}
+
+		ByteBuffer header = ByteBuffer.allocate(getHeaderSize(plot, dataSetNames)).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC);
+		header.putInt(VERSION);
+		putString(header, plot.getClass().getSimpleName());
+		header.putInt(plot.timeAxis == null ? JChart.TIME_UNIT_NONE : plot.timeAxis.getTimeUnit());
+		header.put((byte) (((plot.timeAxis != null) && plot.timeAxis.hasOrigin()) ? 1 : 0));
+		header.putLong(plot.timeAxis == null ? 0L : plot.timeAxis.getOrigin());
+		header.putInt(dataSetNames.size());
+		for (int dataSetNr = 0; dataSetNr < dataSetNames.size(); dataSetNr++) {
+			String dataSetName = dataSetNames.get(dataSetNr);
+			JChartSeries series = seriesList.get(dataSetNr);
+			Integer pointStyle = plot.pointStyles == null ? null : plot.pointStyles.get(dataSetName);
+			Color color = plot.dataSets.get(dataSetName);
+			putString(header, dataSetName);
+			header.putInt(color == null ? Color.BLACK.getRGB() : color.getRGB());
+			header.putInt(pointStyle == null ? -1 : pointStyle);
+			header.putInt(series == null ? 0 : series.size());
+			header.put((byte) (((series != null) && series.hasValues()) ? 1 : 0));
+		}
+		header.position(header.capacity());
+		header.flip();
+
+		// The temporary file is in the directory of the file, so it can replace the file at once
+		Path temporaryFile = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp").toPath();
+		try {
+			FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			try {
+				writeFully(channel, header);
+				ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_CHUNK * 8).order(ByteOrder.LITTLE_ENDIAN);
+				double[] chunk = new double[WRITE_CHUNK];
+				for (JChartSeries series : seriesList) {
+					if (series != null) {
+						writeColumns(channel, buffer, chunk, series);
+					}
+				}
+			}
+			finally {
+				channel.close();
+			}
+			Files.move(temporaryFile, file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+
+	static void read(JChartPlot plot, File file, boolean mapped) throws IOException {
+		// The whole snapshot is read or mapped before the plot is changed, so a damaged file leaves the plot as it was.
+		// Mapped columns stay valid after the channel is closed.
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), Integer.MAX_VALUE)).order(ByteOrder.LITTLE_ENDIAN);
+			if ((header.getInt() != MAGIC) || (header.getInt() != VERSION)) {
+				throw new IOException("Not a chart snapshot.");
+			}
+			if (!getString(header).equals(plot.getClass().getSimpleName())) {
+				throw new IOException("The snapshot is of another type of chart.");
+			}
+			int timeUnit = header.getInt();
+			if ((timeUnit != JChart.TIME_UNIT_NONE) && (timeUnit != JChart.TIME_UNIT_MILLISECONDS) && (timeUnit != JChart.TIME_UNIT_NANOSECONDS)) {
+				throw new IOException("The snapshot is damaged.");
+			}
+			boolean hasOrigin = header.get() == 1;
+			long origin = header.getLong();
+			// A data set takes at least the length of its name, its color, its point style, its count and its value flag
+			int dataSetCount = header.getInt();
+			if ((dataSetCount < 0) || (dataSetCount > (header.remaining() / (4 + 4 + 4 + 4 + 1)))) {
+				throw new IOException("The snapshot is damaged.");
+			}
+			String[] names = new String[dataSetCount];
+			Color[] colors = new Color[dataSetCount];
+			int[] pointStyles = new int[dataSetCount];
+			int[] counts = new int[dataSetCount];
+			boolean[] hasValues = new boolean[dataSetCount];
+			for (int dataSetNr = 0; dataSetNr < dataSetCount; dataSetNr++) {
+				names[dataSetNr] = getString(header);
+				colors[dataSetNr] = new Color(header.getInt(), true);
+				pointStyles[dataSetNr] = header.getInt();
+				counts[dataSetNr] = header.getInt();
+				hasValues[dataSetNr] = header.get() == 1;
+				if (counts[dataSetNr] < 0) {
+					throw new IOException("The snapshot is damaged.");
+				}
+			}
+
+			long position = (header.position() + 7) & ~7L;
+			JChartSeries[] seriesList = new JChartSeries[dataSetCount];
+			for (int dataSetNr = 0; dataSetNr < dataSetCount; dataSetNr++) {
+				if (counts[dataSetNr] > 0) {
+					int count = counts[dataSetNr];
+					seriesList[dataSetNr] = new JChartSeries();
+					if (mapped) {
+						JChartMappedColumn xValues = new JChartMappedColumn(channel, position, count);
+						JChartMappedColumn yValues = new JChartMappedColumn(channel, position + (8L * count), count);
+						JChartMappedColumn values = hasValues[dataSetNr] ? new JChartMappedColumn(channel, position + (16L * count), count) : null;
+						seriesList[dataSetNr].setMappedPoints(xValues, yValues, values, count);
+					}
+					else {
+						double[] xValues = readColumn(channel, position, count);
+						double[] yValues = readColumn(channel, position + (8L * count), count);
+						double[] values = hasValues[dataSetNr] ? readColumn(channel, position + (16L * count), count) : null;
+						seriesList[dataSetNr].setPoints(xValues, yValues, values, count);
+					}
+					position += (hasValues[dataSetNr] ? 24L : 16L) * count;
+				}
+			}
+
+			// The precision of the data sets is a setting of the plot, which is applied to the series of the snapshot
+			Set<String> floatDataSets = plot.floatDataSets;
+			plot.clear();
+			plot.floatDataSets = floatDataSets;
+			plot.setTimeAxis(timeUnit);
+			if ((plot.timeAxis != null) && hasOrigin) {
+				plot.timeAxis.toValue(origin);
+			}
+			for (int dataSetNr = 0; dataSetNr < dataSetCount; dataSetNr++) {
+				plot.addDataSet(names[dataSetNr], colors[dataSetNr]);
+				if (pointStyles[dataSetNr] >= 0) {
+					if (plot.pointStyles == null) {
+						plot.pointStyles = new HashMap<String, Integer>();
+					}
+					plot.pointStyles.put(names[dataSetNr], pointStyles[dataSetNr]);
+				}
+				if (seriesList[dataSetNr] != null) {
+					plot.putSeries(names[dataSetNr], seriesList[dataSetNr]);
+				}
+			}
+		}
+		catch (BufferUnderflowException e) {
+			throw new IOException("The snapshot is incomplete.");
+		}
+		finally {
+			channel.close();
+		}
+	}
+
+
+	private static int getHeaderSize(JChartPlot plot, List<String> dataSetNames) {
+		int size = 4 + 4 + getStringSize(plot.getClass().getSimpleName()) + 4 + 1 + 8 + 4;
+		for (String dataSetName : dataSetNames) {
+			size += getStringSize(dataSetName) + 4 + 4 + 4 + 1;
+		}
+		// The columns start at a multiple of 8 bytes
+		return (size + 7) & ~7;
+	}
+
+
+	private static int getStringSize(String string) {
+		return 4 + string.getBytes(StandardCharsets.UTF_8).length;
+	}
+
+
+	private static void putString(ByteBuffer buffer, String string) {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+	}
+
+
+	private static String getString(ByteBuffer buffer) throws IOException {
+		int length = buffer.getInt();
+		if ((length < 0) || (length > buffer.remaining())) {
+			throw new IOException("The snapshot is damaged.");
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+
+	private static void writeColumns(FileChannel channel, ByteBuffer buffer, double[] chunk, JChartSeries series) throws IOException {
+		// Writes the x column, the y column and the third value column when there is one. The points are copied
+		// in chunks, so the points of a mapped series are written without reading them all onto the heap.
+		int count = series.size();
+		int columnCount = series.hasValues() ? 3 : 2;
+		for (int column = 0; column < columnCount; column++) {
+			for (int start = 0; start < count; start += WRITE_CHUNK) {
+				int length = Math.min(WRITE_CHUNK, count - start);
+				series.getPoints(start, start + length, column == 0 ? chunk : null, column == 1 ? chunk : null, column == 2 ? chunk : null);
+				buffer.clear();
+				buffer.asDoubleBuffer().put(chunk, 0, length);
+				buffer.limit(length * 8);
+				writeFully(channel, buffer);
+			}
+		}
+	}
+
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+
+	private static double[] readColumn(FileChannel channel, long position, int count) throws IOException {
+		double[] column = new double[count];
+		new JChartMappedColumn(channel, position, count).get(0, count, column, 0);
+		return column;
+	}
+
+}
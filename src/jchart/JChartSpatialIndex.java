@@ -0,0 +1,118 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+/**
+ * A uniform grid over screen positions of points to find the point nearest to
+ * a position, for example the mouse, without scanning all points.
+ * The points are identified by their index in the arrays the index is built from, or by the ids given with them.
+ */
+class JChartSpatialIndex {
+	private static final int CELL_SIZE = 16;
+
+	private final int left;
+	private final int top;
+	private final int columns;
+	private final int rows;
+
+	// The points of cell c are at positions cellStart[c] until cellStart[c + 1].
+	private final int[] cellStart;
+	private final int[] pointIds;
+	private final short[] pointX;
+	private final short[] pointY;
+
+
+	public JChartSpatialIndex(int left, int top, int width, int height, int[] xPositions, int[] yPositions, int[] ids, int pointCount) {
+		// Points outside the area left, top, width, height are not indexed. Without ids a point has its index as id.
+		this.left = left;
+		this.top = top;
+		columns = (Math.max(0, width) / CELL_SIZE) + 1;
+		rows = (Math.max(0, height) / CELL_SIZE) + 1;
+
+		// Counting sort of the points on their cell
+		int[] pointCells = new int[pointCount];
+		cellStart = new int[(columns * rows) + 1];
+		int indexedCount = 0;
+		for (int pointNr = 0; pointNr < pointCount; pointNr++) {
+			int x = xPositions[pointNr] - left;
+			int y = yPositions[pointNr] - top;
+			if ((x >= 0) && (x <= width) && (y >= 0) && (y <= height)) {
+				int cell = ((y / CELL_SIZE) * columns) + (x / CELL_SIZE);
+				pointCells[pointNr] = cell;
+				cellStart[cell + 1]++;
+				indexedCount++;
+			}
+			else {
+				pointCells[pointNr] = -1;
+			}
+		}
+		for (int cell = 0; cell < (columns * rows); cell++) {
+			cellStart[cell + 1] += cellStart[cell];
+		}
+
+		pointIds = new int[indexedCount];
+		pointX = new short[indexedCount];
+		pointY = new short[indexedCount];
+		int[] cellFill = new int[columns * rows];
+		for (int pointNr = 0; pointNr < pointCount; pointNr++) {
+			int cell = pointCells[pointNr];
+			if (cell >= 0) {
+				int position = cellStart[cell] + cellFill[cell]++;
+				pointIds[position] = ids == null ? pointNr : ids[pointNr];
+				pointX[position] = (short) (xPositions[pointNr] - left);
+				pointY[position] = (short) (yPositions[pointNr] - top);
+			}
+		}
+	}
+
+
+	public int nearest(int x, int y, int maxDistance) {
+		// Returns the id of the point nearest to x, y within maxDistance pixels, or -1 if there is none.
+		int nearestId = -1;
+		int nearestDistance = (maxDistance * maxDistance) + 1;
+
+		int relativeX = x - left;
+		int relativeY = y - top;
+		int firstColumn = Math.max(0, (relativeX - maxDistance) / CELL_SIZE);
+		int lastColumn = Math.min(columns - 1, (relativeX + maxDistance) / CELL_SIZE);
+		int firstRow = Math.max(0, (relativeY - maxDistance) / CELL_SIZE);
+		int lastRow = Math.min(rows - 1, (relativeY + maxDistance) / CELL_SIZE);
+		if (((relativeX + maxDistance) >= 0) && ((relativeY + maxDistance) >= 0)) {
+			for (int row = firstRow; row <= lastRow; row++) {
+				for (int column = firstColumn; column <= lastColumn; column++) {
+					int cell = (row * columns) + column;
+					for (int position = cellStart[cell]; position < cellStart[cell + 1]; position++) {
+						int dx = pointX[position] - relativeX;
+						int dy = pointY[position] - relativeY;
+						int distance = (dx * dx) + (dy * dy);
+						// On equal distance the point drawn last, so on top, wins
+						if ((distance < nearestDistance) || ((distance == nearestDistance) && (pointIds[position] > nearestId))) {
+							nearestDistance = distance;
+							nearestId = pointIds[position];
+						}
+					}
+				}
+			}
+		}
+
+		return nearestId;
+	}
+
+
+
+	public long getMemoryEstimate() {
+		return JChartMemory.OBJECT + JChartMemory.estimate(cellStart) + JChartMemory.estimate(pointIds) + JChartMemory.estimate(pointX) + JChartMemory.estimate(pointY);
+	}
+
+}
@@ -0,0 +1,296 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.io.Serializable;
+
+/**
+ * The fonts and colors of a chart. A style cannot be changed, so one style can be shared by any number of charts,
+ * which then all refer to the same fonts and colors. The with methods return a new style with one font or color changed.
+ * Setting a font or color of a single chart gives that chart its own changed copy of its style.
+ * @author Mees Mosseveld
+ *
+ */
+public final class JChartStyle implements Serializable {
+	private static final long serialVersionUID = 5316227081654409371L;
+	
+	// The default fonts, the legend font is also the font of the axes and the labels
+	private static final Font DEFAULT_TITLE_FONT = new Font("Arial", Font.BOLD, 15);
+	private static final Font DEFAULT_FONT = new Font("Arial", Font.PLAIN, 10);
+	
+	/**
+	 * The default style of all charts.
+	 */
+	public static final JChartStyle DEFAULT = new JChartStyle(Color.WHITE, DEFAULT_TITLE_FONT, Color.BLACK, DEFAULT_FONT, Color.BLACK, Color.WHITE, Color.BLACK, DEFAULT_FONT, Color.BLACK, DEFAULT_FONT, Color.BLACK, Color.BLACK);
+	
+	private final Color backgroundColor;
+	private final Font titleFont;
+	private final Color titleColor;
+	private final Font legendFont;
+	private final Color legendFontColor;
+	private final Color legendBackgroundColor;
+	private final Color legendBorderColor;
+	private final Font axisFont;
+	private final Color axisColor;
+	private final Font labelFont;
+	private final Color labelColor;
+	private final Color outlineColor;
+	
+	
+	private JChartStyle(Color backgroundColor, Font titleFont, Color titleColor, Font legendFont, Color legendFontColor, Color legendBackgroundColor, Color legendBorderColor, Font axisFont, Color axisColor, Font labelFont, Color labelColor, Color outlineColor) {
+		this.backgroundColor = backgroundColor;
+		this.titleFont = titleFont;
+		this.titleColor = titleColor;
+		this.legendFont = legendFont;
+		this.legendFontColor = legendFontColor;
+		this.legendBackgroundColor = legendBackgroundColor;
+		this.legendBorderColor = legendBorderColor;
+		this.axisFont = axisFont;
+		this.axisColor = axisColor;
+		this.labelFont = labelFont;
+		this.labelColor = labelColor;
+		this.outlineColor = outlineColor;
+	}
+	
+	
+	/**
+	 * Get the background color of the chart.
+	 * @return The color.
+	 */
+	public Color getBackgroundColor() {
+		return backgroundColor;
+	}
+	
+	
+	/**
+	 * Get a copy of this style with another background color of the chart.
+	 * @param color The color.
+	 * @return The new style.
+	 */
+	public JChartStyle withBackgroundColor(Color color) {
+		return new JChartStyle(color, titleFont, titleColor, legendFont, legendFontColor, legendBackgroundColor, legendBorderColor, axisFont, axisColor, labelFont, labelColor, outlineColor);
+	}
+	
+	
+	/**
+	 * Get the font of the title.
+	 * @return The font.
+	 */
+	public Font getTitleFont() {
+		return titleFont;
+	}
+	
+	
+	/**
+	 * Get a copy of this style with another font of the title.
+	 * @param font The font.
+	 * @return The new style.
+	 */
+	public JChartStyle withTitleFont(Font font) {
+		return new JChartStyle(backgroundColor, font, titleColor, legendFont, legendFontColor, legendBackgroundColor, legendBorderColor, axisFont, axisColor, labelFont, labelColor, outlineColor);
+	}
+	
+	
+	/**
+	 * Get the color of the title.
+	 * @return The color.
+	 */
+	public Color getTitleColor() {
+		return titleColor;
+	}
+	
+	
+	/**
+	 * Get a copy of this style with another color of the title.
+	 * @param color The color.
+	 * @return The new style.
+	 */
+	public JChartStyle withTitleColor(Color color) {
+		return new JChartStyle(backgroundColor, titleFont, color, legendFont, legendFontColor, legendBackgroundColor, legendBorderColor, axisFont, axisColor, labelFont, labelColor, outlineColor);
+	}
+	
+	
+	/**
+	 * Get the font of the legend.
+	 * @return The font.
+	 */
+	public Font getLegendFont() {
+		return legendFont;
+	}
+	
+	
+	/**
+	 * Get a copy of this style with another font of the legend.
+	 * @param font The font.
+	 * @return The new style.
+	 */
+	public JChartStyle withLegendFont(Font font) {
+		return new JChartStyle(backgroundColor, titleFont, titleColor, font, legendFontColor, legendBackgroundColor, legendBorderColor, axisFont, axisColor, labelFont, labelColor, outlineColor);
+	}
+	
+	
+	/**
+	 * Get the text color of the legend.
+	 * @return The color.
+	 */
+	public Color getLegendFontColor() {
+		return legendFontColor;
+	}
+	
+	
+	/**
+	 * Get a copy of this style with another text color of the legend.
+	 * @param color The color.
+	 * @return The new style.
+	 */
+	public JChartStyle withLegendFontColor(Color color) {
+		return new JChartStyle(backgroundColor, titleFont, titleColor, legendFont, color, legendBackgroundColor, legendBorderColor, axisFont, axisColor, labelFont, labelColor, outlineColor);
+	}
+	
+	
+	/**
+	 * Get the background color of the legend.
+	 * @return The color.
+	 */
+	public Color getLegendBackgroundColor() {
+		return legendBackgroundColor;
+	}
+	
+	
+	/**
+	 * Get a copy of this style with another background color of the legend.
+	 * @param color The color.
+	 * @return The new style.
+	 */
+	public JChartStyle withLegendBackgroundColor(Color color) {
+		return new JChartStyle(backgroundColor, titleFont, titleColor, legendFont, legendFontColor, color, legendBorderColor, axisFont, axisColor, labelFont, labelColor, outlineColor);
+	}
+	
+	
+	/**
+	 * Get the border color of the legend.
+	 * @return The color.
+	 */
+	public Color getLegendBorderColor() {
+		return legendBorderColor;
+	}
+	
+	
+	/**
+	 * Get a copy of this style with another border color of the legend.
+	 * @param color The color.
+	 * @return The new style.
+	 */
+	public JChartStyle withLegendBorderColor(Color color) {
+		return new JChartStyle(backgroundColor, titleFont, titleColor, legendFont, legendFontColor, legendBackgroundColor, color, axisFont, axisColor, labelFont, labelColor, outlineColor);
+	}
+	
+	
+	/**
+	 * Get the font of the axes of line, scatter, bar and box charts.
+	 * @return The font.
+	 */
+	public Font getAxisFont() {
+		return axisFont;
+	}
+	
+	
+	/**
+	 * Get a copy of this style with another font of the axes of line, scatter, bar and box charts.
+	 * @param font The font.
+	 * @return The new style.
+	 */
+	public JChartStyle withAxisFont(Font font) {
+		return new JChartStyle(backgroundColor, titleFont, titleColor, legendFont, legendFontColor, legendBackgroundColor, legendBorderColor, font, axisColor, labelFont, labelColor, outlineColor);
+	}
+	
+	
+	/**
+	 * Get the color of the axes of line, scatter, bar and box charts.
+	 * @return The color.
+	 */
+	public Color getAxisColor() {
+		return axisColor;
+	}
+	
+	
+	/**
+	 * Get a copy of this style with another color of the axes of line, scatter, bar and box charts.
+	 * @param color The color.
+	 * @return The new style.
+	 */
+	public JChartStyle withAxisColor(Color color) {
+		return new JChartStyle(backgroundColor, titleFont, titleColor, legendFont, legendFontColor, legendBackgroundColor, legendBorderColor, axisFont, color, labelFont, labelColor, outlineColor);
+	}
+	
+	
+	/**
+	 * Get the font of the labels of pie charts.
+	 * @return The font.
+	 */
+	public Font getLabelFont() {
+		return labelFont;
+	}
+	
+	
+	/**
+	 * Get a copy of this style with another font of the labels of pie charts.
+	 * @param font The font.
+	 * @return The new style.
+	 */
+	public JChartStyle withLabelFont(Font font) {
+		return new JChartStyle(backgroundColor, titleFont, titleColor, legendFont, legendFontColor, legendBackgroundColor, legendBorderColor, axisFont, axisColor, font, labelColor, outlineColor);
+	}
+	
+	
+	/**
+	 * Get the color of the labels of pie charts.
+	 * @return The color.
+	 */
+	public Color getLabelColor() {
+		return labelColor;
+	}
+	
+	
+	/**
+	 * Get a copy of this style with another color of the labels of pie charts.
+	 * @param color The color.
+	 * @return The new style.
+	 */
+	public JChartStyle withLabelColor(Color color) {
+		return new JChartStyle(backgroundColor, titleFont, titleColor, legendFont, legendFontColor, legendBackgroundColor, legendBorderColor, axisFont, axisColor, labelFont, color, outlineColor);
+	}
+	
+	
+	/**
+	 * Get the color of the outlines of pie charts.
+	 * @return The color.
+	 */
+	public Color getOutlineColor() {
+		return outlineColor;
+	}
+	
+	
+	/**
+	 * Get a copy of this style with another color of the outlines of pie charts.
+	 * @param color The color.
+	 * @return The new style.
+	 */
+	public JChartStyle withOutlineColor(Color color) {
+		return new JChartStyle(backgroundColor, titleFont, titleColor, legendFont, legendFontColor, legendBackgroundColor, legendBorderColor, axisFont, axisColor, labelFont, labelColor, color);
+	}
+	
+}
@@ -0,0 +1,318 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.FontMetrics;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * A horizontal axis of points in time, given as epoch milliseconds or nanoseconds.
+ * The series store the times as milliseconds since the first time added, which a
+ * double holds at sub-millisecond resolution over any range, instead of epoch values
+ * around 1.7E12 of which the ticks and positions lose precision.
+ * The ticks are aligned to calendar units in the default time zone and formatted
+ * with one reused calendar and string builder.
+ */
+class JChartTimeAxis implements Serializable {
+	private static final long serialVersionUID = 4821398640931173546L;
+
+	private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
+	// Label patterns, with the letters of SimpleDateFormat
+	private static final int FORMAT_MILLISECOND = 0;
+	private static final int FORMAT_SECOND      = 1;
+	private static final int FORMAT_MINUTE      = 2;
+	private static final int FORMAT_DAY_MINUTE  = 3;
+	private static final int FORMAT_DAY         = 4;
+	private static final int FORMAT_MONTH       = 5;
+	private static final int FORMAT_YEAR        = 6;
+	private static final int FORMAT_FULL        = 7;
+	private static final String[] PATTERNS = { "HH:mm:ss.SSS", "HH:mm:ss", "HH:mm", "MM-dd HH:mm", "yyyy-MM-dd", "yyyy-MM", "yyyy", "yyyy-MM-dd HH:mm:ss.SSS" };
+
+	// The calendar fields from fine to coarse
+	private static final int[] CALENDAR_FIELDS = { Calendar.MILLISECOND, Calendar.SECOND, Calendar.MINUTE, Calendar.HOUR_OF_DAY, Calendar.DAY_OF_MONTH, Calendar.MONTH, Calendar.YEAR };
+	private static final long[] CALENDAR_FIELD_LENGTHS = { 1L, 1000L, 60000L, 3600000L, 86400000L, 2629746000L, 31556952000L };
+
+	// The possible steps between ticks as index in CALENDAR_FIELDS and number of units, from small to large
+	private static final int[][] STEPS = {
+			{ 0, 1 }, { 0, 2 }, { 0, 5 }, { 0, 10 }, { 0, 20 }, { 0, 50 }, { 0, 100 }, { 0, 200 }, { 0, 500 },
+			{ 1, 1 }, { 1, 2 }, { 1, 5 }, { 1, 10 }, { 1, 15 }, { 1, 30 },
+			{ 2, 1 }, { 2, 2 }, { 2, 5 }, { 2, 10 }, { 2, 15 }, { 2, 30 },
+			{ 3, 1 }, { 3, 2 }, { 3, 3 }, { 3, 6 }, { 3, 12 },
+			{ 4, 1 }, { 4, 2 }, { 4, 5 }, { 4, 10 }, { 4, 15 },
+			{ 5, 1 }, { 5, 2 }, { 5, 3 }, { 5, 6 },
+			{ 6, 1 }, { 6, 2 }, { 6, 5 }, { 6, 10 }, { 6, 20 }, { 6, 50 }, { 6, 100 }, { 6, 200 }, { 6, 500 }, { 6, 1000 }
+	};
+
+	private final int timeUnit;
+	private boolean originSet = false;
+	private long origin = 0;
+
+	// The origin as whole epoch milliseconds and the remaining fraction of a millisecond
+	private long originMillisecond = 0;
+	private double originFraction = 0.0;
+
+	private int step = STEPS.length - 1;
+	private int format = FORMAT_YEAR;
+
+	private transient Calendar calendar = null;
+	private transient StringBuilder label = null;
+
+
+	public JChartTimeAxis(int timeUnit) {
+		this.timeUnit = timeUnit;
+	}
+
+
+	public double toValue(long time) {
+		// The first time becomes the origin of the axis
+		if (!originSet) {
+			origin = time;
+			if (timeUnit == JChart.TIME_UNIT_NANOSECONDS) {
+				originMillisecond = Math.floorDiv(time, NANOSECONDS_PER_MILLISECOND);
+				originFraction = ((double) Math.floorMod(time, NANOSECONDS_PER_MILLISECOND)) / NANOSECONDS_PER_MILLISECOND;
+			}
+			else {
+				originMillisecond = time;
+				originFraction = 0.0;
+			}
+			originSet = true;
+		}
+
+		double value = (double) (time - origin);
+		if (timeUnit == JChart.TIME_UNIT_NANOSECONDS) {
+			value = value / NANOSECONDS_PER_MILLISECOND;
+		}
+		return value;
+	}
+
+
+	public void clear() {
+		originSet = false;
+	}
+
+
+	public int getTimeUnit() {
+		return timeUnit;
+	}
+
+
+	public boolean hasOrigin() {
+		return originSet;
+	}
+
+
+	public long getOrigin() {
+		// The first time added, in the time unit of the axis
+		return origin;
+	}
+
+
+	public void chooseStep(double minValue, double maxValue, int pixels, FontMetrics fontMetrics, int gap) {
+		// Chooses the smallest step of which the labels fit next to each other in pixels
+		Calendar calendar = getCalendar();
+		calendar.setTimeInMillis(toMillisecond(minValue));
+		int minDay = calendar.get(Calendar.DAY_OF_YEAR);
+		int minYear = calendar.get(Calendar.YEAR);
+		calendar.setTimeInMillis(toMillisecond(maxValue));
+		boolean sameDay = (calendar.get(Calendar.DAY_OF_YEAR) == minDay) && (calendar.get(Calendar.YEAR) == minYear);
+
+		step = 0;
+		format = getStepFormat(step, sameDay);
+		while ((step < (STEPS.length - 1)) && (((maxValue - minValue) / getStepLength(step)) * (fontMetrics.stringWidth(format(maxValue)) + gap) > pixels)) {
+			step++;
+			format = getStepFormat(step, sameDay);
+		}
+	}
+
+
+	public int getStep() {
+		return step;
+	}
+
+
+	public int getFormat() {
+		return format;
+	}
+
+
+	public void setStep(int step, int format) {
+		// Restores a step chosen before with chooseStep
+		this.step = step;
+		this.format = format;
+	}
+
+
+	public List<Double> createAxis(double minValue, double maxValue) {
+		// The ends of the axis with the aligned ticks in between
+		int field = CALENDAR_FIELDS[STEPS[step][0]];
+		int amount = STEPS[step][1];
+
+		List<Double> axis = new ArrayList<Double>();
+		axis.add(minValue);
+		Calendar calendar = getCalendar();
+		calendar.setTimeInMillis(toMillisecond(minValue));
+		align(calendar, field, amount);
+		double value = toValue(calendar);
+		while (value < maxValue) {
+			if (value > minValue) {
+				axis.add(value);
+			}
+			long previousTime = calendar.getTimeInMillis();
+			calendar.add(field, amount);
+			// Steps that do not divide the next unit restart at its beginning, like days 1, 11, 21, 31, 1
+			align(calendar, field, amount);
+			if (calendar.getTimeInMillis() <= previousTime) {
+				calendar.setTimeInMillis(previousTime);
+				calendar.add(field, amount);
+			}
+			value = toValue(calendar);
+		}
+		if (maxValue > minValue) {
+			axis.add(maxValue);
+		}
+		return axis;
+	}
+
+
+	public String format(double value) {
+		return format(value, format);
+	}
+
+
+	public String formatFull(double value) {
+		return format(value, FORMAT_FULL);
+	}
+
+
+	private String format(double value, int format) {
+		Calendar calendar = getCalendar();
+		calendar.setTimeInMillis(toMillisecond(value));
+		if (label == null) {
+			label = new StringBuilder();
+		}
+		label.setLength(0);
+
+		String pattern = PATTERNS[format];
+		int position = 0;
+		while (position < pattern.length()) {
+			char letter = pattern.charAt(position);
+			int length = 1;
+			while (((position + length) < pattern.length()) && (pattern.charAt(position + length) == letter)) {
+				length++;
+			}
+
+			if (letter == 'y') {
+				appendNumber(calendar.get(Calendar.YEAR), length);
+			}
+			else if (letter == 'M') {
+				appendNumber(calendar.get(Calendar.MONTH) + 1, length);
+			}
+			else if (letter == 'd') {
+				appendNumber(calendar.get(Calendar.DAY_OF_MONTH), length);
+			}
+			else if (letter == 'H') {
+				appendNumber(calendar.get(Calendar.HOUR_OF_DAY), length);
+			}
+			else if (letter == 'm') {
+				appendNumber(calendar.get(Calendar.MINUTE), length);
+			}
+			else if (letter == 's') {
+				appendNumber(calendar.get(Calendar.SECOND), length);
+			}
+			else if (letter == 'S') {
+				appendNumber(calendar.get(Calendar.MILLISECOND), length);
+			}
+			else {
+				for (int letterNr = 0; letterNr < length; letterNr++) {
+					label.append(letter);
+				}
+			}
+			position += length;
+		}
+
+		return label.toString();
+	}
+
+
+	private void appendNumber(int number, int digits) {
+		int limit = 10;
+		for (int digit = 1; digit < digits; digit++) {
+			if (number < limit) {
+				label.append('0');
+			}
+			limit *= 10;
+		}
+		label.append(number);
+	}
+
+
+	private int getStepFormat(int step, boolean sameDay) {
+		int field = CALENDAR_FIELDS[STEPS[step][0]];
+		int stepFormat = FORMAT_YEAR;
+		if (field == Calendar.MILLISECOND) {
+			stepFormat = FORMAT_MILLISECOND;
+		}
+		else if (field == Calendar.SECOND) {
+			stepFormat = FORMAT_SECOND;
+		}
+		else if ((field == Calendar.MINUTE) || (field == Calendar.HOUR_OF_DAY)) {
+			stepFormat = sameDay ? FORMAT_MINUTE : FORMAT_DAY_MINUTE;
+		}
+		else if (field == Calendar.DAY_OF_MONTH) {
+			stepFormat = FORMAT_DAY;
+		}
+		else if (field == Calendar.MONTH) {
+			stepFormat = FORMAT_MONTH;
+		}
+		return stepFormat;
+	}
+
+
+	private double getStepLength(int step) {
+		return (double) (CALENDAR_FIELD_LENGTHS[STEPS[step][0]] * STEPS[step][1]);
+	}
+
+
+	private void align(Calendar calendar, int field, int amount) {
+		// Truncates the time to a multiple of amount units of field
+		for (int fieldNr = 0; CALENDAR_FIELDS[fieldNr] != field; fieldNr++) {
+			calendar.set(CALENDAR_FIELDS[fieldNr], calendar.getActualMinimum(CALENDAR_FIELDS[fieldNr]));
+		}
+		int minimum = calendar.getActualMinimum(field);
+		calendar.set(field, minimum + (((calendar.get(field) - minimum) / amount) * amount));
+	}
+
+
+	private long toMillisecond(double value) {
+		return originMillisecond + (long) Math.floor(value + originFraction);
+	}
+
+
+	private double toValue(Calendar calendar) {
+		return ((double) (calendar.getTimeInMillis() - originMillisecond)) - originFraction;
+	}
+
+
+	private Calendar getCalendar() {
+		if (calendar == null) {
+			calendar = Calendar.getInstance();
+		}
+		return calendar;
+	}
+
+}
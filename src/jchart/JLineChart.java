@@ -1,194 +1,330 @@
-/*********************************************************************************
- *                                                                               *
- * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
- *                                                                               *
- * The JChart library is free software.                                          *
- * The JChart library is distributed in the hope that it will be useful, but     *
- * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
- * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
- *                                                                               *
- * This file is part of the JChart library.                                      *
- *                                                                               *
- *********************************************************************************/
-
-package jchart;
-
-import java.awt.BorderLayout;
-import java.awt.Color;
-import java.awt.Font;
-import java.util.List;
-
-
-/**
- * Use this class to create a line plot.
- * @author Mees Mosseveld
- *
- */
-public class JLineChart extends JChart {
-	private static final long serialVersionUID = -7368689193402892710L;
-	
-	/**
-	 * Point style dot.
-	 */
-	public static final int POINT_STYLE_DOT     = 0;
-	
-	/**
-	 * Point style square.
-	 */
-	public static final int POINT_STYLE_SQUARE  = 1;
-	
-	/**
-	 * Point style diamond.
-	 */
-	public static final int POINT_STYLE_DIAMOND = 2;
-	
-	/**
-	 * Point style none.
-	 */
-	public static final int POINT_STYLE_NONE    = 3;
-	
-	/**
-	 * Line style line.
-	 */
-	public static final int LINE_CHART_STYLE_LINE    = 0;
-	
-	/**
-	 * Line style stacked area.
-	 */
-	public static final int LINE_CHART_STYLE_STACKED = 1;
-	
-	
-	
-	/**
-	 * Creates a line chart with the specified name.
-	 * @param name The name of the chart.
-	 * @param lineChartStyle The style of the line chart: JLineChart.LINE_CHART_STYLE_LINE, or LINE_CHART_STYLE_STACKED. JLineChart.LINE_CHART_STYLE_STACKED forces line style to JLineChart.LINE_STYLE_NONE.
-	 */
-	public JLineChart(String name, int lineChartStyle) {
-		super(name);
-		chartPlot = new JLineChartPlot(name, lineChartStyle);
-		add(chartPlot, BorderLayout.CENTER);
-	}
-	
-	
-	/**
-	 * Add a data point to the specified data set.
-	 * @param dataSetName The name of the data set.
-	 * @param x The x value of the data point.
-	 * @param y The y value of the data point.
-	 * @return False if the data set does not exist, otherwise true.
-	 */
-	public boolean chartAddDataPoint(String dataSetName, double x, double y) {
-		return ((JLineChartPlot) chartPlot).addDataPoint(dataSetName, x, y);
-	}
-	
-	
-	/**
-	 * Set the line style of the specified data set.
-	 * @param dataSetName The name of the data set.
-	 * @param pointStyle The line style of the data set: JLineChart.POINT_STYLE_DOT, JLineChart.POINT_STYLE_SQUARE, JLineChart.POINT_STYLE_DIAMOND, or JLineChart.POINT_STYLE_NONE
-	 * @return False if the data set does not exist, otherwise true.
-	 */
-	public boolean chartSetLineStyle(String dataSetName, int pointStyle) {
-		return ((JLineChartPlot) chartPlot).setLineStyle(dataSetName, pointStyle);
-	}
-	
-	
-	/**
-	 * Creates a predefined horizontal axis.
-	 * @param minimum The minimum value on the axis.
-	 * @param maximum The maximum value on the axis.
-	 * @param step The step between the values on the axis.
-	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
-	 */
-	public void chartSetHorizontalAxis(double minimum, double maximum, double step, int precision) {
-		((JLineChartPlot) chartPlot).setHorizontalAxis(createAxis(minimum, maximum, step), precision);
-	}
-	
-	
-	/**
-	 * Creates predefined horizontal axis.
-	 * @param axis A list with the axis values.
-	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
-	 */
-	public void chartSetHorizontalAxis(List<Double> axis, int precision) {
-		((JLineChartPlot) chartPlot).setHorizontalAxis(axis, precision);
-	}
-	
-	
-	/**
-	 * Sets the precision for the horizontal axis.
-	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
-	 */
-	public void chartSetHorizontalAxisPrecision(int precision) {
-		((JLineChartPlot) chartPlot).setHorizontalAxisPrecision(precision);
-	}
-	
-	
-	/**
-	 * Sets the label of the horizontal axis.
-	 * @param label The label.
-	 */
-	public void chartSetHorizontalAxisLabel(String label) {
-		((JLineChartPlot) chartPlot).setHorizontalAxisLabel(label);
-	}
-	
-	
-	/**
-	 * Creates a predefined vertical axis.
-	 * @param minimum The minimum value on the axis.
-	 * @param maximum The maximum value on the axis.
-	 * @param step The step between the values on the axis.
-	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
-	 */
-	public void chartSetVerticalAxis(double minimum, double maximum, double step, int precision) {
-		((JLineChartPlot) chartPlot).setVerticalAxis(createAxis(minimum, maximum, step), precision);
-	}
-	
-	
-	/**
-	 * Creates predefined vertical axis.
-	 * @param axis A list with the axis values.
-	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
-	 */
-	public void chartSetVerticalAxis(List<Double> axis, int precision) {
-		((JLineChartPlot) chartPlot).setVerticalAxis(axis, precision);
-	}
-	
-	
-	/**
-	 * Sets the precision for the vertical axis.
-	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
-	 */
-	public void chartSetVerticalAxisPrecision(int precision) {
-		((JLineChartPlot) chartPlot).setVerticalAxisPrecision(precision);
-	}
-	
-	
-	/**
-	 * Sets the label of the vertical axis.
-	 * @param label The label.
-	 */
-	public void chartSetVerticalAxisLabel(String label) {
-		((JLineChartPlot) chartPlot).setVerticalAxisLabel(label);
-	}
-	
-	
-	/**
-	 * Sets the color of the axes.
-	 * @param color The color.
-	 */
-	public void chartSetAxisColor(Color color) {
-		((JLineChartPlot) chartPlot).setAxisColor(color);
-	}
-	
-	
-	/**
-	 * Set the font of the axes.
-	 * @param font The font.
-	 */
-	public void chartSetAxisFont(Font font) {
-		((JLineChartPlot) chartPlot).setAxisFont(font);
-	}
-
-}
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Font;
+import java.io.File;
+import java.util.List;
+
+
+/**
+ * Use this class to create a line plot.
+ * @author Mees Mosseveld
+ *
+ */
+public class JLineChart extends JChart {
+	private static final long serialVersionUID = -7368689193402892710L;
+	
+	/**
+	 * Point style dot.
+	 */
+	public static final int POINT_STYLE_DOT     = 0;
+	
+	/**
+	 * Point style square.
+	 */
+	public static final int POINT_STYLE_SQUARE  = 1;
+	
+	/**
+	 * Point style diamond.
+	 */
+	public static final int POINT_STYLE_DIAMOND = 2;
+	
+	/**
+	 * Point style none.
+	 */
+	public static final int POINT_STYLE_NONE    = 3;
+	
+	/**
+	 * Line style line.
+	 */
+	public static final int LINE_CHART_STYLE_LINE    = 0;
+	
+	/**
+	 * Line style stacked area.
+	 */
+	public static final int LINE_CHART_STYLE_STACKED = 1;
+	
+	
+	
+	/**
+	 * Creates a line chart with the specified name.
+	 * @param name The name of the chart.
+	 * @param lineChartStyle The style of the line chart: JLineChart.LINE_CHART_STYLE_LINE, or LINE_CHART_STYLE_STACKED. JLineChart.LINE_CHART_STYLE_STACKED forces line style to JLineChart.LINE_STYLE_NONE.
+	 */
+	public JLineChart(String name, int lineChartStyle) {
+		super(name);
+		chartPlot = new JLineChartPlot(name, lineChartStyle);
+		add(chartPlot, BorderLayout.CENTER);
+	}
+	
+	
+	/**
+	 * Add a data point to the specified data set.
+	 * @param dataSetName The name of the data set.
+	 * @param x The x value of the data point.
+	 * @param y The y value of the data point.
+	 * @return False if the data set does not exist, otherwise true.
+	 */
+	public boolean chartAddDataPoint(String dataSetName, double x, double y) {
+		return ((JLineChartPlot) chartPlot).addDataPoint(dataSetName, x, y);
+	}
+	
+	
+	/**
+	 * Add a data point at a point in time to the specified data set of a chart with a time axis.
+	 * @param dataSetName The name of the data set.
+	 * @param time The time of the data point in the unit set with chartSetTimeAxis.
+	 * @param y The y value of the data point.
+	 * @return False if the data set does not exist or the chart has no time axis, otherwise true.
+	 */
+	public boolean chartAddTimePoint(String dataSetName, long time, double y) {
+		return ((JLineChartPlot) chartPlot).addTimePoint(dataSetName, time, y);
+	}
+	
+	
+	/**
+	 * Set the line style of the specified data set.
+	 * @param dataSetName The name of the data set.
+	 * @param pointStyle The line style of the data set: JLineChart.POINT_STYLE_DOT, JLineChart.POINT_STYLE_SQUARE, JLineChart.POINT_STYLE_DIAMOND, or JLineChart.POINT_STYLE_NONE
+	 * @return False if the data set does not exist, otherwise true.
+	 */
+	public boolean chartSetLineStyle(String dataSetName, int pointStyle) {
+		return ((JLineChartPlot) chartPlot).setLineStyle(dataSetName, pointStyle);
+	}
+	
+	
+	/**
+	 * Set the precision in which the points of the specified data set are stored.
+	 * With JChart.DATA_PRECISION_FLOAT the y values and third values are stored as floats, which is precise
+	 * enough for the screen and takes half the memory. The x values keep their precision: they are stored as
+	 * float offsets from a double per block of points as long as that gives back the exact x value, like times
+	 * in milliseconds, and as doubles otherwise. Points added before the last point are kept as doubles until
+	 * the chart is drawn. With compressed storage the y values are rounded to floats before they are compressed.
+	 * @param dataSetName The name of the data set.
+	 * @param precision The precision of the data set: JChart.DATA_PRECISION_DOUBLE, or JChart.DATA_PRECISION_FLOAT.
+	 * @return False if the data set does not exist or the precision is unknown, otherwise true.
+	 */
+	public boolean chartSetDataSetPrecision(String dataSetName, int precision) {
+		return chartPlot.setDataSetPrecision(dataSetName, precision);
+	}
+	
+	
+	/**
+	 * Enable or disable level of detail drawing of long data sets.
+	 * When enabled, each data set keeps the minimum and maximum of blocks of 2, 4, 8, ... points,
+	 * updated incrementally when points are added in order of x. When a data set has more points
+	 * than pixels, each pixel column is drawn from the blocks as a vertical line from the minimum
+	 * to the maximum, so the drawing time depends on the width of the chart instead of the number
+	 * of points. Point styles are not drawn then. This costs about twice the memory of the y values.
+	 * Only applies to JLineChart.LINE_CHART_STYLE_LINE.
+	 * @param enabled True to enable level of detail drawing.
+	 */
+	public void chartSetLevelOfDetail(boolean enabled) {
+		((JLineChartPlot) chartPlot).setLevelOfDetail(enabled);
+	}
+	
+	
+	/**
+	 * Enable or disable compressed storage of the data sets, for long series kept in memory.
+	 * When enabled, the points are stored in compressed blocks of 256 points. Regularly spaced
+	 * whole number x values, like the times of a regularly sampled series, take 1 bit per point,
+	 * and a y value takes 1 bit when it equals the previous value and fewer bytes the closer it is.
+	 * Points added in order of x stay compressed. A point added before the last point is inserted
+	 * in the uncompressed points, which are compressed again when the chart is drawn.
+	 * Combined with level of detail drawing, long series are drawn from the ranges of the blocks
+	 * without decoding them. Data sets opened from a snapshot stay in the file.
+	 * @param enabled True to enable compressed storage.
+	 */
+	public void chartSetCompression(boolean enabled) {
+		((JLineChartPlot) chartPlot).setCompression(enabled);
+	}
+	
+	
+	/**
+	 * Creates a predefined horizontal axis.
+	 * @param minimum The minimum value on the axis.
+	 * @param maximum The maximum value on the axis.
+	 * @param step The step between the values on the axis.
+	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
+	 */
+	public void chartSetHorizontalAxis(double minimum, double maximum, double step, int precision) {
+		((JLineChartPlot) chartPlot).setHorizontalAxis(createAxis(minimum, maximum, step), precision);
+	}
+	
+	
+	/**
+	 * Creates predefined horizontal axis.
+	 * @param axis A list with the axis values.
+	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
+	 */
+	public void chartSetHorizontalAxis(List<Double> axis, int precision) {
+		((JLineChartPlot) chartPlot).setHorizontalAxis(axis, precision);
+	}
+	
+	
+	/**
+	 * Sets the precision for the horizontal axis.
+	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
+	 */
+	public void chartSetHorizontalAxisPrecision(int precision) {
+		((JLineChartPlot) chartPlot).setHorizontalAxisPrecision(precision);
+	}
+	
+	
+	/**
+	 * Sets the label of the horizontal axis.
+	 * @param label The label.
+	 */
+	public void chartSetHorizontalAxisLabel(String label) {
+		((JLineChartPlot) chartPlot).setHorizontalAxisLabel(label);
+	}
+	
+	
+	/**
+	 * Creates a predefined vertical axis.
+	 * @param minimum The minimum value on the axis.
+	 * @param maximum The maximum value on the axis.
+	 * @param step The step between the values on the axis.
+	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
+	 */
+	public void chartSetVerticalAxis(double minimum, double maximum, double step, int precision) {
+		((JLineChartPlot) chartPlot).setVerticalAxis(createAxis(minimum, maximum, step), precision);
+	}
+	
+	
+	/**
+	 * Creates predefined vertical axis.
+	 * @param axis A list with the axis values.
+	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
+	 */
+	public void chartSetVerticalAxis(List<Double> axis, int precision) {
+		((JLineChartPlot) chartPlot).setVerticalAxis(axis, precision);
+	}
+	
+	
+	/**
+	 * Sets the precision for the vertical axis.
+	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
+	 */
+	public void chartSetVerticalAxisPrecision(int precision) {
+		((JLineChartPlot) chartPlot).setVerticalAxisPrecision(precision);
+	}
+	
+	
+	/**
+	 * Sets the label of the vertical axis.
+	 * @param label The label.
+	 */
+	public void chartSetVerticalAxisLabel(String label) {
+		((JLineChartPlot) chartPlot).setVerticalAxisLabel(label);
+	}
+	
+	
+	/**
+	 * Sets the scales of the axes. On a logarithmic axis the ticks are at the powers of the base
+	 * and values less than or equal to zero are not shown. The logarithms of the points are
+	 * computed once after they are added, not each time the chart is drawn.
+	 * Stacked line charts only have linear axes.
+	 * @param horizontalScale The scale of the horizontal axis: JChart.AXIS_SCALE_LINEAR, JChart.AXIS_SCALE_LOG10 or JChart.AXIS_SCALE_LOG2.
+	 * @param verticalScale The scale of the vertical axis: JChart.AXIS_SCALE_LINEAR, JChart.AXIS_SCALE_LOG10 or JChart.AXIS_SCALE_LOG2.
+	 * @return False if a scale is unknown or not possible for the chart style, otherwise true.
+	 */
+	public boolean chartSetAxisScales(int horizontalScale, int verticalScale) {
+		return ((JLineChartPlot) chartPlot).setAxisScales(horizontalScale, verticalScale);
+	}
+	
+	
+	/**
+	 * Sets the color of the axes.
+	 * @param color The color.
+	 */
+	public void chartSetAxisColor(Color color) {
+		((JLineChartPlot) chartPlot).setAxisColor(color);
+	}
+	
+	
+	/**
+	 * Set the font of the axes.
+	 * @param font The font.
+	 */
+	public void chartSetAxisFont(Font font) {
+		((JLineChartPlot) chartPlot).setAxisFont(font);
+	}
+	
+	
+	/**
+	 * Save the data of the chart as a binary snapshot: the data sets with their colors and line styles,
+	 * the time axis and the points. The points are written as columns of doubles, so saving and
+	 * loading take about as long as reading and writing the file.
+	 * @param file The file to write.
+	 * @return False if the file could not be written, otherwise true.
+	 */
+	public boolean chartSaveSnapshot(File file) {
+		return chartPlot.saveSnapshot(file);
+	}
+	
+	
+	/**
+	 * Replace the data of the chart by the data in a snapshot saved by a JLineChart with chartSaveSnapshot.
+	 * The settings of the chart, like its title, style, axes and the precision of its data sets, are not changed.
+	 * @param file The file to read.
+	 * @return False if the file could not be read or is not a snapshot of a JLineChart, otherwise true.
+	 */
+	public boolean chartLoadSnapshot(File file) {
+		return chartPlot.loadSnapshot(file);
+	}
+	
+	
+	/**
+	 * Show the data in a snapshot saved by a JLineChart with chartSaveSnapshot without reading it into memory.
+	 * The columns of points in the file are mapped into memory, so opening even a snapshot larger than
+	 * the heap takes no time. The operating system reads the parts of the file that are drawn and keeps
+	 * them in its cache. Adding a point to a data set reads the points of that data set into memory first.
+	 * The file should not be changed while the chart shows its data, but a snapshot can be saved to it,
+	 * because saving replaces the file with a new one.
+	 * The settings of the chart, like its title, style, axes and the precision of its data sets, are not changed.
+	 * @param file The file to open.
+	 * @return False if the file could not be opened or is not a snapshot of a JLineChart, otherwise true.
+	 */
+	public boolean chartOpenSnapshot(File file) {
+		return chartPlot.openSnapshot(file);
+	}
+	
+	
+	/**
+	 * Add the points in a delimited text file, like a CSV or TSV file, to data sets of the chart.
+	 * Every line after the header lines is a row of fields separated by the delimiter, in columns numbered from 0.
+	 * The x column holds the x value of a row, or in a chart with a time axis its time as a whole number in the unit of the axis.
+	 * Each y column holds the y value of a point of the row in one of the data sets. Rows without a number in the x column
+	 * and fields without a number in a y column are skipped. Spaces and quotes around a number are ignored.
+	 * The file is read in blocks that are parsed without creating objects per row, and added to the data sets in the
+	 * order of the file, so a file of gigabytes can be imported in little more memory than its points take in the chart.
+	 * When the file cannot be read completely, the rows before the error are added.
+	 * @param file The file to read.
+	 * @param delimiter The character between the fields, like ',', ';' or '\t'.
+	 * @param headerLines The number of lines at the start of the file that are not data, like a line with column names.
+	 * @param xColumn The column of the x values.
+	 * @param yColumns The columns of the y values, one per data set.
+	 * @param dataSetNames The data sets of the y columns, which should exist in the chart.
+	 * @param parallel When true, blocks of the file are parsed on all processors at once.
+	 * @return False if the file could not be read or the columns do not match existing data sets, otherwise true.
+	 */
+	public boolean chartImportDelimited(File file, char delimiter, int headerLines, int xColumn, int[] yColumns, String[] dataSetNames, boolean parallel) {
+		return chartPlot.importDelimited(file, delimiter, headerLines, xColumn, yColumns, dataSetNames, parallel);
+	}
+
+}
@@ -1,597 +1,729 @@
-/*********************************************************************************
- *                                                                               *
- * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
- *                                                                               *
- * The JChart library is free software.                                          *
- * The JChart library is distributed in the hope that it will be useful, but     *
- * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
- * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
- *                                                                               *
- * This file is part of the JChart library.                                      *
- *                                                                               *
- *********************************************************************************/
-
-package jchart;
-
-import java.awt.Color;
-import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.FontMetrics;
-import java.awt.Graphics;
-import java.awt.Point;
-import java.awt.Polygon;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import javax.swing.JOptionPane;
-
-class JLineChartPlot extends JChartPlot {
-	private static final long serialVersionUID = -1210440045313417759L;
-	
-	private Map<String, Map<Double, Double>> dataSet = null;
-	
-	private int style = JLineChart.LINE_CHART_STYLE_LINE;
-	
-	private List<Double> horizontalAxis = null;
-	private int horizontalAxisPrecision = STANDARD_PRECISION;
-	private String horizontalAxisLabel = null;
-	
-	private List<Double> verticalAxis = null;
-	private int verticalAxisPrecision = STANDARD_PRECISION;
-	private String verticalAxisLabel = null;
-	
-	private Color axisColor = Color.BLACK;
-	private Font axisFont = new Font("Arial", Font.PLAIN, 10);
-
-
-	public JLineChartPlot(String name, int lineChartStyle) {
-		super(name);
-		style = lineChartStyle;
-	}
-	
-	
-	public boolean addDataPoint(String dataSetName, Double x, Double y) {
-		boolean ok = false;
-
-		if (dataSets.containsKey(dataSetName)) {
-			ok = true;
-			if (dataSet == null) {
-				dataSet = new HashMap<String, Map<Double, Double>>();
-			}
-			Map<Double, Double> valueMap = dataSet.get(dataSetName);
-			if (valueMap == null) {
-				valueMap = new HashMap<Double, Double>();
-				dataSet.put(dataSetName, valueMap);
-			}
-			valueMap.put(x, y);
-		}
-		else {
-			JOptionPane.showMessageDialog(null, "Unknown data set '" + dataSetName + ".", "LineChart '" + name + "' Data Set Error", JOptionPane.ERROR_MESSAGE);
-		}
-		
-		return ok;
-	}
-	
-	
-	public boolean setLineStyle(String dataSetName, int lineStyle) {
-		boolean ok = false;
-
-		if (dataSets.containsKey(dataSetName)) {
-			if ((lineStyle >= 0) && (lineStyle <= JLineChart.POINT_STYLE_NONE)) {
-				if (pointStyles == null) {
-					pointStyles = new HashMap<String, Integer>();
-				}
-				pointStyles.put(dataSetName, lineStyle);
-			}
-			else {
-				JOptionPane.showMessageDialog(null, "Unknown line style.", "LineChart '" + name + "' Line Style Error", JOptionPane.ERROR_MESSAGE);
-			}
-		}
-		else {
-			JOptionPane.showMessageDialog(null, "Unknown data set '" + dataSetName + ".", "LineChart '" + name + "' Data Set Error", JOptionPane.ERROR_MESSAGE);
-		}
-		
-		return ok;
-	}
-	
-	
-	public void setHorizontalAxis(List<Double> axis, int precision) {
-		horizontalAxis = axis;
-		horizontalAxisPrecision = precision;
-	}
-	
-	
-	public void setHorizontalAxisPrecision(int precision) {
-		horizontalAxisPrecision = precision;
-	}
-	
-	
-	public void setHorizontalAxisLabel(String label) {
-		horizontalAxisLabel = label;
-	}
-	
-	
-	public void setVerticalAxis(List<Double> axis, int precision) {
-		verticalAxis = axis;
-		verticalAxisPrecision = precision;
-	}
-	
-	
-	public void setVerticalAxisPrecision(int precision) {
-		verticalAxisPrecision = precision;
-	}
-	
-	
-	public void setVerticalAxisLabel(String label) {
-		verticalAxisLabel = label;
-	}
-	
-	
-	public void setAxisColor(Color color) {
-		axisColor = color;
-	}
-	
-	
-	public void setAxisFont(Font font) {
-		axisFont = font;
-	}
-	
-	
-	@Override
-	void draw(Graphics graphics) {
-		if (style == JLineChart.LINE_CHART_STYLE_LINE) {
-			drawLine(graphics);
-		}
-		else if (style == JLineChart.LINE_CHART_STYLE_STACKED) {
-			drawStacked(graphics);
-		}
-	}
-	
-
-	void drawLine(Graphics graphics) {
-		//Set background color
-		graphics.setColor(chartBackgroundColor);
-		graphics.fillRect(0, 0, getWidth(), getHeight());
-
-		if (dataSet != null) {
-			FontMetrics fontMetrics = graphics.getFontMetrics(axisFont);
-
-			Double minX = null;
-			Double maxX = null;
-			int maxXWidth = 0;
-			
-			Double minY = null;
-			Double maxY = null;
-			int maxYWidth = 0;
-			
-			if (horizontalAxis != null) {
-				for (double x : horizontalAxis) {
-					minX = minX == null ? x : Math.min(minX, x);
-					maxX = maxX == null ? x : Math.max(maxX, x);
-					maxXWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(x, horizontalAxisPrecision)));
-				}
-			}
-			
-			if (verticalAxis != null) {
-				for (double y : verticalAxis) {
-					minY = minY == null ? y : Math.min(minY, y);
-					maxY = maxY == null ? y : Math.max(maxY, y);
-					maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(y, verticalAxisPrecision)));
-				}
-			}
-			
-			if ((horizontalAxis == null) || (verticalAxis == null)) {
-				for (String dataSetName : dataSet.keySet()) {
-					for (double x : dataSet.get(dataSetName).keySet()) {
-						if (horizontalAxis == null) {
-							minX = minX == null ? x : Math.min(minX, x);
-							maxX = maxX == null ? x : Math.max(maxX, x);
-							maxXWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(x, horizontalAxisPrecision)));
-						}
-						
-						if (verticalAxis == null) {
-							double y = dataSet.get(dataSetName).get(x);
-							minY = minY == null ? y : Math.min(minY, y);
-							maxY = maxY == null ? y : Math.max(maxY, y);
-							maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(y, verticalAxisPrecision)));
-						}
-					}
-				}
-			}
-			
-			int leftBottomX = MARGIN;
-			int leftBottomY = getHeight() - MARGIN;
-			int width = getWidth() - (2 * MARGIN);
-			int height = getHeight() - (2 * MARGIN);
-			
-			Dimension changesYAndHeihght = showTitle(graphics, leftBottomX, leftBottomY, width, height);
-			leftBottomY = changesYAndHeihght.width;
-			height = changesYAndHeihght.height;
-			
-			int legendHeight = showLegendBottom(graphics, leftBottomX, leftBottomY, width, false);
-			leftBottomY = leftBottomY - legendHeight;
-			height = height - legendHeight;
-			
-			if (horizontalAxisLabel != null) {
-				if (!((minY < 0.0) && (maxY > 0.0))) {
-					leftBottomY = leftBottomY - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-					height = height - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-				}
-			}
-			
-			width = width - ((maxXWidth + 1) / 2);
-			 
-			if (verticalAxisLabel != null) {
-				height = height - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-			}
-			
-			int verticalAxisX = leftBottomX;
-			if ((minX < 0.0) && (maxX > 0.0)) {
-				leftBottomX = leftBottomX + ((maxXWidth + 1) / 2);
-				width = width - ((maxXWidth + 1) / 2);
-				verticalAxisX = valueToPosition(0.0, leftBottomX, leftBottomX + width, minX, maxX);
-				if ((verticalAxisX - (maxYWidth + AXIS_VALUE_GAP)) < leftBottomX) {
-					leftBottomX = leftBottomX - verticalAxisX + maxYWidth + AXIS_VALUE_GAP;
-					width = width - ((maxYWidth + AXIS_VALUE_GAP) - verticalAxisX);
-					verticalAxisX = valueToPosition(0.0, leftBottomX, leftBottomX + width, minX, maxX);
-				}
-			}
-			else {
-				int xShift = Math.max(maxYWidth + AXIS_VALUE_GAP, (maxXWidth + 1) / 2);
-				leftBottomX = leftBottomX + xShift;
-				width = width - xShift;
-				verticalAxisX = leftBottomX;
-			}
-			
-			int horizontalAxisY = leftBottomY;
-			if ((minY < 0.0) && (maxY > 0.0)) {
-				leftBottomY = leftBottomY - ((fontMetrics.getHeight() + 1) / 2);
-				height = height - ((fontMetrics.getHeight() + 1) / 2);
-				horizontalAxisY = valueToPosition(0.0, leftBottomY, leftBottomY - height, minY, maxY);
-			}
-			else {
-				leftBottomY = leftBottomY - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-				height = height - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-				horizontalAxisY = leftBottomY;
-			}
-			
-			List<Double> hAxis = horizontalAxis(horizontalAxis, minX, maxX, leftBottomX, leftBottomX + width, fontMetrics, horizontalAxisPrecision);
-			List<Double> vAxis = verticalAxis(verticalAxis, minY, maxY, leftBottomY, leftBottomY - height, fontMetrics, verticalAxisPrecision);
-			
-			if (JChartPlot.DEBUG) {
-				System.out.println();
-				System.out.println(name);
-				System.out.println("PanelWidth       = " + Integer.toString(getWidth()));
-				System.out.println("PanelHeight      = " + Integer.toString(getHeight()));
-				System.out.println("MARGIN           = " + Integer.toString(MARGIN));
-				System.out.println("AXIS_VALUE_GAP   = " + Integer.toString(AXIS_VALUE_GAP));
-				System.out.println("FontHeight       = " + Integer.toString(graphics.getFontMetrics(axisFont).getHeight()));
-				System.out.println("maxXWidth        = " + Integer.toString(maxXWidth));
-				System.out.println("maxYWidth        = " + Integer.toString(maxYWidth));
-				System.out.println("leftBottomyTitle = " + Integer.toString((int) changesYAndHeihght.getWidth()));
-				System.out.println("heightTitle      = " + Integer.toString((int) changesYAndHeihght.getHeight()));
-				System.out.println("legendHeight     = " + Integer.toString(legendHeight));
-				System.out.println("leftBottomX      = " + Integer.toString(leftBottomX));
-				System.out.println("leftBottomY      = " + Integer.toString(leftBottomY));
-				System.out.println("width            = " + Integer.toString(width));
-				System.out.println("height           = " + Integer.toString(height));
-				System.out.println("verticalAxisX    = " + Integer.toString(verticalAxisX));
-				System.out.println("horizontalAxisY  = " + Integer.toString(horizontalAxisY));
-				System.out.println();
-			}
-			
-			// Draw data 
-			for (String dataSetName : dataSets.keySet()) {
-				boolean firstPoint = true;
-				Integer lastXPos = null;
-				Integer lastYPos = null;
-				graphics.setColor(dataSets.get(dataSetName));
-				List<Double> xValues = new ArrayList<Double>();
-				xValues.addAll(dataSet.get(dataSetName).keySet());
-				Collections.sort(xValues);
-				for (Double x : xValues) {
-					Integer xPos = valueToPosition(x, leftBottomX, leftBottomX + width, hAxis.get(0), hAxis.get(hAxis.size() - 1));
-					Integer yPos = null;
-					Double yValue = dataSet.get(dataSetName).get(x);
-					if (yValue != null) {
-						yPos = valueToPosition(yValue, leftBottomY, leftBottomY - height, vAxis.get(0), vAxis.get(vAxis.size() - 1));
-						if (lastYPos != null) {
-							graphics.drawLine(lastXPos, lastYPos, xPos, yPos);
-						}
-						else {
-							if (!firstPoint) {
-								graphics.drawLine(xPos - 1, yPos, xPos + 1, yPos);
-								graphics.drawLine(xPos, yPos - 1, xPos, yPos + 1);
-							}
-						}
-						drawPoint(graphics, xPos, yPos, getLineStyle(dataSetName));
-					}
-					lastXPos = xPos;
-					lastYPos = yPos;
-					firstPoint = false;
-				}
-			}
-			
-			// Set axis color
-			graphics.setColor(axisColor);
-			
-			//Set axis font
-			graphics.setFont(axisFont);
-			
-			// Draw horizontal axis
-			graphics.drawLine(leftBottomX, horizontalAxisY, leftBottomX + width, horizontalAxisY);
-			for (double x : hAxis) {
-				String xString = formatValue(x, horizontalAxisPrecision);
-				Integer xPos = valueToPosition(x, leftBottomX, leftBottomX + width, hAxis.get(0), hAxis.get(hAxis.size() - 1));
-				int halfXStringWidth = (fontMetrics.stringWidth(xString) / 2);
-				if ((horizontalAxisY == leftBottomY) || (xPos < (verticalAxisX - halfXStringWidth - 2)) || (xPos > (verticalAxisX + halfXStringWidth + 2))) {
-					graphics.drawLine(xPos, horizontalAxisY + 2, xPos, horizontalAxisY);
-					graphics.drawString(xString, xPos - halfXStringWidth, horizontalAxisY + AXIS_VALUE_GAP + fontMetrics.getHeight());
-				}
-			}
-			if (horizontalAxisLabel != null) {
-				graphics.drawString(horizontalAxisLabel, leftBottomX + width + ((maxXWidth + 1) / 2) - fontMetrics.stringWidth(horizontalAxisLabel), horizontalAxisY + (2 * fontMetrics.getHeight() + AXIS_VALUE_GAP));
-			}
-			
-			// Draw vertical axis
-			graphics.drawLine(verticalAxisX, leftBottomY, verticalAxisX, leftBottomY - height);
-			for (double y : vAxis) {
-				String yString = formatValue(y, verticalAxisPrecision);
-				int yPos = valueToPosition(y, leftBottomY, leftBottomY - height, vAxis.get(0), vAxis.get(vAxis.size() - 1));
-				if ((verticalAxisX == leftBottomX) || (yPos > (horizontalAxisY + fontMetrics.getHeight() + 2)) || (yPos < (horizontalAxisY - fontMetrics.getHeight() - 2))) {
-					graphics.drawLine(verticalAxisX - 2, yPos, verticalAxisX, yPos);
-					graphics.drawString(yString, verticalAxisX - AXIS_VALUE_GAP - fontMetrics.stringWidth(yString), yPos + (fontMetrics.getHeight() / 2));
-				}
-			}
-			if (verticalAxisLabel != null) {
-				graphics.drawString(verticalAxisLabel, Math.max(MARGIN, verticalAxisX - (fontMetrics.stringWidth(verticalAxisLabel) / 2)), leftBottomY - height - AXIS_VALUE_GAP);
-			}
-		}
-	}
-	
-	
-	void drawStacked(Graphics graphics) {
-		//Set background color
-		graphics.setColor(chartBackgroundColor);
-		graphics.fillRect(0, 0, getWidth(), getHeight());
-
-		if (dataSet != null) {
-			FontMetrics fontMetrics = graphics.getFontMetrics(axisFont);
-
-			Double minX = null;
-			Double maxX = null;
-			int maxXWidth = 0;
-			
-			Double minY = null;
-			Double maxY = null;
-			int maxYWidth = 0;
-			
-			if (horizontalAxis != null) {
-				for (double x : horizontalAxis) {
-					minX = minX == null ? x : Math.min(minX, x);
-					maxX = maxX == null ? x : Math.max(maxX, x);
-					maxXWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(x, horizontalAxisPrecision)));
-				}
-			}
-			
-			if (verticalAxis != null) {
-				for (double y : verticalAxis) {
-					minY = minY == null ? y : Math.min(minY, y);
-					maxY = maxY == null ? y : Math.max(maxY, y);
-					maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(y, verticalAxisPrecision)));
-				}
-			}
-
-			List<String> orderedDataSets = new ArrayList<String>();
-			orderedDataSets.addAll(dataSetList);
-			if (orderDataSets) {
-				Collections.sort(orderedDataSets);
-			}
-			
-			if ((horizontalAxis == null) || (verticalAxis == null)) {
-				
-				List<Double> xValues = new ArrayList<Double>();
-				for (String dataSetName : orderedDataSets) {
-					for (double x : dataSet.get(dataSetName).keySet()) {
-						if (!xValues.contains(x)) {
-							xValues.add(x);
-							if (horizontalAxis == null) {
-								minX = minX == null ? x : Math.min(minX, x);
-								maxX = maxX == null ? x : Math.max(maxX, x);
-								maxXWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(x, horizontalAxisPrecision)));
-							}
-						}
-					}
-				}
-				Collections.sort(xValues);
-
-				for (double x : xValues) {
-					double y = 0.0;
-					for (int dataSetNr = 0; dataSetNr < orderedDataSets.size(); dataSetNr++) {
-						String dataSetName = orderedDataSets.get(dataSetNr);
-						double dataSetY = dataSet.get(dataSetName).get(x);
-						if (dataSetNr == 0) {
-							if (verticalAxis == null) {
-								minY = minY == null ? y : Math.min(minY, y);
-							}
-						}
-						y += dataSetY;
-						if (verticalAxis == null) {
-							maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(y, verticalAxisPrecision)));
-						}
-					}
-					if (verticalAxis == null) {
-						maxY = maxY == null ? y : Math.max(maxY, y);
-					}
-				}
-			}
-			
-			int leftBottomX = MARGIN;
-			int leftBottomY = getHeight() - MARGIN;
-			int width = getWidth() - (2 * MARGIN);
-			int height = getHeight() - (2 * MARGIN);
-			
-			Dimension changesYAndHeihght = showTitle(graphics, leftBottomX, leftBottomY, width, height);
-			leftBottomY = changesYAndHeihght.width;
-			height = changesYAndHeihght.height;
-			
-			int legendHeight = showLegendBottom(graphics, leftBottomX, leftBottomY, width, true);
-			leftBottomY = leftBottomY - legendHeight;
-			height = height - legendHeight;
-			
-			if (horizontalAxisLabel != null) {
-				if (!((minY < 0.0) && (maxY > 0.0))) {
-					leftBottomY = leftBottomY - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-					height = height - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-				}
-			}
-			
-			width = width - ((maxXWidth + 1) / 2);
-			 
-			if (verticalAxisLabel != null) {
-				height = height - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-			}
-			
-			int verticalAxisX = leftBottomX;
-			if ((minX < 0.0) && (maxX > 0.0)) {
-				leftBottomX = leftBottomX + ((maxXWidth + 1) / 2);
-				width = width - ((maxXWidth + 1) / 2);
-				verticalAxisX = valueToPosition(0.0, leftBottomX, leftBottomX + width, minX, maxX);
-				if ((verticalAxisX - (maxYWidth + AXIS_VALUE_GAP)) < leftBottomX) {
-					leftBottomX = leftBottomX - verticalAxisX + maxYWidth + AXIS_VALUE_GAP;
-					width = width - ((maxYWidth + AXIS_VALUE_GAP) - verticalAxisX);
-					verticalAxisX = valueToPosition(0.0, leftBottomX, leftBottomX + width, minX, maxX);
-				}
-			}
-			else {
-				int xShift = Math.max(maxYWidth + AXIS_VALUE_GAP, (maxXWidth + 1) / 2);
-				leftBottomX = leftBottomX + xShift;
-				width = width - xShift;
-				verticalAxisX = leftBottomX;
-			}
-			
-			int horizontalAxisY = leftBottomY;
-			if ((minY < 0.0) && (maxY > 0.0)) {
-				leftBottomY = leftBottomY - ((fontMetrics.getHeight() + 1) / 2);
-				height = height - ((fontMetrics.getHeight() + 1) / 2);
-				horizontalAxisY = valueToPosition(0.0, leftBottomY, leftBottomY - height, minY, maxY);
-			}
-			else {
-				leftBottomY = leftBottomY - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-				height = height - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-				horizontalAxisY = leftBottomY;
-			}
-			
-			List<Double> hAxis = horizontalAxis(horizontalAxis, minX, maxX, leftBottomX, leftBottomX + width, fontMetrics, horizontalAxisPrecision);
-			List<Double> vAxis = verticalAxis(verticalAxis, minY, maxY, leftBottomY, leftBottomY - height, fontMetrics, verticalAxisPrecision);
-			
-			if (JChartPlot.DEBUG) {
-				System.out.println();
-				System.out.println(name);
-				System.out.println("PanelWidth       = " + Integer.toString(getWidth()));
-				System.out.println("PanelHeight      = " + Integer.toString(getHeight()));
-				System.out.println("MARGIN           = " + Integer.toString(MARGIN));
-				System.out.println("AXIS_VALUE_GAP   = " + Integer.toString(AXIS_VALUE_GAP));
-				System.out.println("FontHeight       = " + Integer.toString(graphics.getFontMetrics(axisFont).getHeight()));
-				System.out.println("maxXWidth        = " + Integer.toString(maxXWidth));
-				System.out.println("maxYWidth        = " + Integer.toString(maxYWidth));
-				System.out.println("leftBottomyTitle = " + Integer.toString((int) changesYAndHeihght.getWidth()));
-				System.out.println("heightTitle      = " + Integer.toString((int) changesYAndHeihght.getHeight()));
-				System.out.println("legendHeight     = " + Integer.toString(legendHeight));
-				System.out.println("leftBottomX      = " + Integer.toString(leftBottomX));
-				System.out.println("leftBottomY      = " + Integer.toString(leftBottomY));
-				System.out.println("width            = " + Integer.toString(width));
-				System.out.println("height           = " + Integer.toString(height));
-				System.out.println("verticalAxisX    = " + Integer.toString(verticalAxisX));
-				System.out.println("horizontalAxisY  = " + Integer.toString(horizontalAxisY));
-				System.out.println();
-			}
-			
-			// Draw data 
-			Map<Double, Double> yValues = new HashMap<Double, Double>(); 
-			List<Point> currentLine = new ArrayList<Point>(); 
-			List<Point> previousLine = new ArrayList<Point>();
-			previousLine.add(new Point(leftBottomX + width, horizontalAxisY));
-			previousLine.add(new Point(leftBottomX, horizontalAxisY));
-			
-			for (String dataSetName : orderedDataSets) {
-				graphics.setColor(dataSets.get(dataSetName));
-				List<Double> xValues = new ArrayList<Double>();
-				xValues.addAll(dataSet.get(dataSetName).keySet());
-				Collections.sort(xValues);
-				for (Double x : xValues) {
-					Integer xPos = valueToPosition(x, leftBottomX, leftBottomX + width, hAxis.get(0), hAxis.get(hAxis.size() - 1));
-					Integer yPos = null;
-					Double y = dataSet.get(dataSetName).get(x);
-					yValues.put(x, yValues.containsKey(x) ? yValues.get(x) + y : y);
-					Double yValue = yValues.get(x);
-					if (yValue != null) {
-						yPos = valueToPosition(yValue, leftBottomY, leftBottomY - height, vAxis.get(0), vAxis.get(vAxis.size() - 1));
-						currentLine.add(new Point(xPos, yPos));
-					}
-				}
-				Polygon polygon = new Polygon();
-				for (Point p : previousLine) {
-					polygon.addPoint(p.x, p.y);
-				}
-				previousLine.clear();
-				for (Point p : currentLine) {
-					polygon.addPoint(p.x, p.y);
-					previousLine.add(0, p);
-				}
-				currentLine.clear();
-				graphics.fillPolygon(polygon);
-			}
-			
-			// Set axis color
-			graphics.setColor(axisColor);
-			
-			//Set axis font
-			graphics.setFont(axisFont);
-			
-			// Draw horizontal axis
-			graphics.drawLine(leftBottomX, horizontalAxisY, leftBottomX + width, horizontalAxisY);
-			for (double x : hAxis) {
-				String xString = formatValue(x, horizontalAxisPrecision);
-				Integer xPos = valueToPosition(x, leftBottomX, leftBottomX + width, hAxis.get(0), hAxis.get(hAxis.size() - 1));
-				int halfXStringWidth = (fontMetrics.stringWidth(xString) / 2);
-				if ((horizontalAxisY == leftBottomY) || (xPos < (verticalAxisX - halfXStringWidth - 2)) || (xPos > (verticalAxisX + halfXStringWidth + 2))) {
-					graphics.drawLine(xPos, horizontalAxisY + 2, xPos, horizontalAxisY);
-					graphics.drawString(xString, xPos - halfXStringWidth, horizontalAxisY + AXIS_VALUE_GAP + fontMetrics.getHeight());
-				}
-			}
-			if (horizontalAxisLabel != null) {
-				graphics.drawString(horizontalAxisLabel, leftBottomX + width + ((maxXWidth + 1) / 2) - fontMetrics.stringWidth(horizontalAxisLabel), horizontalAxisY + (2 * fontMetrics.getHeight() + AXIS_VALUE_GAP));
-			}
-			
-			// Draw vertical axis
-			graphics.drawLine(verticalAxisX, leftBottomY, verticalAxisX, leftBottomY - height);
-			for (double y : vAxis) {
-				String yString = formatValue(y, verticalAxisPrecision);
-				int yPos = valueToPosition(y, leftBottomY, leftBottomY - height, vAxis.get(0), vAxis.get(vAxis.size() - 1));
-				if ((verticalAxisX == leftBottomX) || (yPos > (horizontalAxisY + fontMetrics.getHeight() + 2)) || (yPos < (horizontalAxisY - fontMetrics.getHeight() - 2))) {
-					graphics.drawLine(verticalAxisX - 2, yPos, verticalAxisX, yPos);
-					graphics.drawString(yString, verticalAxisX - AXIS_VALUE_GAP - fontMetrics.stringWidth(yString), yPos + (fontMetrics.getHeight() / 2));
-				}
-			}
-			if (verticalAxisLabel != null) {
-				graphics.drawString(verticalAxisLabel, Math.max(MARGIN, verticalAxisX - (fontMetrics.stringWidth(verticalAxisLabel) / 2)), leftBottomY - height - AXIS_VALUE_GAP);
-			}
-		}
-	}
-
-
-	@Override
-	public void clear() {
-		super.clear();
-		dataSet = null;
-		pointStyles = null;
-		horizontalAxis = null;
-		horizontalAxisLabel = null;
-		verticalAxis = null;
-		verticalAxisLabel = null;
-	}
-
-}
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.JOptionPane;
+
+class JLineChartPlot extends JChartPlot {
+	private static final long serialVersionUID = -1210440045313417759L;
+	
+	private Map<String, JChartSeries> dataSet = null;
+	
+	private int style = JLineChart.LINE_CHART_STYLE_LINE;
+	private boolean levelOfDetail = false;
+	private boolean compression = false;
+	
+	private List<Double> horizontalAxis = null;
+	private int horizontalAxisPrecision = STANDARD_PRECISION;
+	private String horizontalAxisLabel = null;
+	
+	private List<Double> verticalAxis = null;
+	private int verticalAxisPrecision = STANDARD_PRECISION;
+	private String verticalAxisLabel = null;
+	
+
+
+	public JLineChartPlot(String name, int lineChartStyle) {
+		super(name);
+		style = lineChartStyle;
+	}
+	
+	
+	public boolean addDataPoint(String dataSetName, double x, double y) {
+		boolean ok = false;
+
+		if (dataSets.containsKey(dataSetName)) {
+			ok = true;
+			JChartSeries series = dataSet == null ? null : dataSet.get(dataSetName);
+			if (series == null) {
+				series = new JChartSeries();
+				putSeries(dataSetName, series);
+			}
+			series.add(x, y);
+			pointsAdded();
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "Unknown data set '" + dataSetName + ".", "LineChart '" + name + "' Data Set Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public boolean addTimePoint(String dataSetName, long time, double y) {
+		Double x = timeToValue(time);
+		return (x != null) && addDataPoint(dataSetName, x, y);
+	}
+	
+	
+	public boolean setLineStyle(String dataSetName, int lineStyle) {
+		boolean ok = false;
+
+		if (dataSets.containsKey(dataSetName)) {
+			if ((lineStyle >= 0) && (lineStyle <= JLineChart.POINT_STYLE_NONE)) {
+				if (pointStyles == null) {
+					pointStyles = new HashMap<String, Integer>();
+				}
+				pointStyles.put(dataSetName, lineStyle);
+				plotChanged();
+			}
+			else {
+				JOptionPane.showMessageDialog(null, "Unknown line style.", "LineChart '" + name + "' Line Style Error", JOptionPane.ERROR_MESSAGE);
+			}
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "Unknown data set '" + dataSetName + ".", "LineChart '" + name + "' Data Set Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public void setHorizontalAxis(List<Double> axis, int precision) {
+		horizontalAxis = axis;
+		horizontalAxisPrecision = precision;
+		plotChanged();
+	}
+	
+	
+	public void setHorizontalAxisPrecision(int precision) {
+		horizontalAxisPrecision = precision;
+		plotChanged();
+	}
+	
+	
+	public void setHorizontalAxisLabel(String label) {
+		horizontalAxisLabel = label;
+		plotChanged();
+	}
+	
+	
+	public void setVerticalAxis(List<Double> axis, int precision) {
+		verticalAxis = axis;
+		verticalAxisPrecision = precision;
+		plotChanged();
+	}
+	
+	
+	public void setVerticalAxisPrecision(int precision) {
+		verticalAxisPrecision = precision;
+		plotChanged();
+	}
+	
+	
+	public void setVerticalAxisLabel(String label) {
+		verticalAxisLabel = label;
+		plotChanged();
+	}
+	
+	
+	public void setAxisColor(Color color) {
+		chartStyle = chartStyle.withAxisColor(color);
+		plotChanged();
+	}
+	
+	
+	public void setAxisFont(Font font) {
+		chartStyle = chartStyle.withAxisFont(font);
+		plotChanged();
+	}
+	
+	
+	public boolean setAxisScales(int xScale, int yScale) {
+		boolean ok = false;
+		
+		if (isValidScale(xScale) && isValidScale(yScale)) {
+			if ((style == JLineChart.LINE_CHART_STYLE_STACKED) && ((xScale != JChart.AXIS_SCALE_LINEAR) || (yScale != JChart.AXIS_SCALE_LINEAR))) {
+				JOptionPane.showMessageDialog(null, "Stacked line charts have linear axes.", "LineChart '" + name + "' Axis Scale Error", JOptionPane.ERROR_MESSAGE);
+			}
+			else {
+				horizontalScale = xScale;
+				verticalScale = yScale;
+				if (dataSet != null) {
+					for (JChartSeries series : dataSet.values()) {
+						series.setScales(xScale, yScale);
+					}
+				}
+				viewport = null;
+				plotChanged();
+				ok = true;
+			}
+		}
+		
+		return ok;
+	}
+	
+	
+	public void setLevelOfDetail(boolean enabled) {
+		levelOfDetail = enabled;
+		if (dataSet != null) {
+			for (JChartSeries series : dataSet.values()) {
+				series.setPyramidEnabled(enabled);
+			}
+		}
+		plotChanged();
+	}
+	
+	
+	public void setCompression(boolean enabled) {
+		compression = enabled;
+		if (dataSet != null) {
+			for (JChartSeries series : dataSet.values()) {
+				series.setCompressed(enabled);
+			}
+		}
+		plotChanged();
+	}
+	
+	
+	@Override
+	void draw(Graphics graphics) {
+		if (style == JLineChart.LINE_CHART_STYLE_LINE) {
+			drawLine(graphics);
+		}
+		else if (style == JLineChart.LINE_CHART_STYLE_STACKED) {
+			drawStacked(graphics);
+		}
+	}
+	
+
+	void drawLine(Graphics graphics) {
+		//Set background color
+		graphics.setColor(chartStyle.getBackgroundColor());
+		graphics.fillRect(0, 0, getWidth(), getHeight());
+
+		if (dataSet != null) {
+			FontMetrics fontMetrics = graphics.getFontMetrics(chartStyle.getAxisFont());
+			List<Double> xAxis = JChartScale.toScale(horizontalAxis, horizontalScale);
+			List<Double> yAxis = JChartScale.toScale(verticalAxis, verticalScale);
+
+			Double minX = null;
+			Double maxX = null;
+			int maxXWidth = 0;
+			
+			Double minY = null;
+			Double maxY = null;
+			int maxYWidth = 0;
+			
+			if (xAxis != null) {
+				for (double x : xAxis) {
+					minX = minX == null ? x : Math.min(minX, x);
+					maxX = maxX == null ? x : Math.max(maxX, x);
+					maxXWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatX(x, horizontalAxisPrecision)));
+				}
+			}
+			
+			if (yAxis != null) {
+				for (double y : yAxis) {
+					minY = minY == null ? y : Math.min(minY, y);
+					maxY = maxY == null ? y : Math.max(maxY, y);
+					maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatY(y, verticalAxisPrecision)));
+				}
+			}
+			
+			if ((xAxis == null) || (yAxis == null)) {
+				for (JChartSeries series : dataSet.values()) {
+					if (series.size() > 0) {
+						if ((xAxis == null) && (!Double.isNaN(series.getMinimumPlotX()))) {
+							minX = minX == null ? series.getMinimumPlotX() : Math.min(minX, series.getMinimumPlotX());
+							maxX = maxX == null ? series.getMaximumPlotX() : Math.max(maxX, series.getMaximumPlotX());
+						}
+						
+						if ((yAxis == null) && (!Double.isNaN(series.getMinimumPlotY()))) {
+							minY = minY == null ? series.getMinimumPlotY() : Math.min(minY, series.getMinimumPlotY());
+							maxY = maxY == null ? series.getMaximumPlotY() : Math.max(maxY, series.getMaximumPlotY());
+						}
+					}
+				}
+				
+				// The widest values are at the ends of the range, so only those are measured
+				if ((xAxis == null) && (minX != null)) {
+					maxXWidth = Math.max(fontMetrics.stringWidth(formatX(minX, horizontalAxisPrecision)), fontMetrics.stringWidth(formatX(maxX, horizontalAxisPrecision)));
+				}
+				if ((yAxis == null) && (minY != null)) {
+					maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatY(minY, verticalAxisPrecision)));
+					maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatY(maxY, verticalAxisPrecision)));
+				}
+			}
+			
+			int xPrecision = horizontalAxisPrecision;
+			int yPrecision = verticalAxisPrecision;
+			if (viewport != null) {
+				// Zoomed or panned, so the viewport determines the axes
+				minX = viewport[0];
+				maxX = viewport[1];
+				minY = viewport[2];
+				maxY = viewport[3];
+				xPrecision = getZoomPrecision(horizontalAxisPrecision, minX, maxX);
+				yPrecision = getZoomPrecision(verticalAxisPrecision, minY, maxY);
+				maxXWidth = Math.max(fontMetrics.stringWidth(formatX(minX, xPrecision)), fontMetrics.stringWidth(formatX(maxX, xPrecision)));
+				maxYWidth = Math.max(fontMetrics.stringWidth(formatY(minY, yPrecision)), fontMetrics.stringWidth(formatY(maxY, yPrecision)));
+			}
+			if ((timeAxis != null) && (minX != null)) {
+				maxXWidth = measureTimeAxis(minX, maxX, fontMetrics);
+			}
+			
+			JChartAxisLayout layout = getAxisLayout();
+			layout.begin(JChartAxisLayout.STYLE_VALUES, showTitleAndLegend(graphics, true, false));
+			layout.setLabels((horizontalAxisLabel != null), (verticalAxisLabel != null));
+			layout.setValueWidths(maxXWidth, maxYWidth);
+			layout.setHorizontalValues(viewport == null ? xAxis : null, minX, maxX, xPrecision, (timeAxis == null) && (horizontalScale == JChart.AXIS_SCALE_LINEAR));
+			layout.setVerticalValues(viewport == null ? yAxis : null, minY, maxY, yPrecision, verticalScale == JChart.AXIS_SCALE_LINEAR);
+			layout.update(fontMetrics);
+			
+			int leftBottomX = layout.getLeftBottomX();
+			int leftBottomY = layout.getLeftBottomY();
+			int width = layout.getWidth();
+			int height = layout.getHeight();
+			int verticalAxisX = layout.getVerticalAxisX();
+			int horizontalAxisY = layout.getHorizontalAxisY();
+			List<Double> hAxis = layout.getHorizontalAxis();
+			List<Double> vAxis = layout.getVerticalAxis();
+			
+			// Draw data 
+			Graphics dataGraphics = beginDataLayer(graphics);
+			if (viewport != null) {
+				clipDataLayer(dataGraphics, leftBottomX, leftBottomY - height, width + 1, height + 1);
+			}
+			List<JChartProgressiveRenderer.Series> lineSeries = new ArrayList<JChartProgressiveRenderer.Series>();
+			for (String dataSetName : dataSets.keySet()) {
+				Color color = dataSets.get(dataSetName);
+				int pointStyle = getLineStyle(dataSetName);
+				dataGraphics.setColor(color);
+				JChartSeries series = dataSet.get(dataSetName);
+				int firstPointNr = 0;
+				int lastPointNr = series == null ? 0 : series.size();
+				if ((viewport != null) && (lastPointNr > 0)) {
+					// Only the points in the viewport and their neighbours for the lines to the edges
+					firstPointNr = Math.max(0, series.lowerBoundPlot(hAxis.get(0)) - 1);
+					lastPointNr = Math.min(lastPointNr, series.upperBoundPlot(hAxis.get(hAxis.size() - 1)) + 1);
+				}
+				JChartSeriesPyramid pyramid = series == null ? null : series.getPyramid();
+				int level = pyramid == null ? -1 : pyramid.getLevel(lastPointNr - firstPointNr, width);
+				if (level >= 0) {
+					drawBlocks(dataGraphics, series, pyramid, level, firstPointNr, lastPointNr, layout);
+				}
+				else if (series != null) {
+					lineSeries.add(new JChartProgressiveRenderer.Series(color, pointStyle, series, firstPointNr, lastPointNr));
+				}
+			}
+			Rectangle clip = viewport == null ? null : new Rectangle(leftBottomX, leftBottomY - height, width + 1, height + 1);
+			if (!drawProgressive(graphics, layout, lineSeries, clip, true)) {
+				for (JChartProgressiveRenderer.Series series : lineSeries) {
+					dataGraphics.setColor(series.color);
+					// The points are mapped and drawn in chunks, which overlap by one point for the line between them
+					int chunkStart = series.from;
+					while (chunkStart < series.to) {
+						int chunkEnd = Math.min(series.to, chunkStart + JChartAxisLayout.POSITION_CHUNK);
+						layout.toXY(series.series, chunkStart, chunkEnd);
+						int[] xPositions = layout.getXPositions();
+						int[] yPositions = layout.getYPositions();
+						drawLines(dataGraphics, xPositions, yPositions, chunkEnd - chunkStart, series.pointStyle, series.color, true);
+						chunkStart = chunkEnd < series.to ? chunkEnd - 1 : chunkEnd;
+					}
+				}
+			}
+			endDataLayer(graphics, dataGraphics);
+			setSeriesLayout(dataSet, leftBottomX, leftBottomY, width, height, hAxis.get(0), hAxis.get(hAxis.size() - 1), vAxis.get(0), vAxis.get(vAxis.size() - 1), xPrecision, yPrecision);
+			
+			// Set axis color
+			graphics.setColor(chartStyle.getAxisColor());
+			
+			//Set axis font
+			graphics.setFont(chartStyle.getAxisFont());
+			
+			// Draw horizontal axis
+			graphics.drawLine(leftBottomX, horizontalAxisY, leftBottomX + width, horizontalAxisY);
+			for (double x : hAxis) {
+				String xString = formatX(x, xPrecision);
+				Integer xPos = layout.toX(x);
+				int halfXStringWidth = (fontMetrics.stringWidth(xString) / 2);
+				if ((horizontalAxisY == leftBottomY) || (xPos < (verticalAxisX - halfXStringWidth - 2)) || (xPos > (verticalAxisX + halfXStringWidth + 2))) {
+					graphics.drawLine(xPos, horizontalAxisY + 2, xPos, horizontalAxisY);
+					graphics.drawString(xString, xPos - halfXStringWidth, horizontalAxisY + AXIS_VALUE_GAP + fontMetrics.getHeight());
+				}
+			}
+			if (horizontalAxisLabel != null) {
+				graphics.drawString(horizontalAxisLabel, leftBottomX + width + ((maxXWidth + 1) / 2) - fontMetrics.stringWidth(horizontalAxisLabel), horizontalAxisY + (2 * fontMetrics.getHeight() + AXIS_VALUE_GAP));
+			}
+			
+			// Draw vertical axis
+			graphics.drawLine(verticalAxisX, leftBottomY, verticalAxisX, leftBottomY - height);
+			for (double y : vAxis) {
+				String yString = formatY(y, yPrecision);
+				int yPos = layout.toY(y);
+				if ((verticalAxisX == leftBottomX) || (yPos > (horizontalAxisY + fontMetrics.getHeight() + 2)) || (yPos < (horizontalAxisY - fontMetrics.getHeight() - 2))) {
+					graphics.drawLine(verticalAxisX - 2, yPos, verticalAxisX, yPos);
+					graphics.drawString(yString, verticalAxisX - AXIS_VALUE_GAP - fontMetrics.stringWidth(yString), yPos + (fontMetrics.getHeight() / 2));
+				}
+			}
+			if (verticalAxisLabel != null) {
+				graphics.drawString(verticalAxisLabel, Math.max(MARGIN, verticalAxisX - (fontMetrics.stringWidth(verticalAxisLabel) / 2)), leftBottomY - height - AXIS_VALUE_GAP);
+			}
+		}
+	}
+	
+	
+	@Override
+	protected void drawProgressiveData(Graphics graphics, JChartAxisLayout layout, double[] plotX, double[] plotY, int from, int to, Color color, int pointStyle) {
+		graphics.setColor(color);
+		int[] xPositions = layout.toX(plotX, from, to);
+		int[] yPositions = layout.toY(plotY, from, to);
+		drawLines(graphics, xPositions, yPositions, to - from, pointStyle, color, false);
+	}
+	
+	
+	private void drawLines(Graphics dataGraphics, int[] xPositions, int[] yPositions, int pointCount, int pointStyle, Color color, boolean dataLayer) {
+		// Draws each run of points between gaps with one drawPolyline call. A NaN value is a gap in the line,
+		// like a value without position on a logarithmic axis. drawPolyline starts at the beginning of the
+		// arrays, so each run is moved to the beginning, over the positions of the points already drawn.
+		// Only on the data layer the point markers are stamped, and drawn before a line is drawn over them.
+		int runLength = 0;
+		for (int pointNr = 0; pointNr <= pointCount; pointNr++) {
+			if ((pointNr < pointCount) && (xPositions[pointNr] != JChartAxisLayout.NO_POSITION) && (yPositions[pointNr] != JChartAxisLayout.NO_POSITION)) {
+				int xPos = xPositions[pointNr];
+				int yPos = yPositions[pointNr];
+				if ((runLength == 0) && (pointNr > 0)) {
+					// The first point after a gap is marked with a small cross, so single points are visible
+					if (dataLayer) {
+						flushDataLayer(dataGraphics);
+					}
+					dataGraphics.drawLine(xPos - 1, yPos, xPos + 1, yPos);
+					dataGraphics.drawLine(xPos, yPos - 1, xPos, yPos + 1);
+				}
+				xPositions[runLength] = xPos;
+				yPositions[runLength] = yPos;
+				runLength++;
+			}
+			else if (runLength > 0) {
+				if (runLength > 1) {
+					if (dataLayer) {
+						flushDataLayer(dataGraphics);
+					}
+					dataGraphics.drawPolyline(xPositions, yPositions, runLength);
+				}
+				for (int runPointNr = 0; runPointNr < runLength; runPointNr++) {
+					if (dataLayer) {
+						drawPoint(dataGraphics, xPositions[runPointNr], yPositions[runPointNr], pointStyle, color);
+					}
+					else {
+						drawPoint(dataGraphics, xPositions[runPointNr], yPositions[runPointNr], pointStyle);
+					}
+				}
+				runLength = 0;
+			}
+		}
+	}
+	
+	
+	private void drawBlocks(Graphics dataGraphics, JChartSeries series, JChartSeriesPyramid pyramid, int level, int firstPointNr, int lastPointNr, JChartAxisLayout layout) {
+		// Draws the points from blocks of the pyramid. The blocks in a pixel column are drawn as one vertical line
+		// from their minimum to their maximum, connected to the previous column from its last to the first point.
+		flushDataLayer(dataGraphics);
+		int blockSize = JChartSeriesPyramid.getBlockSize(level);
+		int firstBlock = firstPointNr / blockSize;
+		int lastBlock = (lastPointNr - 1) / blockSize;
+		
+		int column = Integer.MIN_VALUE;
+		double columnMinimum = Double.NaN;
+		double columnMaximum = Double.NaN;
+		double columnFirst = Double.NaN;
+		double columnLast = Double.NaN;
+		Integer previousColumn = null;
+		Integer previousLastYPos = null;
+		
+		// The extra block after the last block only draws the last column
+		for (int block = firstBlock; block <= (lastBlock + 1); block++) {
+			int blockColumn = block <= lastBlock ? layout.toX(series.getPlotX(block * blockSize)) : Integer.MAX_VALUE;
+			if ((blockColumn != column) && (block > firstBlock)) {
+				Integer firstYPos = Double.isNaN(columnFirst) ? null : layout.toY(columnFirst);
+				if ((previousLastYPos != null) && (firstYPos != null)) {
+					dataGraphics.drawLine(previousColumn, previousLastYPos, column, firstYPos);
+				}
+				if (!Double.isNaN(columnMinimum)) {
+					dataGraphics.drawLine(column, layout.toY(columnMinimum), column, layout.toY(columnMaximum));
+				}
+				previousColumn = column;
+				previousLastYPos = Double.isNaN(columnLast) ? null : layout.toY(columnLast);
+				columnMinimum = Double.NaN;
+				columnMaximum = Double.NaN;
+			}
+			if (block <= lastBlock) {
+				int blockStart = block * blockSize;
+				if (blockColumn != column) {
+					column = blockColumn;
+					columnFirst = series.getPlotY(blockStart);
+				}
+				// The scales keep the order, so the minimum and maximum on the scale are those of the values
+				columnMinimum = JChartSeriesPyramid.minimum(columnMinimum, JChartScale.toScale(pyramid.getMinimum(level, block), verticalScale));
+				columnMaximum = JChartSeriesPyramid.maximum(columnMaximum, JChartScale.toScale(pyramid.getMaximum(level, block), verticalScale));
+				columnLast = series.getPlotY(Math.min(blockStart + blockSize, series.size()) - 1);
+			}
+		}
+	}
+	
+	
+	void drawStacked(Graphics graphics) {
+		//Set background color
+		graphics.setColor(chartStyle.getBackgroundColor());
+		graphics.fillRect(0, 0, getWidth(), getHeight());
+
+		if (dataSet != null) {
+			FontMetrics fontMetrics = graphics.getFontMetrics(chartStyle.getAxisFont());
+
+			Double minX = null;
+			Double maxX = null;
+			int maxXWidth = 0;
+			
+			Double minY = null;
+			Double maxY = null;
+			int maxYWidth = 0;
+			
+			if (horizontalAxis != null) {
+				for (double x : horizontalAxis) {
+					minX = minX == null ? x : Math.min(minX, x);
+					maxX = maxX == null ? x : Math.max(maxX, x);
+					maxXWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(x, horizontalAxisPrecision)));
+				}
+			}
+			
+			if (verticalAxis != null) {
+				for (double y : verticalAxis) {
+					minY = minY == null ? y : Math.min(minY, y);
+					maxY = maxY == null ? y : Math.max(maxY, y);
+					maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(y, verticalAxisPrecision)));
+				}
+			}
+
+			List<String> orderedDataSets = new ArrayList<String>();
+			orderedDataSets.addAll(dataSetList);
+			if (orderDataSets) {
+				Collections.sort(orderedDataSets);
+			}
+			
+			if ((horizontalAxis == null) || (verticalAxis == null)) {
+				
+				List<Double> xValues = new ArrayList<Double>();
+				for (String dataSetName : orderedDataSets) {
+					JChartSeries series = dataSet.get(dataSetName);
+					for (int pointNr = 0; pointNr < series.size(); pointNr++) {
+						double x = series.getX(pointNr);
+						if (!xValues.contains(x)) {
+							xValues.add(x);
+							if (horizontalAxis == null) {
+								minX = minX == null ? x : Math.min(minX, x);
+								maxX = maxX == null ? x : Math.max(maxX, x);
+								maxXWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(x, horizontalAxisPrecision)));
+							}
+						}
+					}
+				}
+				Collections.sort(xValues);
+
+				for (double x : xValues) {
+					double y = 0.0;
+					for (int dataSetNr = 0; dataSetNr < orderedDataSets.size(); dataSetNr++) {
+						String dataSetName = orderedDataSets.get(dataSetNr);
+						double dataSetY = dataSet.get(dataSetName).getY(x);
+						if (dataSetNr == 0) {
+							if (verticalAxis == null) {
+								minY = minY == null ? y : Math.min(minY, y);
+							}
+						}
+						y += dataSetY;
+						if (verticalAxis == null) {
+							maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(y, verticalAxisPrecision)));
+						}
+					}
+					if (verticalAxis == null) {
+						maxY = maxY == null ? y : Math.max(maxY, y);
+					}
+				}
+			}
+			
+			int xPrecision = horizontalAxisPrecision;
+			int yPrecision = verticalAxisPrecision;
+			if (viewport != null) {
+				// Zoomed or panned, so the viewport determines the axes
+				minX = viewport[0];
+				maxX = viewport[1];
+				minY = viewport[2];
+				maxY = viewport[3];
+				xPrecision = getZoomPrecision(horizontalAxisPrecision, minX, maxX);
+				yPrecision = getZoomPrecision(verticalAxisPrecision, minY, maxY);
+				maxXWidth = Math.max(fontMetrics.stringWidth(formatX(minX, xPrecision)), fontMetrics.stringWidth(formatX(maxX, xPrecision)));
+				maxYWidth = Math.max(fontMetrics.stringWidth(formatValue(minY, yPrecision)), fontMetrics.stringWidth(formatValue(maxY, yPrecision)));
+			}
+			if ((timeAxis != null) && (minX != null)) {
+				maxXWidth = measureTimeAxis(minX, maxX, fontMetrics);
+			}
+			
+			JChartAxisLayout layout = getAxisLayout();
+			layout.begin(JChartAxisLayout.STYLE_VALUES, showTitleAndLegend(graphics, true, true));
+			layout.setLabels((horizontalAxisLabel != null), (verticalAxisLabel != null));
+			layout.setValueWidths(maxXWidth, maxYWidth);
+			layout.setHorizontalValues(viewport == null ? horizontalAxis : null, minX, maxX, xPrecision, timeAxis == null);
+			layout.setVerticalValues(viewport == null ? verticalAxis : null, minY, maxY, yPrecision, true);
+			layout.update(fontMetrics);
+			
+			int leftBottomX = layout.getLeftBottomX();
+			int leftBottomY = layout.getLeftBottomY();
+			int width = layout.getWidth();
+			int height = layout.getHeight();
+			int verticalAxisX = layout.getVerticalAxisX();
+			int horizontalAxisY = layout.getHorizontalAxisY();
+			List<Double> hAxis = layout.getHorizontalAxis();
+			List<Double> vAxis = layout.getVerticalAxis();
+			
+			// Draw data 
+			Graphics dataGraphics = graphics.create();
+			if (viewport != null) {
+				dataGraphics.clipRect(leftBottomX, leftBottomY - height, width + 1, height + 1);
+			}
+			Map<Double, Double> yValues = new HashMap<Double, Double>(); 
+			List<Point> currentLine = new ArrayList<Point>(); 
+			List<Point> previousLine = new ArrayList<Point>();
+			previousLine.add(new Point(leftBottomX + width, horizontalAxisY));
+			previousLine.add(new Point(leftBottomX, horizontalAxisY));
+			
+			for (String dataSetName : orderedDataSets) {
+				dataGraphics.setColor(dataSets.get(dataSetName));
+				JChartSeries series = dataSet.get(dataSetName);
+				int[] xPositions = null;
+				for (int pointNr = 0; pointNr < series.size(); pointNr++) {
+					if ((pointNr % JChartAxisLayout.POSITION_CHUNK) == 0) {
+						xPositions = layout.toX(series, pointNr, Math.min(series.size(), pointNr + JChartAxisLayout.POSITION_CHUNK));
+					}
+					double x = series.getX(pointNr);
+					Integer xPos = xPositions[pointNr % JChartAxisLayout.POSITION_CHUNK];
+					Integer yPos = null;
+					Double y = series.getY(pointNr);
+					yValues.put(x, yValues.containsKey(x) ? yValues.get(x) + y : y);
+					Double yValue = yValues.get(x);
+					if (yValue != null) {
+						yPos = layout.toY(yValue);
+						currentLine.add(new Point(xPos, yPos));
+					}
+				}
+				Polygon polygon = new Polygon();
+				for (Point p : previousLine) {
+					polygon.addPoint(p.x, p.y);
+				}
+				previousLine.clear();
+				for (Point p : currentLine) {
+					polygon.addPoint(p.x, p.y);
+					previousLine.add(0, p);
+				}
+				currentLine.clear();
+				dataGraphics.fillPolygon(polygon);
+			}
+			dataGraphics.dispose();
+			// The stacked values are no points of the series, so there are no tool tips, the layout is for zooming
+			setSeriesLayout(null, leftBottomX, leftBottomY, width, height, hAxis.get(0), hAxis.get(hAxis.size() - 1), vAxis.get(0), vAxis.get(vAxis.size() - 1), xPrecision, yPrecision);
+			
+			// Set axis color
+			graphics.setColor(chartStyle.getAxisColor());
+			
+			//Set axis font
+			graphics.setFont(chartStyle.getAxisFont());
+			
+			// Draw horizontal axis
+			graphics.drawLine(leftBottomX, horizontalAxisY, leftBottomX + width, horizontalAxisY);
+			for (double x : hAxis) {
+				String xString = formatX(x, xPrecision);
+				Integer xPos = layout.toX(x);
+				int halfXStringWidth = (fontMetrics.stringWidth(xString) / 2);
+				if ((horizontalAxisY == leftBottomY) || (xPos < (verticalAxisX - halfXStringWidth - 2)) || (xPos > (verticalAxisX + halfXStringWidth + 2))) {
+					graphics.drawLine(xPos, horizontalAxisY + 2, xPos, horizontalAxisY);
+					graphics.drawString(xString, xPos - halfXStringWidth, horizontalAxisY + AXIS_VALUE_GAP + fontMetrics.getHeight());
+				}
+			}
+			if (horizontalAxisLabel != null) {
+				graphics.drawString(horizontalAxisLabel, leftBottomX + width + ((maxXWidth + 1) / 2) - fontMetrics.stringWidth(horizontalAxisLabel), horizontalAxisY + (2 * fontMetrics.getHeight() + AXIS_VALUE_GAP));
+			}
+			
+			// Draw vertical axis
+			graphics.drawLine(verticalAxisX, leftBottomY, verticalAxisX, leftBottomY - height);
+			for (double y : vAxis) {
+				String yString = formatValue(y, yPrecision);
+				int yPos = layout.toY(y);
+				if ((verticalAxisX == leftBottomX) || (yPos > (horizontalAxisY + fontMetrics.getHeight() + 2)) || (yPos < (horizontalAxisY - fontMetrics.getHeight() - 2))) {
+					graphics.drawLine(verticalAxisX - 2, yPos, verticalAxisX, yPos);
+					graphics.drawString(yString, verticalAxisX - AXIS_VALUE_GAP - fontMetrics.stringWidth(yString), yPos + (fontMetrics.getHeight() / 2));
+				}
+			}
+			if (verticalAxisLabel != null) {
+				graphics.drawString(verticalAxisLabel, Math.max(MARGIN, verticalAxisX - (fontMetrics.stringWidth(verticalAxisLabel) / 2)), leftBottomY - height - AXIS_VALUE_GAP);
+			}
+		}
+	}
+
+
+	@Override
+	protected Map<String, JChartSeries> getSeriesMap() {
+		return dataSet;
+	}
+	
+	
+	@Override
+	protected void putSeries(String dataSetName, JChartSeries series) {
+		if (dataSet == null) {
+			dataSet = new HashMap<String, JChartSeries>();
+		}
+		series.setPyramidEnabled(levelOfDetail);
+		series.setScales(horizontalScale, verticalScale);
+		series.setFloatPrecision(isFloatPrecision(dataSetName));
+		series.setCompressed(compression);
+		dataSet.put(dataSetName, series);
+		plotChanged();
+	}
+	
+	
+	@Override
+	public long getMemoryEstimate() {
+		long bytes = super.getMemoryEstimate() + JChartMemory.estimateMap(dataSet, 0);
+		if (dataSet != null) {
+			for (JChartSeries series : dataSet.values()) {
+				bytes += series.getMemoryEstimate();
+			}
+		}
+		bytes += JChartMemory.estimateNumbers(horizontalAxis) + JChartMemory.estimateNumbers(verticalAxis);
+		return bytes;
+	}
+	
+	
+	@Override
+	public void clear() {
+		super.clear();
+		dataSet = null;
+		pointStyles = null;
+		horizontalAxis = null;
+		horizontalAxisLabel = null;
+		verticalAxis = null;
+		verticalAxisLabel = null;
+	}
+
+}
@@ -1,347 +1,459 @@
-/*********************************************************************************
- *                                                                               *
- * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
- *                                                                               *
- * The JChart library is free software.                                          *
- * The JChart library is distributed in the hope that it will be useful, but     *
- * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
- * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
- *                                                                               *
- * This file is part of the JChart library.                                      *
- *                                                                               *
- *********************************************************************************/
-
-package jchart;
-
-import java.awt.Color;
-import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.FontMetrics;
-import java.awt.Graphics;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-import javax.swing.JOptionPane;
-
-class JPieChartPlot extends JChartPlot {
-	private static final long serialVersionUID = 9125603413644579552L;
-	
-	private Map<String, Double> dataSet = null;
-	
-	private int style = JPieChart.PIE_CHART_STYLE_2D;
-	private int valuePrecision = STANDARD_PRECISION;
-	private String unitDescription = null;
-	private Color valueColor = Color.BLACK;
-	private Font valueFont = new Font("Arial", Font.PLAIN, 10);
-	private Color outlineColor = Color.BLACK;
-	private int max3DPieChartHeight = Integer.MAX_VALUE;
-
-	
-	public JPieChartPlot(String name, int pieChartStyle) {
-		super(name);
-		style = pieChartStyle;
-	}
-	
-	
-	public boolean addDataPoint(String dataSetName, double value) {
-		boolean ok = false;
-
-		if (dataSets.containsKey(dataSetName)) {
-			ok = true;
-			if (dataSet == null) {
-				dataSet = new HashMap<String, Double>();
-			}
-			dataSet.put(dataSetName, value);
-		}
-		else {
-			JOptionPane.showMessageDialog(null, "Unknown data set '" + dataSetName + ".", "BarChart '" + name + "' Data Set Error", JOptionPane.ERROR_MESSAGE);
-		}
-		
-		return ok;
-	}
-	
-	
-	public void setValuePrecision(int precision) {
-		valuePrecision = precision; 
-	}
-	
-	
-	public void setUnitDescription(String unitDescription) {
-		this.unitDescription = unitDescription;
-	}
-	
-	
-	public void setLabelColor(Color color) {
-		valueColor = color;
-	}
-	
-	
-	public void setLabelFont(Font font) {
-		valueFont = font;
-	}
-	
-	
-	public void setOutlineColor(Color color) {
-		outlineColor = color;
-	}
-	
-	
-	public void setMax3DPieChartHeight(int maxHeight) {
-		max3DPieChartHeight = maxHeight;
-	}
-
-	
-	@Override
-	void draw(Graphics graphics) {
-		if (style == JPieChart.PIE_CHART_STYLE_2D) {
-			draw2D(graphics);
-		}
-		else if (style == JPieChart.PIE_CHART_STYLE_3D) {
-			draw3D(graphics);
-		}
-	}
-	
-	
-
-	private void draw2D(Graphics graphics) {
-		final int VALUE_LINE_EXTRA_LENGTH = 6;
-		final int VALUE_LINE_GAP = 2;
-		
-		//Set background color
-		graphics.setColor(chartBackgroundColor);
-		graphics.fillRect(0, 0, getWidth(), getHeight());
-		
-		if (dataSet != null) {
-			int leftBottomX = MARGIN;
-			int leftBottomY = getHeight() - MARGIN;
-			int width = getWidth() - (2 * MARGIN);
-			int height = getHeight() - (2 * MARGIN);
-
-			List<String> orderedDataSets = new ArrayList<String>();
-			orderedDataSets.addAll(dataSetList);
-			if (orderDataSets) {
-				Collections.sort(orderedDataSets);
-			}
-			
-			Dimension changesYAndHeihght = showTitle(graphics, leftBottomX, leftBottomY, width, height);
-			leftBottomY = changesYAndHeihght.width;
-			height = changesYAndHeihght.height;
-			
-			int legendWidth = showLegendRightTop(graphics, leftBottomX + width, leftBottomY - height); 
-			width = width - legendWidth;
-
-			FontMetrics fontMetrics = graphics.getFontMetrics(valueFont);
-			int maxValueWidth = 0;
-			double total = 0;
-			for (String dataSetName : orderedDataSets) {
-				double value = dataSet.get(dataSetName);
-				maxValueWidth = fontMetrics.stringWidth(formatValue(value, valuePrecision) + (unitDescription == null ? "" : (" " + unitDescription)));
-				total += value;
-			}
-			
-			// Draw data
-			int pieSize = Math.min(width - (2 * (maxValueWidth + VALUE_LINE_GAP + VALUE_LINE_EXTRA_LENGTH)), height - (2 * (fontMetrics.getHeight() + VALUE_LINE_GAP)));
-			int pieX = leftBottomX + ((width - pieSize ) /2);
-			int pieY = leftBottomY  - height + ((height - pieSize) / 2);
-			int pieCenterX = pieX + (pieSize /2);
-			int pieCenterY = pieY + (pieSize /2);
-			
-			if (JChartPlot.DEBUG) {
-				System.out.println();
-				System.out.println(name);
-				System.out.println("PanelWidth       = " + Integer.toString(getWidth()));
-				System.out.println("PanelHeight      = " + Integer.toString(getHeight()));
-				System.out.println("MARGIN           = " + Integer.toString(MARGIN));
-				System.out.println("AXIS_VALUE_GAP   = " + Integer.toString(AXIS_VALUE_GAP));
-				System.out.println("FontHeight       = " + Integer.toString(graphics.getFontMetrics(valueFont).getHeight()));
-				System.out.println("pieSize          = " + Integer.toString(pieSize));
-				System.out.println("pieX             = " + Integer.toString(pieX));
-				System.out.println("pieY             = " + Integer.toString(pieY));
-				System.out.println("pieCenterX       = " + Integer.toString(pieCenterX));
-				System.out.println("pieCenterY       = " + Integer.toString(pieCenterY));
-				System.out.println("leftBottomyTitle = " + Integer.toString((int) changesYAndHeihght.getWidth()));
-				System.out.println("heightTitle      = " + Integer.toString((int) changesYAndHeihght.getHeight()));
-				System.out.println("legendWidth      = " + Integer.toString(legendWidth));
-				System.out.println("leftBottomX      = " + Integer.toString(leftBottomX));
-				System.out.println("leftBottomY      = " + Integer.toString(leftBottomY));
-				System.out.println("width            = " + Integer.toString(width));
-				System.out.println("height           = " + Integer.toString(height));
-				System.out.println();
-			}
-			
-			int angle = 90;
-			for (String dataSetName : orderedDataSets) {
-				double value = dataSet.get(dataSetName);
-				String valueString = formatValue(value, valuePrecision) + (unitDescription == null ? "" : (" " + unitDescription));
-				int arcAngle = (int) round((value / total) * 360.0, 0);
-				
-				
-				// Draw pie piece
-				graphics.setColor(dataSets.get(dataSetName));
-				graphics.fillArc(pieX, pieY, pieSize, pieSize, angle, -arcAngle);
-				//System.out.println(name + ", " + dataSetName + ", " + Double.toString(value) + ", " + Double.toString(total) + ", " + Integer.toString(angle) + ", " + Double.toString((value / total) * 360.0) + ", " + Integer.toString(arcAngle));
-				
-				// Draw line and value
-				int valueLineAngle = angle - (int) round(arcAngle / 2.0, 0);
-				int valueLineStartX = pieCenterX + (int) round((pieSize / 4) * Math.cos(((valueLineAngle) / 360.0) * 2 * Math.PI), 0);
-				int valueLineStartY = pieCenterY - (int) round((pieSize / 4) * Math.sin(((valueLineAngle) / 360.0) * 2 * Math.PI), 0);
-				int valueLineEndX = pieCenterX + (int) round(((pieSize / 2) + VALUE_LINE_EXTRA_LENGTH) * Math.cos(((valueLineAngle) / 360.0) * 2 * Math.PI), 0);
-				int valueLineEndY = pieCenterY - (int) round(((pieSize / 2) + VALUE_LINE_EXTRA_LENGTH) * Math.sin(((valueLineAngle) / 360.0) * 2 * Math.PI), 0);
-				int valueX = pieCenterX + (int) round(((pieSize / 2) + VALUE_LINE_EXTRA_LENGTH + VALUE_LINE_GAP) * Math.cos(((valueLineAngle) / 360.0) * 2 * Math.PI), 0);
-				if (valueX < pieCenterX) {
-					valueX = valueX - fontMetrics.stringWidth(valueString);
-				}
-				int valueY = pieCenterY - (int) round(((pieSize / 2) + VALUE_LINE_EXTRA_LENGTH + VALUE_LINE_GAP) * Math.sin(((valueLineAngle) / 360.0) * 2 * Math.PI), 0) + (fontMetrics.getHeight() / 2);
-				graphics.setColor(valueColor);
-				graphics.setFont(valueFont);
-				graphics.drawLine(valueLineStartX, valueLineStartY, valueLineEndX, valueLineEndY);
-				graphics.drawString(valueString, valueX, valueY);
-				
-				angle -= arcAngle;
-			}
-			graphics.setColor(outlineColor);
-			graphics.drawArc(pieX, pieY, pieSize, pieSize, 0, 360);
-		}
-	}
-	
-	
-
-	private void draw3D(Graphics graphics) {
-		final int VALUE_LINE_EXTRA_LENGTH = 6;
-		final int VALUE_LINE_GAP = 2;
-		
-		//Set background color
-		graphics.setColor(chartBackgroundColor);
-		graphics.fillRect(0, 0, getWidth(), getHeight());
-		
-		if (dataSet != null) {
-			int leftBottomX = MARGIN;
-			int leftBottomY = getHeight() - MARGIN;
-			int width = getWidth() - (2 * MARGIN);
-			int height = getHeight() - (2 * MARGIN);
-
-			List<String> orderedDataSets = new ArrayList<String>();
-			orderedDataSets.addAll(dataSetList);
-			if (orderDataSets) {
-				Collections.sort(orderedDataSets);
-			}
-			
-			Dimension changesYAndHeihght = showTitle(graphics, leftBottomX, leftBottomY, width, height);
-			leftBottomY = changesYAndHeihght.width;
-			height = changesYAndHeihght.height;
-			
-			int legendWidth = showLegendRightTop(graphics, leftBottomX + width, leftBottomY - height); 
-			width = width - legendWidth;
-
-			FontMetrics fontMetrics = graphics.getFontMetrics(valueFont);
-			int maxValueWidth = 0;
-			double total = 0;
-			for (String dataSetName : orderedDataSets) {
-				double value = dataSet.get(dataSetName);
-				maxValueWidth = fontMetrics.stringWidth(formatValue(value, valuePrecision) + (unitDescription == null ? "" : (" " + unitDescription)));
-				total += value;
-			}
-			
-			// Draw data
-			int pieWidth = width - (2 * (maxValueWidth + VALUE_LINE_GAP + VALUE_LINE_EXTRA_LENGTH));
-			int pieHeight = Math.min(height - (2 * (fontMetrics.getHeight() + VALUE_LINE_GAP)) - (4 * MARGIN) - (pieWidth / 2), max3DPieChartHeight);
-			int pieX = leftBottomX + ((width - pieWidth) / 2);
-			int pieYTop = leftBottomY - height + ((height - pieHeight - (pieWidth / 2)) /2);
-			int pieYBottom = leftBottomY - (2 * MARGIN);
-			int pieCenterX = pieX + (pieWidth / 2);
-			int pieCenterYTop = pieYTop + (pieWidth / 4);
-			int pieCenterYBottom = pieCenterYTop + pieHeight;
-			
-			if (JChartPlot.DEBUG) {
-				System.out.println();
-				System.out.println(name);
-				System.out.println("PanelWidth       = " + Integer.toString(getWidth()));
-				System.out.println("PanelHeight      = " + Integer.toString(getHeight()));
-				System.out.println("MARGIN           = " + Integer.toString(MARGIN));
-				System.out.println("AXIS_VALUE_GAP   = " + Integer.toString(AXIS_VALUE_GAP));
-				System.out.println("FontHeight       = " + Integer.toString(graphics.getFontMetrics(valueFont).getHeight()));
-				System.out.println("pieSize          = " + Integer.toString(pieWidth));
-				System.out.println("pieHeight        = " + Integer.toString(pieHeight));
-				System.out.println("pieX             = " + Integer.toString(pieX));
-				System.out.println("pieYTop          = " + Integer.toString(pieYTop));
-				System.out.println("pieYBottom       = " + Integer.toString(pieYBottom));
-				System.out.println("pieCenterX       = " + Integer.toString(pieCenterX));
-				System.out.println("pieCenterYTop    = " + Integer.toString(pieCenterYTop));
-				System.out.println("pieCenterYBottom = " + Integer.toString(pieCenterYBottom));
-				System.out.println("leftBottomyTitle = " + Integer.toString((int) changesYAndHeihght.getWidth()));
-				System.out.println("heightTitle      = " + Integer.toString((int) changesYAndHeihght.getHeight()));
-				System.out.println("legendWidth      = " + Integer.toString(legendWidth));
-				System.out.println("leftBottomX      = " + Integer.toString(leftBottomX));
-				System.out.println("leftBottomY      = " + Integer.toString(leftBottomY));
-				System.out.println("width            = " + Integer.toString(width));
-				System.out.println("height           = " + Integer.toString(height));
-				System.out.println();
-			}
-			
-			// Draw pie
-			int angle = 90;
-			for (String dataSetName : orderedDataSets) {
-				double value = dataSet.get(dataSetName);
-				int arcAngle = (int) round((value / total) * 360, 0);
-				
-				// Draw pie piece
-				int endAngle = angle - arcAngle;
-				graphics.setColor(dataSets.get(dataSetName));
-				if (((angle  < 0) && (angle > -180)) || ((endAngle  < 0) && (endAngle > -180))) {
-					for (int y = pieYTop + pieHeight; y >= pieYTop; y--) {
-						graphics.drawArc(pieX, y, pieWidth, pieWidth / 2, angle, -arcAngle);
-					}
-				}
-				graphics.fillArc(pieX, pieYTop, pieWidth, pieWidth / 2, angle, -arcAngle);
-				
-				// Draw pie sides
-				graphics.setColor(outlineColor);
-				graphics.drawLine(pieCenterX - (pieWidth / 2), pieCenterYTop, pieCenterX - (pieWidth / 2), pieCenterYBottom);
-				graphics.drawLine(pieCenterX + (pieWidth / 2), pieCenterYTop, pieCenterX + (pieWidth / 2), pieCenterYBottom);
-
-				angle -= arcAngle;
-			}
-			
-			// Draw top and bottom outline
-			graphics.setColor(outlineColor);
-			graphics.drawArc(pieX, pieYTop, pieWidth, pieWidth / 2, 0, 360);
-			graphics.drawArc(pieX, pieYTop + pieHeight, pieWidth, pieWidth / 2, 0, -180);
-
-			// Draw lines and values
-			for (String dataSetName : orderedDataSets) {
-				double value = dataSet.get(dataSetName);
-				String valueString = formatValue(value, valuePrecision) + (unitDescription == null ? "" : (" " + unitDescription));
-				int arcAngle = (int) round((value / total) * 360, 0);
-				
-				int valueLineAngle = angle - (int) round(arcAngle / 2.0, 0);
-				int valueLineStartX = pieCenterX + (int) round((pieWidth / 4) * Math.cos(((valueLineAngle) / 360.0) * 2 * Math.PI), 0);
-				int valueLineStartY = pieCenterYTop - (int) round((pieWidth / 8) * Math.sin(((valueLineAngle) / 360.0) * 2 * Math.PI), 0);
-				int valueLineEndX = pieCenterX + (int) round(((pieWidth / 2) + VALUE_LINE_EXTRA_LENGTH) * Math.cos(((valueLineAngle) / 360.0) * 2 * Math.PI), 0);
-				int valueLineEndY = pieCenterYTop - (int) round(((pieWidth / 4) + VALUE_LINE_EXTRA_LENGTH) * Math.sin(((valueLineAngle) / 360.0) * 2 * Math.PI), 0);
-				int valueX = pieCenterX + (int) round(((pieWidth / 2) + VALUE_LINE_EXTRA_LENGTH + VALUE_LINE_GAP) * Math.cos(((valueLineAngle) / 360.0) * 2 * Math.PI), 0);
-				if (valueX < pieCenterX) {
-					valueX = valueX - fontMetrics.stringWidth(valueString);
-				}
-				int valueY = pieCenterYTop - (int) round(((pieWidth / 4) + VALUE_LINE_EXTRA_LENGTH + VALUE_LINE_GAP) * Math.sin(((valueLineAngle) / 360.0) * 2 * Math.PI), 0) + (fontMetrics.getHeight() / 2);
-
-				graphics.setColor(valueColor);
-				graphics.setFont(valueFont);
-				graphics.drawLine(valueLineStartX, valueLineStartY, valueLineEndX, valueLineEndY);
-				graphics.drawString(valueString, valueX, valueY);
-				
-				angle -= arcAngle;
-			}
-		}
-	}
-	
-	
-	public void clear() {
-		super.clear();
-		dataSet = null;
-		unitDescription = null;
-	}
-
-}
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.JOptionPane;
+
+class JPieChartPlot extends JChartPlot {
+	private static final long serialVersionUID = 9125603413644579552L;
+	
+	private Map<String, Double> dataSet = null;
+	
+	private int style = JPieChart.PIE_CHART_STYLE_2D;
+	private int valuePrecision = STANDARD_PRECISION;
+	private String unitDescription = null;
+	private int max3DPieChartHeight = Integer.MAX_VALUE;
+	
+	private transient PieLayout pieLayout = null;
+
+	
+	public JPieChartPlot(String name, int pieChartStyle) {
+		super(name);
+		style = pieChartStyle;
+	}
+	
+	
+	public boolean addDataPoint(String dataSetName, double value) {
+		boolean ok = false;
+
+		if (dataSets.containsKey(dataSetName)) {
+			ok = true;
+			if (dataSet == null) {
+				dataSet = new HashMap<String, Double>();
+			}
+			dataSet.put(dataSetName, value);
+			plotChanged();
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "Unknown data set '" + dataSetName + ".", "BarChart '" + name + "' Data Set Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public void setValuePrecision(int precision) {
+		valuePrecision = precision; 
+		plotChanged();
+	}
+	
+	
+	public void setUnitDescription(String unitDescription) {
+		this.unitDescription = unitDescription;
+		plotChanged();
+	}
+	
+	
+	public void setLabelColor(Color color) {
+		chartStyle = chartStyle.withLabelColor(color);
+		plotChanged();
+	}
+	
+	
+	public void setLabelFont(Font font) {
+		chartStyle = chartStyle.withLabelFont(font);
+		plotChanged();
+	}
+	
+	
+	public void setOutlineColor(Color color) {
+		chartStyle = chartStyle.withOutlineColor(color);
+		plotChanged();
+	}
+	
+	
+	public void setMax3DPieChartHeight(int maxHeight) {
+		max3DPieChartHeight = maxHeight;
+		plotChanged();
+	}
+
+	
+	@Override
+	void draw(Graphics graphics) {
+		if (style == JPieChart.PIE_CHART_STYLE_2D) {
+			draw2D(graphics);
+		}
+		else if (style == JPieChart.PIE_CHART_STYLE_3D) {
+			draw3D(graphics);
+		}
+	}
+	
+	
+
+	private void draw2D(Graphics graphics) {
+		//Set background color
+		graphics.setColor(chartStyle.getBackgroundColor());
+		graphics.fillRect(0, 0, getWidth(), getHeight());
+		
+		if (dataSet != null) {
+			int leftBottomX = MARGIN;
+			int leftBottomY = getHeight() - MARGIN;
+			int width = getWidth() - (2 * MARGIN);
+			int height = getHeight() - (2 * MARGIN);
+
+			Dimension changesYAndHeihght = showTitle(graphics, leftBottomX, leftBottomY, width, height);
+			leftBottomY = changesYAndHeihght.width;
+			height = changesYAndHeihght.height;
+			
+			int legendWidth = showLegendRightTop(graphics, leftBottomX + width, leftBottomY - height); 
+			width = width - legendWidth;
+
+			PieLayout layout = getPieLayout(graphics, leftBottomX, leftBottomY, width, height);
+			
+			if (JChartPlot.DEBUG) {
+				System.out.println();
+				System.out.println(name);
+				System.out.println("PanelWidth       = " + Integer.toString(getWidth()));
+				System.out.println("PanelHeight      = " + Integer.toString(getHeight()));
+				System.out.println("MARGIN           = " + Integer.toString(MARGIN));
+				System.out.println("AXIS_VALUE_GAP   = " + Integer.toString(AXIS_VALUE_GAP));
+				System.out.println("FontHeight       = " + Integer.toString(graphics.getFontMetrics(chartStyle.getLabelFont()).getHeight()));
+				System.out.println("pieSize          = " + Integer.toString(layout.pieWidth));
+				System.out.println("pieX             = " + Integer.toString(layout.pieX));
+				System.out.println("pieY             = " + Integer.toString(layout.pieY));
+				System.out.println("pieCenterX       = " + Integer.toString(layout.pieCenterX));
+				System.out.println("pieCenterY       = " + Integer.toString(layout.pieCenterY));
+				System.out.println("leftBottomyTitle = " + Integer.toString((int) changesYAndHeihght.getWidth()));
+				System.out.println("heightTitle      = " + Integer.toString((int) changesYAndHeihght.getHeight()));
+				System.out.println("legendWidth      = " + Integer.toString(legendWidth));
+				System.out.println("leftBottomX      = " + Integer.toString(leftBottomX));
+				System.out.println("leftBottomY      = " + Integer.toString(leftBottomY));
+				System.out.println("width            = " + Integer.toString(width));
+				System.out.println("height           = " + Integer.toString(height));
+				System.out.println();
+			}
+			
+			graphics.setFont(chartStyle.getLabelFont());
+			for (int pieceNr = 0; pieceNr < layout.dataSetNames.length; pieceNr++) {
+				// Draw pie piece
+				graphics.setColor(dataSets.get(layout.dataSetNames[pieceNr]));
+				graphics.fillArc(layout.pieX, layout.pieY, layout.pieWidth, layout.pieWidth, layout.startAngles[pieceNr], -layout.arcAngles[pieceNr]);
+				
+				// Draw line and value
+				graphics.setColor(chartStyle.getLabelColor());
+				graphics.drawLine(layout.valueLineStartX[pieceNr], layout.valueLineStartY[pieceNr], layout.valueLineEndX[pieceNr], layout.valueLineEndY[pieceNr]);
+				graphics.drawString(layout.valueStrings[pieceNr], layout.valueX[pieceNr], layout.valueY[pieceNr]);
+			}
+			graphics.setColor(chartStyle.getOutlineColor());
+			graphics.drawArc(layout.pieX, layout.pieY, layout.pieWidth, layout.pieWidth, 0, 360);
+		}
+	}
+	
+	
+
+	private void draw3D(Graphics graphics) {
+		//Set background color
+		graphics.setColor(chartStyle.getBackgroundColor());
+		graphics.fillRect(0, 0, getWidth(), getHeight());
+		
+		if (dataSet != null) {
+			int leftBottomX = MARGIN;
+			int leftBottomY = getHeight() - MARGIN;
+			int width = getWidth() - (2 * MARGIN);
+			int height = getHeight() - (2 * MARGIN);
+
+			Dimension changesYAndHeihght = showTitle(graphics, leftBottomX, leftBottomY, width, height);
+			leftBottomY = changesYAndHeihght.width;
+			height = changesYAndHeihght.height;
+			
+			int legendWidth = showLegendRightTop(graphics, leftBottomX + width, leftBottomY - height); 
+			width = width - legendWidth;
+
+			PieLayout layout = getPieLayout(graphics, leftBottomX, leftBottomY, width, height);
+			int pieCenterYBottom = layout.pieCenterY + layout.pieHeight;
+			
+			if (JChartPlot.DEBUG) {
+				System.out.println();
+				System.out.println(name);
+				System.out.println("PanelWidth       = " + Integer.toString(getWidth()));
+				System.out.println("PanelHeight      = " + Integer.toString(getHeight()));
+				System.out.println("MARGIN           = " + Integer.toString(MARGIN));
+				System.out.println("AXIS_VALUE_GAP   = " + Integer.toString(AXIS_VALUE_GAP));
+				System.out.println("FontHeight       = " + Integer.toString(graphics.getFontMetrics(chartStyle.getLabelFont()).getHeight()));
+				System.out.println("pieSize          = " + Integer.toString(layout.pieWidth));
+				System.out.println("pieHeight        = " + Integer.toString(layout.pieHeight));
+				System.out.println("pieX             = " + Integer.toString(layout.pieX));
+				System.out.println("pieYTop          = " + Integer.toString(layout.pieY));
+				System.out.println("pieCenterX       = " + Integer.toString(layout.pieCenterX));
+				System.out.println("pieCenterYTop    = " + Integer.toString(layout.pieCenterY));
+				System.out.println("pieCenterYBottom = " + Integer.toString(pieCenterYBottom));
+				System.out.println("leftBottomyTitle = " + Integer.toString((int) changesYAndHeihght.getWidth()));
+				System.out.println("heightTitle      = " + Integer.toString((int) changesYAndHeihght.getHeight()));
+				System.out.println("legendWidth      = " + Integer.toString(legendWidth));
+				System.out.println("leftBottomX      = " + Integer.toString(leftBottomX));
+				System.out.println("leftBottomY      = " + Integer.toString(leftBottomY));
+				System.out.println("width            = " + Integer.toString(width));
+				System.out.println("height           = " + Integer.toString(height));
+				System.out.println();
+			}
+			
+			// Draw pie
+			for (int pieceNr = 0; pieceNr < layout.dataSetNames.length; pieceNr++) {
+				// Draw pie piece
+				graphics.setColor(dataSets.get(layout.dataSetNames[pieceNr]));
+				if (layout.pieSides[pieceNr] != null) {
+					((Graphics2D) graphics).fill(layout.pieSides[pieceNr]);
+				}
+				graphics.fillArc(layout.pieX, layout.pieY, layout.pieWidth, layout.pieWidth / 2, layout.startAngles[pieceNr], -layout.arcAngles[pieceNr]);
+			}
+			
+			// Draw pie sides
+			graphics.setColor(chartStyle.getOutlineColor());
+			graphics.drawLine(layout.pieCenterX - (layout.pieWidth / 2), layout.pieCenterY, layout.pieCenterX - (layout.pieWidth / 2), pieCenterYBottom);
+			graphics.drawLine(layout.pieCenterX + (layout.pieWidth / 2), layout.pieCenterY, layout.pieCenterX + (layout.pieWidth / 2), pieCenterYBottom);
+			
+			// Draw top and bottom outline
+			graphics.drawArc(layout.pieX, layout.pieY, layout.pieWidth, layout.pieWidth / 2, 0, 360);
+			graphics.drawArc(layout.pieX, layout.pieY + layout.pieHeight, layout.pieWidth, layout.pieWidth / 2, 0, -180);
+
+			// Draw lines and values
+			graphics.setColor(chartStyle.getLabelColor());
+			graphics.setFont(chartStyle.getLabelFont());
+			for (int pieceNr = 0; pieceNr < layout.dataSetNames.length; pieceNr++) {
+				graphics.drawLine(layout.valueLineStartX[pieceNr], layout.valueLineStartY[pieceNr], layout.valueLineEndX[pieceNr], layout.valueLineEndY[pieceNr]);
+				graphics.drawString(layout.valueStrings[pieceNr], layout.valueX[pieceNr], layout.valueY[pieceNr]);
+			}
+		}
+	}
+	
+	
+	private PieLayout getPieLayout(Graphics graphics, int leftBottomX, int leftBottomY, int width, int height) {
+		if ((pieLayout == null) || (pieLayout.plotVersion != plotVersion) || (!pieLayout.bounds.equals(new Rectangle(leftBottomX, leftBottomY - height, width, height)))) {
+			pieLayout = createPieLayout(graphics.getFontMetrics(chartStyle.getLabelFont()), leftBottomX, leftBottomY, width, height);
+		}
+		return pieLayout;
+	}
+	
+	
+	private PieLayout createPieLayout(FontMetrics fontMetrics, int leftBottomX, int leftBottomY, int width, int height) {
+		final int VALUE_LINE_EXTRA_LENGTH = 6;
+		final int VALUE_LINE_GAP = 2;
+		
+		PieLayout layout = new PieLayout();
+		layout.plotVersion = plotVersion;
+		layout.bounds = new Rectangle(leftBottomX, leftBottomY - height, width, height);
+
+		List<String> orderedDataSets = new ArrayList<String>();
+		for (String dataSetName : dataSetList) {
+			if (dataSet.containsKey(dataSetName)) {
+				orderedDataSets.add(dataSetName);
+			}
+		}
+		if (orderDataSets) {
+			Collections.sort(orderedDataSets);
+		}
+		int pieces = orderedDataSets.size();
+		layout.dataSetNames = orderedDataSets.toArray(new String[pieces]);
+		layout.valueStrings = new String[pieces];
+		layout.valueWidths = new int[pieces];
+		layout.startAngles = new int[pieces];
+		layout.arcAngles = new int[pieces];
+		layout.valueLineStartX = new int[pieces];
+		layout.valueLineStartY = new int[pieces];
+		layout.valueLineEndX = new int[pieces];
+		layout.valueLineEndY = new int[pieces];
+		layout.valueX = new int[pieces];
+		layout.valueY = new int[pieces];
+		layout.pieSides = new Shape[pieces];
+		
+		int maxValueWidth = 0;
+		double total = 0;
+		for (int pieceNr = 0; pieceNr < pieces; pieceNr++) {
+			double value = dataSet.get(layout.dataSetNames[pieceNr]);
+			layout.valueStrings[pieceNr] = formatValue(value, valuePrecision) + (unitDescription == null ? "" : (" " + unitDescription));
+			layout.valueWidths[pieceNr] = fontMetrics.stringWidth(layout.valueStrings[pieceNr]);
+			maxValueWidth = Math.max(maxValueWidth, layout.valueWidths[pieceNr]);
+			total += value;
+		}
+		
+		// Pie geometry. The pie is an ellipse of pieWidth by pieEllipseHeight.
+		int pieEllipseHeight;
+		if (style == JPieChart.PIE_CHART_STYLE_3D) {
+			layout.pieWidth = width - (2 * (maxValueWidth + VALUE_LINE_GAP + VALUE_LINE_EXTRA_LENGTH));
+			layout.pieHeight = Math.min(height - (2 * (fontMetrics.getHeight() + VALUE_LINE_GAP)) - (4 * MARGIN) - (layout.pieWidth / 2), max3DPieChartHeight);
+			layout.pieX = leftBottomX + ((width - layout.pieWidth) / 2);
+			layout.pieY = leftBottomY - height + ((height - layout.pieHeight - (layout.pieWidth / 2)) /2);
+			pieEllipseHeight = layout.pieWidth / 2;
+		}
+		else {
+			layout.pieWidth = Math.min(width - (2 * (maxValueWidth + VALUE_LINE_GAP + VALUE_LINE_EXTRA_LENGTH)), height - (2 * (fontMetrics.getHeight() + VALUE_LINE_GAP)));
+			layout.pieHeight = 0;
+			layout.pieX = leftBottomX + ((width - layout.pieWidth ) /2);
+			layout.pieY = leftBottomY  - height + ((height - layout.pieWidth) / 2);
+			pieEllipseHeight = layout.pieWidth;
+		}
+		layout.pieCenterX = layout.pieX + (layout.pieWidth / 2);
+		layout.pieCenterY = layout.pieY + (pieEllipseHeight / 2);
+		
+		// Angles, value lines and value positions
+		int angle = 90;
+		for (int pieceNr = 0; pieceNr < pieces; pieceNr++) {
+			double value = dataSet.get(layout.dataSetNames[pieceNr]);
+			int arcAngle = (int) round((value / total) * 360.0, 0);
+			layout.startAngles[pieceNr] = angle;
+			layout.arcAngles[pieceNr] = arcAngle;
+			
+			int valueLineAngle = angle - (int) round(arcAngle / 2.0, 0);
+			double cos = Math.cos(((valueLineAngle) / 360.0) * 2 * Math.PI);
+			double sin = Math.sin(((valueLineAngle) / 360.0) * 2 * Math.PI);
+			layout.valueLineStartX[pieceNr] = layout.pieCenterX + (int) round((layout.pieWidth / 4) * cos, 0);
+			layout.valueLineStartY[pieceNr] = layout.pieCenterY - (int) round((pieEllipseHeight / 4) * sin, 0);
+			layout.valueLineEndX[pieceNr] = layout.pieCenterX + (int) round(((layout.pieWidth / 2) + VALUE_LINE_EXTRA_LENGTH) * cos, 0);
+			layout.valueLineEndY[pieceNr] = layout.pieCenterY - (int) round(((pieEllipseHeight / 2) + VALUE_LINE_EXTRA_LENGTH) * sin, 0);
+			layout.valueX[pieceNr] = layout.pieCenterX + (int) round(((layout.pieWidth / 2) + VALUE_LINE_EXTRA_LENGTH + VALUE_LINE_GAP) * cos, 0);
+			if (layout.valueX[pieceNr] < layout.pieCenterX) {
+				layout.valueX[pieceNr] = layout.valueX[pieceNr] - layout.valueWidths[pieceNr];
+			}
+			layout.valueY[pieceNr] = layout.pieCenterY - (int) round(((pieEllipseHeight / 2) + VALUE_LINE_EXTRA_LENGTH + VALUE_LINE_GAP) * sin, 0) + (fontMetrics.getHeight() / 2);
+			
+			if (style == JPieChart.PIE_CHART_STYLE_3D) {
+				layout.pieSides[pieceNr] = createPieSide(layout, angle, angle - arcAngle);
+			}
+			
+			angle -= arcAngle;
+		}
+		
+		resolveValueCollisions(layout, fontMetrics, true, leftBottomY - height, leftBottomY);
+		resolveValueCollisions(layout, fontMetrics, false, leftBottomY - height, leftBottomY);
+		
+		return layout;
+	}
+	
+	
+	private Shape createPieSide(PieLayout layout, int startAngle, int endAngle) {
+		// Returns the visible side of a pie piece, or null when it is at the back of the pie.
+		Path2D side = null;
+		
+		// Only the part of the piece between -180 and 0 degrees is at the front of the pie
+		int sideStartAngle = Math.min(startAngle, 0);
+		int sideEndAngle = Math.max(endAngle, -180);
+		if (sideEndAngle < sideStartAngle) {
+			side = new Path2D.Double();
+			side.append(new Arc2D.Double(layout.pieX, layout.pieY, layout.pieWidth, layout.pieWidth / 2, sideStartAngle, sideEndAngle - sideStartAngle, Arc2D.OPEN), false);
+			side.append(new Arc2D.Double(layout.pieX, layout.pieY + layout.pieHeight, layout.pieWidth, layout.pieWidth / 2, sideEndAngle, sideStartAngle - sideEndAngle, Arc2D.OPEN), true);
+			side.closePath();
+		}
+		
+		return side;
+	}
+	
+	
+	private void resolveValueCollisions(PieLayout layout, FontMetrics fontMetrics, boolean rightSide, int top, int bottom) {
+		// Moves overlapping values on one side of the pie apart vertically and lets their value lines follow.
+		List<Integer> pieces = new ArrayList<Integer>();
+		for (int pieceNr = 0; pieceNr < layout.dataSetNames.length; pieceNr++) {
+			if ((layout.valueX[pieceNr] >= layout.pieCenterX) == rightSide) {
+				pieces.add(pieceNr);
+			}
+		}
+		Collections.sort(pieces, (piece1, piece2) -> Integer.compare(layout.valueY[piece1], layout.valueY[piece2]));
+		
+		int rowHeight = fontMetrics.getHeight();
+		int[] valueY = new int[pieces.size()];
+		for (int index = 0; index < pieces.size(); index++) {
+			valueY[index] = layout.valueY[pieces.get(index)];
+			if ((index > 0) && (valueY[index] < (valueY[index - 1] + rowHeight))) {
+				valueY[index] = valueY[index - 1] + rowHeight;
+			}
+		}
+		// Push back up when the values were pushed out of the bottom
+		for (int index = pieces.size() - 1; index >= 0; index--) {
+			int maxY = index == (pieces.size() - 1) ? bottom : (valueY[index + 1] - rowHeight);
+			if (valueY[index] > maxY) {
+				valueY[index] = Math.max(maxY, top + fontMetrics.getAscent());
+			}
+		}
+		for (int index = 0; index < pieces.size(); index++) {
+			int pieceNr = pieces.get(index);
+			if (valueY[index] != layout.valueY[pieceNr]) {
+				layout.valueLineEndY[pieceNr] += valueY[index] - layout.valueY[pieceNr];
+				layout.valueY[pieceNr] = valueY[index];
+			}
+		}
+	}
+	
+	
+
+	@Override
+	public long getMemoryEstimate() {
+		return super.getMemoryEstimate() + JChartMemory.estimateMap(dataSet, JChartMemory.NUMBER);
+	}
+	
+	
+	public void clear() {
+		super.clear();
+		dataSet = null;
+		unitDescription = null;
+	}
+	
+	
+	@Override
+	protected void releaseDerivedState() {
+		super.releaseDerivedState();
+		pieLayout = null;
+	}
+
+	
+	private static class PieLayout {
+		long plotVersion;
+		Rectangle bounds;
+		
+		int pieX;
+		int pieY;
+		int pieWidth;
+		int pieHeight;
+		int pieCenterX;
+		int pieCenterY;
+		
+		String[] dataSetNames;
+		String[] valueStrings;
+		int[] valueWidths;
+		int[] startAngles;
+		int[] arcAngles;
+		int[] valueLineStartX;
+		int[] valueLineStartY;
+		int[] valueLineEndX;
+		int[] valueLineEndY;
+		int[] valueX;
+		int[] valueY;
+		Shape[] pieSides;
+	}
+
+}
@@ -1,177 +1,381 @@
-/*********************************************************************************
- *                                                                               *
- * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
- *                                                                               *
- * The JChart library is free software.                                          *
- * The JChart library is distributed in the hope that it will be useful, but     *
- * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
- * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
- *                                                                               *
- * This file is part of the JChart library.                                      *
- *                                                                               *
- *********************************************************************************/
-
-package jchart;
-
-import java.awt.BorderLayout;
-import java.awt.Color;
-import java.awt.Font;
-import java.util.List;
-
-
-/**
- * Use this class to create a scatterplot.
- * @author Mees Mosseveld
- *
- */
-public class JScatterChart extends JChart {
-	private static final long serialVersionUID = 8319989111277698598L;
-	
-	/**
-	 * Point style dot.
-	 */
-	public static final int POINT_STYLE_DOT     = 0;
-	
-	/**
-	 * Point style square.
-	 */
-	public static final int POINT_STYLE_SQUARE  = 1;
-	
-	/**
-	 * Point style diamond.
-	 */
-	public static final int POINT_STYLE_DIAMOND = 2;
-
-
-	/**
-	 * Creates a scatter chart with the specified name.
-	 * @param name The name of the chart.
-	 */
-	public JScatterChart(String name) {
-		super(name);
-		chartPlot = new JScatterChartPlot(name);
-		add(chartPlot, BorderLayout.CENTER);
-	}
-	
-	
-	/**
-	 * Add a data point to the specified data set.
-	 * @param dataSetName The name of the data set.
-	 * @param x The x value of the data point.
-	 * @param y The y value of the data point.
-	 * @return False if the data set does not exist, otherwise true.
-	 */
-	public boolean chartAddDataPoint(String dataSetName, double x, double y) {
-		return ((JScatterChartPlot) chartPlot).addDataPoint(dataSetName, x, y);
-	}
-	
-	
-	/**
-	 * Set the line style of the specified data set.
-	 * @param dataSetName The name of the data set.
-	 * @param pointStyle The point style of the data set: JLineChart.POINT_STYLE_DOT, JLineChart.POINT_STYLE_SQUARE, or JLineChart.POINT_STYLE_DIAMOND
-	 * @return False if the data set does not exist, otherwise true.
-	 */
-	public boolean chartSetPointStyle(String dataSetName, int pointStyle) {
-		return ((JScatterChartPlot) chartPlot).setPointStyle(dataSetName, pointStyle);
-	}
-	
-	
-	/**
-	 * Creates a predefined horizontal axis.
-	 * @param minimum The minimum value on the axis.
-	 * @param maximum The maximum value on the axis.
-	 * @param step The step between the values on the axis.
-	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
-	 */
-	public void chartSetHorizontalAxis(double minimum, double maximum, double step, int precision) {
-		((JScatterChartPlot) chartPlot).setHorizontalAxis(createAxis(minimum, maximum, step), precision);
-	}
-	
-	
-	/**
-	 * Creates predefined horizontal axis.
-	 * @param axis A list with the axis values.
-	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
-	 */
-	public void chartSetHorizontalAxis(List<Double> axis, int precision) {
-		((JScatterChartPlot) chartPlot).setHorizontalAxis(axis, precision);
-	}
-	
-	
-	/**
-	 * Sets the precision for the horizontal axis.
-	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
-	 */
-	public void chartSetHorizontalAxisPrecision(int precision) {
-		((JScatterChartPlot) chartPlot).setHorizontalAxisPrecision(precision);
-	}
-	
-	
-	/**
-	 * Sets the label of the horizontal axis.
-	 * @param label The label.
-	 */
-	public void chartSetHorizontalAxisLabel(String label) {
-		((JScatterChartPlot) chartPlot).setHorizontalAxisLabel(label);
-	}
-	
-	
-	/**
-	 * Creates a predefined vertical axis.
-	 * @param minimum The minimum value on the axis.
-	 * @param maximum The maximum value on the axis.
-	 * @param step The step between the values on the axis.
-	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
-	 */
-	public void chartSetVerticalAxis(double minimum, double maximum, double step, int precision) {
-		((JScatterChartPlot) chartPlot).setVerticalAxis(createAxis(minimum, maximum, step), precision);
-	}
-	
-	
-	/**
-	 * Creates predefined vertical axis.
-	 * @param axis A list with the axis values.
-	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
-	 */
-	public void chartSetVerticalAxis(List<Double> axis, int precision) {
-		((JScatterChartPlot) chartPlot).setVerticalAxis(axis, precision);
-	}
-	
-	
-	/**
-	 * Sets the precision for the vertical axis.
-	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
-	 */
-	public void chartSetVerticalAxisPrecision(int precision) {
-		((JScatterChartPlot) chartPlot).setVerticalAxisPrecision(precision);
-	}
-	
-	
-	/**
-	 * Sets the label of the vertical axis.
-	 * @param label The label.
-	 */
-	public void chartSetVerticalAxisLabel(String label) {
-		((JScatterChartPlot) chartPlot).setVerticalAxisLabel(label);
-	}
-	
-	
-	/**
-	 * Sets the color of the axes.
-	 * @param color The color.
-	 */
-	public void chartSetAxisColor(Color color) {
-		((JScatterChartPlot) chartPlot).setAxisColor(color);
-	}
-	
-	
-	/**
-	 * Set the font of the axes.
-	 * @param font The font.
-	 */
-	public void chartSetAxisFont(Font font) {
-		((JScatterChartPlot) chartPlot).setAxisFont(font);
-	}
-
-}
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Font;
+import java.io.File;
+import java.util.List;
+
+
+/**
+ * Use this class to create a scatterplot.
+ * @author Mees Mosseveld
+ *
+ */
+public class JScatterChart extends JChart {
+	private static final long serialVersionUID = 8319989111277698598L;
+	
+	/**
+	 * Point style dot.
+	 */
+	public static final int POINT_STYLE_DOT     = 0;
+	
+	/**
+	 * Point style square.
+	 */
+	public static final int POINT_STYLE_SQUARE  = 1;
+	
+	/**
+	 * Point style diamond.
+	 */
+	public static final int POINT_STYLE_DIAMOND = 2;
+	
+	/**
+	 * Scatter chart drawing each point with its point style.
+	 */
+	public static final int SCATTER_CHART_STYLE_POINTS  = 0;
+	
+	/**
+	 * Scatter chart drawing the number of points per pixel as a color of the density color ramp.
+	 * Suited for data sets that are too large to draw point by point.
+	 */
+	public static final int SCATTER_CHART_STYLE_DENSITY = 1;
+	
+	/**
+	 * Scatter chart grouping the points in hexagon shaped bins, each drawn as one filled hexagon.
+	 */
+	public static final int SCATTER_CHART_STYLE_HEXAGON_BINS = 2;
+	
+	/**
+	 * Scatter chart grouping the points in square bins, each drawn as one filled square.
+	 */
+	public static final int SCATTER_CHART_STYLE_SQUARE_BINS  = 3;
+	
+	/**
+	 * Bins are colored by the number of points in the bin.
+	 */
+	public static final int BIN_COLOR_COUNT      = 0;
+	
+	/**
+	 * Bins are colored by the mean of the values of the points in the bin.
+	 */
+	public static final int BIN_COLOR_MEAN_VALUE = 1;
+
+
+	/**
+	 * Creates a scatter chart with the specified name.
+	 * @param name The name of the chart.
+	 */
+	public JScatterChart(String name) {
+		this(name, SCATTER_CHART_STYLE_POINTS);
+	}
+
+
+	/**
+	 * Creates a scatter chart with the specified name and style.
+	 * @param name The name of the chart.
+	 * @param scatterChartStyle The style of the scatter chart: SCATTER_CHART_STYLE_POINTS, SCATTER_CHART_STYLE_DENSITY, SCATTER_CHART_STYLE_HEXAGON_BINS, or SCATTER_CHART_STYLE_SQUARE_BINS.
+	 */
+	public JScatterChart(String name, int scatterChartStyle) {
+		super(name);
+		chartPlot = new JScatterChartPlot(name, scatterChartStyle);
+		add(chartPlot, BorderLayout.CENTER);
+	}
+	
+	
+	/**
+	 * Add a data point to the specified data set.
+	 * @param dataSetName The name of the data set.
+	 * @param x The x value of the data point.
+	 * @param y The y value of the data point.
+	 * @return False if the data set does not exist, otherwise true.
+	 */
+	public boolean chartAddDataPoint(String dataSetName, double x, double y) {
+		return ((JScatterChartPlot) chartPlot).addDataPoint(dataSetName, x, y);
+	}
+	
+	
+	/**
+	 * Add a data point at a point in time to the specified data set of a chart with a time axis.
+	 * @param dataSetName The name of the data set.
+	 * @param time The time of the data point in the unit set with chartSetTimeAxis.
+	 * @param y The y value of the data point.
+	 * @return False if the data set does not exist or the chart has no time axis, otherwise true.
+	 */
+	public boolean chartAddTimePoint(String dataSetName, long time, double y) {
+		return ((JScatterChartPlot) chartPlot).addTimePoint(dataSetName, time, y);
+	}
+	
+	
+	/**
+	 * Add a data point with a value to the specified data set.
+	 * The value is used to color the bins with bin coloring BIN_COLOR_MEAN_VALUE.
+	 * @param dataSetName The name of the data set.
+	 * @param x The x value of the data point.
+	 * @param y The y value of the data point.
+	 * @param value The value of the data point.
+	 * @return False if the data set does not exist, otherwise true.
+	 */
+	public boolean chartAddDataPoint(String dataSetName, double x, double y, double value) {
+		return ((JScatterChartPlot) chartPlot).addDataPoint(dataSetName, x, y, value);
+	}
+	
+	
+	/**
+	 * Set the line style of the specified data set.
+	 * @param dataSetName The name of the data set.
+	 * @param pointStyle The point style of the data set: JLineChart.POINT_STYLE_DOT, JLineChart.POINT_STYLE_SQUARE, or JLineChart.POINT_STYLE_DIAMOND
+	 * @return False if the data set does not exist, otherwise true.
+	 */
+	public boolean chartSetPointStyle(String dataSetName, int pointStyle) {
+		return ((JScatterChartPlot) chartPlot).setPointStyle(dataSetName, pointStyle);
+	}
+	
+	
+	/**
+	 * Set the precision in which the points of the specified data set are stored.
+	 * With JChart.DATA_PRECISION_FLOAT the y values and third values are stored as floats, which is precise
+	 * enough for the screen and takes half the memory. The x values keep their precision: they are stored as
+	 * float offsets from a double per block of points as long as that gives back the exact x value, like times
+	 * in milliseconds, and as doubles otherwise.
+	 * @param dataSetName The name of the data set.
+	 * @param precision The precision of the data set: JChart.DATA_PRECISION_DOUBLE, or JChart.DATA_PRECISION_FLOAT.
+	 * @return False if the data set does not exist or the precision is unknown, otherwise true.
+	 */
+	public boolean chartSetDataSetPrecision(String dataSetName, int precision) {
+		return chartPlot.setDataSetPrecision(dataSetName, precision);
+	}
+	
+	
+	/**
+	 * Set the style of the scatter chart.
+	 * @param scatterChartStyle The style of the scatter chart: SCATTER_CHART_STYLE_POINTS, SCATTER_CHART_STYLE_DENSITY, SCATTER_CHART_STYLE_HEXAGON_BINS, or SCATTER_CHART_STYLE_SQUARE_BINS.
+	 * @return False if the style is unknown, otherwise true.
+	 */
+	public boolean chartSetScatterChartStyle(int scatterChartStyle) {
+		return ((JScatterChartPlot) chartPlot).setScatterChartStyle(scatterChartStyle);
+	}
+	
+	
+	/**
+	 * Set the width in pixels of the bins in styles SCATTER_CHART_STYLE_HEXAGON_BINS and SCATTER_CHART_STYLE_SQUARE_BINS.
+	 * The default is 10 pixels.
+	 * @param binSize The width of a bin in pixels, at least 2.
+	 * @return False if the bin size is too small, otherwise true.
+	 */
+	public boolean chartSetBinSize(int binSize) {
+		return ((JScatterChartPlot) chartPlot).setBinSize(binSize);
+	}
+	
+	
+	/**
+	 * Set how the bins are colored in styles SCATTER_CHART_STYLE_HEXAGON_BINS and SCATTER_CHART_STYLE_SQUARE_BINS.
+	 * With BIN_COLOR_MEAN_VALUE bins without points with a value are not drawn.
+	 * @param binColoring BIN_COLOR_COUNT (default) or BIN_COLOR_MEAN_VALUE.
+	 * @return False if the bin coloring is unknown, otherwise true.
+	 */
+	public boolean chartSetBinColoring(int binColoring) {
+		return ((JScatterChartPlot) chartPlot).setBinColoring(binColoring);
+	}
+	
+	
+	/**
+	 * Set the colors used for the point density in style SCATTER_CHART_STYLE_DENSITY and for the bins
+	 * in styles SCATTER_CHART_STYLE_HEXAGON_BINS and SCATTER_CHART_STYLE_SQUARE_BINS.
+	 * The first color is used for the lowest density or mean value, the last color for the highest.
+	 * Densities are interpolated on a logarithmic scale of the number of points, mean values on a
+	 * linear scale. Pixels and bins without points are not drawn.
+	 * @param colorRamp The colors from low to high density.
+	 * @return False if the list contains no colors, otherwise true.
+	 */
+	public boolean chartSetDensityColorRamp(List<Color> colorRamp) {
+		return ((JScatterChartPlot) chartPlot).setDensityColorRamp(colorRamp);
+	}
+	
+	
+	/**
+	 * Creates a predefined horizontal axis.
+	 * @param minimum The minimum value on the axis.
+	 * @param maximum The maximum value on the axis.
+	 * @param step The step between the values on the axis.
+	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
+	 */
+	public void chartSetHorizontalAxis(double minimum, double maximum, double step, int precision) {
+		((JScatterChartPlot) chartPlot).setHorizontalAxis(createAxis(minimum, maximum, step), precision);
+	}
+	
+	
+	/**
+	 * Creates predefined horizontal axis.
+	 * @param axis A list with the axis values.
+	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
+	 */
+	public void chartSetHorizontalAxis(List<Double> axis, int precision) {
+		((JScatterChartPlot) chartPlot).setHorizontalAxis(axis, precision);
+	}
+	
+	
+	/**
+	 * Sets the precision for the horizontal axis.
+	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
+	 */
+	public void chartSetHorizontalAxisPrecision(int precision) {
+		((JScatterChartPlot) chartPlot).setHorizontalAxisPrecision(precision);
+	}
+	
+	
+	/**
+	 * Sets the label of the horizontal axis.
+	 * @param label The label.
+	 */
+	public void chartSetHorizontalAxisLabel(String label) {
+		((JScatterChartPlot) chartPlot).setHorizontalAxisLabel(label);
+	}
+	
+	
+	/**
+	 * Creates a predefined vertical axis.
+	 * @param minimum The minimum value on the axis.
+	 * @param maximum The maximum value on the axis.
+	 * @param step The step between the values on the axis.
+	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
+	 */
+	public void chartSetVerticalAxis(double minimum, double maximum, double step, int precision) {
+		((JScatterChartPlot) chartPlot).setVerticalAxis(createAxis(minimum, maximum, step), precision);
+	}
+	
+	
+	/**
+	 * Creates predefined vertical axis.
+	 * @param axis A list with the axis values.
+	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
+	 */
+	public void chartSetVerticalAxis(List<Double> axis, int precision) {
+		((JScatterChartPlot) chartPlot).setVerticalAxis(axis, precision);
+	}
+	
+	
+	/**
+	 * Sets the precision for the vertical axis.
+	 * @param precision The number of digits shown behind the decimal point. When 0 the values are shown as integers.
+	 */
+	public void chartSetVerticalAxisPrecision(int precision) {
+		((JScatterChartPlot) chartPlot).setVerticalAxisPrecision(precision);
+	}
+	
+	
+	/**
+	 * Sets the label of the vertical axis.
+	 * @param label The label.
+	 */
+	public void chartSetVerticalAxisLabel(String label) {
+		((JScatterChartPlot) chartPlot).setVerticalAxisLabel(label);
+	}
+	
+	
+	/**
+	 * Sets the scales of the axes. On a logarithmic axis the ticks are at the powers of the base
+	 * and values less than or equal to zero are not shown. The logarithms of the points are
+	 * computed once after they are added, not each time the chart is drawn.
+	 * @param horizontalScale The scale of the horizontal axis: JChart.AXIS_SCALE_LINEAR, JChart.AXIS_SCALE_LOG10 or JChart.AXIS_SCALE_LOG2.
+	 * @param verticalScale The scale of the vertical axis: JChart.AXIS_SCALE_LINEAR, JChart.AXIS_SCALE_LOG10 or JChart.AXIS_SCALE_LOG2.
+	 * @return False if a scale is unknown or not possible for the chart style, otherwise true.
+	 */
+	public boolean chartSetAxisScales(int horizontalScale, int verticalScale) {
+		return ((JScatterChartPlot) chartPlot).setAxisScales(horizontalScale, verticalScale);
+	}
+	
+	
+	/**
+	 * Sets the color of the axes.
+	 * @param color The color.
+	 */
+	public void chartSetAxisColor(Color color) {
+		((JScatterChartPlot) chartPlot).setAxisColor(color);
+	}
+	
+	
+	/**
+	 * Set the font of the axes.
+	 * @param font The font.
+	 */
+	public void chartSetAxisFont(Font font) {
+		((JScatterChartPlot) chartPlot).setAxisFont(font);
+	}
+	
+	
+	/**
+	 * Save the data of the chart as a binary snapshot: the data sets with their colors and point styles,
+	 * the time axis and the points. The points are written as columns of doubles, so saving and
+	 * loading take about as long as reading and writing the file.
+	 * @param file The file to write.
+	 * @return False if the file could not be written, otherwise true.
+	 */
+	public boolean chartSaveSnapshot(File file) {
+		return chartPlot.saveSnapshot(file);
+	}
+	
+	
+	/**
+	 * Replace the data of the chart by the data in a snapshot saved by a JScatterChart with chartSaveSnapshot.
+	 * The settings of the chart, like its title, style, axes and the precision of its data sets, are not changed.
+	 * @param file The file to read.
+	 * @return False if the file could not be read or is not a snapshot of a JScatterChart, otherwise true.
+	 */
+	public boolean chartLoadSnapshot(File file) {
+		return chartPlot.loadSnapshot(file);
+	}
+	
+	
+	/**
+	 * Show the data in a snapshot saved by a JScatterChart with chartSaveSnapshot without reading it into memory.
+	 * The columns of points in the file are mapped into memory, so opening even a snapshot larger than
+	 * the heap takes no time. The operating system reads the parts of the file that are drawn and keeps
+	 * them in its cache. Adding a point to a data set reads the points of that data set into memory first.
+	 * The file should not be changed while the chart shows its data, but a snapshot can be saved to it,
+	 * because saving replaces the file with a new one.
+	 * The settings of the chart, like its title, style, axes and the precision of its data sets, are not changed.
+	 * @param file The file to open.
+	 * @return False if the file could not be opened or is not a snapshot of a JScatterChart, otherwise true.
+	 */
+	public boolean chartOpenSnapshot(File file) {
+		return chartPlot.openSnapshot(file);
+	}
+	
+	
+	/**
+	 * Add the points in a delimited text file, like a CSV or TSV file, to data sets of the chart.
+	 * Every line after the header lines is a row of fields separated by the delimiter, in columns numbered from 0.
+	 * The x column holds the x value of a row, or in a chart with a time axis its time as a whole number in the unit of the axis.
+	 * Each y column holds the y value of a point of the row in one of the data sets. Rows without a number in the x column
+	 * and fields without a number in a y column are skipped. Spaces and quotes around a number are ignored.
+	 * The file is read in blocks that are parsed without creating objects per row, and added to the data sets in the
+	 * order of the file, so a file of gigabytes can be imported in little more memory than its points take in the chart.
+	 * When the file cannot be read completely, the rows before the error are added.
+	 * @param file The file to read.
+	 * @param delimiter The character between the fields, like ',', ';' or '\t'.
+	 * @param headerLines The number of lines at the start of the file that are not data, like a line with column names.
+	 * @param xColumn The column of the x values.
+	 * @param yColumns The columns of the y values, one per data set.
+	 * @param dataSetNames The data sets of the y columns, which should exist in the chart.
+	 * @param parallel When true, blocks of the file are parsed on all processors at once.
+	 * @return False if the file could not be read or the columns do not match existing data sets, otherwise true.
+	 */
+	public boolean chartImportDelimited(File file, char delimiter, int headerLines, int xColumn, int[] yColumns, String[] dataSetNames, boolean parallel) {
+		return chartPlot.importDelimited(file, delimiter, headerLines, xColumn, yColumns, dataSetNames, parallel);
+	}
+
+}
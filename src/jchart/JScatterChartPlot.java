@@ -1,337 +1,857 @@
-/*********************************************************************************
- *                                                                               *
- * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
- *                                                                               *
- * The JChart library is free software.                                          *
- * The JChart library is distributed in the hope that it will be useful, but     *
- * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
- * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
- *                                                                               *
- * This file is part of the JChart library.                                      *
- *                                                                               *
- *********************************************************************************/
-
-package jchart;
-
-import java.awt.Color;
-import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.FontMetrics;
-import java.awt.Graphics;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-import javax.swing.JOptionPane;
-
-class JScatterChartPlot extends JChartPlot {
-	private static final long serialVersionUID = -7356620474405945915L;
-	
-	private Map<String, Map<Double, Double>> dataSet = null;
-	
-	private List<Double> horizontalAxis = null;
-	private int horizontalAxisPrecision = STANDARD_PRECISION;
-	private String horizontalAxisLabel = null;
-	
-	private List<Double> verticalAxis = null;
-	private int verticalAxisPrecision = STANDARD_PRECISION;
-	private String verticalAxisLabel = null;
-	
-	private Color axisColor = Color.BLACK;
-	private Font axisFont = new Font("Arial", Font.PLAIN, 10);
-	
-
-	public JScatterChartPlot(String name) {
-		super(name);
-		// TODO Auto-generated constructor stub
-	}
-	
-	
-	public boolean addDataPoint(String dataSetName, Double x, Double y) {
-		boolean ok = false;
-
-		if (dataSets.containsKey(dataSetName)) {
-			ok = true;
-			if (dataSet == null) {
-				dataSet = new HashMap<String, Map<Double, Double>>();
-			}
-			Map<Double, Double> valueMap = dataSet.get(dataSetName);
-			if (valueMap == null) {
-				valueMap = new HashMap<Double, Double>();
-				dataSet.put(dataSetName, valueMap);
-			}
-			valueMap.put(x, y);
-		}
-		else {
-			JOptionPane.showMessageDialog(null, "Unknown data set '" + dataSetName + ".", "LineChart '" + name + "' Data Set Error", JOptionPane.ERROR_MESSAGE);
-		}
-		
-		return ok;
-	}
-	
-	
-	public boolean setPointStyle(String dataSetName, int pointStyle) {
-		boolean ok = false;
-
-		if (dataSets.containsKey(dataSetName)) {
-			if ((pointStyle >= 0) && (pointStyle <= JScatterChart.POINT_STYLE_DIAMOND)) {
-				if (pointStyles == null) {
-					pointStyles = new HashMap<String, Integer>();
-				}
-				pointStyles.put(dataSetName, pointStyle);
-			}
-			else {
-				JOptionPane.showMessageDialog(null, "Unknown point style.", "ScatterChart '" + name + "' Point Style Error", JOptionPane.ERROR_MESSAGE);
-			}
-		}
-		else {
-			JOptionPane.showMessageDialog(null, "Unknown data set '" + dataSetName + ".", "LineChart '" + name + "' Data Set Error", JOptionPane.ERROR_MESSAGE);
-		}
-		
-		return ok;
-	}
-	
-	
-	public void setHorizontalAxis(List<Double> axis, int precision) {
-		horizontalAxis = axis;
-		horizontalAxisPrecision = precision;
-	}
-	
-	
-	public void setHorizontalAxisPrecision(int precision) {
-		horizontalAxisPrecision = precision;
-	}
-	
-	
-	public void setHorizontalAxisLabel(String label) {
-		horizontalAxisLabel = label;
-	}
-	
-	
-	public void setVerticalAxis(List<Double> axis, int precision) {
-		verticalAxis = axis;
-		verticalAxisPrecision = precision;
-	}
-	
-	
-	public void setVerticalAxisPrecision(int precision) {
-		verticalAxisPrecision = precision;
-	}
-	
-	
-	public void setVerticalAxisLabel(String label) {
-		verticalAxisLabel = label;
-	}
-	
-	
-	public void setAxisColor(Color color) {
-		axisColor = color;
-	}
-	
-	
-	public void setAxisFont(Font font) {
-		axisFont = font;
-	}
-
-	@Override
-	void draw(Graphics graphics) {
-		//Set background color
-		graphics.setColor(chartBackgroundColor);
-		graphics.fillRect(0, 0, getWidth(), getHeight());
-
-		if (dataSet != null) {
-			FontMetrics fontMetrics = graphics.getFontMetrics(axisFont);
-
-			Double minX = null;
-			Double maxX = null;
-			int maxXWidth = 0;
-			
-			Double minY = null;
-			Double maxY = null;
-			int maxYWidth = 0;
-			
-			if (horizontalAxis != null) {
-				for (double x : horizontalAxis) {
-					minX = minX == null ? x : Math.min(minX, x);
-					maxX = maxX == null ? x : Math.max(maxX, x);
-					maxXWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(x, horizontalAxisPrecision)));
-				}
-			}
-			
-			if (verticalAxis != null) {
-				for (double y : verticalAxis) {
-					minY = minY == null ? y : Math.min(minY, y);
-					maxY = maxY == null ? y : Math.max(maxY, y);
-					maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(y, verticalAxisPrecision)));
-				}
-			}
-			
-			if ((horizontalAxis == null) || (verticalAxis == null)) {
-				for (String dataSetName : dataSet.keySet()) {
-					for (double x : dataSet.get(dataSetName).keySet()) {
-						if (horizontalAxis == null) {
-							minX = minX == null ? x : Math.min(minX, x);
-							maxX = maxX == null ? x : Math.max(maxX, x);
-							maxXWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(x, horizontalAxisPrecision)));
-						}
-						
-						if (verticalAxis == null) {
-							double y = dataSet.get(dataSetName).get(x);
-							minY = minY == null ? y : Math.min(minY, y);
-							maxY = maxY == null ? y : Math.max(maxY, y);
-							maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatValue(y, verticalAxisPrecision)));
-						}
-					}
-				}
-			}
-			
-			int leftBottomX = MARGIN;
-			int leftBottomY = getHeight() - MARGIN;
-			int width = getWidth() - (2 * MARGIN);
-			int height = getHeight() - (2 * MARGIN);
-			
-			Dimension changesYAndHeihght = showTitle(graphics, leftBottomX, leftBottomY, width, height);
-			leftBottomY = changesYAndHeihght.width;
-			height = changesYAndHeihght.height;
-			
-			int legendHeight = showLegendBottom(graphics, leftBottomX, leftBottomY, width, false);
-			leftBottomY = leftBottomY - legendHeight;
-			height = height - legendHeight;
-			
-			if (horizontalAxisLabel != null) {
-				if (!((minY < 0.0) && (maxY > 0.0))) {
-					leftBottomY = leftBottomY - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-					height = height - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-				}
-			}
-			
-			width = width - ((maxXWidth + 1) / 2);
-			 
-			if (verticalAxisLabel != null) {
-				height = height - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-			}
-			
-			int verticalAxisX = leftBottomX;
-			if ((minX < 0.0) && (maxX > 0.0)) {
-				leftBottomX = leftBottomX + ((maxXWidth + 1) / 2);
-				width = width - ((maxXWidth + 1) / 2);
-				verticalAxisX = valueToPosition(0.0, leftBottomX, leftBottomX + width, minX, maxX);
-				if ((verticalAxisX - (maxYWidth + AXIS_VALUE_GAP)) < leftBottomX) {
-					leftBottomX = leftBottomX - verticalAxisX + maxYWidth + AXIS_VALUE_GAP;
-					width = width - ((maxYWidth + AXIS_VALUE_GAP) - verticalAxisX);
-					verticalAxisX = valueToPosition(0.0, leftBottomX, leftBottomX + width, minX, maxX);
-				}
-			}
-			else {
-				int xShift = Math.max(maxYWidth + AXIS_VALUE_GAP, (maxXWidth + 1) / 2);
-				leftBottomX = leftBottomX + xShift;
-				width = width - xShift;
-				verticalAxisX = leftBottomX;
-			}
-			
-			int horizontalAxisY = leftBottomY;
-			if ((minY < 0.0) && (maxY > 0.0)) {
-				leftBottomY = leftBottomY - ((fontMetrics.getHeight() + 1) / 2);
-				height = height - ((fontMetrics.getHeight() + 1) / 2);
-				horizontalAxisY = valueToPosition(0.0, leftBottomY, leftBottomY - height, minY, maxY);
-			}
-			else {
-				leftBottomY = leftBottomY - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-				height = height - fontMetrics.getHeight() - AXIS_VALUE_GAP;
-				horizontalAxisY = leftBottomY;
-			}
-			
-			List<Double> hAxis = horizontalAxis(horizontalAxis, minX, maxX, leftBottomX, leftBottomX + width, fontMetrics, horizontalAxisPrecision);
-			List<Double> vAxis = verticalAxis(verticalAxis, minY, maxY, leftBottomY, leftBottomY - height, fontMetrics, verticalAxisPrecision);
-			
-			if (JChartPlot.DEBUG) {
-				System.out.println();
-				System.out.println(name);
-				System.out.println("PanelWidth       = " + Integer.toString(getWidth()));
-				System.out.println("PanelHeight      = " + Integer.toString(getHeight()));
-				System.out.println("MARGIN           = " + Integer.toString(MARGIN));
-				System.out.println("AXIS_VALUE_GAP   = " + Integer.toString(AXIS_VALUE_GAP));
-				System.out.println("FontHeight       = " + Integer.toString(graphics.getFontMetrics(axisFont).getHeight()));
-				System.out.println("maxXWidth        = " + Integer.toString(maxXWidth));
-				System.out.println("maxYWidth        = " + Integer.toString(maxYWidth));
-				System.out.println("leftBottomyTitle = " + Integer.toString((int) changesYAndHeihght.getWidth()));
-				System.out.println("heightTitle      = " + Integer.toString((int) changesYAndHeihght.getHeight()));
-				System.out.println("legendHeight     = " + Integer.toString(legendHeight));
-				System.out.println("leftBottomX      = " + Integer.toString(leftBottomX));
-				System.out.println("leftBottomY      = " + Integer.toString(leftBottomY));
-				System.out.println("width            = " + Integer.toString(width));
-				System.out.println("height           = " + Integer.toString(height));
-				System.out.println("verticalAxisX    = " + Integer.toString(verticalAxisX));
-				System.out.println("horizontalAxisY  = " + Integer.toString(horizontalAxisY));
-				System.out.println();
-			}
-			
-			// Draw data 
-			for (String dataSetName : dataSets.keySet()) {
-				graphics.setColor(dataSets.get(dataSetName));
-				List<Double> xValues = new ArrayList<Double>();
-				xValues.addAll(dataSet.get(dataSetName).keySet());
-				Collections.sort(xValues);
-				for (Double x : xValues) {
-					Integer xPos = valueToPosition(x, leftBottomX, leftBottomX + width, hAxis.get(0), hAxis.get(hAxis.size() - 1));
-					Integer yPos = null;
-					Double yValue = dataSet.get(dataSetName).get(x);
-					if (yValue != null) {
-						yPos = valueToPosition(yValue, leftBottomY, leftBottomY - height, vAxis.get(0), vAxis.get(vAxis.size() - 1));
-						drawPoint(graphics, xPos, yPos, getLineStyle(dataSetName));
-					}
-				}
-			}
-			
-			// Set axis color
-			graphics.setColor(axisColor);
-			
-			//Set axis font
-			graphics.setFont(axisFont);
-			
-			// Draw horizontal axis
-			graphics.drawLine(leftBottomX, horizontalAxisY, leftBottomX + width, horizontalAxisY);
-			for (double x : hAxis) {
-				String xString = formatValue(x, horizontalAxisPrecision);
-				Integer xPos = valueToPosition(x, leftBottomX, leftBottomX + width, hAxis.get(0), hAxis.get(hAxis.size() - 1));
-				int halfXStringWidth = (fontMetrics.stringWidth(xString) / 2);
-				if ((horizontalAxisY == leftBottomY) || (xPos < (verticalAxisX - halfXStringWidth - 2)) || (xPos > (verticalAxisX + halfXStringWidth + 2))) {
-					graphics.drawLine(xPos, horizontalAxisY + 2, xPos, horizontalAxisY);
-					graphics.drawString(xString, xPos - halfXStringWidth, horizontalAxisY + AXIS_VALUE_GAP + fontMetrics.getHeight());
-				}
-			}
-			if (horizontalAxisLabel != null) {
-				graphics.drawString(horizontalAxisLabel, leftBottomX + width + ((maxXWidth + 1) / 2) - fontMetrics.stringWidth(horizontalAxisLabel), horizontalAxisY + (2 * fontMetrics.getHeight() + AXIS_VALUE_GAP));
-			}
-			
-			// Draw vertical axis
-			graphics.drawLine(verticalAxisX, leftBottomY, verticalAxisX, leftBottomY - height);
-			for (double y : vAxis) {
-				String yString = formatValue(y, verticalAxisPrecision);
-				int yPos = valueToPosition(y, leftBottomY, leftBottomY - height, vAxis.get(0), vAxis.get(vAxis.size() - 1));
-				if ((verticalAxisX == leftBottomX) || (yPos > (horizontalAxisY + fontMetrics.getHeight() + 2)) || (yPos < (horizontalAxisY - fontMetrics.getHeight() - 2))) {
-					graphics.drawLine(verticalAxisX - 2, yPos, verticalAxisX, yPos);
-					graphics.drawString(yString, verticalAxisX - AXIS_VALUE_GAP - fontMetrics.stringWidth(yString), yPos + (fontMetrics.getHeight() / 2));
-				}
-			}
-			if (verticalAxisLabel != null) {
-				graphics.drawString(verticalAxisLabel, Math.max(MARGIN, verticalAxisX - (fontMetrics.stringWidth(verticalAxisLabel) / 2)), leftBottomY - height - AXIS_VALUE_GAP);
-			}
-		}
-	}
-
-
-	@Override
-	public void clear() {
-		super.clear();
-		dataSet = null;
-		pointStyles = null;
-		horizontalAxis = null;
-		horizontalAxisLabel = null;
-		verticalAxis = null;
-		verticalAxisLabel = null;
-	}
-
-}
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import javax.swing.JOptionPane;
+
+class JScatterChartPlot extends JChartPlot {
+	private static final long serialVersionUID = -7356620474405945915L;
+	
+	private static final int DENSITY_COLOR_LOOKUP_SIZE = 256;
+	private static final int DEFAULT_BIN_SIZE = 10;
+	private static final int MINIMUM_BIN_SIZE = 2;
+	private static final int BIN_TASK_SIZE = 65536;
+	
+	// The default color ramp is shared by all plots, a color ramp that is set is copied
+	private static final List<Color> DEFAULT_DENSITY_COLOR_RAMP = Collections.unmodifiableList(Arrays.asList(new Color(0, 0, 255), new Color(0, 255, 255), new Color(255, 255, 0), new Color(255, 0, 0)));
+	
+	private int scatterChartStyle = JScatterChart.SCATTER_CHART_STYLE_POINTS;
+	
+	private Map<String, JChartSeries> dataSet = null;
+	
+	private List<Double> horizontalAxis = null;
+	private int horizontalAxisPrecision = STANDARD_PRECISION;
+	private String horizontalAxisLabel = null;
+	
+	private List<Double> verticalAxis = null;
+	private int verticalAxisPrecision = STANDARD_PRECISION;
+	private String verticalAxisLabel = null;
+	
+	
+	private int binSize = DEFAULT_BIN_SIZE;
+	private int binColoring = JScatterChart.BIN_COLOR_COUNT;
+	
+	private List<Color> densityColorRamp = DEFAULT_DENSITY_COLOR_RAMP;
+	private transient int[] densityColorLookup = null;
+	private transient int[] densityCounts = null;
+	private transient JChartRaster densityRaster = null;
+	private transient BinGrid binGrid = null;
+	private transient double[] aggregateKey = null;
+	
+
+	public JScatterChartPlot(String name) {
+		this(name, JScatterChart.SCATTER_CHART_STYLE_POINTS);
+	}
+	
+
+	public JScatterChartPlot(String name, int scatterChartStyle) {
+		super(name);
+		setScatterChartStyle(scatterChartStyle);
+	}
+	
+	
+	public boolean addDataPoint(String dataSetName, double x, double y) {
+		return addDataPoint(dataSetName, x, y, Double.NaN);
+	}
+	
+	
+	public boolean addDataPoint(String dataSetName, double x, double y, double value) {
+		boolean ok = false;
+
+		if (dataSets.containsKey(dataSetName)) {
+			ok = true;
+			JChartSeries series = dataSet == null ? null : dataSet.get(dataSetName);
+			if (series == null) {
+				series = new JChartSeries();
+				putSeries(dataSetName, series);
+			}
+			series.add(x, y, value);
+			pointsAdded();
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "Unknown data set '" + dataSetName + ".", "LineChart '" + name + "' Data Set Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public boolean addTimePoint(String dataSetName, long time, double y) {
+		Double x = timeToValue(time);
+		return (x != null) && addDataPoint(dataSetName, x, y);
+	}
+	
+	
+	public boolean setPointStyle(String dataSetName, int pointStyle) {
+		boolean ok = false;
+
+		if (dataSets.containsKey(dataSetName)) {
+			if ((pointStyle >= 0) && (pointStyle <= JScatterChart.POINT_STYLE_DIAMOND)) {
+				if (pointStyles == null) {
+					pointStyles = new HashMap<String, Integer>();
+				}
+				pointStyles.put(dataSetName, pointStyle);
+				plotChanged();
+			}
+			else {
+				JOptionPane.showMessageDialog(null, "Unknown point style.", "ScatterChart '" + name + "' Point Style Error", JOptionPane.ERROR_MESSAGE);
+			}
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "Unknown data set '" + dataSetName + ".", "LineChart '" + name + "' Data Set Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public void setHorizontalAxis(List<Double> axis, int precision) {
+		horizontalAxis = axis;
+		horizontalAxisPrecision = precision;
+		plotChanged();
+	}
+	
+	
+	public void setHorizontalAxisPrecision(int precision) {
+		horizontalAxisPrecision = precision;
+		plotChanged();
+	}
+	
+	
+	public void setHorizontalAxisLabel(String label) {
+		horizontalAxisLabel = label;
+		plotChanged();
+	}
+	
+	
+	public void setVerticalAxis(List<Double> axis, int precision) {
+		verticalAxis = axis;
+		verticalAxisPrecision = precision;
+		plotChanged();
+	}
+	
+	
+	public void setVerticalAxisPrecision(int precision) {
+		verticalAxisPrecision = precision;
+		plotChanged();
+	}
+	
+	
+	public void setVerticalAxisLabel(String label) {
+		verticalAxisLabel = label;
+		plotChanged();
+	}
+	
+	
+	public void setAxisColor(Color color) {
+		chartStyle = chartStyle.withAxisColor(color);
+		plotChanged();
+	}
+	
+	
+	public void setAxisFont(Font font) {
+		chartStyle = chartStyle.withAxisFont(font);
+		plotChanged();
+	}
+	
+	
+	public boolean setAxisScales(int xScale, int yScale) {
+		boolean ok = false;
+		
+		if (isValidScale(xScale) && isValidScale(yScale)) {
+			horizontalScale = xScale;
+			verticalScale = yScale;
+			if (dataSet != null) {
+				for (JChartSeries series : dataSet.values()) {
+					series.setScales(xScale, yScale);
+				}
+			}
+			viewport = null;
+			plotChanged();
+			ok = true;
+		}
+		
+		return ok;
+	}
+	
+	
+	public boolean setScatterChartStyle(int scatterChartStyle) {
+		boolean ok = false;
+		
+		if ((scatterChartStyle >= 0) && (scatterChartStyle <= JScatterChart.SCATTER_CHART_STYLE_SQUARE_BINS)) {
+			ok = true;
+			this.scatterChartStyle = scatterChartStyle;
+			plotChanged();
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "Unknown scatter chart style.", "ScatterChart '" + name + "' Style Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public boolean setBinSize(int binSize) {
+		boolean ok = false;
+		
+		if (binSize >= MINIMUM_BIN_SIZE) {
+			ok = true;
+			this.binSize = binSize;
+			plotChanged();
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "The bin size should be at least " + MINIMUM_BIN_SIZE + " pixels.", "ScatterChart '" + name + "' Bin Size Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public boolean setBinColoring(int binColoring) {
+		boolean ok = false;
+		
+		if ((binColoring == JScatterChart.BIN_COLOR_COUNT) || (binColoring == JScatterChart.BIN_COLOR_MEAN_VALUE)) {
+			ok = true;
+			this.binColoring = binColoring;
+			plotChanged();
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "Unknown bin coloring.", "ScatterChart '" + name + "' Bin Coloring Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+	
+	
+	public boolean setDensityColorRamp(List<Color> colorRamp) {
+		boolean ok = false;
+		
+		if ((colorRamp != null) && (!colorRamp.isEmpty()) && (!colorRamp.contains(null))) {
+			ok = true;
+			densityColorRamp = new ArrayList<Color>(colorRamp);
+			densityColorLookup = null;
+			plotChanged();
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "The color ramp should contain at least one color.", "ScatterChart '" + name + "' Color Ramp Error", JOptionPane.ERROR_MESSAGE);
+		}
+		
+		return ok;
+	}
+
+	@Override
+	void draw(Graphics graphics) {
+		//Set background color
+		graphics.setColor(chartStyle.getBackgroundColor());
+		graphics.fillRect(0, 0, getWidth(), getHeight());
+
+		if (dataSet != null) {
+			FontMetrics fontMetrics = graphics.getFontMetrics(chartStyle.getAxisFont());
+			List<Double> xAxis = JChartScale.toScale(horizontalAxis, horizontalScale);
+			List<Double> yAxis = JChartScale.toScale(verticalAxis, verticalScale);
+
+			Double minX = null;
+			Double maxX = null;
+			int maxXWidth = 0;
+			
+			Double minY = null;
+			Double maxY = null;
+			int maxYWidth = 0;
+			
+			if (xAxis != null) {
+				for (double x : xAxis) {
+					minX = minX == null ? x : Math.min(minX, x);
+					maxX = maxX == null ? x : Math.max(maxX, x);
+					maxXWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatX(x, horizontalAxisPrecision)));
+				}
+			}
+			
+			if (yAxis != null) {
+				for (double y : yAxis) {
+					minY = minY == null ? y : Math.min(minY, y);
+					maxY = maxY == null ? y : Math.max(maxY, y);
+					maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatY(y, verticalAxisPrecision)));
+				}
+			}
+			
+			if ((xAxis == null) || (yAxis == null)) {
+				for (JChartSeries series : dataSet.values()) {
+					if (series.size() > 0) {
+						if ((xAxis == null) && (!Double.isNaN(series.getMinimumPlotX()))) {
+							minX = minX == null ? series.getMinimumPlotX() : Math.min(minX, series.getMinimumPlotX());
+							maxX = maxX == null ? series.getMaximumPlotX() : Math.max(maxX, series.getMaximumPlotX());
+						}
+						
+						if ((yAxis == null) && (!Double.isNaN(series.getMinimumPlotY()))) {
+							minY = minY == null ? series.getMinimumPlotY() : Math.min(minY, series.getMinimumPlotY());
+							maxY = maxY == null ? series.getMaximumPlotY() : Math.max(maxY, series.getMaximumPlotY());
+						}
+					}
+				}
+				
+				// The widest values are at the ends of the range, so only those are measured
+				if ((xAxis == null) && (minX != null)) {
+					maxXWidth = Math.max(fontMetrics.stringWidth(formatX(minX, horizontalAxisPrecision)), fontMetrics.stringWidth(formatX(maxX, horizontalAxisPrecision)));
+				}
+				if ((yAxis == null) && (minY != null)) {
+					maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatY(minY, verticalAxisPrecision)));
+					maxYWidth = Math.max(maxYWidth, fontMetrics.stringWidth(formatY(maxY, verticalAxisPrecision)));
+				}
+			}
+			
+			int xPrecision = horizontalAxisPrecision;
+			int yPrecision = verticalAxisPrecision;
+			if (viewport != null) {
+				// Zoomed or panned, so the viewport determines the axes
+				minX = viewport[0];
+				maxX = viewport[1];
+				minY = viewport[2];
+				maxY = viewport[3];
+				xPrecision = getZoomPrecision(horizontalAxisPrecision, minX, maxX);
+				yPrecision = getZoomPrecision(verticalAxisPrecision, minY, maxY);
+				maxXWidth = Math.max(fontMetrics.stringWidth(formatX(minX, xPrecision)), fontMetrics.stringWidth(formatX(maxX, xPrecision)));
+				maxYWidth = Math.max(fontMetrics.stringWidth(formatY(minY, yPrecision)), fontMetrics.stringWidth(formatY(maxY, yPrecision)));
+			}
+			if ((timeAxis != null) && (minX != null)) {
+				maxXWidth = measureTimeAxis(minX, maxX, fontMetrics);
+			}
+			
+			JChartAxisLayout layout = getAxisLayout();
+			layout.begin(JChartAxisLayout.STYLE_VALUES, showTitleAndLegend(graphics, true, false));
+			layout.setLabels((horizontalAxisLabel != null), (verticalAxisLabel != null));
+			layout.setValueWidths(maxXWidth, maxYWidth);
+			layout.setHorizontalValues(viewport == null ? xAxis : null, minX, maxX, xPrecision, (timeAxis == null) && (horizontalScale == JChart.AXIS_SCALE_LINEAR));
+			layout.setVerticalValues(viewport == null ? yAxis : null, minY, maxY, yPrecision, verticalScale == JChart.AXIS_SCALE_LINEAR);
+			layout.update(fontMetrics);
+			
+			int leftBottomX = layout.getLeftBottomX();
+			int leftBottomY = layout.getLeftBottomY();
+			int width = layout.getWidth();
+			int height = layout.getHeight();
+			int verticalAxisX = layout.getVerticalAxisX();
+			int horizontalAxisY = layout.getHorizontalAxisY();
+			List<Double> hAxis = layout.getHorizontalAxis();
+			List<Double> vAxis = layout.getVerticalAxis();
+			
+			// Draw data 
+			if (scatterChartStyle == JScatterChart.SCATTER_CHART_STYLE_DENSITY) {
+				drawDensity(graphics, layout);
+			}
+			else if ((scatterChartStyle == JScatterChart.SCATTER_CHART_STYLE_HEXAGON_BINS) || (scatterChartStyle == JScatterChart.SCATTER_CHART_STYLE_SQUARE_BINS)) {
+				drawBins(graphics, layout);
+			}
+			else {
+				Graphics dataGraphics = beginDataLayer(graphics);
+				if (viewport != null) {
+					clipDataLayer(dataGraphics, leftBottomX, leftBottomY - height, width + 1, height + 1);
+				}
+				List<JChartProgressiveRenderer.Series> pointSeries = new ArrayList<JChartProgressiveRenderer.Series>();
+				for (String dataSetName : dataSets.keySet()) {
+					JChartSeries series = dataSet.get(dataSetName);
+					if (series != null) {
+						int firstPointNr = series.lowerBoundPlot(hAxis.get(0));
+						int lastPointNr = series.upperBoundPlot(hAxis.get(hAxis.size() - 1));
+						pointSeries.add(new JChartProgressiveRenderer.Series(dataSets.get(dataSetName), getLineStyle(dataSetName), series, firstPointNr, lastPointNr));
+					}
+				}
+				Rectangle clip = viewport == null ? null : new Rectangle(leftBottomX, leftBottomY - height, width + 1, height + 1);
+				if (!drawProgressive(graphics, layout, pointSeries, clip, false)) {
+					for (JChartProgressiveRenderer.Series series : pointSeries) {
+						dataGraphics.setColor(series.color);
+						// The points are mapped and drawn in chunks
+						for (int chunkStart = series.from; chunkStart < series.to; chunkStart += JChartAxisLayout.POSITION_CHUNK) {
+							int chunkEnd = Math.min(series.to, chunkStart + JChartAxisLayout.POSITION_CHUNK);
+							layout.toXY(series.series, chunkStart, chunkEnd);
+							int[] xPositions = layout.getXPositions();
+							int[] yPositions = layout.getYPositions();
+							for (int pointNr = 0; pointNr < (chunkEnd - chunkStart); pointNr++) {
+								// Points without y value or without position on a logarithmic axis are not drawn
+								if (yPositions[pointNr] != JChartAxisLayout.NO_POSITION) {
+									drawPoint(dataGraphics, xPositions[pointNr], yPositions[pointNr], series.pointStyle, series.color);
+								}
+							}
+						}
+					}
+				}
+				endDataLayer(graphics, dataGraphics);
+			}
+			setSeriesLayout(dataSet, leftBottomX, leftBottomY, width, height, hAxis.get(0), hAxis.get(hAxis.size() - 1), vAxis.get(0), vAxis.get(vAxis.size() - 1), xPrecision, yPrecision);
+			
+			// Set axis color
+			graphics.setColor(chartStyle.getAxisColor());
+			
+			//Set axis font
+			graphics.setFont(chartStyle.getAxisFont());
+			
+			// Draw horizontal axis
+			graphics.drawLine(leftBottomX, horizontalAxisY, leftBottomX + width, horizontalAxisY);
+			for (double x : hAxis) {
+				String xString = formatX(x, xPrecision);
+				Integer xPos = layout.toX(x);
+				int halfXStringWidth = (fontMetrics.stringWidth(xString) / 2);
+				if ((horizontalAxisY == leftBottomY) || (xPos < (verticalAxisX - halfXStringWidth - 2)) || (xPos > (verticalAxisX + halfXStringWidth + 2))) {
+					graphics.drawLine(xPos, horizontalAxisY + 2, xPos, horizontalAxisY);
+					graphics.drawString(xString, xPos - halfXStringWidth, horizontalAxisY + AXIS_VALUE_GAP + fontMetrics.getHeight());
+				}
+			}
+			if (horizontalAxisLabel != null) {
+				graphics.drawString(horizontalAxisLabel, leftBottomX + width + ((maxXWidth + 1) / 2) - fontMetrics.stringWidth(horizontalAxisLabel), horizontalAxisY + (2 * fontMetrics.getHeight() + AXIS_VALUE_GAP));
+			}
+			
+			// Draw vertical axis
+			graphics.drawLine(verticalAxisX, leftBottomY, verticalAxisX, leftBottomY - height);
+			for (double y : vAxis) {
+				String yString = formatY(y, yPrecision);
+				int yPos = layout.toY(y);
+				if ((verticalAxisX == leftBottomX) || (yPos > (horizontalAxisY + fontMetrics.getHeight() + 2)) || (yPos < (horizontalAxisY - fontMetrics.getHeight() - 2))) {
+					graphics.drawLine(verticalAxisX - 2, yPos, verticalAxisX, yPos);
+					graphics.drawString(yString, verticalAxisX - AXIS_VALUE_GAP - fontMetrics.stringWidth(yString), yPos + (fontMetrics.getHeight() / 2));
+				}
+			}
+			if (verticalAxisLabel != null) {
+				graphics.drawString(verticalAxisLabel, Math.max(MARGIN, verticalAxisX - (fontMetrics.stringWidth(verticalAxisLabel) / 2)), leftBottomY - height - AXIS_VALUE_GAP);
+			}
+		}
+	}
+
+
+	@Override
+	protected void drawProgressiveData(Graphics graphics, JChartAxisLayout layout, double[] plotX, double[] plotY, int from, int to, Color color, int pointStyle) {
+		graphics.setColor(color);
+		int[] xPositions = layout.toX(plotX, from, to);
+		int[] yPositions = layout.toY(plotY, from, to);
+		for (int pointNr = 0; pointNr < (to - from); pointNr++) {
+			// Points without y value or without position on a logarithmic axis are not drawn
+			if (yPositions[pointNr] != JChartAxisLayout.NO_POSITION) {
+				drawPoint(graphics, xPositions[pointNr], yPositions[pointNr], pointStyle);
+			}
+		}
+	}
+
+
+	private void drawDensity(Graphics graphics, JChartAxisLayout layout) {
+		// Counts the points per pixel and maps the counts through the color ramp into an image.
+		// The image is reused until the data, the size or the axis range changes.
+		List<Double> hAxis = layout.getHorizontalAxis();
+		List<Double> vAxis = layout.getVerticalAxis();
+		double[] range = new double[] { hAxis.get(0), hAxis.get(hAxis.size() - 1), vAxis.get(0), vAxis.get(vAxis.size() - 1) };
+		int width = layout.getWidth();
+		int height = layout.getHeight();
+		int rasterWidth = width + 1;
+		int rasterHeight = height + 1;
+		
+		if (densityRaster == null) {
+			densityRaster = new JChartRaster();
+		}
+		
+		if (aggregateChanged(range, width, height)) {
+			if ((densityCounts == null) || (densityCounts.length != (rasterWidth * rasterHeight))) {
+				densityCounts = new int[rasterWidth * rasterHeight];
+			}
+			else {
+				Arrays.fill(densityCounts, 0);
+			}
+			
+			double xScale = width / (range[1] - range[0]);
+			double yScale = height / (range[3] - range[2]);
+			int maxCount = 0;
+			for (JChartSeries series : dataSet.values()) {
+				int lastPointNr = series.upperBoundPlot(range[1]);
+				for (int pointNr = series.lowerBoundPlot(range[0]); pointNr < lastPointNr; pointNr++) {
+					double column = ((series.getPlotX(pointNr) - range[0]) * xScale) + 0.5;
+					double row = ((series.getPlotY(pointNr) - range[2]) * yScale) + 0.5;
+					if ((column >= 0.0) && (column < rasterWidth) && (row >= 0.0) && (row < rasterHeight)) {
+						int cell = ((height - ((int) row)) * rasterWidth) + ((int) column);
+						int count = ++densityCounts[cell];
+						maxCount = Math.max(maxCount, count);
+					}
+				}
+			}
+			
+			int[] pixels = densityRaster.getPixels(rasterWidth, rasterHeight);
+			if (maxCount > 0) {
+				int[] densityColorLookup = getColorLookup();
+				// Logarithmic scale, otherwise a few crowded pixels make all others look empty
+				double lookupScale = (densityColorLookup.length - 1) / Math.log1p(maxCount);
+				for (int cell = 0; cell < densityCounts.length; cell++) {
+					int count = densityCounts[cell];
+					if (count > 0) {
+						pixels[cell] = densityColorLookup[(int) (Math.log1p(count) * lookupScale)];
+					}
+				}
+			}
+		}
+		
+		graphics.drawImage(densityRaster.getImage(), layout.getLeftBottomX(), layout.getLeftBottomY() - height, null);
+	}
+	
+	
+	private void drawBins(Graphics graphics, JChartAxisLayout layout) {
+		// Groups the points in hexagon or square bins of binSize pixels wide and fills each bin once.
+		// The bins are counted in parallel over chunks of points and reused until the data, the size or the axis range changes.
+		List<Double> hAxis = layout.getHorizontalAxis();
+		List<Double> vAxis = layout.getVerticalAxis();
+		double[] range = new double[] { hAxis.get(0), hAxis.get(hAxis.size() - 1), vAxis.get(0), vAxis.get(vAxis.size() - 1) };
+		int leftBottomX = layout.getLeftBottomX();
+		int leftBottomY = layout.getLeftBottomY();
+		int width = layout.getWidth();
+		int height = layout.getHeight();
+		
+		boolean changed = aggregateChanged(range, width, height);
+		if (changed || (binGrid == null)) {
+			binGrid = new BinGrid(scatterChartStyle == JScatterChart.SCATTER_CHART_STYLE_HEXAGON_BINS, binSize, width, height);
+			double xScale = width / (range[1] - range[0]);
+			double yScale = height / (range[3] - range[2]);
+			for (JChartSeries series : dataSet.values()) {
+				int firstPointNr = series.lowerBoundPlot(range[0]);
+				int lastPointNr = series.upperBoundPlot(range[1]);
+				if (lastPointNr > firstPointNr) {
+					// A chunk per thread, each chunk counts in a grid of its own, so a chunk has at least as many points as the grid has bins
+					int chunkSize = Math.max(Math.max(BIN_TASK_SIZE, binGrid.counts.length), (lastPointNr - firstPointNr + ForkJoinPool.getCommonPoolParallelism() - 1) / ForkJoinPool.getCommonPoolParallelism());
+					binGrid.add(ForkJoinPool.commonPool().invoke(new BinTask(binGrid, series, firstPointNr, lastPointNr, chunkSize, range[0], xScale, range[2], yScale)));
+				}
+			}
+		}
+		
+		boolean colorByValue = (binColoring == JScatterChart.BIN_COLOR_MEAN_VALUE);
+		long maxCount = 0;
+		double minMean = Double.NaN;
+		double maxMean = Double.NaN;
+		for (int bin = 0; bin < binGrid.counts.length; bin++) {
+			maxCount = Math.max(maxCount, binGrid.counts[bin]);
+			if (binGrid.valueCounts[bin] > 0) {
+				double mean = binGrid.valueSums[bin] / binGrid.valueCounts[bin];
+				minMean = Double.isNaN(minMean) ? mean : Math.min(minMean, mean);
+				maxMean = Double.isNaN(maxMean) ? mean : Math.max(maxMean, mean);
+			}
+		}
+		
+		if (maxCount > 0) {
+			int[] colorLookup = getColorLookup();
+			double countScale = (colorLookup.length - 1) / Math.log1p(maxCount);
+			double meanScale = maxMean > minMean ? (colorLookup.length - 1) / (maxMean - minMean) : 0.0;
+			
+			Graphics binGraphics = graphics.create();
+			binGraphics.clipRect(leftBottomX, leftBottomY - height, width + 1, height + 1);
+			int[] cornersX = new int[6];
+			int[] cornersY = new int[6];
+			for (int bin = 0; bin < binGrid.counts.length; bin++) {
+				int colorIndex = -1;
+				if (colorByValue) {
+					if (binGrid.valueCounts[bin] > 0) {
+						colorIndex = (int) (((binGrid.valueSums[bin] / binGrid.valueCounts[bin]) - minMean) * meanScale);
+					}
+				}
+				else if (binGrid.counts[bin] > 0) {
+					colorIndex = (int) (Math.log1p(binGrid.counts[bin]) * countScale);
+				}
+				
+				if (colorIndex >= 0) {
+					binGraphics.setColor(new Color(colorLookup[colorIndex], true));
+					double centerX = leftBottomX + binGrid.getCenterX(bin);
+					double centerY = leftBottomY - binGrid.getCenterY(bin);
+					double halfWidth = binGrid.binWidth / 2.0;
+					if (binGrid.hexagons) {
+						double radius = binGrid.binWidth / Math.sqrt(3.0);
+						cornersX[0] = (int) Math.round(centerX);
+						cornersY[0] = (int) Math.round(centerY - radius);
+						cornersX[1] = (int) Math.round(centerX + halfWidth);
+						cornersY[1] = (int) Math.round(centerY - (radius / 2.0));
+						cornersX[2] = cornersX[1];
+						cornersY[2] = (int) Math.round(centerY + (radius / 2.0));
+						cornersX[3] = cornersX[0];
+						cornersY[3] = (int) Math.round(centerY + radius);
+						cornersX[4] = (int) Math.round(centerX - halfWidth);
+						cornersY[4] = cornersY[2];
+						cornersX[5] = cornersX[4];
+						cornersY[5] = cornersY[1];
+						binGraphics.fillPolygon(cornersX, cornersY, 6);
+					}
+					else {
+						int left = (int) Math.round(centerX - halfWidth);
+						int right = (int) Math.round(centerX + halfWidth);
+						int top = (int) Math.round(centerY - (binGrid.binHeight / 2.0));
+						int bottom = (int) Math.round(centerY + (binGrid.binHeight / 2.0));
+						binGraphics.fillRect(left, top, right - left, bottom - top);
+					}
+				}
+			}
+			binGraphics.dispose();
+		}
+	}
+	
+	
+	private boolean aggregateChanged(double[] range, int width, int height) {
+		// The density image and the bins are cached for a plot version, plot size and axis range.
+		double[] key = new double[] { plotVersion, width, height, range[0], range[1], range[2], range[3] };
+		boolean changed = !Arrays.equals(key, aggregateKey);
+		aggregateKey = key;
+		return changed;
+	}
+	
+	
+	private int[] getColorLookup() {
+		if (densityColorLookup == null) {
+			densityColorLookup = JChartRaster.createColorLookup(densityColorRamp, DENSITY_COLOR_LOOKUP_SIZE);
+		}
+		return densityColorLookup;
+	}
+
+
+	@Override
+	protected Map<String, JChartSeries> getSeriesMap() {
+		return dataSet;
+	}
+	
+	
+	@Override
+	protected void putSeries(String dataSetName, JChartSeries series) {
+		if (dataSet == null) {
+			dataSet = new HashMap<String, JChartSeries>();
+		}
+		series.setScales(horizontalScale, verticalScale);
+		series.setFloatPrecision(isFloatPrecision(dataSetName));
+		dataSet.put(dataSetName, series);
+		plotChanged();
+	}
+	
+	
+	@Override
+	public long getMemoryEstimate() {
+		long bytes = super.getMemoryEstimate() + JChartMemory.estimateMap(dataSet, 0);
+		if (dataSet != null) {
+			for (JChartSeries series : dataSet.values()) {
+				bytes += series.getMemoryEstimate();
+			}
+		}
+		bytes += JChartMemory.estimateNumbers(horizontalAxis) + JChartMemory.estimateNumbers(verticalAxis);
+		if (densityColorRamp != DEFAULT_DENSITY_COLOR_RAMP) {
+			bytes += JChartMemory.OBJECT + JChartMemory.ARRAY + (densityColorRamp.size() * (JChartMemory.REFERENCE + JChartMemory.OBJECT));
+		}
+		bytes += JChartMemory.estimate(densityColorLookup) + JChartMemory.estimate(densityCounts);
+		if (densityRaster != null) {
+			bytes += densityRaster.getMemoryEstimate();
+		}
+		if (binGrid != null) {
+			bytes += JChartMemory.OBJECT + JChartMemory.estimate(binGrid.counts) + JChartMemory.estimate(binGrid.valueSums) + JChartMemory.estimate(binGrid.valueCounts);
+		}
+		return bytes;
+	}
+	
+	
+	@Override
+	public void clear() {
+		super.clear();
+		dataSet = null;
+		pointStyles = null;
+		horizontalAxis = null;
+		horizontalAxisLabel = null;
+		verticalAxis = null;
+		verticalAxisLabel = null;
+		densityCounts = null;
+		densityRaster = null;
+		binGrid = null;
+	}
+	
+	
+	@Override
+	protected void releaseDerivedState() {
+		super.releaseDerivedState();
+		densityCounts = null;
+		densityRaster = null;
+		binGrid = null;
+		aggregateKey = null;
+	}
+	
+	
+	private static class BinGrid {
+		private final boolean hexagons;
+		private final int width;
+		private final int height;
+		private final double binWidth;
+		private final double binHeight;
+		private final int columns;
+		private final int rows;
+		private final long[] counts;
+		private final double[] valueSums;
+		private final long[] valueCounts;
+		
+		
+		BinGrid(boolean hexagons, int binSize, int width, int height) {
+			// Hexagons are pointy topped and binSize wide, so the rows are 3/4 of the hexagon height apart.
+			this.hexagons = hexagons;
+			this.width = width;
+			this.height = height;
+			binWidth = binSize;
+			binHeight = hexagons ? (binSize * Math.sqrt(3.0)) / 2.0 : binSize;
+			// Hexagon columns start at -1 because odd rows are shifted half a bin to the right
+			columns = ((int) (width / binWidth)) + (hexagons ? 3 : 1);
+			rows = ((int) (height / binHeight)) + (hexagons ? 2 : 1);
+			counts = new long[columns * rows];
+			valueSums = new double[columns * rows];
+			valueCounts = new long[columns * rows];
+		}
+		
+		
+		BinGrid(BinGrid layout) {
+			hexagons = layout.hexagons;
+			width = layout.width;
+			height = layout.height;
+			binWidth = layout.binWidth;
+			binHeight = layout.binHeight;
+			columns = layout.columns;
+			rows = layout.rows;
+			counts = new long[columns * rows];
+			valueSums = new double[columns * rows];
+			valueCounts = new long[columns * rows];
+		}
+		
+		
+		int binOf(double x, double y) {
+			// Returns the bin containing the pixel position x, y measured from the bottom left of the plot area.
+			int column;
+			int row;
+			if (hexagons) {
+				// Nearest hexagon center: round to the nearest row and column and check the neighbour in the adjacent row.
+				// The distances are compared in bin widths, so the row offsets are scaled by the row distance.
+				double rowPosition = y / binHeight;
+				row = (int) Math.round(rowPosition);
+				double columnPosition = (x / binWidth) - ((row & 1) / 2.0);
+				double column1 = Math.round(columnPosition);
+				double rowOffset = rowPosition - row;
+				if ((Math.abs(rowOffset) * 3.0) > 1.0) {
+					double columnOffset = columnPosition - column1;
+					double column2 = column1 + ((columnPosition < column1 ? -1.0 : 1.0) / 2.0);
+					int row2 = row + (rowPosition < row ? -1 : 1);
+					double columnOffset2 = columnPosition - column2;
+					double rowOffset2 = rowPosition - row2;
+					double rowScale = binHeight / binWidth;
+					if (((columnOffset * columnOffset) + (rowOffset * rowOffset * rowScale * rowScale)) > ((columnOffset2 * columnOffset2) + (rowOffset2 * rowOffset2 * rowScale * rowScale))) {
+						column1 = column2 + (((row & 1) == 1 ? 1.0 : -1.0) / 2.0);
+						row = row2;
+					}
+				}
+				column = ((int) column1) + 1;
+			}
+			else {
+				column = (int) (x / binWidth);
+				row = (int) (y / binHeight);
+			}
+			return ((column >= 0) && (column < columns) && (row >= 0) && (row < rows)) ? (row * columns) + column : -1;
+		}
+		
+		
+		double getCenterX(int bin) {
+			int column = bin % columns;
+			int row = bin / columns;
+			return hexagons ? ((column - 1) + ((row & 1) / 2.0)) * binWidth : (column + 0.5) * binWidth;
+		}
+		
+		
+		double getCenterY(int bin) {
+			int row = bin / columns;
+			return hexagons ? row * binHeight : (row + 0.5) * binHeight;
+		}
+		
+		
+		void add(BinGrid other) {
+			for (int bin = 0; bin < counts.length; bin++) {
+				counts[bin] += other.counts[bin];
+				valueSums[bin] += other.valueSums[bin];
+				valueCounts[bin] += other.valueCounts[bin];
+			}
+		}
+	}
+	
+	
+	private static class BinTask extends RecursiveTask<BinGrid> {
+		private static final long serialVersionUID = -2094785260185137620L;
+		
+		private final BinGrid layout;
+		private final JChartSeries series;
+		private final int from;
+		private final int to;
+		private final int chunkSize;
+		private final double minX;
+		private final double xScale;
+		private final double minY;
+		private final double yScale;
+		
+		
+		BinTask(BinGrid layout, JChartSeries series, int from, int to, int chunkSize, double minX, double xScale, double minY, double yScale) {
+			this.layout = layout;
+			this.series = series;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+			this.minX = minX;
+			this.xScale = xScale;
+			this.minY = minY;
+			this.yScale = yScale;
+		}
+		
+		
+		@Override
+		protected BinGrid compute() {
+			BinGrid grid;
+			
+			if ((to - from) > chunkSize) {
+				int middle = (from + to) >>> 1;
+				BinTask left = new BinTask(layout, series, from, middle, chunkSize, minX, xScale, minY, yScale);
+				BinTask right = new BinTask(layout, series, middle, to, chunkSize, minX, xScale, minY, yScale);
+				left.fork();
+				grid = right.compute();
+				grid.add(left.join());
+			}
+			else {
+				grid = new BinGrid(layout);
+				boolean hasValues = series.hasValues();
+				for (int pointNr = from; pointNr < to; pointNr++) {
+					double x = (series.getPlotX(pointNr) - minX) * xScale;
+					double y = (series.getPlotY(pointNr) - minY) * yScale;
+					if ((x >= 0.0) && (x <= layout.width) && (y >= 0.0) && (y <= layout.height)) {
+						int bin = grid.binOf(x, y);
+						if (bin >= 0) {
+							grid.counts[bin]++;
+							if (hasValues) {
+								double value = series.getValue(pointNr);
+								if (!Double.isNaN(value)) {
+									grid.valueSums[bin] += value;
+									grid.valueCounts[bin]++;
+								}
+							}
+						}
+					}
+				}
+			}
+			
+			return grid;
+		}
+	}
+
+}
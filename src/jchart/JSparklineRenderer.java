@@ -0,0 +1,375 @@
+/*********************************************************************************
+ *                                                                               *
+ * Copyright (C) 2022 Mees Mosseveld, Ouderkerk aan den IJssel, The Netherlands. *
+ *                                                                               *
+ * The JChart library is free software.                                          *
+ * The JChart library is distributed in the hope that it will be useful, but     *
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY    *
+ * or FITNESS FOR A PARTICULAR PURPOSE.                                          *
+ *                                                                               *
+ * This file is part of the JChart library.                                      *
+ *                                                                               *
+ *********************************************************************************/
+
+package jchart;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.JComponent;
+import javax.swing.JOptionPane;
+import javax.swing.JTable;
+import javax.swing.UIManager;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableModel;
+
+/**
+ * A table cell renderer that draws a double[] cell value as a sparkline: a small line or bar chart
+ * of the values in their order, without title, legend or axes. NaN values are gaps.
+ * One renderer draws all cells of the columns it is set for, so a table with many rows needs no chart per row.
+ * When there are more values than pixels, each pixel column is drawn from the minimum to the maximum of its values.
+ * The drawn cells are kept as images until the row is updated in the table model, the cell value is another
+ * array or the cell size changes. After changing the values of an array in place, fire an update of its row.
+ * @author Mees Mosseveld
+ *
+ */
+public class JSparklineRenderer extends JComponent implements TableCellRenderer {
+	private static final long serialVersionUID = -2917443360147785012L;
+
+	/**
+	 * Draw the values as a line.
+	 */
+	public static final int SPARKLINE_STYLE_LINE = 0;
+
+	/**
+	 * Draw the values as bars from zero.
+	 */
+	public static final int SPARKLINE_STYLE_BAR  = 1;
+
+	/**
+	 * The default number of cells of which the image is kept.
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 1024;
+
+	private static final int MARGIN = 2;
+
+	private int style = SPARKLINE_STYLE_LINE;
+	private Color color = Color.BLUE;
+	private int cacheSize = DEFAULT_CACHE_SIZE;
+
+	// The images of the cells by model row and column, of which the least recently painted are dropped first.
+	private transient Map<Long, CellImage> cellImages = null;
+	private transient TableModel model = null;
+	private transient TableModelListener modelListener = null;
+
+	// The cell to paint
+	private transient double[] values = null;
+	private transient long cellKey = 0;
+
+
+	/**
+	 * Creates a renderer that draws the values as a line.
+	 */
+	public JSparklineRenderer() {
+		this(SPARKLINE_STYLE_LINE);
+	}
+
+
+	/**
+	 * Creates a renderer.
+	 * @param style The style of the sparklines: JSparklineRenderer.SPARKLINE_STYLE_LINE or JSparklineRenderer.SPARKLINE_STYLE_BAR.
+	 */
+	public JSparklineRenderer(int style) {
+		super();
+		setOpaque(true);
+		setStyle(style);
+	}
+
+
+	/**
+	 * Set the style of the sparklines.
+	 * @param style The style of the sparklines: JSparklineRenderer.SPARKLINE_STYLE_LINE or JSparklineRenderer.SPARKLINE_STYLE_BAR.
+	 * @return False if the style is unknown, true otherwise.
+	 */
+	public boolean setStyle(int style) {
+		boolean ok = (style == SPARKLINE_STYLE_LINE) || (style == SPARKLINE_STYLE_BAR);
+		if (ok) {
+			this.style = style;
+			clearCache();
+		}
+		else {
+			JOptionPane.showMessageDialog(null, "Unknown sparkline style.", "Sparkline Style Error", JOptionPane.ERROR_MESSAGE);
+		}
+		return ok;
+	}
+
+
+	/**
+	 * Set the color of the lines or bars.
+	 * @param color The color.
+	 */
+	public void setColor(Color color) {
+		if (color != null) {
+			this.color = color;
+			clearCache();
+		}
+	}
+
+
+	/**
+	 * Set the number of cells of which the image is kept.
+	 * It should be at least the number of sparklines visible at the same time.
+	 * @param cells The number of cells, or 0 to draw each cell each time it is painted.
+	 */
+	public void setCacheSize(int cells) {
+		cacheSize = Math.max(0, cells);
+		clearCache();
+	}
+
+
+	/**
+	 * Drop the images of all cells, so they are drawn again.
+	 */
+	public void clearCache() {
+		if (cellImages != null) {
+			cellImages.clear();
+		}
+	}
+
+
+	@Override
+	public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+		watchModel(table.getModel());
+
+		values = value instanceof double[] ? (double[]) value : null;
+		cellKey = (((long) table.convertRowIndexToModel(row)) << 32) | table.convertColumnIndexToModel(column);
+		setBackground(isSelected ? table.getSelectionBackground() : table.getBackground());
+		setBorder(hasFocus ? UIManager.getBorder("Table.focusCellHighlightBorder") : null);
+
+		return this;
+	}
+
+
+	@Override
+	protected void paintComponent(Graphics graphics) {
+		graphics.setColor(getBackground());
+		graphics.fillRect(0, 0, getWidth(), getHeight());
+
+		if ((values != null) && (getWidth() > (2 * MARGIN)) && (getHeight() > (2 * MARGIN))) {
+			CellImage cellImage = getCellImages().get(cellKey);
+			if ((cellImage == null) || (cellImage.values != values) || (cellImage.image.getWidth() != getWidth()) || (cellImage.image.getHeight() != getHeight())) {
+				cellImage = new CellImage(values, new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_ARGB));
+				Graphics2D imageGraphics = cellImage.image.createGraphics();
+				imageGraphics.setColor(color);
+				if (style == SPARKLINE_STYLE_BAR) {
+					drawBars(imageGraphics, values, getWidth(), getHeight());
+				}
+				else {
+					drawLine(imageGraphics, values, getWidth(), getHeight());
+				}
+				imageGraphics.dispose();
+				if (cacheSize > 0) {
+					getCellImages().put(cellKey, cellImage);
+				}
+			}
+			graphics.drawImage(cellImage.image, 0, 0, null);
+		}
+	}
+
+
+	// Like DefaultTableCellRenderer the renderer is only used to paint, so it does not need to lay out or repaint itself
+	@Override
+	public void invalidate() {
+	}
+
+
+	@Override
+	public void validate() {
+	}
+
+
+	@Override
+	public void revalidate() {
+	}
+
+
+	@Override
+	public void repaint(long time, int x, int y, int width, int height) {
+	}
+
+
+	private static void drawLine(Graphics graphics, double[] values, int width, int height) {
+		// Each pixel column is drawn as a vertical line from the minimum to the maximum of its values,
+		// connected to the previous column from its last to its first value. A column without values is a gap.
+		double[] range = getRange(values, false);
+		if (range != null) {
+			int plotWidth = width - (2 * MARGIN);
+			int columns = Math.min(values.length, plotWidth);
+			Integer previousX = null;
+			Integer previousLastY = null;
+			for (int columnNr = 0; columnNr < columns; columnNr++) {
+				int from = (int) (((long) columnNr * values.length) / columns);
+				int to = (int) (((long) (columnNr + 1) * values.length) / columns);
+				int x = MARGIN + (columns == 1 ? plotWidth / 2 : (int) (((long) columnNr * (plotWidth - 1)) / (columns - 1)));
+				double minimum = Double.NaN;
+				double maximum = Double.NaN;
+				double first = Double.NaN;
+				double last = Double.NaN;
+				for (int valueNr = from; valueNr < to; valueNr++) {
+					double value = values[valueNr];
+					if (!Double.isNaN(value)) {
+						if (Double.isNaN(first)) {
+							first = value;
+						}
+						last = value;
+						minimum = JChartSeriesPyramid.minimum(minimum, value);
+						maximum = JChartSeriesPyramid.maximum(maximum, value);
+					}
+				}
+				if (!Double.isNaN(first)) {
+					int firstY = toY(first, range, height);
+					if (previousLastY != null) {
+						graphics.drawLine(previousX, previousLastY, x, firstY);
+					}
+					graphics.drawLine(x, toY(minimum, range, height), x, toY(maximum, range, height));
+					previousX = x;
+					previousLastY = toY(last, range, height);
+				}
+				else {
+					previousLastY = null;
+				}
+			}
+		}
+	}
+
+
+	private static void drawBars(Graphics graphics, double[] values, int width, int height) {
+		// Each bar is drawn from zero to the maximum and to the minimum of its values, with a gap between
+		// bars that are at least 3 pixels wide.
+		double[] range = getRange(values, true);
+		if (range != null) {
+			int plotWidth = width - (2 * MARGIN);
+			int bars = Math.min(values.length, plotWidth);
+			int zeroY = toY(0.0, range, height);
+			for (int barNr = 0; barNr < bars; barNr++) {
+				int from = (int) (((long) barNr * values.length) / bars);
+				int to = (int) (((long) (barNr + 1) * values.length) / bars);
+				int left = MARGIN + (int) (((long) barNr * plotWidth) / bars);
+				int right = MARGIN + (int) (((long) (barNr + 1) * plotWidth) / bars);
+				int barWidth = (right - left) >= 3 ? right - left - 1 : right - left;
+				double minimum = Double.NaN;
+				double maximum = Double.NaN;
+				for (int valueNr = from; valueNr < to; valueNr++) {
+					minimum = JChartSeriesPyramid.minimum(minimum, values[valueNr]);
+					maximum = JChartSeriesPyramid.maximum(maximum, values[valueNr]);
+				}
+				if (maximum > 0.0) {
+					int maximumY = toY(maximum, range, height);
+					graphics.fillRect(left, maximumY, barWidth, Math.max(1, zeroY - maximumY));
+				}
+				if (minimum < 0.0) {
+					int minimumY = toY(minimum, range, height);
+					graphics.fillRect(left, zeroY, barWidth, Math.max(1, minimumY - zeroY));
+				}
+			}
+		}
+	}
+
+
+	private static double[] getRange(double[] values, boolean withZero) {
+		// Returns the minimum and maximum of the values, or null when there are no values.
+		double minimum = withZero ? 0.0 : Double.NaN;
+		double maximum = withZero ? 0.0 : Double.NaN;
+		boolean found = false;
+		for (int valueNr = 0; valueNr < values.length; valueNr++) {
+			double value = values[valueNr];
+			if ((!Double.isNaN(value)) && (!Double.isInfinite(value))) {
+				minimum = JChartSeriesPyramid.minimum(minimum, value);
+				maximum = JChartSeriesPyramid.maximum(maximum, value);
+				found = true;
+			}
+		}
+		return found ? new double[] { minimum, maximum } : null;
+	}
+
+
+	private static int toY(double value, double[] range, int height) {
+		// A flat line is drawn in the middle
+		int plotHeight = height - (2 * MARGIN) - 1;
+		double position = range[1] > range[0] ? (range[1] - Math.max(range[0], Math.min(range[1], value))) / (range[1] - range[0]) : 0.5;
+		return MARGIN + (int) Math.round(position * plotHeight);
+	}
+
+
+	private Map<Long, CellImage> getCellImages() {
+		if (cellImages == null) {
+			cellImages = new LinkedHashMap<Long, CellImage>(16, 0.75f, true) {
+				private static final long serialVersionUID = 6382231757140393127L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Long, CellImage> eldest) {
+					return size() > cacheSize;
+				}
+			};
+		}
+		return cellImages;
+	}
+
+
+	private void watchModel(TableModel tableModel) {
+		// Updated rows are drawn again. Inserted and deleted rows move the other rows, so then all cells are drawn again.
+		if (tableModel != model) {
+			if (model != null) {
+				model.removeTableModelListener(modelListener);
+			}
+			model = tableModel;
+			clearCache();
+			if (modelListener == null) {
+				modelListener = new TableModelListener() {
+
+					@Override
+					public void tableChanged(TableModelEvent e) {
+						if ((e.getType() != TableModelEvent.UPDATE) || (e.getFirstRow() == TableModelEvent.HEADER_ROW) || (e.getLastRow() == Integer.MAX_VALUE)) {
+							clearCache();
+						}
+						else if (cellImages != null) {
+							Iterator<Long> keyIterator = cellImages.keySet().iterator();
+							while (keyIterator.hasNext()) {
+								long key = keyIterator.next();
+								int row = (int) (key >> 32);
+								int column = (int) key;
+								if ((row >= e.getFirstRow()) && (row <= e.getLastRow()) && ((e.getColumn() == TableModelEvent.ALL_COLUMNS) || (e.getColumn() == column))) {
+									keyIterator.remove();
+								}
+							}
+						}
+					}
+				};
+			}
+			if (model != null) {
+				model.addTableModelListener(modelListener);
+			}
+		}
+	}
+
+
+	private static class CellImage {
+		final double[] values;
+		final BufferedImage image;
+
+
+		CellImage(double[] values, BufferedImage image) {
+			this.values = values;
+			this.image = image;
+		}
+	}
+
+}